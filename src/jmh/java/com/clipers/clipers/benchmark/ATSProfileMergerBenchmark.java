@@ -0,0 +1,63 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.dto.VideoProcessingResponse;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.service.ATSProfileMerger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merge of a processed cliper profile into an existing ATS profile of growing size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ATSProfileMergerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int existingSkills;
+
+    private final ATSProfileMerger merger = new ATSProfileMerger();
+    private VideoProcessingResponse.Profile extracted;
+    private ATSProfile profile;
+
+    @Setup(Level.Trial)
+    public void setUpExtracted() {
+        extracted = new VideoProcessingResponse.Profile("Ana", "Backend Developer",
+                "Cinco años desarrollando microservicios en Java", "Universidad Nacional de Ingeniería",
+                "Java, Spring Boot, MongoDB, Docker, Kubernetes, AWS, Kafka, Redis",
+                "Español, Inglés", "Migración a la nube", "Liderazgo, Comunicación, Trabajo en equipo");
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpProfile() {
+        Random random = new Random(7);
+        profile = BenchmarkFixtures.profile(0, random);
+        for (int i = 0; i < existingSkills; i++) {
+            profile.addSkill("Skill " + i, Skill.SkillLevel.BEGINNER, Skill.SkillCategory.TECHNICAL);
+        }
+    }
+
+    @Benchmark
+    public ATSProfile merge() {
+        merger.merge(profile, extracted, "Resumen generado a partir del cliper");
+        return profile;
+    }
+}
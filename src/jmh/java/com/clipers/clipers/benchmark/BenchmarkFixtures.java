@@ -0,0 +1,121 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.entity.JobMatch;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.entity.User;
+import com.clipers.clipers.repository.SkillDictionaryRepository;
+import com.clipers.clipers.service.SkillTaxonomyService;
+import org.mockito.Mockito;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data shared by the benchmarks
+ */
+final class BenchmarkFixtures {
+
+    static final String[] SKILLS = {
+        "Java", "Spring Boot", "MongoDB", "Docker", "Kubernetes", "AWS", "React", "Angular", "TypeScript",
+        "Python", "Django", "SQL", "PostgreSQL", "Git", "Scrum", "Liderazgo", "Comunicación", "Figma",
+        "Node.js", "Go", "Kotlin", "Terraform", "Redis", "Kafka", "GraphQL"
+    };
+
+    private static final String[] POSITIONS = {
+        "Backend Developer", "Frontend Developer", "Data Engineer", "DevOps Engineer", "QA Analyst", "Product Designer"
+    };
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Taxonomy seeded from skill-taxonomy.txt with the persistence stubbed out (empty dictionary, writes ignored)
+     */
+    static SkillTaxonomyService skillTaxonomy() {
+        return new SkillTaxonomyService(Mockito.mock(SkillDictionaryRepository.class), Mockito.mock(MongoTemplate.class),
+                new ClassPathResource("skill-taxonomy.txt"));
+    }
+
+    static Job job() {
+        Job job = new Job("Backend Java Developer",
+                "Desarrollo de APIs REST con Spring Boot y MongoDB sobre AWS", "Lima", Job.JobType.FULL_TIME, "company-1");
+        job.setId("job-1");
+        job.setSkills(List.of("Java", "Spring Boot", "MongoDB", "Docker", "AWS"));
+        job.setRequirements(List.of("3+ años de experiencia", "Inglés intermedio"));
+        return job;
+    }
+
+    static User user(int i) {
+        User user = new User();
+        user.setId("user-" + i);
+        user.setEmail("user" + i + "@clipers.test");
+        user.setFirstName("Nombre" + i);
+        user.setLastName("Apellido" + i);
+        user.setRole(User.Role.CANDIDATE);
+        user.setAddress(i % 3 == 0 ? "Lima, Perú" : "Arequipa, Perú");
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return user;
+    }
+
+    static List<ATSProfile> profiles(int count, long seed) {
+        Random random = new Random(seed);
+        List<ATSProfile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            profiles.add(profile(i, random));
+        }
+        return profiles;
+    }
+
+    static ATSProfile profile(int i, Random random) {
+        ATSProfile profile = new ATSProfile("user-" + i);
+        profile.setId("profile-" + i);
+        profile.setSummary("Profesional con experiencia en " + SKILLS[random.nextInt(SKILLS.length)]
+                + " y " + SKILLS[random.nextInt(SKILLS.length)]);
+        profile.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        int skills = 3 + random.nextInt(10);
+        for (int s = 0; s < skills; s++) {
+            profile.addSkill(SKILLS[random.nextInt(SKILLS.length)], Skill.SkillLevel.INTERMEDIATE, Skill.SkillCategory.TECHNICAL);
+        }
+        int experiences = random.nextInt(4);
+        for (int e = 0; e < experiences; e++) {
+            Experience experience = new Experience("Empresa " + e, POSITIONS[random.nextInt(POSITIONS.length)],
+                    (2012 + random.nextInt(10)) + "-0" + (1 + random.nextInt(9)), "Desarrollo de servicios y mantenimiento");
+            profile.getExperience().add(experience);
+        }
+        if (random.nextBoolean()) {
+            profile.addEducation("Universidad Nacional", "Ingeniería de Sistemas", "Computación");
+        }
+        profile.addLanguage("Español", Language.LanguageLevel.NATIVE);
+        return profile;
+    }
+
+    static Cliper cliper(int i) {
+        Cliper cliper = new Cliper("Mi presentación " + i, "Video de presentación profesional",
+                "https://cdn.clipers.test/videos/" + i + ".mp4", 60, "user-" + i);
+        cliper.setId("cliper-" + i);
+        cliper.setTranscription("Hola, soy desarrollador backend con cinco años de experiencia en Java y Spring Boot.");
+        cliper.setSkills(List.of("Java", "Spring Boot", "MongoDB"));
+        cliper.setStatus(Cliper.Status.DONE);
+        cliper.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        cliper.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return cliper;
+    }
+
+    static JobMatch application(int i) {
+        JobMatch match = new JobMatch("job-1", "user-" + i, 0.75, "Análisis de compatibilidad:\n- Buena coincidencia de habilidades");
+        match.setId("match-" + i);
+        match.setMatchedSkills(List.of("Java", "Spring Boot"));
+        match.setApplicationMessage("Me interesa mucho el puesto");
+        match.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return match;
+    }
+}
@@ -0,0 +1,64 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.User;
+import com.clipers.clipers.service.CandidateAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User + ATSProfile -> CandidateDTO conversion (formerly AIController.convertToCandidateDTO)
+ * for 1,000 applicants, with a cold cache (every conversion runs) and a warm one (versions unchanged)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CandidateAssemblerBenchmark {
+
+    private static final int APPLICANTS = 1000;
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private CandidateAssembler assembler;
+    private List<User> users;
+    private List<ATSProfile> profiles;
+
+    @Setup
+    public void setUp() {
+        // Repositories are not used by toCandidateDTO
+        int maxEntries = "warm".equals(cache) ? APPLICANTS * 2 : 1;
+        assembler = new CandidateAssembler(null, null, maxEntries, 3_600_000L);
+        profiles = BenchmarkFixtures.profiles(APPLICANTS, 42);
+        users = new ArrayList<>(APPLICANTS);
+        for (int i = 0; i < APPLICANTS; i++) {
+            users.add(BenchmarkFixtures.user(i));
+        }
+    }
+
+    @Benchmark
+    public void convertApplicants(Blackhole blackhole) {
+        for (int i = 0; i < APPLICANTS; i++) {
+            CandidateDTO dto = assembler.toCandidateDTO(users.get(i), profiles.get(i));
+            blackhole.consume(dto);
+        }
+    }
+}
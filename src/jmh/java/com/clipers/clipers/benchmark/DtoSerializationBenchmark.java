@@ -0,0 +1,74 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.config.JacksonConfig;
+import com.clipers.clipers.dto.CliperDTO;
+import com.clipers.clipers.dto.JobApplicationDTO;
+import com.clipers.clipers.dto.JobDTO;
+import com.clipers.clipers.dto.PaginatedResponse;
+import com.clipers.clipers.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of feed/application pages with the application's ObjectMapper
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PaginatedResponse<CliperDTO> cliperPage;
+    private List<JobApplicationDTO> applications;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        List<CliperDTO> clipers = new ArrayList<>(pageSize);
+        applications = new ArrayList<>(pageSize);
+        JobDTO job = new JobDTO(BenchmarkFixtures.job());
+        for (int i = 0; i < pageSize; i++) {
+            CliperDTO cliper = new CliperDTO(BenchmarkFixtures.cliper(i));
+            cliper.setUser(new UserDTO(BenchmarkFixtures.user(i)));
+            clipers.add(cliper);
+
+            JobApplicationDTO application = new JobApplicationDTO(BenchmarkFixtures.application(i));
+            application.setJob(job);
+            application.setUser(new UserDTO(BenchmarkFixtures.user(i)));
+            applications.add(application);
+        }
+        cliperPage = new PaginatedResponse<>(clipers, 0, pageSize, pageSize * 10L, 10, true, false);
+    }
+
+    @Benchmark
+    public byte[] cliperPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cliperPage);
+    }
+
+    @Benchmark
+    public byte[] jobApplications() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(applications);
+    }
+}
@@ -0,0 +1,62 @@
+package com.clipers.clipers.benchmark;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.service.JobMatchScorer;
+import com.clipers.clipers.service.SkillTaxonomyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JobService automatic matching: scoring every candidate profile against a new job
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobMatchScorerBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int candidates;
+
+    private final SkillTaxonomyService skillTaxonomy = BenchmarkFixtures.skillTaxonomy();
+    private final JobMatchScorer scorer = new JobMatchScorer(skillTaxonomy);
+    private List<ATSProfile> profiles;
+    private Job job;
+
+    @Setup
+    public void setUp() {
+        profiles = BenchmarkFixtures.profiles(candidates, 42);
+        job = BenchmarkFixtures.job();
+        // As stored: skillIds are written next to the skill names on save
+        profiles.forEach(skillTaxonomy::assignIds);
+        skillTaxonomy.assignIds(job);
+    }
+
+    @Benchmark
+    public void scoreAll(Blackhole blackhole) {
+        for (ATSProfile profile : profiles) {
+            JobMatchScorer.MatchScore score = scorer.score(profile, job);
+            if (score.overall() >= 0.3) {
+                blackhole.consume(scorer.generateMatchExplanation(score));
+                blackhole.consume(scorer.findMatchedSkills(profile, job));
+            }
+            blackhole.consume(score);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.clipers.clipers.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thin JSON client over java.net.http. Each call is timed and recorded under a fixed endpoint label
+ * (path template, not the concrete path) so ids don't explode the report.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper mapper;
+    private final Map<String, String> tokens; // email -> access token, shared by every recorder view
+    private final LatencyRecorder recorder;   // null = not recorded (seeding, session setup)
+
+    ApiClient(String baseUrl, ObjectMapper mapper) {
+        this(HttpClient.newBuilder()
+                // HTTP/1.1 like a browser behind a proxy; h2c upgrade would only add noise to the numbers
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build(), baseUrl, mapper, new ConcurrentHashMap<>(), null);
+    }
+
+    private ApiClient(HttpClient http, String baseUrl, ObjectMapper mapper, Map<String, String> tokens, LatencyRecorder recorder) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.mapper = mapper;
+        this.tokens = tokens;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Same connection pool and sessions, recording into the given recorder
+     */
+    ApiClient recordingInto(LatencyRecorder recorder) {
+        return new ApiClient(http, baseUrl, mapper, tokens, recorder);
+    }
+
+    /**
+     * Access token of a seeded user, logging in (unrecorded) the first time
+     */
+    String session(String email) {
+        return tokens.computeIfAbsent(email, e -> {
+            try {
+                return withoutRecording().login(e);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Login fallido para " + e + ": " + ex.getMessage(), ex);
+            }
+        });
+    }
+
+    String login(String email) throws IOException {
+        Response response = post("POST /api/auth/login", "/api/auth/login", null,
+                Map.of("email", email, "password", DataGenerator.PASSWORD));
+        if (!response.ok()) {
+            throw new IOException("HTTP " + response.status() + ": " + response.body());
+        }
+        return response.json().path("accessToken").asText();
+    }
+
+    Response get(String endpoint, String path, String token) {
+        return send(endpoint, "GET", path, token, null);
+    }
+
+    Response post(String endpoint, String path, String token, Object body) {
+        return send(endpoint, "POST", path, token, body);
+    }
+
+    private Response send(String endpoint, String method, String path, String token, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json");
+                request.method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Body no serializable para " + endpoint, e);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - start;
+            boolean ok = response.statusCode() < 400;
+            record(endpoint, latency, ok ? null : "HTTP " + response.statusCode());
+            return new Response(response.statusCode(), response.body(), mapper);
+        } catch (IOException e) {
+            record(endpoint, System.nanoTime() - start, e.getClass().getSimpleName() + ": " + e.getMessage());
+            return new Response(-1, e.getMessage(), mapper);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, "interrupted", mapper);
+        }
+    }
+
+    private void record(String endpoint, long latencyNanos, String errorDetail) {
+        if (recorder != null) {
+            recorder.record(endpoint, latencyNanos, errorDetail);
+        }
+    }
+
+    private ApiClient withoutRecording() {
+        return recorder == null ? this : new ApiClient(http, baseUrl, mapper, tokens, null);
+    }
+
+    record Response(int status, String body, ObjectMapper mapper) {
+
+        boolean ok() {
+            return status >= 200 && status < 400;
+        }
+
+        JsonNode json() throws IOException {
+            return mapper.readTree(body);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.clipers.clipers.loadtest;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.Company;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.entity.JobMatch;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Post;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.entity.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a realistic data set straight through MongoTemplate bulk inserts (the REST API would take
+ * longer to seed than to test). Deterministic for a given seed.
+ */
+final class DataGenerator {
+
+    static final String PASSWORD = "LoadTest123!";
+
+    private static final int INSERT_BATCH = 1000;
+
+    static final String[] SKILLS = {
+        "Java", "Spring Boot", "MongoDB", "Docker", "Kubernetes", "AWS", "React", "Angular", "TypeScript",
+        "Python", "Django", "SQL", "PostgreSQL", "Git", "Scrum", "Liderazgo", "Comunicación", "Figma",
+        "Node.js", "Go", "Kotlin", "Terraform", "Redis", "Kafka", "GraphQL"
+    };
+
+    static final String[] LOCATIONS = {
+        "Lima, Perú", "Arequipa, Perú", "Bogotá, Colombia", "Medellín, Colombia", "Ciudad de México, México",
+        "Santiago, Chile", "Buenos Aires, Argentina", "Remoto"
+    };
+
+    private static final String[] POSITIONS = {
+        "Backend Developer", "Frontend Developer", "Data Engineer", "DevOps Engineer", "QA Analyst", "Product Designer"
+    };
+
+    private static final String[] INDUSTRIES = {"Tecnología", "Finanzas", "Retail", "Salud", "Educación", "Logística"};
+
+    private static final String[] UNIVERSITIES = {
+        "Universidad Nacional de Ingeniería", "Universidad de los Andes", "UNAM", "Universidad de Chile", "UBA"
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random;
+
+    DataGenerator(MongoTemplate mongoTemplate, long seed) {
+        this.mongoTemplate = mongoTemplate;
+        this.random = new Random(seed);
+    }
+
+    SeededData seed(LoadTestConfig config) {
+        // One hash for everybody: BCrypt is deliberately slow and would dominate seeding time
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Ids are assigned up front so users, profiles and companies can be linked before a single insert
+        List<User> candidates = new ArrayList<>(config.users);
+        List<ATSProfile> profiles = new ArrayList<>(config.users);
+        for (int i = 0; i < config.users; i++) {
+            User user = user("candidato" + i + "@loadtest.clipers", passwordHash, User.Role.CANDIDATE, now);
+            user.setFirstName(pick(new String[]{"Ana", "Luis", "María", "Carlos", "Lucía", "Jorge", "Sofía", "Diego"}));
+            user.setLastName("Prueba" + i);
+            user.setAddress(pick(LOCATIONS));
+            ATSProfile profile = profile(user.getId(), now);
+            user.setAtsProfileId(profile.getId());
+            candidates.add(user);
+            profiles.add(profile);
+        }
+        insertAll(candidates, User.class);
+        insertAll(profiles, ATSProfile.class);
+
+        List<User> companyUsers = new ArrayList<>(config.companies);
+        List<Company> companies = new ArrayList<>(config.companies);
+        for (int i = 0; i < config.companies; i++) {
+            User user = user("empresa" + i + "@loadtest.clipers", passwordHash, User.Role.COMPANY, now);
+            user.setFirstName("Empresa");
+            user.setLastName(String.valueOf(i));
+            Company company = new Company("Empresa Carga " + i, "Empresa generada para pruebas de carga",
+                    pick(INDUSTRIES), pick(LOCATIONS), user.getId());
+            company.setId(new ObjectId().toHexString());
+            company.setCreatedAt(now);
+            company.setUpdatedAt(now);
+            user.setCompanyId(company.getId());
+            companyUsers.add(user);
+            companies.add(company);
+        }
+        insertAll(companyUsers, User.class);
+        insertAll(companies, Company.class);
+
+        List<Job> jobs = new ArrayList<>(config.jobs);
+        List<String> jobCompanyEmails = new ArrayList<>(config.jobs);
+        for (int i = 0; i < config.jobs; i++) {
+            int companyIndex = i % companies.size();
+            jobs.add(job(companies.get(companyIndex).getId(), now));
+            jobCompanyEmails.add(companyUsers.get(companyIndex).getEmail());
+        }
+        insertAll(jobs, Job.class);
+
+        // Seeded applicants come from the first half of the candidates; the applications scenario uses the second half
+        int half = config.users / 2;
+        List<JobMatch> applications = new ArrayList<>(config.jobs * config.applicationsPerJob);
+        for (int j = 0; j < jobs.size(); j++) {
+            for (int k = 0; k < config.applicationsPerJob; k++) {
+                User candidate = candidates.get((j * 31 + k) % half);
+                JobMatch application = new JobMatch(jobs.get(j).getId(), candidate.getId(), 0.0, "Manual candidate application");
+                application.setStatus(JobMatch.ApplicationStatus.PENDING);
+                application.setApplicationMessage("Me interesa la posición");
+                applications.add(application);
+            }
+        }
+        insertAll(applications, JobMatch.class);
+
+        List<Post> posts = new ArrayList<>(config.posts);
+        for (int i = 0; i < config.posts; i++) {
+            User author = candidates.get(random.nextInt(candidates.size()));
+            Post post = new Post("Publicación de prueba " + i + " sobre " + pick(SKILLS) + " y " + pick(SKILLS),
+                    Post.PostType.TEXT, author.getId());
+            post.setCreatedAt(now.minusMinutes(random.nextInt(60 * 24 * 30)));
+            post.setUpdatedAt(post.getCreatedAt());
+            posts.add(post);
+        }
+        insertAll(posts, Post.class);
+
+        List<Cliper> clipers = new ArrayList<>(config.clipers);
+        for (int i = 0; i < config.clipers; i++) {
+            User author = candidates.get(random.nextInt(candidates.size()));
+            Cliper cliper = new Cliper("Cliper " + i, "Presentación profesional", "/uploads/videos/loadtest-" + i + ".mp4",
+                    30 + random.nextInt(90), author.getId());
+            cliper.setStatus(Cliper.Status.DONE);
+            cliper.setTranscription("Hola, soy desarrollador con experiencia en " + pick(SKILLS) + " y " + pick(SKILLS));
+            cliper.setSkills(new ArrayList<>(List.of(pick(SKILLS), pick(SKILLS), pick(SKILLS))));
+            cliper.setCreatedAt(now.minusMinutes(random.nextInt(60 * 24 * 30)));
+            cliper.setUpdatedAt(cliper.getCreatedAt());
+            clipers.add(cliper);
+        }
+        insertAll(clipers, Cliper.class);
+
+        List<String> candidateEmails = candidates.stream().map(User::getEmail).toList();
+        List<String> companyEmails = companyUsers.stream().map(User::getEmail).toList();
+        List<String> jobIds = jobs.stream().map(Job::getId).toList();
+        List<String> postIds = posts.stream().map(Post::getId).toList();
+        return new SeededData(candidateEmails, companyEmails, jobIds, jobCompanyEmails, postIds);
+    }
+
+    private User user(String email, String passwordHash, User.Role role, LocalDateTime now) {
+        User user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setRole(role);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private ATSProfile profile(String userId, LocalDateTime now) {
+        ATSProfile profile = new ATSProfile(userId);
+        profile.setId(new ObjectId().toHexString());
+        String position = pick(POSITIONS);
+        profile.setSummary(position + " con experiencia en " + pick(SKILLS) + ", " + pick(SKILLS) + " y " + pick(SKILLS));
+        int skills = 3 + random.nextInt(10);
+        for (int s = 0; s < skills; s++) {
+            String skill = pick(SKILLS);
+            if (profile.getSkills().stream().noneMatch(existing -> existing.getName().equals(skill))) {
+                profile.addSkill(skill, pick(Skill.SkillLevel.values()), Skill.SkillCategory.TECHNICAL);
+            }
+        }
+        int experiences = random.nextInt(4);
+        for (int e = 0; e < experiences; e++) {
+            profile.getExperience().add(new Experience("Empresa " + random.nextInt(500), pick(POSITIONS),
+                    (2012 + random.nextInt(12)) + "-0" + (1 + random.nextInt(9)), "Desarrollo y mantenimiento de servicios"));
+        }
+        if (random.nextBoolean()) {
+            profile.addEducation(pick(UNIVERSITIES), "Bachiller", "Ingeniería de Sistemas");
+        }
+        profile.addLanguage("Español", Language.LanguageLevel.NATIVE);
+        if (random.nextInt(3) > 0) {
+            profile.addLanguage("Inglés", Language.LanguageLevel.INTERMEDIATE);
+        }
+        profile.setCreatedAt(now);
+        profile.setUpdatedAt(now);
+        return profile;
+    }
+
+    private Job job(String companyId, LocalDateTime now) {
+        String position = pick(POSITIONS);
+        Job job = new Job(position + " " + pick(SKILLS), "Buscamos " + position + " para proyectos con " + pick(SKILLS)
+                + " y " + pick(SKILLS), pick(LOCATIONS), pick(Job.JobType.values()), companyId);
+        job.setSkills(new ArrayList<>(List.of(pick(SKILLS), pick(SKILLS), pick(SKILLS), pick(SKILLS))));
+        job.setRequirements(new ArrayList<>(List.of((1 + random.nextInt(5)) + "+ años de experiencia", "Trabajo en equipo")));
+        int salaryMin = 1500 + random.nextInt(20) * 250;
+        job.setSalaryMin(salaryMin);
+        job.setSalaryMax(salaryMin + 1000 + random.nextInt(10) * 250);
+        job.setCreatedAt(now.minusDays(random.nextInt(30)));
+        job.setUpdatedAt(job.getCreatedAt());
+        return job;
+    }
+
+    private <T> void insertAll(List<T> entities, Class<T> type) {
+        for (int from = 0; from < entities.size(); from += INSERT_BATCH) {
+            // insert() populates the ids of the given instances in place
+            mongoTemplate.insert(entities.subList(from, Math.min(from + INSERT_BATCH, entities.size())), type);
+        }
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Ids and logins the scenarios draw from
+     */
+    record SeededData(List<String> candidateEmails, List<String> companyEmails,
+                      List<String> jobIds, List<String> jobCompanyEmails, List<String> postIds) {}
+}
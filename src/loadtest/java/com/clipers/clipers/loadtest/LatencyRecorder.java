@@ -0,0 +1,110 @@
+package com.clipers.clipers.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency samples of one scenario run. Every sample is kept (a run is at most a few
+ * hundred thousand requests) so percentiles are exact rather than bucketed.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, EndpointSamples> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param errorDetail null for a successful request; the first few distinct details are kept in the report
+     */
+    void record(String endpoint, long latencyNanos, String errorDetail) {
+        endpoints.computeIfAbsent(endpoint, e -> new EndpointSamples()).add(latencyNanos, errorDetail);
+    }
+
+    /**
+     * Throughput and latency percentiles (ms) per endpoint, sorted by endpoint label
+     */
+    Map<String, Object> summary(double elapsedSeconds) {
+        Map<String, Object> perEndpoint = new TreeMap<>();
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, EndpointSamples> entry : endpoints.entrySet()) {
+            Map<String, Object> stats = entry.getValue().summary(elapsedSeconds);
+            perEndpoint.put(entry.getKey(), stats);
+            totalRequests += (long) stats.get("requests");
+            totalErrors += (long) stats.get("errors");
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsedSeconds", round(elapsedSeconds));
+        summary.put("requests", totalRequests);
+        summary.put("errors", totalErrors);
+        summary.put("throughputPerSecond", round(totalRequests / Math.max(elapsedSeconds, 1e-9)));
+        summary.put("endpoints", perEndpoint);
+        return summary;
+    }
+
+    private static final class EndpointSamples {
+        private static final int MAX_SAMPLE_ERRORS = 5;
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private final List<String> sampleErrors = new ArrayList<>();
+
+        synchronized void add(long latencyNanos, String errorDetail) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (errorDetail != null) {
+                errors++;
+                if (sampleErrors.size() < MAX_SAMPLE_ERRORS && !sampleErrors.contains(errorDetail)) {
+                    sampleErrors.add(errorDetail);
+                }
+            }
+        }
+
+        synchronized Map<String, Object> summary(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long latency : sorted) {
+                sum += latency;
+            }
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", (long) count);
+            stats.put("errors", errors);
+            stats.put("throughputPerSecond", round(count / Math.max(elapsedSeconds, 1e-9)));
+            stats.put("meanMs", count == 0 ? 0.0 : toMillis(sum / count));
+            stats.put("p50Ms", percentile(sorted, 0.50));
+            stats.put("p90Ms", percentile(sorted, 0.90));
+            stats.put("p99Ms", percentile(sorted, 0.99));
+            stats.put("maxMs", count == 0 ? 0.0 : toMillis(sorted[count - 1]));
+            if (!sampleErrors.isEmpty()) {
+                stats.put("sampleErrors", new ArrayList<>(sampleErrors));
+            }
+            return stats;
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        // Nearest-rank percentile
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
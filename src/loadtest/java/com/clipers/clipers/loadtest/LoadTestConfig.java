@@ -0,0 +1,74 @@
+package com.clipers.clipers.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test settings, read from -Dloadtest.* system properties so they can be passed straight to Maven:
+ * mvn -Ploadtest -DskipTests verify -Dloadtest.users=5000 -Dloadtest.scenarios=feed,likes
+ */
+final class LoadTestConfig {
+
+    final String mongoUri;          // empty = start an embedded mongod
+    final int users;
+    final int companies;
+    final int jobs;
+    final int posts;
+    final int clipers;
+    final int applicationsPerJob;   // seeded applicants per job, used by the ranking scenario
+    final int concurrency;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final List<Scenario> scenarios;
+    final long aiStubLatencyMs;
+    final long videoStubLatencyMs;
+    final String report;
+    final long seed;
+
+    private LoadTestConfig() {
+        this.mongoUri = System.getProperty("loadtest.mongo.uri", "");
+        this.users = Integer.getInteger("loadtest.users", 2000);
+        this.companies = Integer.getInteger("loadtest.companies", 50);
+        this.jobs = Integer.getInteger("loadtest.jobs", 500);
+        this.posts = Integer.getInteger("loadtest.posts", 5000);
+        this.clipers = Integer.getInteger("loadtest.clipers", 1000);
+        this.applicationsPerJob = Integer.getInteger("loadtest.applications-per-job", 40);
+        this.concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        this.warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        this.durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        this.scenarios = parseScenarios(System.getProperty("loadtest.scenarios", "login,feed,likes,job-search,jobs,applications,ranking"));
+        this.aiStubLatencyMs = Long.getLong("loadtest.stub.ai-latency-ms", 20L);
+        this.videoStubLatencyMs = Long.getLong("loadtest.stub.video-latency-ms", 200L);
+        this.report = System.getProperty("loadtest.report", "target/loadtest-report.json");
+        this.seed = Long.getLong("loadtest.seed", 42L);
+
+        if (users < 2 || companies < 1 || jobs < 1 || posts < 1) {
+            throw new IllegalArgumentException("loadtest.users >= 2, loadtest.companies/jobs/posts >= 1");
+        }
+        if (applicationsPerJob > users / 2) {
+            throw new IllegalArgumentException("loadtest.applications-per-job no puede superar loadtest.users / 2");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static List<Scenario> parseScenarios(String value) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) {
+                scenarios.add(Scenario.byName(name.trim()));
+            }
+        }
+        return scenarios;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", companies=" + companies + ", jobs=" + jobs + ", posts=" + posts
+                + ", clipers=" + clipers + ", applicationsPerJob=" + applicationsPerJob
+                + ", concurrency=" + concurrency + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s"
+                + ", scenarios=" + scenarios;
+    }
+}
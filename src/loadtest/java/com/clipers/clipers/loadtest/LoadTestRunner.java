@@ -0,0 +1,176 @@
+package com.clipers.clipers.loadtest;
+
+import com.clipers.clipers.ClipersApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: embedded mongod (or -Dloadtest.mongo.uri), stubbed AI / video services,
+ * the real application on a random port, seeded data and the scripted scenarios one after another.
+ *
+ *   mvn -Ploadtest -DskipTests verify
+ *   mvn -Ploadtest -DskipTests verify -Dloadtest.scenarios=feed,likes -Dloadtest.concurrency=64
+ *
+ * The report (per scenario and endpoint: requests, errors, throughput, p50/p90/p99/max) is written
+ * to target/loadtest-report.json.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final String DATABASE = "clipers_loadtest";
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        logger.info("Load test: {}", config);
+        ObjectMapper mapper = new ObjectMapper();
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        ConfigurableApplicationContext context = null;
+        try (ServiceStubs stubs = new ServiceStubs(mapper, config.aiStubLatencyMs, config.videoStubLatencyMs)) {
+            String mongoUri = config.mongoUri;
+            if (mongoUri.isEmpty()) {
+                logger.info("Starting embedded mongod (first run downloads the binary)...");
+                mongod = Mongod.instance().start(Version.Main.V7_0);
+                ServerAddress address = mongod.current().getServerAddress();
+                mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort();
+            }
+
+            context = startApplication(mongoUri, stubs);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+
+            long seedStart = System.nanoTime();
+            clear(mongoTemplate);
+            DataGenerator.SeededData data = new DataGenerator(mongoTemplate, config.seed).seed(config);
+            long seedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart);
+            logger.info("Seeded {} candidates, {} companies, {} jobs, {} posts, {} clipers in {} ms",
+                    config.users, config.companies, config.jobs, config.posts, config.clipers, seedMillis);
+
+            ApiClient api = new ApiClient("http://localhost:" + port, mapper);
+            AtomicLong applicationCursor = new AtomicLong();
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Scenario scenario : config.scenarios) {
+                if (config.warmupSeconds > 0) {
+                    run(scenario, new Scenario.Context(api.recordingInto(new LatencyRecorder()), data, applicationCursor),
+                            config.concurrency, config.warmupSeconds);
+                }
+                LatencyRecorder recorder = new LatencyRecorder();
+                Scenario.Context ctx = new Scenario.Context(api.recordingInto(recorder), data, applicationCursor);
+                long start = System.nanoTime();
+                long failedIterations = run(scenario, ctx, config.concurrency, config.durationSeconds);
+                Map<String, Object> summary = recorder.summary((System.nanoTime() - start) / 1e9);
+                summary.put("failedIterations", failedIterations);
+                results.put(scenario.toString(), summary);
+                logger.info("Scenario {}: {}", scenario, summary);
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("timestamp", Instant.now().toString());
+            report.put("config", config.toString());
+            report.put("seedMillis", seedMillis);
+            report.put("scenarios", results);
+            Path reportPath = Path.of(config.report);
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+            logger.info("Report written to {}", reportPath.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String mongoUri, ServiceStubs stubs) throws IOException {
+        Files.createDirectories(Path.of("target"));
+        // Command-line arguments outrank application.properties, environment variables included
+        return new SpringApplicationBuilder(ClipersApplication.class).run(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--spring.data.mongodb.database=" + DATABASE,
+                "--spring.data.mongodb.auto-index-creation=true",
+                "--jwt.secret=" + UUID.randomUUID() + UUID.randomUUID(),
+                "--ai.matching.service.url=" + stubs.aiUrl(),
+                "--ai.matching.service.enabled=true",
+                "--video.processing.service.url=" + stubs.videoUrl(),
+                "--video.processing.service.enabled=true",
+                "--ai.matching.index.snapshot-path=target/loadtest-candidate-index.bin",
+                "--logging.level.com.clipers=WARN");
+    }
+
+    /**
+     * Empties every collection but keeps the indexes created at startup
+     */
+    private static void clear(MongoTemplate mongoTemplate) {
+        for (String collection : mongoTemplate.getCollectionNames()) {
+            if (!collection.startsWith("system.")) {
+                mongoTemplate.getCollection(collection).deleteMany(new Document());
+            }
+        }
+    }
+
+    /**
+     * Runs {@code concurrency} workers looping over the scenario until the deadline;
+     * returns how many iterations threw before completing their requests
+     */
+    private static long run(Scenario scenario, Scenario.Context ctx, int concurrency, int seconds) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-" + scenario);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong failed = new AtomicLong();
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    try {
+                        scenario.iteration(ctx);
+                    } catch (Exception e) {
+                        if (failed.getAndIncrement() == 0) {
+                            logger.warn("Scenario {} iteration failed: {}", scenario, e.getMessage());
+                        }
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        // Requests in flight at the deadline are allowed to finish (bounded by the client timeout)
+        if (!workers.awaitTermination(seconds + 120L, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        return failed.get();
+    }
+}
@@ -0,0 +1,175 @@
+package com.clipers.clipers.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scripted user journeys. Each worker thread calls {@link #iteration} in a loop until the scenario's
+ * time is up; every HTTP call made inside an iteration is recorded under its endpoint label.
+ */
+enum Scenario {
+
+    /** Credential check + token issue (BCrypt bound) */
+    LOGIN("login") {
+        @Override
+        void iteration(Context ctx) throws Exception {
+            ctx.api.login(ctx.randomCandidate());
+        }
+    },
+
+    /** A candidate opens the feed and scrolls a few pages */
+    FEED("feed") {
+        @Override
+        void iteration(Context ctx) {
+            String token = ctx.api.session(ctx.randomCandidate());
+            int pages = 1 + ctx.random().nextInt(FEED_MAX_PAGES);
+            for (int page = 0; page < pages; page++) {
+                ctx.api.get("GET /api/posts", "/api/posts?page=" + page + "&size=10", token);
+            }
+        }
+    },
+
+    /** Many candidates toggling likes on the same handful of hot posts */
+    LIKES("likes") {
+        @Override
+        void iteration(Context ctx) {
+            String token = ctx.api.session(ctx.randomCandidate());
+            List<String> postIds = ctx.data.postIds();
+            String postId = postIds.get(ctx.random().nextInt(Math.min(HOT_POSTS, postIds.size())));
+            ctx.api.post("POST /api/posts/{id}/like", "/api/posts/" + postId + "/like", token, null);
+        }
+    },
+
+    /**
+     * Candidates searching jobs with the filter combinations the UI produces; each query shape is
+     * recorded under its own label so the report compares them side by side
+     */
+    JOB_SEARCH("job-search") {
+        @Override
+        void iteration(Context ctx) {
+            String token = ctx.api.session(ctx.randomCandidate());
+            String type = JOB_TYPES[ctx.random().nextInt(JOB_TYPES.length)];
+            String location = DataGenerator.LOCATIONS[ctx.random().nextInt(DataGenerator.LOCATIONS.length)];
+            String prefix = location.substring(0, Math.min(3, location.length()));
+            String skill = DataGenerator.SKILLS[ctx.random().nextInt(DataGenerator.SKILLS.length)];
+            // {shape, query string}
+            String[] query = switch (ctx.random().nextInt(7)) {
+                case 0 -> new String[]{"all", ""};
+                case 1 -> new String[]{"type", "&type=" + type};
+                case 2 -> new String[]{"location", "&locationMatch=exact&location=" + encode(location)};
+                case 3 -> new String[]{"type+locationPrefix", "&type=" + type + "&location=" + encode(prefix)};
+                case 4 -> new String[]{"salary", "&salaryMin=2500"};
+                case 5 -> new String[]{"type+salary/salary_high", "&type=" + type + "&salaryMin=2500&sort=salary_high"};
+                default -> new String[]{"skills", "&skills=" + encode(skill)};
+            };
+            ctx.api.get("GET /api/jobs [" + query[0] + "]", "/api/jobs?page=0&size=10" + query[1], token);
+        }
+    },
+
+    /** A company publishes a job, which runs automatic matching over every ATS profile */
+    JOBS("jobs") {
+        @Override
+        void iteration(Context ctx) {
+            List<String> companies = ctx.data.companyEmails();
+            String token = ctx.api.session(companies.get(ctx.random().nextInt(companies.size())));
+            String skill = DataGenerator.SKILLS[ctx.random().nextInt(DataGenerator.SKILLS.length)];
+            Map<String, Object> body = Map.of(
+                    "title", "Desarrollador " + skill,
+                    "description", "Posición generada por la prueba de carga para " + skill,
+                    "requirements", List.of("2+ años de experiencia"),
+                    "skills", List.of(skill, DataGenerator.SKILLS[ctx.random().nextInt(DataGenerator.SKILLS.length)]),
+                    "location", DataGenerator.LOCATIONS[ctx.random().nextInt(DataGenerator.LOCATIONS.length)],
+                    "type", "FULL_TIME",
+                    "salaryMin", 2000,
+                    "salaryMax", 3500);
+            ctx.api.post("POST /api/jobs", "/api/jobs", token, body);
+        }
+    },
+
+    /**
+     * Candidates from the second half of the pool apply to jobs; (candidate, job) pairs never repeat
+     * until the pool is exhausted, so "already applied" errors mean the run outlasted the data set
+     */
+    APPLICATIONS("applications") {
+        @Override
+        void iteration(Context ctx) {
+            List<String> candidates = ctx.data.candidateEmails();
+            List<String> jobIds = ctx.data.jobIds();
+            int half = candidates.size() / 2;
+            long cursor = ctx.applicationCursor.getAndIncrement();
+            String candidate = candidates.get(half + (int) ((cursor / jobIds.size()) % (candidates.size() - half)));
+            String jobId = jobIds.get((int) (cursor % jobIds.size()));
+            ctx.api.post("POST /api/jobs/{jobId}/apply", "/api/jobs/" + jobId + "/apply", ctx.api.session(candidate),
+                    Map.of("message", "Me interesa la posición"));
+        }
+    },
+
+    /** A company asks for a fresh AI ranking of a job's applicants (stubbed AI service behind it) */
+    RANKING("ranking") {
+        @Override
+        void iteration(Context ctx) {
+            int job = ctx.random().nextInt(ctx.data.jobIds().size());
+            String token = ctx.api.session(ctx.data.jobCompanyEmails().get(job));
+            ctx.api.get("GET /api/ai/match/job/{jobId}/candidates",
+                    "/api/ai/match/job/" + ctx.data.jobIds().get(job) + "/candidates?limit=10&forceRefresh=true", token);
+        }
+    };
+
+    private static final int FEED_MAX_PAGES = 5;
+    private static final int HOT_POSTS = 20;
+    private static final String[] JOB_TYPES = {"FULL_TIME", "PART_TIME", "CONTRACT", "INTERNSHIP"};
+
+    private final String id;
+
+    Scenario(String id) {
+        this.id = id;
+    }
+
+    abstract void iteration(Context ctx) throws Exception;
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static Scenario byName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equalsIgnoreCase(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido: " + name);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    /**
+     * State shared by the workers of one scenario run
+     */
+    static final class Context {
+        final ApiClient api;
+        final DataGenerator.SeededData data;
+        final AtomicLong applicationCursor;
+
+        Context(ApiClient api, DataGenerator.SeededData data, AtomicLong applicationCursor) {
+            this.api = api;
+            this.data = data;
+            this.applicationCursor = applicationCursor;
+        }
+
+        ThreadLocalRandom random() {
+            return ThreadLocalRandom.current();
+        }
+
+        String randomCandidate() {
+            List<String> candidates = data.candidateEmails();
+            return candidates.get(random().nextInt(candidates.size()));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.clipers.clipers.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-ins for the AI matching and video processing microservices. Responses follow the
+ * real contracts (dto.matching, VideoProcessingResponse, TechnicalTestResponse) with a fixed
+ * artificial latency, so the numbers measure this API rather than the models behind it.
+ */
+final class ServiceStubs implements AutoCloseable {
+
+    private final ObjectMapper mapper;
+    private final ExecutorService executor;
+    private final HttpServer aiServer;
+    private final HttpServer videoServer;
+
+    ServiceStubs(ObjectMapper mapper, long aiLatencyMs, long videoLatencyMs) throws IOException {
+        this.mapper = mapper;
+        this.executor = Executors.newFixedThreadPool(32, runnable -> {
+            Thread thread = new Thread(runnable, "service-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.aiServer = server();
+        aiServer.createContext("/health", json(aiLatencyMs, body -> Map.of(
+                "status", "healthy", "message", "stub", "service", "ai-matching-stub", "version", "loadtest")));
+        aiServer.createContext("/api/match/single", json(aiLatencyMs, this::singleMatch));
+        aiServer.createContext("/api/match/explain", json(aiLatencyMs, this::singleMatch));
+        aiServer.createContext("/api/match/batch", json(aiLatencyMs, this::batchMatch));
+
+        this.videoServer = server();
+        videoServer.createContext("/upload-video", json(videoLatencyMs, body -> videoProfile()));
+        videoServer.createContext("/generate-technical-test", json(videoLatencyMs, body -> technicalTest()));
+
+        aiServer.start();
+        videoServer.start();
+    }
+
+    String aiUrl() {
+        return "http://localhost:" + aiServer.getAddress().getPort();
+    }
+
+    String videoUrl() {
+        return "http://localhost:" + videoServer.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        aiServer.stop(0);
+        videoServer.stop(0);
+        executor.shutdownNow();
+    }
+
+    private HttpServer server() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 256);
+        server.setExecutor(executor);
+        return server;
+    }
+
+    private Map<String, Object> singleMatch(JsonNode request) {
+        JsonNode job = request.path("job");
+        Map<String, Object> match = rankedMatch(request.path("candidate"), job);
+        match.remove("rank");
+        match.put("jobId", job.path("id").asText());
+        match.put("source", "ai-service");
+        return match;
+    }
+
+    private Map<String, Object> batchMatch(JsonNode request) {
+        JsonNode job = request.path("job");
+        List<Map<String, Object>> matches = new ArrayList<>();
+        for (JsonNode candidate : request.path("candidates")) {
+            matches.add(rankedMatch(candidate, job));
+        }
+        matches.sort(Comparator.comparingDouble((Map<String, Object> m) -> (double) m.get("compatibilityScore")).reversed());
+
+        double total = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            matches.get(i).put("rank", i + 1);
+            total += (double) matches.get(i).get("compatibilityScore");
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobId", job.path("id").asText());
+        response.put("jobTitle", job.path("title").asText());
+        response.put("totalCandidates", matches.size());
+        response.put("matches", matches);
+        response.put("averageScore", matches.isEmpty() ? 0.0 : total / matches.size());
+        response.put("topSkillsMatched", List.of());
+        response.put("source", "ai-service");
+        return response;
+    }
+
+    /**
+     * Skill overlap as the score: cheap, deterministic and still spreads candidates out
+     */
+    private Map<String, Object> rankedMatch(JsonNode candidate, JsonNode job) {
+        Set<String> candidateSkills = lowerCase(candidate.path("skills"));
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (JsonNode skill : job.path("skills")) {
+            (candidateSkills.contains(skill.asText().toLowerCase(Locale.ROOT)) ? matched : missing).add(skill.asText());
+        }
+        int required = matched.size() + missing.size();
+        double skillsMatch = required == 0 ? 0.5 : (double) matched.size() / required;
+        double experienceMatch = Math.min(1.0, candidate.path("experienceYears").asDouble(0) / 5.0);
+        double score = 0.7 * skillsMatch + 0.3 * experienceMatch;
+
+        Map<String, Object> breakdown = new LinkedHashMap<>();
+        breakdown.put("skillsMatch", skillsMatch);
+        breakdown.put("experienceMatch", experienceMatch);
+        breakdown.put("educationMatch", 0.5);
+        breakdown.put("semanticMatch", skillsMatch);
+        breakdown.put("locationMatch", 1.0);
+
+        Map<String, Object> match = new LinkedHashMap<>();
+        match.put("candidateId", candidate.path("id").asText());
+        match.put("candidateName", candidate.path("name").asText());
+        match.put("compatibilityScore", score);
+        match.put("matchPercentage", (int) Math.round(score * 100));
+        match.put("rank", 0);
+        match.put("breakdown", breakdown);
+        match.put("matchedSkills", matched);
+        match.put("missingSkills", missing);
+        match.put("explanation", "Coincidencia de " + matched.size() + " de " + required + " habilidades");
+        match.put("recommendations", List.of());
+        match.put("matchQuality", score >= 0.7 ? "high" : score >= 0.4 ? "medium" : "low");
+        return match;
+    }
+
+    private Map<String, Object> videoProfile() {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("name", "Candidato de prueba");
+        profile.put("profession", "Backend Developer");
+        profile.put("experience", "3 años desarrollando APIs REST");
+        profile.put("education", "Ingeniería de Sistemas");
+        profile.put("technologies", "Java, Spring Boot, MongoDB, Docker");
+        profile.put("languages", "Español, Inglés");
+        profile.put("achievements", "Migración de monolito a microservicios");
+        profile.put("soft_skills", "Comunicación, Trabajo en equipo");
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("cv_profile", "Desarrollador backend con experiencia en Java y Spring Boot");
+        response.put("transcription", "Hola, soy desarrollador backend con tres años de experiencia en Java y Spring Boot");
+        response.put("profile", profile);
+        response.put("profile_data", profile);
+        return response;
+    }
+
+    private Map<String, Object> technicalTest() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("profession", "Backend Developer");
+        summary.put("technologies", "Java, Spring Boot, MongoDB");
+        summary.put("experience", "3 años");
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("technical_test_markdown", "# Prueba técnica\n\n1. Diseña un endpoint REST paginado.\n2. Explica los índices compuestos en MongoDB.\n");
+        response.put("profile_summary", summary);
+        return response;
+    }
+
+    private HttpHandler json(long latencyMs, StubResponse response) {
+        return exchange -> {
+            try (exchange) {
+                JsonNode request = readBody(exchange);
+                sleep(latencyMs);
+                byte[] body = mapper.writeValueAsBytes(response.apply(request));
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (RuntimeException e) {
+                exchange.sendResponseHeaders(500, -1);
+            }
+        };
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            // Multipart uploads (/upload-video) are drained and ignored
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (bytes.length == 0 || contentType == null || !contentType.startsWith("application/json")) {
+                return mapper.createObjectNode();
+            }
+            return mapper.readTree(bytes);
+        }
+    }
+
+    private static Set<String> lowerCase(JsonNode values) {
+        Set<String> set = new HashSet<>();
+        for (JsonNode value : values) {
+            set.add(value.asText().toLowerCase(Locale.ROOT));
+        }
+        return set;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StubResponse {
+        Object apply(JsonNode request);
+    }
+}
@@ -0,0 +1,46 @@
+package com.clipers.clipers.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Standard Micrometer cache meters (cache.size, cache.gets{result=hit|miss}, cache.puts, cache.evictions)
+ * for a {@link BoundedCache}, tagged with the cache name
+ */
+public class BoundedCacheMetrics extends CacheMeterBinder<BoundedCache<?, ?>> {
+
+    public BoundedCacheMetrics(BoundedCache<?, ?> cache) {
+        super(cache, cache.getName(), Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        return (long) getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().getHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().getMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().getEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().getPuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        // Nothing beyond the standard cache meters
+    }
+}
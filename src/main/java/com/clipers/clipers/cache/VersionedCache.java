@@ -0,0 +1,135 @@
+package com.clipers.clipers.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Read-through entity cache keyed by id, on top of a {@link BoundedCache}.
+ *
+ * Every key hashes to one of a fixed set of version stripes. Invalidation bumps the stripe, and a
+ * loaded value is only stored if its stripe did not move while the load was in flight, so a read that
+ * raced with an update can never put the stale copy back. Unrelated keys sharing a stripe merely skip
+ * caching that one load. Cached instances are shared: callers must treat them as read-only.
+ */
+public class VersionedCache<T> implements MeterBinder {
+
+    private static final int STRIPES = 1024;
+
+    private final BoundedCache<String, T> cache;
+    private final Function<T, String> idOf;
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    public VersionedCache(String name, int maxEntries, long ttlMillis, Function<T, String> idOf) {
+        this.cache = new BoundedCache<>(name, maxEntries, ttlMillis);
+        this.idOf = idOf;
+    }
+
+    public Optional<T> get(String id, Function<String, Optional<T>> loader) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        T cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long version = versions.get(stripe(id));
+        Optional<T> loaded = loader.apply(id);
+        loaded.ifPresent(value -> putIfUnchanged(id, value, version));
+        return loaded;
+    }
+
+    /**
+     * Values for the given ids (missing ones are simply absent); all misses are loaded with a single
+     * call to the batch loader
+     */
+    public Map<String, T> getAll(Collection<String> ids, Function<Collection<String>, Iterable<T>> batchLoader) {
+        Map<String, T> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        Map<String, Long> stamps = new HashMap<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            T cached = cache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+                stamps.put(id, versions.get(stripe(id)));
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (T value : batchLoader.apply(missing)) {
+                String id = idOf.apply(value);
+                found.put(id, value);
+                Long version = stamps.get(id);
+                if (version != null) {
+                    putIfUnchanged(id, value, version);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Write-through after a save: drops whatever a concurrent load is about to store, then caches the saved copy
+     */
+    public void put(T value) {
+        String id = idOf.apply(value);
+        if (id == null) {
+            return;
+        }
+        versions.incrementAndGet(stripe(id));
+        cache.put(id, value);
+    }
+
+    public void invalidate(String id) {
+        if (id == null) {
+            return;
+        }
+        versions.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> getStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new BoundedCacheMetrics(cache).bindTo(registry);
+    }
+
+    private void putIfUnchanged(String id, T value, long version) {
+        // Check, store, re-check: an invalidation landing in between removes the entry again
+        if (versions.get(stripe(id)) != version) {
+            return;
+        }
+        cache.put(id, value);
+        if (versions.get(stripe(id)) != version) {
+            cache.invalidate(id);
+        }
+    }
+
+    private static int stripe(String id) {
+        return Math.floorMod(Objects.hashCode(id), STRIPES);
+    }
+}
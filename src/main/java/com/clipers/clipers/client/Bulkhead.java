@@ -0,0 +1,40 @@
+package com.clipers.clipers.client;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semaphore bulkhead: caps concurrent calls to one downstream so a slow dependency
+ * cannot take every request thread with it.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrentCalls;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+
+    public Bulkhead(int maxConcurrentCalls, long maxWaitMs) {
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.permits = new Semaphore(this.maxConcurrentCalls, true);
+    }
+
+    public boolean tryAcquire() {
+        try {
+            return maxWaitMs == 0
+                    ? permits.tryAcquire()
+                    : permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+
+    public int getActiveCalls() { return maxConcurrentCalls - permits.availablePermits(); }
+}
@@ -0,0 +1,150 @@
+package com.clipers.clipers.client;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Count-based circuit breaker (State Pattern implicitly: CLOSED -> OPEN -> HALF_OPEN -> CLOSED).
+ *
+ * Outcomes of the last {@code slidingWindowSize} calls are kept in a ring. Once at least
+ * {@code minimumCalls} were recorded and the failure rate reaches the threshold the breaker opens,
+ * and every call is short-circuited for {@code openDurationMs}. After that a limited number of
+ * trial calls decide whether it closes again or re-opens.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+
+    private final boolean[] outcomes; // true = failure
+    private int position;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long timesOpened;
+
+    public CircuitBreaker(int slidingWindowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationMs, int halfOpenCalls) {
+        this.slidingWindowSize = Math.max(1, slidingWindowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.slidingWindowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.outcomes = new boolean[this.slidingWindowSize];
+    }
+
+    /**
+     * @return true if the call may proceed; false if it must be short-circuited
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits <= 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failureRate() >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * Releases a half-open trial permit for a call that was neither a success nor a failure
+     * (e.g. rejected by the bulkhead after being admitted here).
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            return State.HALF_OPEN; // reported lazily; the next call performs the transition
+        }
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0.0 : (failures * 100.0) / recorded;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", getState().name());
+        snapshot.put("failureRatePercent", Math.round(failureRate() * 10) / 10.0);
+        snapshot.put("bufferedCalls", recorded);
+        snapshot.put("timesOpened", timesOpened);
+        return snapshot;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == slidingWindowSize) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % slidingWindowSize;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        switch (newState) {
+            case OPEN -> {
+                openedAt = System.currentTimeMillis();
+                timesOpened++;
+            }
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                position = 0;
+                recorded = 0;
+                failures = 0;
+                Arrays.fill(outcomes, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.clipers.clipers.client;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Decorator Pattern implicitly: wraps the pooled RestTemplate of one downstream service with a
+ * bulkhead, a circuit breaker and call statistics. Callers describe the call and its fallback:
+ *
+ * <pre>
+ * client.execute(() -&gt; client.rest().postForObject(url, body, Dto.class), error -&gt; fallback());
+ * </pre>
+ */
+public class DownstreamClient implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamClient.class);
+
+    private static final int LATENCY_SAMPLES = 512;
+
+    private final String name;
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong bulkheadRejected = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    // Most recent latencies, used for percentiles on the stats endpoint
+    private final long[] latencySamples = new long[LATENCY_SAMPLES];
+    private int latencyPosition;
+    private int latencyCount;
+
+    public DownstreamClient(String name, RestTemplate restTemplate, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.name = name;
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public String getName() { return name; }
+
+    public RestTemplate rest() { return restTemplate; }
+
+    public CircuitBreaker getCircuitBreaker() { return circuitBreaker; }
+
+    public Bulkhead getBulkhead() { return bulkhead; }
+
+    /**
+     * Runs the call if the breaker and bulkhead allow it; otherwise, or when it fails, returns the fallback.
+     * 4xx responses are answered with the fallback but do not count against the breaker.
+     * Both permits are released in finally blocks, so even an Error thrown by the call cannot leak
+     * a bulkhead slot or leave a half-open trial permit taken forever.
+     */
+    public <T> T execute(Supplier<T> call, Function<Throwable, T> fallback) {
+        calls.incrementAndGet();
+
+        if (!circuitBreaker.tryAcquirePermission()) {
+            shortCircuited.incrementAndGet();
+            return fallback.apply(new DownstreamUnavailableException(name + ": circuit open"));
+        }
+
+        boolean outcomeRecorded = false;
+        try {
+            if (!bulkhead.tryAcquire()) {
+                bulkheadRejected.incrementAndGet();
+                return fallback.apply(new DownstreamUnavailableException(name + ": bulkhead full"));
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                recordLatency(System.nanoTime() - start);
+                successes.incrementAndGet();
+                circuitBreaker.onSuccess();
+                outcomeRecorded = true;
+                return result;
+            } catch (HttpClientErrorException e) {
+                recordLatency(System.nanoTime() - start);
+                failures.incrementAndGet();
+                circuitBreaker.onSuccess(); // the service answered; the request was wrong
+                outcomeRecorded = true;
+                logger.warn("{} rejected request: {}", name, e.getStatusCode());
+                return fallback.apply(e);
+            } catch (RuntimeException e) {
+                recordLatency(System.nanoTime() - start);
+                failures.incrementAndGet();
+                circuitBreaker.onFailure();
+                outcomeRecorded = true;
+                logger.warn("{} call failed ({}), using fallback: {}", name, circuitBreaker.getState(), e.getMessage());
+                return fallback.apply(e);
+            } finally {
+                bulkhead.release();
+            }
+        } finally {
+            if (!outcomeRecorded) {
+                // Rejected by the bulkhead, or the call threw an Error: neither a success nor a failure
+                circuitBreaker.releasePermission();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long completed = successes.get() + failures.get();
+        stats.put("name", name);
+        stats.put("calls", calls.get());
+        stats.put("successes", successes.get());
+        stats.put("failures", failures.get());
+        stats.put("errorRatePercent", completed == 0 ? 0.0 : Math.round(failures.get() * 1000.0 / completed) / 10.0);
+        stats.put("shortCircuited", shortCircuited.get());
+        stats.put("bulkheadRejected", bulkheadRejected.get());
+        stats.put("activeCalls", bulkhead.getActiveCalls());
+        stats.put("maxConcurrentCalls", bulkhead.getMaxConcurrentCalls());
+        stats.put("circuitBreaker", circuitBreaker.snapshot());
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        long[] samples = latencySnapshot();
+        latency.put("avgMs", completed == 0 ? 0 : toMillis(totalLatencyNanos.get() / completed));
+        latency.put("p50Ms", toMillis(percentile(samples, 0.50)));
+        latency.put("p95Ms", toMillis(percentile(samples, 0.95)));
+        latency.put("p99Ms", toMillis(percentile(samples, 0.99)));
+        latency.put("maxMs", toMillis(maxLatencyNanos.get()));
+        stats.put("latency", latency);
+        return stats;
+    }
+
+    /**
+     * Resilience meters tagged downstream=name; call latency itself is the http.client.requests timer
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("downstream", name);
+        FunctionCounter.builder("clipers.downstream.calls", calls, AtomicLong::get)
+                .tags(tags).description("Calls attempted").register(registry);
+        FunctionCounter.builder("clipers.downstream.failures", failures, AtomicLong::get)
+                .tags(tags).description("Calls that failed and used the fallback").register(registry);
+        FunctionCounter.builder("clipers.downstream.short.circuited", shortCircuited, AtomicLong::get)
+                .tags(tags).description("Calls rejected by the open circuit breaker").register(registry);
+        FunctionCounter.builder("clipers.downstream.bulkhead.rejected", bulkheadRejected, AtomicLong::get)
+                .tags(tags).description("Calls rejected because the bulkhead was full").register(registry);
+        Gauge.builder("clipers.downstream.bulkhead.active", bulkhead, Bulkhead::getActiveCalls)
+                .tags(tags).description("Calls in flight").register(registry);
+        // 0 = closed, 1 = half-open, 2 = open
+        Gauge.builder("clipers.downstream.circuit.state", circuitBreaker, breaker -> switch (breaker.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .tags(tags).description("Circuit breaker state").register(registry);
+        Gauge.builder("clipers.downstream.circuit.failure.rate", circuitBreaker, CircuitBreaker::failureRate)
+                .tags(tags).description("Failure rate (%) of the breaker sliding window").register(registry);
+    }
+
+    private void recordLatency(long nanos) {
+        totalLatencyNanos.addAndGet(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+        synchronized (latencySamples) {
+            latencySamples[latencyPosition] = nanos;
+            latencyPosition = (latencyPosition + 1) % LATENCY_SAMPLES;
+            if (latencyCount < LATENCY_SAMPLES) {
+                latencyCount++;
+            }
+        }
+    }
+
+    private long[] latencySnapshot() {
+        synchronized (latencySamples) {
+            long[] copy = Arrays.copyOf(latencySamples, latencyCount);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.clipers.clipers.client;
+
+/**
+ * Raised (and handed to the fallback) when a call is not attempted at all:
+ * the circuit is open or the bulkhead is full.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    public DownstreamUnavailableException(String message) {
+        super(message);
+    }
+}
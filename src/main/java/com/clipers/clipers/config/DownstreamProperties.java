@@ -0,0 +1,76 @@
+package com.clipers.clipers.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-downstream HTTP settings: downstream.services.&lt;name&gt;.*
+ * (pool size, timeouts, bulkhead and circuit breaker thresholds)
+ */
+@ConfigurationProperties(prefix = "downstream")
+public class DownstreamProperties {
+
+    private Map<String, Settings> services = new HashMap<>();
+
+    public Map<String, Settings> getServices() { return services; }
+    public void setServices(Map<String, Settings> services) { this.services = services; }
+
+    public Settings get(String name) {
+        return services.getOrDefault(name, new Settings());
+    }
+
+    public static class Settings {
+        private long connectTimeoutMs = 2000;
+        private long readTimeoutMs = 10000;
+        private long connectionRequestTimeoutMs = 1000; // wait for a pooled connection
+        private int maxConnections = 20;
+        private long idleEvictSeconds = 30;
+
+        private int maxConcurrentCalls = 10;
+        private long bulkheadMaxWaitMs = 0;
+
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 50.0;
+        private long openDurationMs = 30000;
+        private int halfOpenCalls = 3;
+
+        public long getConnectTimeoutMs() { return connectTimeoutMs; }
+        public void setConnectTimeoutMs(long connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
+
+        public long getReadTimeoutMs() { return readTimeoutMs; }
+        public void setReadTimeoutMs(long readTimeoutMs) { this.readTimeoutMs = readTimeoutMs; }
+
+        public long getConnectionRequestTimeoutMs() { return connectionRequestTimeoutMs; }
+        public void setConnectionRequestTimeoutMs(long connectionRequestTimeoutMs) { this.connectionRequestTimeoutMs = connectionRequestTimeoutMs; }
+
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+
+        public long getIdleEvictSeconds() { return idleEvictSeconds; }
+        public void setIdleEvictSeconds(long idleEvictSeconds) { this.idleEvictSeconds = idleEvictSeconds; }
+
+        public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) { this.maxConcurrentCalls = maxConcurrentCalls; }
+
+        public long getBulkheadMaxWaitMs() { return bulkheadMaxWaitMs; }
+        public void setBulkheadMaxWaitMs(long bulkheadMaxWaitMs) { this.bulkheadMaxWaitMs = bulkheadMaxWaitMs; }
+
+        public int getSlidingWindowSize() { return slidingWindowSize; }
+        public void setSlidingWindowSize(int slidingWindowSize) { this.slidingWindowSize = slidingWindowSize; }
+
+        public int getMinimumCalls() { return minimumCalls; }
+        public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+
+        public double getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(double failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+
+        public long getOpenDurationMs() { return openDurationMs; }
+        public void setOpenDurationMs(long openDurationMs) { this.openDurationMs = openDurationMs; }
+
+        public int getHalfOpenCalls() { return halfOpenCalls; }
+        public void setHalfOpenCalls(int halfOpenCalls) { this.halfOpenCalls = halfOpenCalls; }
+    }
+}
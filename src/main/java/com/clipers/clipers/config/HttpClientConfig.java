@@ -0,0 +1,116 @@
+package com.clipers.clipers.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import io.micrometer.common.KeyValues;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.web.client.RestTemplate;
+
+import com.clipers.clipers.client.Bulkhead;
+import com.clipers.clipers.client.CircuitBreaker;
+import com.clipers.clipers.client.DownstreamClient;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Factory Pattern implicitly: one isolated HTTP client per downstream service.
+ * Each gets its own connection pool, timeouts, bulkhead and circuit breaker so that a slow
+ * video microservice cannot starve AI matching calls (and vice versa).
+ */
+@Configuration
+@EnableConfigurationProperties(DownstreamProperties.class)
+public class HttpClientConfig {
+
+    public static final String AI_MATCHING = "ai-matching";
+    public static final String VIDEO_PROCESSING = "video-processing";
+    public static final String TECHNICAL_TESTS = "technical-tests";
+
+    // Pooled clients created here; closed with the context so their connections and evictor threads go too
+    private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    @Bean
+    public DownstreamClient aiMatchingClient(RestTemplateBuilder builder, DownstreamProperties properties) {
+        return createClient(AI_MATCHING, builder, properties.get(AI_MATCHING));
+    }
+
+    @Bean
+    public DownstreamClient videoProcessingClient(RestTemplateBuilder builder, DownstreamProperties properties) {
+        return createClient(VIDEO_PROCESSING, builder, properties.get(VIDEO_PROCESSING));
+    }
+
+    @Bean
+    public DownstreamClient technicalTestClient(RestTemplateBuilder builder, DownstreamProperties properties) {
+        return createClient(TECHNICAL_TESTS, builder, properties.get(TECHNICAL_TESTS));
+    }
+
+    private DownstreamClient createClient(String name, RestTemplateBuilder builder, DownstreamProperties.Settings settings) {
+        RestTemplate restTemplate = builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(createHttpClient(settings)))
+                .build();
+        // Boot's builder already wires the ObservationRegistry (http.client.requests); tag it per downstream
+        restTemplate.setObservationConvention(new DefaultClientRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and("downstream", name);
+            }
+        });
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                settings.getSlidingWindowSize(),
+                settings.getMinimumCalls(),
+                settings.getFailureRateThreshold(),
+                settings.getOpenDurationMs(),
+                settings.getHalfOpenCalls());
+        Bulkhead bulkhead = new Bulkhead(settings.getMaxConcurrentCalls(), settings.getBulkheadMaxWaitMs());
+
+        return new DownstreamClient(name, restTemplate, circuitBreaker, bulkhead);
+    }
+
+    @PreDestroy
+    public void closeHttpClients() {
+        // The client owns its connection manager and closes it as well
+        httpClients.forEach(client -> client.close(CloseMode.GRACEFUL));
+        httpClients.clear();
+    }
+
+    private CloseableHttpClient createHttpClient(DownstreamProperties.Settings settings) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.getMaxConnections())
+                .setMaxConnPerRoute(settings.getMaxConnections()) // one route per downstream
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(settings.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(settings.getReadTimeoutMs()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(settings.getConnectionRequestTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(settings.getReadTimeoutMs()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(settings.getIdleEvictSeconds()))
+                .disableAutomaticRetries() // the breaker decides; no hidden retries on POSTs
+                .build();
+        httpClients.add(httpClient);
+        return httpClient;
+    }
+}
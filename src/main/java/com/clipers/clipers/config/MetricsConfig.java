@@ -0,0 +1,28 @@
+package com.clipers.clipers.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer wiring. What gets measured:
+ * - clipers.service: @Observed service classes (tags class, method, error; also traced, see TracingConfig)
+ * - mongodb.driver.commands / mongodb.driver.pool.*: Boot's Mongo listeners (tags command, collection)
+ * - http.client.requests: downstream RestTemplates (tag downstream, see HttpClientConfig)
+ * - http.server.requests, jvm.*, executor.*, cache.*, clipers.*: queues, executors, breakers, caches (MeterBinder beans)
+ * Percentile histograms are switched on per meter in application.properties (management.metrics.distribution.*).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags(@Value("${spring.application.name}") String application) {
+        return registry -> registry.config()
+                .commonTags("application", application)
+                // Mongo tags every command with cluster id and server address; the per-collection split is what matters
+                .meterFilter(MeterFilter.ignoreTags("cluster.id", "server.address"));
+    }
+}
@@ -0,0 +1,12 @@
+package com.clipers.clipers.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (trending ranking, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -8,6 +8,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -16,11 +20,14 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,6 +43,9 @@ public class SecurityConfig {
     @Value("${cors.allowed.origins}")
     private String[] allowedOrigins;
 
+    @Value("${prometheus.scrape-token:}")
+    private String prometheusScrapeToken;
+
     @Autowired
     public SecurityConfig(CustomUserDetailsService customUserDetailsService,
                          JwtAuthenticationFilter jwtAuthenticationFilter,
@@ -77,6 +87,7 @@ public class SecurityConfig {
                     .requestMatchers("/api/uploads/**").permitAll()
                     .requestMatchers("/uploads/**").permitAll()
                     .requestMatchers("/actuator/health").permitAll()
+                    .requestMatchers("/actuator/prometheus").access(prometheusScrape())
                     .requestMatchers("/error").permitAll()
                     .requestMatchers("/").permitAll();
                 
@@ -115,6 +126,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Metrics expose internals (pool and queue sizes, cache sizes, downstream service names): ADMIN users, or
+     * a scraper sending the configured token as "Authorization: Bearer <token>"
+     */
+    private AuthorizationManager<RequestAuthorizationContext> prometheusScrape() {
+        byte[] expected = prometheusScrapeToken.getBytes(StandardCharsets.UTF_8);
+        AuthorizationManager<RequestAuthorizationContext> scrapeToken = (authentication, context) -> {
+            String header = context.getRequest().getHeader("Authorization");
+            boolean granted = expected.length > 0 && header != null && header.startsWith("Bearer ")
+                    && MessageDigest.isEqual(expected, header.substring(7).getBytes(StandardCharsets.UTF_8));
+            return new AuthorizationDecision(granted);
+        };
+        return AuthorizationManagers.anyOf(AuthorityAuthorizationManager.hasRole("ADMIN"), scrapeToken);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,49 @@
+package com.clipers.clipers.config;
+
+import com.clipers.clipers.tracing.OtlpJsonFileSpanExporter;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Request tracing on top of Micrometer Observation, bridged to OpenTelemetry. Spans per request:
+ * - http.server.requests: the controller call (Boot, W3C traceparent accepted from callers)
+ * - clipers.service: @Observed service classes, one span per public method
+ * - spring.data.mongodb.command: every Mongo command, as a child of whatever is running
+ * - http.client.requests: downstream RestTemplates; traceparent is sent to the AI and video services
+ * traceId/spanId go to the MDC, so they show up in the logs (JSON fields or the text pattern).
+ * Sampling: management.tracing.sampling.probability. Export: OTLP/HTTP to a collector
+ * (management.otlp.tracing.endpoint) and/or OTLP/JSON lines to a local file (tracing.export.file.*).
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry registry) {
+        return new ObservedAspect(registry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservation(ObservationRegistry registry) {
+        // The context provider hands the current observation to the driver, so commands nest under it
+        return builder -> builder
+                .contextProvider(ContextProviderFactory.create(registry))
+                .addCommandListener(new MongoObservationCommandListener(registry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.file.enabled", havingValue = "true")
+    public OtlpJsonFileSpanExporter otlpJsonFileSpanExporter(@Value("${tracing.export.file.path}") String path) throws IOException {
+        // Picked up by Boot's BatchSpanProcessor along with the OTLP exporter, if one is configured
+        return new OtlpJsonFileSpanExporter(Path.of(path));
+    }
+}
@@ -1,8 +1,6 @@
 package com.clipers.clipers.config;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -18,9 +16,4 @@ public class WebConfig implements WebMvcConfigurer {
                 .setCachePeriod(86400) // Cache por 24 horas (reduce peticiones)
                 .resourceChain(true); // Habilita optimizaciones
     }
-
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
\ No newline at end of file
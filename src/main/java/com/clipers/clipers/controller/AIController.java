@@ -7,18 +7,28 @@ import com.clipers.clipers.entity.JobMatch;
 import com.clipers.clipers.entity.User;
 import com.clipers.clipers.repository.ATSProfileRepository;
 import com.clipers.clipers.repository.JobMatchRepository;
-import com.clipers.clipers.repository.JobRepository;
 import com.clipers.clipers.repository.UserRepository;
+import com.clipers.clipers.service.AIMatchCacheService;
 import com.clipers.clipers.service.AIMatchingService;
 import com.clipers.clipers.service.AIMatchResultService;
+import com.clipers.clipers.service.BatchMatchingOrchestrator;
+import com.clipers.clipers.service.CandidateAssembler;
+import com.clipers.clipers.service.CandidateVectorIndex;
+import com.clipers.clipers.service.EntityCacheService;
+import com.clipers.clipers.service.LocalSemanticMatcher;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,26 +38,44 @@ public class AIController {
 
     private static final Logger logger = LoggerFactory.getLogger(AIController.class);
 
+    private static final long STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
+    private static final int MAX_DISCOVER_K = 200;
+
     private final AIMatchingService aiMatchingService;
     private final AIMatchResultService aiMatchResultService;
+    private final AIMatchCacheService aiMatchCacheService;
+    private final BatchMatchingOrchestrator batchMatchingOrchestrator;
+    private final CandidateAssembler candidateAssembler;
+    private final CandidateVectorIndex candidateVectorIndex;
+    private final LocalSemanticMatcher localSemanticMatcher;
     private final UserRepository userRepository;
     private final ATSProfileRepository atsProfileRepository;
-    private final JobRepository jobRepository;
+    private final EntityCacheService entityCache;
     private final JobMatchRepository jobMatchRepository;
 
     public AIController(
             AIMatchingService aiMatchingService,
             AIMatchResultService aiMatchResultService,
+            AIMatchCacheService aiMatchCacheService,
+            BatchMatchingOrchestrator batchMatchingOrchestrator,
+            CandidateAssembler candidateAssembler,
+            CandidateVectorIndex candidateVectorIndex,
+            LocalSemanticMatcher localSemanticMatcher,
             UserRepository userRepository,
             ATSProfileRepository atsProfileRepository,
-            JobRepository jobRepository,
+            EntityCacheService entityCache,
             JobMatchRepository jobMatchRepository
     ) {
         this.aiMatchingService = aiMatchingService;
         this.aiMatchResultService = aiMatchResultService;
+        this.aiMatchCacheService = aiMatchCacheService;
+        this.batchMatchingOrchestrator = batchMatchingOrchestrator;
+        this.candidateAssembler = candidateAssembler;
+        this.candidateVectorIndex = candidateVectorIndex;
+        this.localSemanticMatcher = localSemanticMatcher;
         this.userRepository = userRepository;
         this.atsProfileRepository = atsProfileRepository;
-        this.jobRepository = jobRepository;
+        this.entityCache = entityCache;
         this.jobMatchRepository = jobMatchRepository;
     }
 
@@ -93,11 +121,12 @@ public class AIController {
             return ResponseEntity.badRequest().build();
         }
 
-        if (request.getCandidates().size() > 100) {
+        if (request.getCandidates().size() > batchMatchingOrchestrator.getMaxCandidates()) {
             return ResponseEntity.badRequest().build();
         }
 
-        BatchMatchResponseDTO result = aiMatchingService.matchBatchCandidates(
+        // Large sets are split into chunks and scored in parallel
+        BatchMatchResponseDTO result = batchMatchingOrchestrator.rankAll(
             request.getCandidates(), 
             request.getJob()
         );
@@ -143,22 +172,25 @@ public class AIController {
             .orElseThrow(() -> new RuntimeException("ATS Profile not found"));
 
         // Fetch job data
-        Job job = jobRepository.findById(jobId)
+        Job job = entityCache.getJob(jobId)
             .orElseThrow(() -> new RuntimeException("Job not found"));
 
         // Convert to DTOs
-        CandidateDTO candidateDTO = convertToCandidateDTO(user, profile);
+        CandidateDTO candidateDTO = candidateAssembler.toCandidateDTO(user, profile);
         JobDTO jobDTO = convertToJobDTO(job);
 
-        // Perform matching
-        SingleMatchResponseDTO result = aiMatchingService.matchSingleCandidate(candidateDTO, jobDTO);
+        // Perform matching (cached while neither profile nor job changes)
+        SingleMatchResponseDTO result = aiMatchCacheService.getMatch(
+            candidateDTO, profile.getUpdatedAt(), jobDTO, job.getUpdatedAt(),
+            () -> aiMatchingService.matchSingleCandidate(candidateDTO, jobDTO)
+        );
         
         return ResponseEntity.ok(result);
     }
 
     /**
      * Find best candidates for a job
-     * Fetches all applicants for the job and ranks them using AI
+     * Ranks every applicant for the job using AI (in parallel chunks) and returns the top {@code limit}
      * Results are persisted and can be retrieved after page refresh
      */
     @GetMapping("/match/job/{jobId}/candidates")
@@ -173,43 +205,14 @@ public class AIController {
         // Check if we have saved results and should use them
         if (!forceRefresh && aiMatchResultService.hasMatchResults(jobId)) {
             logger.info("Returning saved match results for job {}", jobId);
-            return ResponseEntity.ok(getSavedMatchResults(jobId));
+            return ResponseEntity.ok(topMatches(getSavedMatchResults(jobId), limit));
         }
 
         // Fetch job
-        Job job = jobRepository.findById(jobId)
+        Job job = entityCache.getJob(jobId)
             .orElseThrow(() -> new RuntimeException("Job not found"));
 
-        // Fetch all job matches (applications) for this job
-        List<JobMatch> jobMatches = jobMatchRepository.findByJobId(jobId);
-        
-        logger.info("Found {} applications for job {}", jobMatches.size(), jobId);
-        
-        if (jobMatches.isEmpty()) {
-            logger.warn("No applications found for job {}", jobId);
-            return ResponseEntity.noContent().build();
-        }
-
-        // Get user IDs from job matches and fetch users with their profiles
-        List<CandidateDTO> candidateDTOs = jobMatches.stream()
-            .limit(Math.min(limit, 100)) // Max 100 candidates
-            .map(jobMatch -> {
-                try {
-                    User user = userRepository.findById(jobMatch.getUserId())
-                        .orElseThrow(() -> new RuntimeException("User not found: " + jobMatch.getUserId()));
-                    
-                    ATSProfile profile = atsProfileRepository.findByUserId(user.getId())
-                        .orElse(null); // Allow null profile, will have lower AI score
-                    
-                    return convertToCandidateDTO(user, profile);
-                } catch (Exception e) {
-                    logger.error("Error fetching candidate data for user {}: {}", jobMatch.getUserId(), e.getMessage());
-                    return null;
-                }
-            })
-            .filter(dto -> dto != null) // Remove failed conversions
-            .collect(Collectors.toList());
-        
+        List<CandidateDTO> candidateDTOs = loadApplicantCandidates(jobId);
         if (candidateDTOs.isEmpty()) {
             logger.warn("No valid candidate DTOs created for job {}", jobId);
             return ResponseEntity.noContent().build();
@@ -217,15 +220,140 @@ public class AIController {
 
         JobDTO jobDTO = convertToJobDTO(job);
 
-        // Perform batch matching
+        // Perform batch matching over all applicants
         logger.info("Performing AI matching for {} candidates", candidateDTOs.size());
-        BatchMatchResponseDTO result = aiMatchingService.matchBatchCandidates(candidateDTOs, jobDTO);
+        BatchMatchResponseDTO result = batchMatchingOrchestrator.rankAll(candidateDTOs, jobDTO);
         
-        // Save results to database for persistence
+        // Save the full ranking to database for persistence
         aiMatchResultService.saveBatchResults(result);
         logger.info("Match results saved to database for job {}", jobId);
         
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(topMatches(result, limit));
+    }
+
+    /**
+     * Same as findBestCandidates but streams progress as Server-Sent Events:
+     * "progress" after every scored chunk, then "result" (top {@code limit}) or "error"
+     */
+    @GetMapping(value = "/match/job/{jobId}/candidates/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('COMPANY')")
+    public SseEmitter streamBestCandidates(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        logger.info("Streaming candidate ranking for job {}", jobId);
+
+        Job job = entityCache.getJob(jobId)
+            .orElseThrow(() -> new RuntimeException("Job not found"));
+        List<CandidateDTO> candidateDTOs = loadApplicantCandidates(jobId);
+        JobDTO jobDTO = convertToJobDTO(job);
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        if (candidateDTOs.isEmpty()) {
+            sendEvent(emitter, "result", new BatchMatchResponseDTO());
+            emitter.complete();
+            return emitter;
+        }
+
+        batchMatchingOrchestrator.rankAllAsync(candidateDTOs, jobDTO, (done, total, scored, all) -> {
+                Map<String, Object> progress = new LinkedHashMap<>();
+                progress.put("completedChunks", done);
+                progress.put("totalChunks", total);
+                progress.put("scoredCandidates", scored);
+                progress.put("totalCandidates", all);
+                sendEvent(emitter, "progress", progress);
+            })
+            .thenApply(result -> {
+                aiMatchResultService.saveBatchResults(result);
+                return result;
+            })
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    logger.error("Streaming ranking failed for job {}: {}", jobId, error.getMessage());
+                    sendEvent(emitter, "error", Map.of("message", String.valueOf(error.getMessage())));
+                } else {
+                    sendEvent(emitter, "result", topMatches(result, limit));
+                }
+                emitter.complete();
+            });
+
+        return emitter;
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected; the ranking still completes and is persisted
+            logger.debug("Could not send '{}' event: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Copy of the ranking limited to the first {@code limit} matches (totals keep the full ranking)
+     */
+    private BatchMatchResponseDTO topMatches(BatchMatchResponseDTO ranking, int limit) {
+        if (ranking == null || ranking.getMatches() == null || limit <= 0 || ranking.getMatches().size() <= limit) {
+            return ranking;
+        }
+        BatchMatchResponseDTO top = new BatchMatchResponseDTO();
+        top.setJobId(ranking.getJobId());
+        top.setJobTitle(ranking.getJobTitle());
+        top.setTotalCandidates(ranking.getTotalCandidates());
+        top.setAverageScore(ranking.getAverageScore());
+        top.setTopSkillsMatched(ranking.getTopSkillsMatched());
+        top.setSource(ranking.getSource());
+        top.setMatches(new ArrayList<>(ranking.getMatches().subList(0, limit)));
+        return top;
+    }
+
+    /**
+     * Candidate DTOs for every application (JobMatch) of the job
+     */
+    private List<CandidateDTO> loadApplicantCandidates(String jobId) {
+        // Fetch all job matches (applications) for this job
+        List<JobMatch> jobMatches = jobMatchRepository.findByJobId(jobId);
+        
+        logger.info("Found {} applications for job {}", jobMatches.size(), jobId);
+
+        // Users and profiles are loaded with one query each; applicants without profile get a lower AI score
+        return candidateAssembler.assemble(jobMatches.stream()
+            .map(JobMatch::getUserId)
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Discover candidates similar to a job across the whole talent pool (not only applicants)
+     * The vector index returns the k nearest profiles, which are then ranked by the AI service
+     */
+    @GetMapping("/match/job/{jobId}/discover")
+    @PreAuthorize("hasRole('COMPANY')")
+    public ResponseEntity<BatchMatchResponseDTO> discoverCandidates(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "20") int k
+    ) {
+        logger.info("Discovering candidates for job {} (k={})", jobId, k);
+
+        if (!candidateVectorIndex.isReady()) {
+            throw new RuntimeException("El índice de candidatos aún se está construyendo");
+        }
+
+        Job job = entityCache.getJob(jobId)
+            .orElseThrow(() -> new RuntimeException("Job not found"));
+        JobDTO jobDTO = convertToJobDTO(job);
+
+        List<String> userIds = candidateVectorIndex
+            .search(localSemanticMatcher.jobVector(jobDTO), Math.max(1, Math.min(k, MAX_DISCOVER_K)))
+            .stream()
+            .map(CandidateVectorIndex.Hit::userId)
+            .collect(Collectors.toList());
+
+        List<CandidateDTO> candidateDTOs = candidateAssembler.assemble(userIds);
+        if (candidateDTOs.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
+        return ResponseEntity.ok(batchMatchingOrchestrator.rankAll(candidateDTOs, jobDTO));
     }
 
     /**
@@ -277,7 +405,7 @@ public class AIController {
         response.setJobId(jobId);
         
         // Get job title
-        jobRepository.findById(jobId).ifPresent(job -> {
+        entityCache.getJob(jobId).ifPresent(job -> {
             response.setJobTitle(job.getTitle());
         });
         
@@ -314,18 +442,17 @@ public class AIController {
         ATSProfile profile = atsProfileRepository.findByUserId(userId)
             .orElseThrow(() -> new RuntimeException("ATS Profile not found"));
 
-        Job job = jobRepository.findById(jobId)
+        Job job = entityCache.getJob(jobId)
             .orElseThrow(() -> new RuntimeException("Job not found"));
 
         // Convert to DTOs
-        CandidateDTO candidateDTO = convertToCandidateDTO(user, profile);
+        CandidateDTO candidateDTO = candidateAssembler.toCandidateDTO(user, profile);
         JobDTO jobDTO = convertToJobDTO(job);
 
-        // Get explanation
-        ExplainMatchResponseDTO result = aiMatchingService.explainMatch(
-            candidateDTO, 
-            jobDTO, 
-            includeSuggestions
+        // Get explanation (cached while neither profile nor job changes)
+        ExplainMatchResponseDTO result = aiMatchCacheService.getExplanation(
+            candidateDTO, profile.getUpdatedAt(), jobDTO, job.getUpdatedAt(), includeSuggestions,
+            () -> aiMatchingService.explainMatch(candidateDTO, jobDTO, includeSuggestions)
         );
         
         return ResponseEntity.ok(result);
@@ -333,80 +460,6 @@ public class AIController {
 
     // Helper methods to convert entities to DTOs
 
-    private CandidateDTO convertToCandidateDTO(User user, ATSProfile profile) {
-        CandidateDTO dto = new CandidateDTO();
-        dto.setId(user.getId());
-        dto.setName(user.getFirstName() + " " + user.getLastName());
-        dto.setLocation(user.getAddress());
-        
-        if (profile != null) {
-            // Skills
-            dto.setSkills(profile.getSkills() != null ? 
-                profile.getSkills().stream()
-                    .map(s -> s.getName())
-                    .collect(Collectors.toList()) : 
-                new ArrayList<>()
-            );
-            
-            // Calculate experience years from experience list
-            // Since dates are strings in format YYYY-MM, we'll set a default value
-            double totalYears = 0.0;
-            if (profile.getExperience() != null && !profile.getExperience().isEmpty()) {
-                // Simple estimation: count number of experiences
-                totalYears = profile.getExperience().size() * 2.0; // Assume 2 years per experience average
-            }
-            dto.setExperienceYears(totalYears);
-            
-            // Experience details
-            dto.setExperience(profile.getExperience() != null ?
-                profile.getExperience().stream()
-                    .map(exp -> new ExperienceDTO(
-                        exp.getCompany(),
-                        exp.getPosition(),
-                        exp.getDescription(),
-                        null, // startDate
-                        null, // endDate
-                        null  // years
-                    ))
-                    .collect(Collectors.toList()) :
-                new ArrayList<>()
-            );
-            
-            // Education
-            dto.setEducation(profile.getEducation() != null ?
-                profile.getEducation().stream()
-                    .map(edu -> new EducationDTO(
-                        edu.getDegree(),
-                        edu.getInstitution(),
-                        edu.getField(),
-                        null, // startYear
-                        null  // endYear
-                    ))
-                    .collect(Collectors.toList()) :
-                new ArrayList<>()
-            );
-            
-            // Languages
-            dto.setLanguages(profile.getLanguages() != null ?
-                profile.getLanguages().stream()
-                    .map(lang -> lang.getName())
-                    .collect(Collectors.toList()) :
-                new ArrayList<>()
-            );
-            
-            // Summary
-            dto.setSummary(profile.getSummary());
-        } else {
-            dto.setSkills(new ArrayList<>());
-            dto.setExperienceYears(0.0);
-            dto.setExperience(new ArrayList<>());
-            dto.setEducation(new ArrayList<>());
-            dto.setLanguages(new ArrayList<>());
-        }
-        
-        return dto;
-    }
-
     private JobDTO convertToJobDTO(Job job) {
         JobDTO dto = new JobDTO();
         dto.setId(job.getId());
@@ -0,0 +1,152 @@
+package com.clipers.clipers.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clipers.clipers.client.DownstreamClient;
+import com.clipers.clipers.service.AIMatchCacheService;
+import com.clipers.clipers.service.CandidateAssembler;
+import com.clipers.clipers.service.CandidateVectorIndex;
+import com.clipers.clipers.service.EntityCacheService;
+import com.clipers.clipers.service.JobQuery;
+import com.clipers.clipers.service.JobQueryService;
+import com.clipers.clipers.service.SkillTaxonomyService;
+import com.clipers.clipers.service.TechnicalTestGrader;
+import com.clipers.clipers.service.TechnicalTestTemplateService;
+import com.clipers.clipers.entity.Job;
+
+/**
+ * Endpoints operativos para administradores
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final List<DownstreamClient> downstreamClients;
+    private final AIMatchCacheService aiMatchCacheService;
+    private final CandidateAssembler candidateAssembler;
+    private final CandidateVectorIndex candidateVectorIndex;
+    private final EntityCacheService entityCacheService;
+    private final JobQueryService jobQueryService;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final TechnicalTestTemplateService technicalTestTemplateService;
+    private final TechnicalTestGrader technicalTestGrader;
+
+    @Autowired
+    public AdminController(List<DownstreamClient> downstreamClients, AIMatchCacheService aiMatchCacheService,
+                           CandidateAssembler candidateAssembler, CandidateVectorIndex candidateVectorIndex,
+                           EntityCacheService entityCacheService, JobQueryService jobQueryService,
+                           SkillTaxonomyService skillTaxonomyService,
+                           TechnicalTestTemplateService technicalTestTemplateService,
+                           TechnicalTestGrader technicalTestGrader) {
+        this.downstreamClients = downstreamClients;
+        this.aiMatchCacheService = aiMatchCacheService;
+        this.candidateAssembler = candidateAssembler;
+        this.candidateVectorIndex = candidateVectorIndex;
+        this.entityCacheService = entityCacheService;
+        this.jobQueryService = jobQueryService;
+        this.skillTaxonomyService = skillTaxonomyService;
+        this.technicalTestTemplateService = technicalTestTemplateService;
+        this.technicalTestGrader = technicalTestGrader;
+    }
+
+    /**
+     * Estado de los servicios externos: latencias, tasa de error, circuit breaker y bulkhead
+     */
+    @GetMapping("/downstreams")
+    public ResponseEntity<List<Map<String, Object>>> getDownstreams() {
+        return ResponseEntity.ok(downstreamClients.stream()
+                .map(DownstreamClient::getStats)
+                .toList());
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<Map<String, Object>>> getCaches() {
+        List<Map<String, Object>> caches = new ArrayList<>();
+        caches.add(aiMatchCacheService.getStats());
+        caches.add(candidateAssembler.getStats());
+        caches.addAll(entityCacheService.getStats());
+        caches.add(technicalTestTemplateService.getStats());
+        caches.add(technicalTestGrader.getStats());
+        return ResponseEntity.ok(caches);
+    }
+
+    /**
+     * Estado del índice vectorial de candidatos
+     */
+    @GetMapping("/vector-index")
+    public ResponseEntity<Map<String, Object>> getVectorIndex() {
+        return ResponseEntity.ok(candidateVectorIndex.getStats());
+    }
+
+    /**
+     * Reconstruye el índice (reentrena los centroides) en segundo plano
+     */
+    @PostMapping("/vector-index/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildVectorIndex() {
+        return ResponseEntity.ok(Map.of("started", candidateVectorIndex.rebuildAsync()));
+    }
+
+    /**
+     * Recall@k y latencia de la búsqueda aproximada frente a fuerza bruta
+     */
+    @GetMapping("/vector-index/benchmark")
+    public ResponseEntity<Map<String, Object>> benchmarkVectorIndex(
+            @RequestParam(defaultValue = "100") int queries,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "8") int nprobe) {
+        return ResponseEntity.ok(candidateVectorIndex.benchmark(Math.min(queries, 1000), k, nprobe));
+    }
+
+    /**
+     * Plan de ejecución de una búsqueda de empleos (mismos parámetros que GET /api/jobs)
+     */
+    @GetMapping("/jobs/query-plan")
+    public ResponseEntity<Map<String, Object>> explainJobQuery(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "prefix") String locationMatch,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer salaryMin,
+            @RequestParam(required = false) Integer salaryMax,
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false) String sort) {
+        JobQuery query = JobQuery.activeJobs()
+                .search(search)
+                .type(type != null && !type.isBlank() ? Job.JobType.valueOf(type.trim().toUpperCase()) : null)
+                .salary(salaryMin, salaryMax)
+                .skillIds(skillTaxonomyService.lookupAll(skills))
+                .location(location, locationMatch)
+                .sort(JobQuery.SortOrder.parse(sort));
+        return ResponseEntity.ok(jobQueryService.explain(query, 10));
+    }
+
+    /**
+     * Plan y latencia de cada forma de consulta de la búsqueda de empleos
+     */
+    @GetMapping("/jobs/query-shapes/benchmark")
+    public ResponseEntity<List<Map<String, Object>>> benchmarkJobQueries(@RequestParam(defaultValue = "20") int runs) {
+        return ResponseEntity.ok(jobQueryService.benchmark(Math.min(runs, 200)));
+    }
+
+    /**
+     * Tamaño del diccionario de habilidades (habilidades canónicas y alias)
+     */
+    @GetMapping("/skills/taxonomy")
+    public ResponseEntity<Map<String, Object>> getSkillTaxonomy() {
+        return ResponseEntity.ok(skillTaxonomyService.getStats());
+    }
+}
@@ -6,6 +6,8 @@ import com.clipers.clipers.dto.RegisterRequest;
 import com.clipers.clipers.dto.UserDTO;
 import com.clipers.clipers.service.AuthService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     private final AuthService authService;
 
     @Autowired
@@ -37,21 +41,14 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
         try {
-            System.out.println("=== REGISTRATION STARTED ===");
-            System.out.println("Email: " + request.getEmail());
-            System.out.println("Role: " + request.getRole());
-            System.out.println("FirstName: " + request.getFirstName());
-            System.out.println("LastName: " + request.getLastName());
-            
             AuthResponse response = authService.register(request);
-            
-            System.out.println("=== REGISTRATION SUCCESSFUL ===");
+            logger.atInfo()
+                    .addKeyValue("userId", response.getUser() != null ? response.getUser().getId() : null)
+                    .addKeyValue("role", request.getRole())
+                    .log("User registered");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.out.println("=== REGISTRATION ERROR ===");
-            System.out.println("Error: " + e.getMessage());
-            System.out.println("Cause: " + (e.getCause() != null ? e.getCause().getMessage() : "No cause"));
-            e.printStackTrace();
+            logger.warn("Registration failed for role {}: {}", request.getRole(), e.getMessage(), e);
             throw new RuntimeException("Error registering user: " + e.getMessage(), e);
         }
     }
@@ -2,9 +2,12 @@ package com.clipers.clipers.controller;
 
 import com.clipers.clipers.entity.Cliper;
 import com.clipers.clipers.service.CliperService;
+import com.clipers.clipers.service.FeedQueryService;
+import com.clipers.clipers.service.TrendingService;
 import com.clipers.clipers.dto.CliperDTO;
-import com.clipers.clipers.dto.UserDTO;
+import com.clipers.clipers.dto.CliperSummaryDTO;
 import com.clipers.clipers.repository.UserRepository;
+import com.clipers.clipers.security.CustomUserDetailsService.CustomUserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -12,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -34,14 +38,19 @@ public class CliperController {
 
     private final CliperService cliperService;
     private final UserRepository userRepository;
+    private final TrendingService trendingService;
+    private final FeedQueryService feedQueryService;
 
     @Value("${file.upload.base.url}")
     private String fileUploadBaseUrl;
 
     @Autowired
-    public CliperController(CliperService cliperService, UserRepository userRepository) {
+    public CliperController(CliperService cliperService, UserRepository userRepository,
+                            TrendingService trendingService, FeedQueryService feedQueryService) {
         this.cliperService = cliperService;
         this.userRepository = userRepository;
+        this.trendingService = trendingService;
+        this.feedQueryService = feedQueryService;
     }
 
     @PostMapping("/upload")
@@ -146,65 +155,25 @@ public class CliperController {
     @GetMapping
     public ResponseEntity<Map<String, Object>> getClipers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size) {
+            @RequestParam(defaultValue = "12") int size,
+            @AuthenticationPrincipal CustomUserPrincipal principal) {
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Cliper> clipersPage = cliperService.findProcessedClipers(pageable);
-
-        List<CliperDTO> cliperDTOs = clipersPage.getContent().stream()
-                .map(cliper -> {
-                    CliperDTO dto = new CliperDTO(cliper);
-                    // Enrich with user info
-                    userRepository.findById(cliper.getUserId()).ifPresent(user -> {
-                        UserDTO userDTO = new UserDTO();
-                        userDTO.setId(user.getId());
-                        userDTO.setFirstName(user.getFirstName());
-                        userDTO.setLastName(user.getLastName());
-                        userDTO.setEmail(user.getEmail());
-                        userDTO.setProfileImage(user.getProfileImage());
-                        dto.setUser(userDTO);
-                    });
-                    return dto;
-                })
-                .toList();
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("clipers", cliperDTOs);
-        response.put("hasMore", clipersPage.hasNext());
-        response.put("totalPages", clipersPage.getTotalPages());
-        response.put("currentPage", page);
-        response.put("totalElements", clipersPage.getTotalElements());
-
-        return ResponseEntity.ok(response);
+        return getProcessedClipers(page, size, principal);
     }
 
     @GetMapping("/public")
     public ResponseEntity<Map<String, Object>> getProcessedClipers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size) {
+            @RequestParam(defaultValue = "12") int size,
+            @AuthenticationPrincipal CustomUserPrincipal principal) {
 
+        // Cards only (projection + batched author and like-state lookups); full detail is GET /{id}
         Pageable pageable = PageRequest.of(page, size);
-        Page<Cliper> clipersPage = cliperService.findProcessedClipers(pageable);
-
-        List<CliperDTO> cliperDTOs = clipersPage.getContent().stream()
-                .map(cliper -> {
-                    CliperDTO dto = new CliperDTO(cliper);
-                    // Enrich with user info
-                    userRepository.findById(cliper.getUserId()).ifPresent(user -> {
-                        UserDTO userDTO = new UserDTO();
-                        userDTO.setId(user.getId());
-                        userDTO.setFirstName(user.getFirstName());
-                        userDTO.setLastName(user.getLastName());
-                        userDTO.setEmail(user.getEmail());
-                        userDTO.setProfileImage(user.getProfileImage());
-                        dto.setUser(userDTO);
-                    });
-                    return dto;
-                })
-                .toList();
+        String viewerId = principal != null ? principal.getUser().getId() : null;
+        Page<CliperSummaryDTO> clipersPage = feedQueryService.findProcessedCliperSummaries(pageable, viewerId);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("clipers", cliperDTOs);
+        response.put("clipers", clipersPage.getContent());
         response.put("hasMore", clipersPage.hasNext());
         response.put("totalPages", clipersPage.getTotalPages());
         response.put("currentPage", page);
@@ -213,6 +182,22 @@ public class CliperController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<Map<String, Object>> getTrendingClipers(
+            @RequestParam(defaultValue = "20") int limit) {
+
+        Map<String, Object> response = new HashMap<>();
+        trendingService.getSnapshot(TrendingService.SOURCE_CLIPERS, null, limit).ifPresentOrElse(snapshot -> {
+            response.put("clipers", snapshot.getEntries());
+            response.put("computedAt", snapshot.getComputedAt());
+        }, () -> {
+            response.put("clipers", List.of());
+            response.put("computedAt", null);
+        });
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<CliperDTO>> searchClipers(
             @RequestParam String query, Pageable pageable) {
@@ -20,6 +20,7 @@ import com.clipers.clipers.entity.Company;
 import com.clipers.clipers.entity.User;
 import com.clipers.clipers.repository.CompanyRepository;
 import com.clipers.clipers.repository.UserRepository;
+import com.clipers.clipers.service.EntityCacheService;
 
 /**
  * Controlador para gestión de empresas
@@ -31,11 +32,14 @@ public class CompanyController {
 
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
+    private final EntityCacheService entityCache;
 
     @Autowired
-    public CompanyController(CompanyRepository companyRepository, UserRepository userRepository) {
+    public CompanyController(CompanyRepository companyRepository, UserRepository userRepository,
+                             EntityCacheService entityCache) {
         this.companyRepository = companyRepository;
         this.userRepository = userRepository;
+        this.entityCache = entityCache;
     }
 
     @GetMapping("/me")
@@ -140,6 +144,7 @@ public class CompanyController {
             }
 
             Company savedCompany = companyRepository.save(company);
+            entityCache.putCompany(savedCompany);
             return ResponseEntity.ok(savedCompany);
         } catch (Exception e) {
             throw new RuntimeException("Error al actualizar empresa: " + e.getMessage(), e);
@@ -1,5 +1,7 @@
 package com.clipers.clipers.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
@@ -15,6 +17,8 @@ import java.nio.file.Paths;
 @CrossOrigin(origins = "*")
 public class FileController {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileController.class);
+
     @GetMapping("/videos/{filename:.+}")
     public ResponseEntity<Resource> serveVideo(@PathVariable String filename) {
         try {
@@ -39,7 +43,7 @@ public class FileController {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
-            System.err.println("Error serving video: " + e.getMessage());
+            logger.error("Error serving video: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -59,7 +63,7 @@ public class FileController {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
-            System.err.println("Error serving thumbnail: " + e.getMessage());
+            logger.error("Error serving thumbnail: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -92,7 +96,7 @@ public class FileController {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
-            System.err.println("Error serving image: " + e.getMessage());
+            logger.error("Error serving image: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -123,7 +127,7 @@ public class FileController {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
-            System.err.println("Error serving profile image: " + e.getMessage());
+            logger.error("Error serving profile image: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -156,7 +160,7 @@ public class FileController {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
-            System.err.println("Error serving avatar: " + e.getMessage());
+            logger.error("Error serving avatar: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
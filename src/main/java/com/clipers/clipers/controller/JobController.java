@@ -23,16 +23,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.clipers.clipers.dto.JobDTO;
+import com.clipers.clipers.dto.JobFacetsDTO;
 import com.clipers.clipers.dto.UserDTO;
 import com.clipers.clipers.entity.Job;
 import com.clipers.clipers.entity.JobMatch;
 import com.clipers.clipers.repository.CompanyRepository;
 import com.clipers.clipers.service.AuthService;
+import com.clipers.clipers.service.JobQuery;
 import com.clipers.clipers.service.JobService;
 import com.clipers.clipers.service.NotificationService;
+import com.clipers.clipers.service.SkillTaxonomyService;
 
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -44,14 +48,17 @@ public class JobController {
     private final NotificationService notificationService;
     private final CompanyRepository companyRepository;
     private final com.clipers.clipers.service.TechnicalTestService technicalTestService;
+    private final SkillTaxonomyService skillTaxonomyService;
 
     @Autowired
-    public JobController(JobService jobService, AuthService authService, NotificationService notificationService, CompanyRepository companyRepository, com.clipers.clipers.service.TechnicalTestService technicalTestService) {
+    public JobController(JobService jobService, AuthService authService, NotificationService notificationService, CompanyRepository companyRepository, com.clipers.clipers.service.TechnicalTestService technicalTestService,
+                         SkillTaxonomyService skillTaxonomyService) {
         this.jobService = jobService;
         this.authService = authService;
         this.notificationService = notificationService;
         this.companyRepository = companyRepository;
         this.technicalTestService = technicalTestService;
+        this.skillTaxonomyService = skillTaxonomyService;
     }
 
     @PostMapping
@@ -98,19 +105,19 @@ public class JobController {
             @RequestParam(required = false) Integer salaryMin,
             @RequestParam(required = false) Integer salaryMax,
             @RequestParam(required = false) String industry,
-            @RequestParam(required = false) List<String> skills) {
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(defaultValue = "prefix") String locationMatch,
+            @RequestParam(required = false) String sort) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Job> jobsPage;
-        
-        if (search != null && !search.isEmpty()) {
-            jobsPage = jobService.searchActiveJobs(search, pageable);
-        } else if (hasFilters(location, type, salaryMin, salaryMax)) {
-            Job.JobType jobType = type != null ? Job.JobType.valueOf(type.toUpperCase()) : null;
-            jobsPage = jobService.findJobsWithFilters(jobType, location, salaryMin, salaryMax, pageable);
-        } else {
-            jobsPage = jobService.findActiveJobs(pageable);
-        }
+        JobQuery query = JobQuery.activeJobs()
+                .search(search)
+                .type(parseJobType(type))
+                .salary(salaryMin, salaryMax)
+                .skillIds(skillTaxonomyService.lookupAll(skills))
+                .location(location, locationMatch)
+                .sort(JobQuery.SortOrder.parse(sort));
+        Page<Job> jobsPage = jobService.findJobs(query, pageable);
         
         Map<String, Object> response = new HashMap<>();
         response.put("jobs", jobsPage.getContent());
@@ -188,8 +195,7 @@ public class JobController {
             @RequestParam(required = false) Integer maxSalary,
             Pageable pageable) {
         
-        Job.JobType jobType = type != null ? Job.JobType.valueOf(type.toUpperCase()) : null;
-        Page<Job> jobs = jobService.findJobsWithFilters(jobType, location, minSalary, maxSalary, pageable);
+        Page<Job> jobs = jobService.findJobsWithFilters(parseJobType(type), location, minSalary, maxSalary, pageable);
         return ResponseEntity.ok(jobs);
     }
 
@@ -281,6 +287,14 @@ public class JobController {
         return ResponseEntity.ok(locations);
     }
 
+    /**
+     * Opciones de filtro (ubicación, tipo, rango salarial, habilidades) con el número de empleos activos de cada una
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<JobFacetsDTO> getJobFacets() {
+        return ResponseEntity.ok(jobService.getJobFacets());
+    }
+
     @PostMapping("/populate-sample-jobs")
     @PreAuthorize("hasRole('COMPANY')")
     public ResponseEntity<Map<String, Object>> populateSampleJobs() {
@@ -354,11 +368,14 @@ public class JobController {
         }
     }
 
-    private boolean hasFilters(String location, String type, Integer salaryMin, Integer salaryMax) {
-        return (location != null && !location.isEmpty()) ||
-               (type != null && !type.isEmpty()) ||
-               salaryMin != null ||
-               salaryMax != null;
+    private String getCurrentCompanyId() {
+        return companyRepository.findByUserId(getCurrentUserId())
+                .orElseThrow(() -> new RuntimeException("Company not found"))
+                .getId();
+    }
+
+    private Job.JobType parseJobType(String type) {
+        return type != null && !type.isBlank() ? Job.JobType.valueOf(type.trim().toUpperCase()) : null;
     }
 
     // Technical Test Endpoints
@@ -386,11 +403,37 @@ public class JobController {
                 technicalTestService.generateAndSendTest(jobId, candidateId, companyId);
             
             return ResponseEntity.ok(test);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(403).build(); // Forbidden
         } catch (Exception e) {
             throw new RuntimeException("Error sending technical test: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Envía la prueba técnica del empleo a varios candidatos preseleccionados; la prueba se genera una sola vez
+     * y la respuesta llega cuando está lista, sin ocupar el hilo de la petición
+     */
+    @PostMapping("/{jobId}/technical-test/send-bulk")
+    @PreAuthorize("hasRole('COMPANY')")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> sendTechnicalTestBulk(
+            @PathVariable String jobId,
+            @RequestBody Map<String, List<String>> request) {
+        try {
+            String companyUserId = getCurrentUserId();
+            
+            com.clipers.clipers.entity.Company company = companyRepository.findByUserId(companyUserId)
+                .orElseThrow(() -> new RuntimeException("Company not found"));
+            
+            return technicalTestService.sendTestToCandidates(jobId, request.get("candidateIds"), company.getId())
+                .thenApply(ResponseEntity::ok);
+        } catch (IllegalStateException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(403).build()); // Forbidden
+        } catch (Exception e) {
+            throw new RuntimeException("Error sending technical tests: " + e.getMessage(), e);
+        }
+    }
+    
     @GetMapping("/{jobId}/technical-tests")
     @PreAuthorize("hasRole('COMPANY')")
     public ResponseEntity<List<com.clipers.clipers.entity.TechnicalTest>> getJobTechnicalTests(
@@ -421,12 +464,16 @@ public class JobController {
     @PreAuthorize("hasRole('CANDIDATE')")
     public ResponseEntity<com.clipers.clipers.entity.TechnicalTest> submitTechnicalTest(
             @PathVariable String testId,
-            @RequestBody Map<String, String> request) {
+            @RequestBody Map<String, Object> request) {
         try {
-            String response = request.get("response");
+            String response = (String) request.get("response");
+            // Respuestas estructuradas opcionales: se califican automáticamente si la prueba tiene clave
+            Object answers = request.get("answers");
             com.clipers.clipers.entity.TechnicalTest test = 
-                technicalTestService.submitTest(testId, response);
+                technicalTestService.submitTest(testId, getCurrentUserId(), response, answers);
             return ResponseEntity.ok(test);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(403).build(); // Forbidden
         } catch (Exception e) {
             throw new RuntimeException("Error submitting response: " + e.getMessage(), e);
         }
@@ -448,6 +495,54 @@ public class JobController {
         }
     }
     
+    /**
+     * Define la prueba estructurada del empleo con su clave de respuestas y recalifica en segundo plano
+     * las respuestas ya enviadas
+     */
+    @PutMapping("/{jobId}/technical-test/answer-key")
+    @PreAuthorize("hasRole('COMPANY')")
+    public ResponseEntity<Map<String, Object>> setTechnicalTestAnswerKey(
+            @PathVariable String jobId,
+            @RequestBody com.clipers.clipers.dto.TechnicalTestStructure structure) {
+        try {
+            return ResponseEntity.ok(technicalTestService.setAnswerKey(jobId, getCurrentCompanyId(), structure));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(403).build(); // Forbidden
+        } catch (Exception e) {
+            throw new RuntimeException("Error setting technical test answer key: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Recalifica todas las respuestas del empleo con su clave actual
+     */
+    @PostMapping("/{jobId}/technical-tests/regrade")
+    @PreAuthorize("hasRole('COMPANY')")
+    public ResponseEntity<Map<String, Object>> regradeTechnicalTests(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(technicalTestService.regradeTests(jobId, getCurrentCompanyId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(403).build(); // Forbidden
+        } catch (Exception e) {
+            throw new RuntimeException("Error regrading technical tests: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Estadísticas por pregunta: respondidas, correctas y tasas sobre las respuestas del empleo
+     */
+    @GetMapping("/{jobId}/technical-tests/stats")
+    @PreAuthorize("hasRole('COMPANY')")
+    public ResponseEntity<Map<String, Object>> getTechnicalTestStats(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(technicalTestService.getQuestionStats(jobId, getCurrentCompanyId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(403).build(); // Forbidden
+        } catch (Exception e) {
+            throw new RuntimeException("Error getting technical test stats: " + e.getMessage(), e);
+        }
+    }
+    
     @GetMapping("/{jobId}/technical-tests/candidate/{candidateId}")
     @PreAuthorize("hasRole('COMPANY')")
     public ResponseEntity<List<com.clipers.clipers.entity.TechnicalTest>> getCandidateTechnicalTests(
@@ -0,0 +1,108 @@
+package com.clipers.clipers.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.clipers.clipers.entity.Notification;
+import com.clipers.clipers.security.CustomUserDetailsService.CustomUserPrincipal;
+import com.clipers.clipers.service.NotificationService;
+
+/**
+ * Controller that implements Facade Pattern implicitly
+ * Bandeja de notificaciones in-app del usuario autenticado (paginación por cursor)
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final NotificationService notificationService;
+
+    @Autowired
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @AuthenticationPrincipal CustomUserPrincipal principal) {
+        try {
+            String userId = requireUserId(principal);
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+            List<Notification> notifications = notificationService.getInbox(userId, cursor, pageSize, unreadOnly);
+            boolean hasMore = notifications.size() > pageSize;
+            if (hasMore) {
+                notifications = notifications.subList(0, pageSize);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("notifications", notifications);
+            response.put("hasMore", hasMore);
+            response.put("nextCursor", hasMore ? notificationService.cursorOf(notifications.get(notifications.size() - 1)) : null);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            throw new RuntimeException("Error al obtener notificaciones: " + e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(@AuthenticationPrincipal CustomUserPrincipal principal) {
+        try {
+            String userId = requireUserId(principal);
+            Map<String, Object> response = new HashMap<>();
+            response.put("unread", notificationService.countUnread(userId));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            throw new RuntimeException("Error al contar notificaciones: " + e.getMessage(), e);
+        }
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<Void> markAsRead(@PathVariable String id, @AuthenticationPrincipal CustomUserPrincipal principal) {
+        try {
+            String userId = requireUserId(principal);
+            return notificationService.markAsRead(userId, id)
+                    ? ResponseEntity.ok().build()
+                    : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            throw new RuntimeException("Error al marcar notificación: " + e.getMessage(), e);
+        }
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<Map<String, Object>> markAllAsRead(@AuthenticationPrincipal CustomUserPrincipal principal) {
+        try {
+            String userId = requireUserId(principal);
+            Map<String, Object> response = new HashMap<>();
+            response.put("updated", notificationService.markAllAsRead(userId));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            throw new RuntimeException("Error al marcar notificaciones: " + e.getMessage(), e);
+        }
+    }
+
+    private String requireUserId(CustomUserPrincipal principal) {
+        if (principal == null) {
+            throw new RuntimeException("Usuario no autenticado");
+        }
+        return principal.getUser().getId();
+    }
+}
@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -29,11 +31,14 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.clipers.clipers.dto.PostSummaryDTO;
 import com.clipers.clipers.entity.Comment;
 import com.clipers.clipers.entity.Post;
 import com.clipers.clipers.entity.User;
 import com.clipers.clipers.security.CustomUserDetailsService.CustomUserPrincipal;
+import com.clipers.clipers.service.FeedQueryService;
 import com.clipers.clipers.service.PostService;
+import com.clipers.clipers.service.TrendingService;
 
 /**
  * Controller that implements Facade Pattern implicitly
@@ -44,14 +49,20 @@ import com.clipers.clipers.service.PostService;
 @CrossOrigin(origins = "*")
 public class PostController {
 
+    private static final Logger logger = LoggerFactory.getLogger(PostController.class);
+
     private final PostService postService;
+    private final TrendingService trendingService;
+    private final FeedQueryService feedQueryService;
 
     @Value("${file.upload.base.url:http://localhost:8080}")
     private String fileUploadBaseUrl;
 
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService, TrendingService trendingService, FeedQueryService feedQueryService) {
         this.postService = postService;
+        this.trendingService = trendingService;
+        this.feedQueryService = feedQueryService;
     }
 
     @PostMapping
@@ -120,7 +131,7 @@ public class PostController {
             Path filePath = uploadPath.resolve(filename);
             Files.copy(file.getInputStream(), filePath);
             
-            System.out.println("✅ Image saved to: " + filePath.toAbsolutePath());
+            logger.debug("Image saved to {}", filePath.toAbsolutePath());
 
             // Crear URL completa con el dominio del backend desde variable de entorno
             String imageUrl = fileUploadBaseUrl + "/uploads/images/" + filename;
@@ -145,10 +156,13 @@ public class PostController {
     @GetMapping
     public ResponseEntity<Map<String, Object>> getFeed(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal CustomUserPrincipal principal) {
         
+        // Cards only (projection + batched author and like-state lookups); full post is GET /{id}
         Pageable pageable = PageRequest.of(page, size);
-        Page<Post> postsPage = postService.getFeed(pageable);
+        String viewerId = principal != null ? principal.getUser().getId() : null;
+        Page<PostSummaryDTO> postsPage = feedQueryService.findFeedPostSummaries(pageable, viewerId);
         
         Map<String, Object> response = new HashMap<>();
         response.put("posts", postsPage.getContent());
@@ -163,8 +177,28 @@ public class PostController {
     @GetMapping("/feed")
     public ResponseEntity<Map<String, Object>> getFeedAlternate(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return getFeed(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal CustomUserPrincipal principal) {
+        return getFeed(page, size, principal);
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<Map<String, Object>> getTrendingPosts(
+            @RequestParam(defaultValue = "ALL") String category,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        Map<String, Object> response = new HashMap<>();
+        trendingService.getSnapshot(TrendingService.SOURCE_POSTS, category, limit).ifPresentOrElse(snapshot -> {
+            response.put("posts", snapshot.getEntries());
+            response.put("category", snapshot.getCategory());
+            response.put("computedAt", snapshot.getComputedAt());
+        }, () -> {
+            response.put("posts", List.of());
+            response.put("category", category.toUpperCase());
+            response.put("computedAt", null);
+        });
+
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/user/{userId}")
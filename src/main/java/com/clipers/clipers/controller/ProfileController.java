@@ -115,7 +115,7 @@ public class ProfileController {
             String userId = getCurrentUserId();
             com.clipers.clipers.entity.Education education = atsProfileService.updateEducation(
                 userId, 
-                Integer.parseInt(id), 
+                id, 
                 educationData.getInstitution(), 
                 educationData.getDegree(), 
                 educationData.getField(),
@@ -135,7 +135,7 @@ public class ProfileController {
     public ResponseEntity<Void> deleteEducation(@PathVariable String id) {
         try {
             String userId = getCurrentUserId();
-            atsProfileService.deleteEducation(userId, Integer.parseInt(id));
+            atsProfileService.deleteEducation(userId, id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar educación: " + e.getMessage(), e);
@@ -171,7 +171,7 @@ public class ProfileController {
             String userId = getCurrentUserId();
             com.clipers.clipers.entity.Experience experience = atsProfileService.updateExperience(
                 userId, 
-                Integer.parseInt(id), 
+                id, 
                 experienceData.getCompany(), 
                 experienceData.getPosition(), 
                 experienceData.getDescription(),
@@ -191,7 +191,7 @@ public class ProfileController {
     public ResponseEntity<Void> deleteExperience(@PathVariable String id) {
         try {
             String userId = getCurrentUserId();
-            atsProfileService.deleteExperience(userId, Integer.parseInt(id));
+            atsProfileService.deleteExperience(userId, id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar experiencia: " + e.getMessage(), e);
@@ -243,7 +243,7 @@ public class ProfileController {
             com.clipers.clipers.entity.Skill.SkillLevel skillLevel = com.clipers.clipers.entity.Skill.SkillLevel.valueOf(level.toUpperCase());
             com.clipers.clipers.entity.Skill.SkillCategory skillCategory = com.clipers.clipers.entity.Skill.SkillCategory.valueOf(category.toUpperCase());
 
-            com.clipers.clipers.entity.Skill skill = atsProfileService.updateSkill(userId, Integer.parseInt(id), name, skillLevel, skillCategory);
+            com.clipers.clipers.entity.Skill skill = atsProfileService.updateSkill(userId, id, name, skillLevel, skillCategory);
             return ResponseEntity.ok(skill);
         } catch (Exception e) {
             throw new RuntimeException("Error al actualizar habilidad: " + e.getMessage(), e);
@@ -255,7 +255,7 @@ public class ProfileController {
     public ResponseEntity<Void> deleteSkill(@PathVariable String id) {
         try {
             String userId = getCurrentUserId();
-            atsProfileService.deleteSkill(userId, Integer.parseInt(id));
+            atsProfileService.deleteSkill(userId, id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar habilidad: " + e.getMessage(), e);
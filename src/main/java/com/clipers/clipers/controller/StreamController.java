@@ -0,0 +1,53 @@
+package com.clipers.clipers.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.clipers.clipers.security.JwtTokenProvider;
+import com.clipers.clipers.service.SseConnectionRegistry;
+
+/**
+ * Server-Sent Events para notificaciones en tiempo real.
+ * EventSource no permite cabeceras, así que el JWT llega como ?token= y se valida aquí
+ * (JwtAuthenticationFilter omite /api/stream/**).
+ */
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "*")
+public class StreamController {
+
+    private final SseConnectionRegistry sseConnectionRegistry;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    public StreamController(SseConnectionRegistry sseConnectionRegistry, JwtTokenProvider jwtTokenProvider) {
+        this.sseConnectionRegistry = sseConnectionRegistry;
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    @GetMapping(value = "/notifications", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(@RequestParam String token) {
+        if (!jwtTokenProvider.validateToken(token)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        // Los refresh tokens no llevan rol y no sirven para abrir el stream
+        String userId = jwtTokenProvider.getUserIdFromToken(token);
+        if (userId == null || jwtTokenProvider.getRoleFromToken(token) == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no") // evita que proxies (nginx) almacenen el stream
+                .body(sseConnectionRegistry.register(userId));
+    }
+}
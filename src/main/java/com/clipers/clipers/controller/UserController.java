@@ -8,6 +8,8 @@ import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +36,8 @@ import com.clipers.clipers.repository.UserRepository;
 @CrossOrigin(origins = "*")
 public class UserController {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     private final UserRepository userRepository;
 
     @Value("${file.upload.base.url}")
@@ -48,47 +52,37 @@ public class UserController {
     @PreAuthorize("hasRole('CANDIDATE')")
     public ResponseEntity<User> updateProfile(@RequestBody Map<String, Object> request) {
         try {
-            System.out.println("=== UPDATE PROFILE REQUEST ===");
-            System.out.println("Request data: " + request);
-            
             String userId = getCurrentUserId();
-            System.out.println("User ID: " + userId);
             
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-            System.out.println("User found: " + user.getEmail());
-
             // Update basic fields
             if (request.containsKey("firstName")) {
                 user.setFirstName((String) request.get("firstName"));
-                System.out.println("Updated firstName: " + user.getFirstName());
             }
             if (request.containsKey("lastName")) {
                 user.setLastName((String) request.get("lastName"));
-                System.out.println("Updated lastName: " + user.getLastName());
             }
             if (request.containsKey("profileImage")) {
                 user.setProfileImage((String) request.get("profileImage"));
-                System.out.println("Updated profileImage: " + user.getProfileImage());
             }
             if (request.containsKey("phone")) {
                 user.setPhone((String) request.get("phone"));
-                System.out.println("Updated phone: " + user.getPhone());
             }
             if (request.containsKey("address")) {
                 user.setAddress((String) request.get("address"));
-                System.out.println("Updated address: " + user.getAddress());
             }
 
             User savedUser = userRepository.save(user);
-            System.out.println("User saved successfully");
-            System.out.println("=== END UPDATE PROFILE ===");
+            logger.atInfo()
+                    .addKeyValue("userId", userId)
+                    .addKeyValue("fields", request.keySet())
+                    .log("Profile updated");
             
             return ResponseEntity.ok(savedUser);
         } catch (Exception e) {
-            System.err.println("Error updating profile: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error updating profile", e);
             throw new RuntimeException("Error al actualizar perfil: " + e.getMessage(), e);
         }
     }
@@ -97,21 +91,14 @@ public class UserController {
     @PreAuthorize("hasRole('CANDIDATE')")
     public ResponseEntity<Map<String, String>> uploadAvatar(@RequestParam("file") MultipartFile file) {
         try {
-            System.out.println("=== UPLOAD AVATAR REQUEST ===");
-            System.out.println("File: " + file.getOriginalFilename());
-            System.out.println("Size: " + file.getSize());
-            
             String userId = getCurrentUserId();
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-            System.out.println("User ID: " + userId);
-
             // Create uploads directory if it doesn't exist - use absolute path
             Path uploadDir = Paths.get("uploads", "avatars").toAbsolutePath();
             if (!Files.exists(uploadDir)) {
                 Files.createDirectories(uploadDir);
-                System.out.println("Created directory: " + uploadDir);
             }
 
             // Delete old avatar if exists
@@ -120,9 +107,9 @@ public class UserController {
                     String oldFileName = user.getProfileImage().substring(user.getProfileImage().lastIndexOf('/') + 1);
                     Path oldFilePath = uploadDir.resolve(oldFileName);
                     Files.deleteIfExists(oldFilePath);
-                    System.out.println("Deleted old avatar: " + oldFileName);
+                    logger.debug("Deleted old avatar: {}", oldFileName);
                 } catch (Exception e) {
-                    System.err.println("Error deleting old avatar: " + e.getMessage());
+                    logger.warn("Error deleting old avatar: {}", e.getMessage());
                 }
             }
 
@@ -145,22 +132,22 @@ public class UserController {
 
             // Save file
             Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            System.out.println("✅ Avatar saved to: " + filePath.toAbsolutePath());
 
             // Update user profile image with full URL
             String imageUrl = fileUploadBaseUrl + "/uploads/avatars/" + fileName;
             user.setProfileImage(imageUrl);
             userRepository.save(user);
             
-            System.out.println("✅ User profile updated with image URL: " + imageUrl);
-            System.out.println("=== END UPLOAD AVATAR ===");
+            logger.atInfo()
+                    .addKeyValue("userId", userId)
+                    .addKeyValue("sizeBytes", file.getSize())
+                    .log("Avatar uploaded");
 
             Map<String, String> response = new HashMap<>();
             response.put("imageUrl", imageUrl);
             return ResponseEntity.ok(response);
         } catch (IOException e) {
-            System.err.println("❌ Error uploading avatar: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error uploading avatar", e);
             throw new RuntimeException("Error al subir avatar: " + e.getMessage(), e);
         }
     }
@@ -179,10 +166,10 @@ public class UserController {
                     String fileName = user.getProfileImage().substring(user.getProfileImage().lastIndexOf('/') + 1);
                     Path oldFilePath = Paths.get("uploads", "avatars", fileName).toAbsolutePath();
                     Files.deleteIfExists(oldFilePath);
-                    System.out.println("Deleted avatar file: " + oldFilePath);
+                    logger.debug("Deleted avatar file: {}", oldFilePath);
                 } catch (IOException e) {
                     // Log but don't fail the operation
-                    System.err.println("Error deleting old avatar file: " + e.getMessage());
+                    logger.warn("Error deleting old avatar file: {}", e.getMessage());
                 }
             }
 
@@ -0,0 +1,63 @@
+package com.clipers.clipers.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cliper card for the feed grids. Read straight from a Mongo $project (see FeedQueryService):
+ * no transcription, description, skills, comments or likedBy, only their counts plus the
+ * viewer's own like state (likedByMe).
+ * The full document is served by /api/clipers/{id} as CliperDTO.
+ */
+public class CliperSummaryDTO {
+    private String id;
+    private String title;
+    private String videoUrl;
+    private String thumbnailUrl;
+    private Integer duration;
+    private String status;
+    private String userId;
+    private UserSummaryDTO user;
+    private int likesCount;
+    private int commentsCount;
+    private boolean likedByMe;
+    private LocalDateTime createdAt;
+
+    public CliperSummaryDTO() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getVideoUrl() { return videoUrl; }
+    public void setVideoUrl(String videoUrl) { this.videoUrl = videoUrl; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public Integer getDuration() { return duration; }
+    public void setDuration(Integer duration) { this.duration = duration; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public UserSummaryDTO getUser() { return user; }
+    public void setUser(UserSummaryDTO user) { this.user = user; }
+
+    public int getLikesCount() { return likesCount; }
+    public void setLikesCount(int likesCount) { this.likesCount = likesCount; }
+
+    public int getCommentsCount() { return commentsCount; }
+    public void setCommentsCount(int commentsCount) { this.commentsCount = commentsCount; }
+
+    public boolean isLikedByMe() { return likedByMe; }
+    public void setLikedByMe(boolean likedByMe) { this.likedByMe = likedByMe; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,81 @@
+package com.clipers.clipers.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filter options for the job search UI, each with the number of active jobs behind it
+ */
+public class JobFacetsDTO {
+    private long totalActiveJobs;
+    private List<FacetCount> locations;
+    private List<FacetCount> types;
+    private List<SalaryBand> salaryBands;
+    private List<FacetCount> skills;
+    private LocalDateTime computedAt;
+
+    public JobFacetsDTO() {}
+
+    // Getters and Setters
+    public long getTotalActiveJobs() { return totalActiveJobs; }
+    public void setTotalActiveJobs(long totalActiveJobs) { this.totalActiveJobs = totalActiveJobs; }
+
+    public List<FacetCount> getLocations() { return locations; }
+    public void setLocations(List<FacetCount> locations) { this.locations = locations; }
+
+    public List<FacetCount> getTypes() { return types; }
+    public void setTypes(List<FacetCount> types) { this.types = types; }
+
+    public List<SalaryBand> getSalaryBands() { return salaryBands; }
+    public void setSalaryBands(List<SalaryBand> salaryBands) { this.salaryBands = salaryBands; }
+
+    public List<FacetCount> getSkills() { return skills; }
+    public void setSkills(List<FacetCount> skills) { this.skills = skills; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+
+    public static class FacetCount {
+        private String value;
+        private long count;
+
+        public FacetCount() {}
+
+        public FacetCount(String value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() { return value; }
+        public void setValue(String value) { this.value = value; }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+
+    /**
+     * Jobs whose salaryMin falls in [min, max); both bounds are null for jobs without a salary
+     */
+    public static class SalaryBand {
+        private Integer min;
+        private Integer max;
+        private long count;
+
+        public SalaryBand() {}
+
+        public SalaryBand(Integer min, Integer max, long count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+
+        public Integer getMin() { return min; }
+        public void setMin(Integer min) { this.min = min; }
+
+        public Integer getMax() { return max; }
+        public void setMax(Integer max) { this.max = max; }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+}
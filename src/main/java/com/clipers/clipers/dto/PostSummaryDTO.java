@@ -0,0 +1,62 @@
+package com.clipers.clipers.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Post card for the feed. Read straight from a Mongo $project (see FeedQueryService):
+ * commentIds and postLikeIds are reduced to counts, plus the viewer's own like state (likedByMe).
+ * /api/posts/{id} still returns the full post.
+ */
+public class PostSummaryDTO {
+    private String id;
+    private String content;
+    private String imageUrl;
+    private String videoUrl;
+    private String type;
+    private String userId;
+    private UserSummaryDTO user;
+    private int likes;
+    private int commentsCount;
+    private boolean likedByMe;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public PostSummaryDTO() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public String getVideoUrl() { return videoUrl; }
+    public void setVideoUrl(String videoUrl) { this.videoUrl = videoUrl; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public UserSummaryDTO getUser() { return user; }
+    public void setUser(UserSummaryDTO user) { this.user = user; }
+
+    public int getLikes() { return likes; }
+    public void setLikes(int likes) { this.likes = likes; }
+
+    public int getCommentsCount() { return commentsCount; }
+    public void setCommentsCount(int commentsCount) { this.commentsCount = commentsCount; }
+
+    public boolean isLikedByMe() { return likedByMe; }
+    public void setLikedByMe(boolean likedByMe) { this.likedByMe = likedByMe; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,40 @@
+package com.clipers.clipers.dto;
+
+import com.clipers.clipers.entity.User;
+
+/**
+ * Author block for feed cards: just what the card renders (no email, phone or timestamps)
+ */
+public class UserSummaryDTO {
+    private String id;
+    private String firstName;
+    private String lastName;
+    private User.Role role;
+    private String profileImage;
+
+    public UserSummaryDTO() {}
+
+    public UserSummaryDTO(User user) {
+        this.id = user.getId();
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.role = user.getRole();
+        this.profileImage = user.getProfileImage();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public User.Role getRole() { return role; }
+    public void setRole(User.Role role) { this.role = role; }
+
+    public String getProfileImage() { return profileImage; }
+    public void setProfileImage(String profileImage) { this.profileImage = profileImage; }
+}
@@ -16,4 +16,5 @@ public class BatchMatchResponseDTO {
     private List<RankedMatchResultDTO> matches;
     private Double averageScore;
     private List<String> topSkillsMatched;
+    private String source; // "ai-service" or "fallback"
 }
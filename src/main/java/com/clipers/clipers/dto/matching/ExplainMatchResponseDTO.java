@@ -21,4 +21,5 @@ public class ExplainMatchResponseDTO {
     private List<String> weaknesses;
     private List<String> suggestions;
     private String decisionRecommendation;
+    private String source; // "ai-service" or "fallback"
 }
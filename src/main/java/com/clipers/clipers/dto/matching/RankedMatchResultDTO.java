@@ -21,4 +21,5 @@ public class RankedMatchResultDTO {
     private String explanation;
     private List<String> recommendations;
     private String matchQuality;
+    private String scoreSource; // "ai-service" or "fallback": scores are only comparable within one source
 }
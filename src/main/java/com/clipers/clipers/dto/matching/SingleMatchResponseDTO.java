@@ -21,4 +21,5 @@ public class SingleMatchResponseDTO {
     private String explanation;
     private List<String> recommendations;
     private String matchQuality;
+    private String source; // "ai-service" or "fallback"
 }
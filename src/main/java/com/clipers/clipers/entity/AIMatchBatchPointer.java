@@ -0,0 +1,52 @@
+package com.clipers.clipers.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Current ranking batch of a job (one document per job, id = jobId).
+ * Results are written under a fresh batchId and become visible when this pointer is swapped,
+ * so readers never see a mix of two rankings.
+ */
+@Document(collection = "ai_match_batches")
+public class AIMatchBatchPointer {
+
+    @Id
+    private String jobId;
+
+    private String batchId;
+
+    private Integer totalCandidates;
+
+    private Double averageScore;
+
+    private Date createdAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt; // Igual que el de sus resultados
+
+    // Constructors
+    public AIMatchBatchPointer() {}
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+
+    public Integer getTotalCandidates() { return totalCandidates; }
+    public void setTotalCandidates(Integer totalCandidates) { this.totalCandidates = totalCandidates; }
+
+    public Double getAverageScore() { return averageScore; }
+    public void setAverageScore(Double averageScore) { this.averageScore = averageScore; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+}
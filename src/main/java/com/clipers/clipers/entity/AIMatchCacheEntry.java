@@ -0,0 +1,69 @@
+package com.clipers.clipers.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Persistent copy of a cached AI match/explain response (second level behind the in-memory cache).
+ * The id is the cache key, which already encodes profile and job versions, so stale entries are
+ * never read; MongoDB removes them once expiresAt passes.
+ */
+@Document(collection = "ai_match_cache")
+public class AIMatchCacheEntry {
+
+    @Id
+    private String id; // cache key
+
+    private String kind; // match | explain
+
+    @Indexed
+    private String jobId;
+
+    private String candidateId;
+
+    private String payload; // JSON del DTO de respuesta
+
+    private Date createdAt;
+
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+
+    // Constructors
+    public AIMatchCacheEntry() {}
+
+    public AIMatchCacheEntry(String id, String kind, String jobId, String candidateId, String payload,
+                             Date createdAt, Date expiresAt) {
+        this.id = id;
+        this.kind = kind;
+        this.jobId = jobId;
+        this.candidateId = candidateId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getCandidateId() { return candidateId; }
+    public void setCandidateId(String candidateId) { this.candidateId = candidateId; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -4,9 +4,12 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -15,12 +18,16 @@ import java.util.Map;
  * Allows companies to see matching results even after page refresh
  */
 @Document(collection = "ai_match_results")
+@CompoundIndexes({
+    // Ranking of the current batch (also serves jobId-only queries through its prefix)
+    @CompoundIndex(name = "job_batch_rank_idx", def = "{'jobId': 1, 'batchId': 1, 'rank': 1}"),
+    @CompoundIndex(name = "job_batch_candidate_idx", def = "{'jobId': 1, 'batchId': 1, 'candidateId': 1}")
+})
 public class AIMatchResult {
 
     @Id
     private String id;
 
-    @Indexed
     private String jobId;
 
     private String candidateId;
@@ -37,6 +44,8 @@ public class AIMatchResult {
 
     private String matchQuality; // excellent, good, medium, poor
 
+    private String scoreSource; // ai-service or fallback
+
     private String explanation;
 
     // Breakdown scores
@@ -63,6 +72,9 @@ public class AIMatchResult {
     private Integer totalCandidatesInBatch;
     private Double averageScoreInBatch;
 
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt; // MongoDB elimina el resultado al pasar esta fecha
+
     // Constructors
     public AIMatchResult() {}
 
@@ -103,6 +115,9 @@ public class AIMatchResult {
     public String getMatchQuality() { return matchQuality; }
     public void setMatchQuality(String matchQuality) { this.matchQuality = matchQuality; }
 
+    public String getScoreSource() { return scoreSource; }
+    public void setScoreSource(String scoreSource) { this.scoreSource = scoreSource; }
+
     public String getExplanation() { return explanation; }
     public void setExplanation(String explanation) { this.explanation = explanation; }
 
@@ -145,4 +160,7 @@ public class AIMatchResult {
     public void setAverageScoreInBatch(Double averageScoreInBatch) { 
         this.averageScoreInBatch = averageScoreInBatch; 
     }
+
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
 }
@@ -1,13 +1,17 @@
 package com.clipers.clipers.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Entidad ATSProfile que implementa Builder Pattern implícitamente
@@ -21,6 +25,7 @@ public class ATSProfile {
 
     private String summary;
 
+    @Indexed
     private String userId;
 
     private String cliperId;
@@ -31,6 +36,9 @@ public class ATSProfile {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Version // optimistic lock: ATSProfileService applies field-level updates only against the version it read
+    private Long version;
+
     // Embedded documents
     private List<Education> education = new ArrayList<>();
 
@@ -38,6 +46,9 @@ public class ATSProfile {
 
     private List<Skill> skills = new ArrayList<>();
 
+    @JsonIgnore // canonical ids of skills[].name (SkillTaxonomyService), filled on save
+    private List<Integer> skillIds;
+
     private List<Language> languages = new ArrayList<>();
 
     // Constructors
@@ -60,6 +71,7 @@ public class ATSProfile {
 
     public ATSProfile addEducation(String institution, String degree, String field) {
         Education education = new Education();
+        education.setId(newElementId());
         education.setInstitution(institution);
         education.setDegree(degree);
         education.setField(field);
@@ -69,6 +81,7 @@ public class ATSProfile {
 
     public ATSProfile addExperience(String company, String position, String description) {
         Experience experience = new Experience();
+        experience.setId(newElementId());
         experience.setCompany(company);
         experience.setPosition(position);
         experience.setDescription(description);
@@ -78,6 +91,7 @@ public class ATSProfile {
 
     public ATSProfile addSkill(String name, Skill.SkillLevel level, Skill.SkillCategory category) {
         Skill skill = new Skill();
+        skill.setId(newElementId());
         skill.setName(name);
         skill.setLevel(level);
         skill.setCategory(category);
@@ -87,12 +101,40 @@ public class ATSProfile {
 
     public ATSProfile addLanguage(String name, Language.LanguageLevel level) {
         Language language = new Language();
+        language.setId(newElementId());
         language.setName(name);
         language.setLevel(level);
         this.languages.add(language);
         return this;
     }
 
+    /**
+     * Id para una entrada nueva de education, experience, skills o languages
+     */
+    public static String newElementId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Asigna id a las entradas guardadas antes de que existieran; devuelve si asignó alguno
+     */
+    public boolean assignMissingElementIds() {
+        boolean assigned = false;
+        for (Education e : education) {
+            if (e.getId() == null) { e.setId(newElementId()); assigned = true; }
+        }
+        for (Experience e : experience) {
+            if (e.getId() == null) { e.setId(newElementId()); assigned = true; }
+        }
+        for (Skill s : skills) {
+            if (s.getId() == null) { s.setId(newElementId()); assigned = true; }
+        }
+        for (Language l : languages) {
+            if (l.getId() == null) { l.setId(newElementId()); assigned = true; }
+        }
+        return assigned;
+    }
+
     // Template Method para validar completitud del perfil
     public boolean isComplete() {
         return hasBasicInfo() && hasRequiredSections();
@@ -163,6 +205,9 @@ public class ATSProfile {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public List<Education> getEducation() { return education; }
     public void setEducation(List<Education> education) { this.education = education; }
 
@@ -172,6 +217,9 @@ public class ATSProfile {
     public List<Skill> getSkills() { return skills; }
     public void setSkills(List<Skill> skills) { this.skills = skills; }
 
+    public List<Integer> getSkillIds() { return skillIds; }
+    public void setSkillIds(List<Integer> skillIds) { this.skillIds = skillIds; }
+
     public List<Language> getLanguages() { return languages; }
     public void setLanguages(List<Language> languages) { this.languages = languages; }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.clipers.clipers.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -17,6 +19,7 @@ import java.util.List;
  * Processing is handled by external microservice
  */
 @Document(collection = "clipers")
+@CompoundIndex(name = "status_created_at_idx", def = "{'status': 1, 'createdAt': -1}")
 public class Cliper {
 
     @Id
@@ -41,8 +44,12 @@ public class Cliper {
 
     private List<String> skills = new ArrayList<>();
 
+    @JsonIgnore // canonical ids of skills (SkillTaxonomyService), filled on save
+    private List<Integer> skillIds;
+
     private String userId; // Referencia al usuario
 
+    @JsonIgnore // who liked what stays server-side; clients get likesCount and likedByMe
     private List<String> likedBy = new ArrayList<>(); // User IDs who liked
     private List<Comment> comments = new ArrayList<>();
 
@@ -108,6 +115,9 @@ public class Cliper {
     public List<String> getSkills() { return skills; }
     public void setSkills(List<String> skills) { this.skills = skills; }
 
+    public List<Integer> getSkillIds() { return skillIds; }
+    public void setSkillIds(List<Integer> skillIds) { this.skillIds = skillIds; }
+
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
 
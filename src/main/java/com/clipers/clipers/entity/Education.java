@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 // Embedded document - no necesita @Document
 public class Education {
 
+    private String id; // stable id within the profile (ATSProfile.newElementId), used instead of list indexes
+
     @NotBlank
     private String institution;
 
@@ -31,6 +33,9 @@ public class Education {
     }
 
     // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
     public String getInstitution() { return institution; }
     public void setInstitution(String institution) { this.institution = institution; }
 
@@ -7,6 +7,8 @@ import java.util.List;
 // Embedded document - no necesita @Document
 public class Experience {
 
+    private String id; // stable id within the profile (ATSProfile.newElementId), used instead of list indexes
+
     @NotBlank
     private String company;
 
@@ -32,6 +34,9 @@ public class Experience {
     }
 
     // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
     public String getCompany() { return company; }
     public void setCompany(String company) { this.company = company; }
 
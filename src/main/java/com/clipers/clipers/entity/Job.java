@@ -1,15 +1,28 @@
 package com.clipers.clipers.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Document(collection = "jobs")
+@CompoundIndexes({
+    // Job search (JobQuery): equality on isActive and the filter, then the newest-first sort
+    @CompoundIndex(name = "active_created_at_idx", def = "{'isActive': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "active_type_created_at_idx", def = "{'isActive': 1, 'type': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "active_location_created_at_idx", def = "{'isActive': 1, 'locationKey': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "active_salary_idx", def = "{'isActive': 1, 'salaryMin': 1, 'salaryMax': 1}"),
+    @CompoundIndex(name = "active_skill_ids_idx", def = "{'isActive': 1, 'skillIds': 1}")
+})
 public class Job {
 
     @Id
@@ -24,18 +37,29 @@ public class Job {
 
     private List<String> skills;
 
+    @JsonIgnore // canonical ids of skills (SkillTaxonomyService), filled on save
+    private List<Integer> skillIds;
+
     private String location;
 
+    // Normalized location (lowercase, no accents) for indexed exact/prefix filters; derived from location
+    @JsonIgnore
+    private String locationKey;
+
     private JobType type;
 
     private Integer salaryMin;
 
     private Integer salaryMax;
 
+    // Technical test structure with its answer key (TechnicalTestStructure JSON), copied into every test sent;
+    // never serialized, so candidates browsing jobs do not see the correct answers
+    @JsonIgnore
+    private String technicalTestJson;
+
     @org.springframework.data.mongodb.core.index.Indexed
     private String companyId; // Reference to company
 
-    @org.springframework.data.mongodb.core.index.Indexed
     private Boolean isActive = true;
 
     @CreatedDate
@@ -53,7 +77,7 @@ public class Job {
     public Job(String title, String description, String location, JobType type, String companyId) {
         this.title = title;
         this.description = description;
-        this.location = location;
+        setLocation(location);
         this.type = type;
         this.companyId = companyId;
     }
@@ -74,8 +98,19 @@ public class Job {
     public List<String> getSkills() { return skills; }
     public void setSkills(List<String> skills) { this.skills = skills; }
 
+    public List<Integer> getSkillIds() { return skillIds; }
+    public void setSkillIds(List<Integer> skillIds) { this.skillIds = skillIds; }
+
     public String getLocation() { return location; }
-    public void setLocation(String location) { this.location = location; }
+    public void setLocation(String location) {
+        this.location = location;
+        this.locationKey = locationKeyOf(location);
+    }
+
+    public String getLocationKey() { return locationKey; }
+
+    public String getTechnicalTestJson() { return technicalTestJson; }
+    public void setTechnicalTestJson(String technicalTestJson) { this.technicalTestJson = technicalTestJson; }
 
     public JobType getType() { return type; }
     public void setType(JobType type) { this.type = type; }
@@ -101,6 +136,17 @@ public class Job {
     public List<String> getJobMatchIds() { return jobMatchIds; }
     public void setJobMatchIds(List<String> jobMatchIds) { this.jobMatchIds = jobMatchIds; }
 
+    /**
+     * "  Bogotá,  Colombia" -> "bogota, colombia"; null for blank locations
+     */
+    public static String locationKeyOf(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String stripped = Normalizer.normalize(location, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
     public enum JobType {
         FULL_TIME, PART_TIME, CONTRACT, INTERNSHIP
     }
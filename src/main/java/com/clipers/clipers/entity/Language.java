@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 // Embedded document - no necesita @Document
 public class Language {
 
+    private String id; // stable id within the profile (ATSProfile.newElementId), used instead of list indexes
+
     @NotBlank
     private String name;
 
@@ -19,6 +21,9 @@ public class Language {
     }
 
     // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
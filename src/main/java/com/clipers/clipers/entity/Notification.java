@@ -0,0 +1,90 @@
+package com.clipers.clipers.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistent in-app notification (inbox entry)
+ * Similar events (e.g. several likes on the same post) are coalesced into a single
+ * unread document whose count grows instead of creating one document per event.
+ */
+@Document(collection = "notifications")
+@CompoundIndexes({
+    // Inbox paging: newest first per user, keyed on createdAt which never changes
+    @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}"),
+    // Unread counters
+    @CompoundIndex(name = "user_read_type_entity_idx", def = "{'userId': 1, 'read': 1, 'type': 1, 'entityId': 1}"),
+    // At most one open (unread) coalesced notification per recipient, type and entity
+    @CompoundIndex(name = "coalesce_key_idx", def = "{'userId': 1, 'type': 1, 'entityId': 1}", unique = true,
+            partialFilter = "{'read': false, 'coalesced': true}")
+})
+public class Notification {
+
+    public static final int MAX_ACTORS = 10;
+
+    @Id
+    private String id;
+
+    private String userId; // Destinatario
+
+    private String type; // NotificationEvent.EventType
+
+    private String entityId; // Post, cliper, job... al que hace referencia
+
+    private List<String> actorIds = new ArrayList<>(); // Últimos actores (máx. MAX_ACTORS)
+
+    private int count = 1;
+
+    private String message;
+
+    private boolean read = false;
+
+    private boolean coalesced = false; // Accumulates similar events while unread
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public Notification() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getEntityId() { return entityId; }
+    public void setEntityId(String entityId) { this.entityId = entityId; }
+
+    public List<String> getActorIds() { return actorIds; }
+    public void setActorIds(List<String> actorIds) { this.actorIds = actorIds; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public boolean isRead() { return read; }
+    public void setRead(boolean read) { this.read = read; }
+
+    public boolean isCoalesced() { return coalesced; }
+    public void setCoalesced(boolean coalesced) { this.coalesced = coalesced; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
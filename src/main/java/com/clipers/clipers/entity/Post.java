@@ -1,9 +1,12 @@
 package com.clipers.clipers.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 
@@ -11,6 +14,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "posts")
+@CompoundIndexes({
+    // Trending window scan and "popular" ordering
+    @CompoundIndex(name = "created_at_idx", def = "{'createdAt': -1}"),
+    @CompoundIndex(name = "likes_created_at_idx", def = "{'likes': -1, 'createdAt': -1}")
+})
 public class Post {
 
     @Id
@@ -42,6 +50,7 @@ public class Post {
     // Relationships - Referencias por ID
     private List<String> commentIds;
 
+    @JsonIgnore // who liked what stays server-side; clients get likes and likedByMe
     private List<String> postLikeIds;
 
     // Constructors
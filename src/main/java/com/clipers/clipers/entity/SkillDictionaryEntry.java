@@ -0,0 +1,44 @@
+package com.clipers.clipers.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One canonical skill of the taxonomy kept by SkillTaxonomyService.
+ * The id is a small dense integer (bit position in a SkillSet); aliases are normalized spellings
+ * ("js", "javascript", "java script") and each alias belongs to exactly one entry.
+ */
+@Document(collection = "skill_dictionary")
+public class SkillDictionaryEntry {
+
+    @Id
+    private Integer id;
+
+    private String name;
+
+    @Indexed(unique = true)
+    private List<String> aliases = new ArrayList<>();
+
+    // Constructors
+    public SkillDictionaryEntry() {}
+
+    public SkillDictionaryEntry(Integer id, String name, List<String> aliases) {
+        this.id = id;
+        this.name = name;
+        this.aliases = aliases;
+    }
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public List<String> getAliases() { return aliases; }
+    public void setAliases(List<String> aliases) { this.aliases = aliases; }
+}
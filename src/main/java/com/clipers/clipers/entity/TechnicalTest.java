@@ -2,11 +2,13 @@ package com.clipers.clipers.entity;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "technical_tests")
+@CompoundIndex(name = "job_candidate_idx", def = "{'jobId': 1, 'candidateId': 1}", unique = true)
 public class TechnicalTest {
     
     @Id
@@ -18,12 +20,18 @@ public class TechnicalTest {
     private String companyName; // Company name
     private String jobTitle; // Job title
     private String testMarkdown; // Old format (maintain compatibility)
+    private String templateId; // TechnicalTestTemplate the markdown was copied from
     private String testJson; // New structured JSON format
     private TestStatus status;
     private String candidateResponse; // Respuesta del candidato (formato antiguo)
     private String candidateAnswersJson; // Structured JSON answers
     private Integer score; // Test score
     private String feedback; // Company feedback
+    private Integer autoScore; // Points on auto-graded questions (multiple choice, short answer)
+    private Integer autoMaxScore; // Points available on auto-graded questions
+    private Integer pendingReviewQuestions; // Answered questions that need manual review
+    private String answerKeyId; // Answer key (testJson) the auto score was computed with
+    private LocalDateTime autoGradedAt;
     
     @CreatedDate
     private LocalDateTime createdAt;
@@ -89,6 +97,14 @@ public class TechnicalTest {
         this.testMarkdown = testMarkdown;
     }
     
+    public String getTemplateId() {
+        return templateId;
+    }
+    
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+    
     public TestStatus getStatus() {
         return status;
     }
@@ -145,6 +161,46 @@ public class TechnicalTest {
         this.feedback = feedback;
     }
     
+    public Integer getAutoScore() {
+        return autoScore;
+    }
+    
+    public void setAutoScore(Integer autoScore) {
+        this.autoScore = autoScore;
+    }
+    
+    public Integer getAutoMaxScore() {
+        return autoMaxScore;
+    }
+    
+    public void setAutoMaxScore(Integer autoMaxScore) {
+        this.autoMaxScore = autoMaxScore;
+    }
+    
+    public Integer getPendingReviewQuestions() {
+        return pendingReviewQuestions;
+    }
+    
+    public void setPendingReviewQuestions(Integer pendingReviewQuestions) {
+        this.pendingReviewQuestions = pendingReviewQuestions;
+    }
+    
+    public String getAnswerKeyId() {
+        return answerKeyId;
+    }
+    
+    public void setAnswerKeyId(String answerKeyId) {
+        this.answerKeyId = answerKeyId;
+    }
+    
+    public LocalDateTime getAutoGradedAt() {
+        return autoGradedAt;
+    }
+    
+    public void setAutoGradedAt(LocalDateTime autoGradedAt) {
+        this.autoGradedAt = autoGradedAt;
+    }
+    
     public String getCompanyName() {
         return companyName;
     }
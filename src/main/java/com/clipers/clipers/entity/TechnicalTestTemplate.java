@@ -0,0 +1,54 @@
+package com.clipers.clipers.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Technical test generated once for a job's content and copied into every TechnicalTest sent for it.
+ * The id is a hash of the job fields the generation depends on, so editing the job yields a new template
+ * and tests already sent keep the version they were sent with.
+ *
+ * Jobs with the same content share a template, so it records every job it was used for and is only
+ * deleted once the last of them is.
+ */
+@Document(collection = "technical_test_templates")
+public class TechnicalTestTemplate {
+
+    @Id
+    private String id; // content hash
+
+    @Indexed
+    private Set<String> jobIds = new HashSet<>();
+
+    private String testMarkdown;
+
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public TechnicalTestTemplate() {}
+
+    public TechnicalTestTemplate(String id, String jobId, String testMarkdown, LocalDateTime createdAt) {
+        this.id = id;
+        this.jobIds.add(jobId);
+        this.testMarkdown = testMarkdown;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Set<String> getJobIds() { return jobIds; }
+    public void setJobIds(Set<String> jobIds) { this.jobIds = jobIds; }
+
+    public String getTestMarkdown() { return testMarkdown; }
+    public void setTestMarkdown(String testMarkdown) { this.testMarkdown = testMarkdown; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
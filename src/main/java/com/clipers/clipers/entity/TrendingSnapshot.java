@@ -0,0 +1,117 @@
+package com.clipers.clipers.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materialized ranking computed by TrendingService
+ * One document per (source, category), e.g. "posts:IMAGE" or "clipers:ALL".
+ * Entries are already ordered by score and carry just enough data to render a card.
+ */
+@Document(collection = "trending_snapshots")
+public class TrendingSnapshot {
+
+    public static final String CATEGORY_ALL = "ALL";
+
+    @Id
+    private String id;
+
+    private String source; // posts | clipers
+
+    private String category;
+
+    private List<Entry> entries = new ArrayList<>();
+
+    private LocalDateTime computedAt;
+
+    private Long scannedDocuments;
+
+    // Constructors
+    public TrendingSnapshot() {}
+
+    public TrendingSnapshot(String source, String category) {
+        this.id = idFor(source, category);
+        this.source = source;
+        this.category = category;
+    }
+
+    public static String idFor(String source, String category) {
+        return source + ":" + category;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public List<Entry> getEntries() { return entries; }
+    public void setEntries(List<Entry> entries) { this.entries = entries; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+
+    public Long getScannedDocuments() { return scannedDocuments; }
+    public void setScannedDocuments(Long scannedDocuments) { this.scannedDocuments = scannedDocuments; }
+
+    public static class Entry {
+        private String entityId;
+        private String userId;
+        private String authorName;
+        private String authorImage;
+        private String title; // cliper title or post excerpt
+        private String mediaUrl; // cliper thumbnail or post image
+        private String type;
+        private Integer duration;
+        private int likesCount;
+        private int commentsCount;
+        private double score;
+        private LocalDateTime createdAt;
+
+        public Entry() {}
+
+        public String getEntityId() { return entityId; }
+        public void setEntityId(String entityId) { this.entityId = entityId; }
+
+        public String getUserId() { return userId; }
+        public void setUserId(String userId) { this.userId = userId; }
+
+        public String getAuthorName() { return authorName; }
+        public void setAuthorName(String authorName) { this.authorName = authorName; }
+
+        public String getAuthorImage() { return authorImage; }
+        public void setAuthorImage(String authorImage) { this.authorImage = authorImage; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getMediaUrl() { return mediaUrl; }
+        public void setMediaUrl(String mediaUrl) { this.mediaUrl = mediaUrl; }
+
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+
+        public Integer getDuration() { return duration; }
+        public void setDuration(Integer duration) { this.duration = duration; }
+
+        public int getLikesCount() { return likesCount; }
+        public void setLikesCount(int likesCount) { this.likesCount = likesCount; }
+
+        public int getCommentsCount() { return commentsCount; }
+        public void setCommentsCount(int commentsCount) { this.commentsCount = commentsCount; }
+
+        public double getScore() { return score; }
+        public void setScore(double score) { this.score = score; }
+
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    }
+}
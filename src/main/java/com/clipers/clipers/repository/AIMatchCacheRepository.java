@@ -0,0 +1,11 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.AIMatchCacheEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AIMatchCacheRepository extends MongoRepository<AIMatchCacheEntry, String> {
+
+    void deleteByJobId(String jobId);
+}
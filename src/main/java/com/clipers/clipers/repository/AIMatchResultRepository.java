@@ -27,6 +27,18 @@ public interface AIMatchResultRepository extends MongoRepository<AIMatchResult,
      */
     Optional<AIMatchResult> findByJobIdAndCandidateId(String jobId, String candidateId);
     
+    /**
+     * Ranking of one batch of a job (job_batch_rank_idx)
+     */
+    List<AIMatchResult> findByJobIdAndBatchIdOrderByRankAsc(String jobId, String batchId);
+
+    /**
+     * Result of a candidate within one batch of a job
+     */
+    Optional<AIMatchResult> findFirstByJobIdAndBatchIdAndCandidateId(String jobId, String batchId, String candidateId);
+
+    boolean existsByJobIdAndBatchId(String jobId, String batchId);
+
     /**
      * Find all match results from a specific batch
      */
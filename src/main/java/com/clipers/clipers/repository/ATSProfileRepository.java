@@ -5,6 +5,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +14,14 @@ import java.util.Optional;
 public interface ATSProfileRepository extends MongoRepository<ATSProfile, String> {
 
     Optional<ATSProfile> findByUserId(String userId);
+
+    List<ATSProfile> findByUserIdIn(Collection<String> userIds);
+
+    List<ATSProfile> findByUpdatedAtAfter(LocalDateTime since);
+
+    // Only the ids: used to find profiles deleted while the candidate index was offline
+    @Query(value = "{}", fields = "{ '_id': 1, 'userId': 1 }")
+    List<ATSProfile> findAllIds();
     
     Optional<ATSProfile> findByCliperId(String cliperId);
     
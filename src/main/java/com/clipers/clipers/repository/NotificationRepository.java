@@ -0,0 +1,11 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.Notification;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationRepository extends MongoRepository<Notification, String> {
+
+    long countByUserIdAndReadFalse(String userId);
+}
@@ -0,0 +1,9 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.SkillDictionaryEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SkillDictionaryRepository extends MongoRepository<SkillDictionaryEntry, Integer> {
+}
@@ -2,8 +2,10 @@ package com.clipers.clipers.repository;
 
 import com.clipers.clipers.entity.TechnicalTest;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,5 +20,9 @@ public interface TechnicalTestRepository extends MongoRepository<TechnicalTest,
     
     Optional<TechnicalTest> findByJobIdAndCandidateId(String jobId, String candidateId);
     
+    // Only candidateId is loaded: used to skip candidates who already have a test
+    @Query(value = "{ 'jobId': ?0, 'candidateId': { $in: ?1 } }", fields = "{ 'candidateId': 1 }")
+    List<TechnicalTest> findCandidateIdsByJobIdAndCandidateIdIn(String jobId, Collection<String> candidateIds);
+    
     List<TechnicalTest> findByStatus(TechnicalTest.TestStatus status);
 }
@@ -0,0 +1,9 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.TechnicalTestTemplate;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TechnicalTestTemplateRepository extends MongoRepository<TechnicalTestTemplate, String> {
+}
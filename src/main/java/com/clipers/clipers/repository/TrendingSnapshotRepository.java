@@ -0,0 +1,9 @@
+package com.clipers.clipers.repository;
+
+import com.clipers.clipers.entity.TrendingSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingSnapshotRepository extends MongoRepository<TrendingSnapshot, String> {
+}
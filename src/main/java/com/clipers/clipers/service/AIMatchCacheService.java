@@ -0,0 +1,184 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.cache.BoundedCache;
+import com.clipers.clipers.cache.BoundedCacheMetrics;
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.dto.matching.ExplainMatchResponseDTO;
+import com.clipers.clipers.dto.matching.JobDTO;
+import com.clipers.clipers.dto.matching.SingleMatchResponseDTO;
+import com.clipers.clipers.entity.AIMatchCacheEntry;
+import com.clipers.clipers.repository.AIMatchCacheRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Proxy Pattern implicitly: caches AI match/explain responses so unchanged
+ * (profile, job) pairs do not pay for model inference again.
+ *
+ * The key is a SHA-256 over the candidate DTO, the job DTO, both updatedAt stamps and the request
+ * options, so any edit on either side produces a new key and old entries simply age out.
+ * Fallback responses are never cached.
+ *
+ * Entries are held as their JSON payload (the same form that is persisted) and every hit is read into
+ * a fresh DTO, so callers may modify what they get back without touching the cached copy.
+ */
+@Service
+public class AIMatchCacheService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIMatchCacheService.class);
+
+    private static final String KIND_MATCH = "match";
+    private static final String KIND_EXPLAIN = "explain";
+
+    private final AIMatchCacheRepository aiMatchCacheRepository;
+    private final ObjectMapper objectMapper;
+    private final BoundedCache<String, String> cache; // key -> JSON payload
+
+    @Value("${ai.matching.cache.persistent:false}")
+    private boolean persistent;
+
+    private final long ttlMillis;
+
+    @Autowired
+    public AIMatchCacheService(AIMatchCacheRepository aiMatchCacheRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${ai.matching.cache.max-entries:5000}") int maxEntries,
+                               @Value("${ai.matching.cache.ttl-ms:21600000}") long ttlMillis) {
+        this.aiMatchCacheRepository = aiMatchCacheRepository;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+        this.cache = new BoundedCache<>("ai-match-results", maxEntries, ttlMillis);
+    }
+
+    public SingleMatchResponseDTO getMatch(CandidateDTO candidate, LocalDateTime profileUpdatedAt,
+                                           JobDTO job, LocalDateTime jobUpdatedAt,
+                                           Supplier<SingleMatchResponseDTO> compute) {
+        String key = keyFor(KIND_MATCH, candidate, profileUpdatedAt, job, jobUpdatedAt, false);
+        return getOrCompute(key, KIND_MATCH, candidate, job, SingleMatchResponseDTO.class, compute,
+                result -> !AIMatchingService.SOURCE_FALLBACK.equals(result.getSource()));
+    }
+
+    public ExplainMatchResponseDTO getExplanation(CandidateDTO candidate, LocalDateTime profileUpdatedAt,
+                                                  JobDTO job, LocalDateTime jobUpdatedAt,
+                                                  boolean includeSuggestions,
+                                                  Supplier<ExplainMatchResponseDTO> compute) {
+        String key = keyFor(KIND_EXPLAIN, candidate, profileUpdatedAt, job, jobUpdatedAt, includeSuggestions);
+        return getOrCompute(key, KIND_EXPLAIN, candidate, job, ExplainMatchResponseDTO.class, compute,
+                result -> !AIMatchingService.SOURCE_FALLBACK.equals(result.getSource()));
+    }
+
+    public Map<String, Object> getStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new BoundedCacheMetrics(cache).bindTo(registry);
+    }
+
+    private <T> T getOrCompute(String key, String kind, CandidateDTO candidate, JobDTO job, Class<T> type,
+                               Supplier<T> compute, Predicate<T> cacheable) {
+        T cached = fromPayload(cache.get(key), type);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (persistent) {
+            String payload = readPersisted(key);
+            T stored = fromPayload(payload, type);
+            if (stored != null) {
+                cache.put(key, payload);
+                return stored;
+            }
+        }
+
+        T result = compute.get();
+        if (result != null && cacheable.test(result)) {
+            String payload = toPayload(result);
+            if (payload != null) {
+                cache.put(key, payload);
+                if (persistent) {
+                    writePersisted(key, kind, candidate, job, payload);
+                }
+            }
+        }
+        return result;
+    }
+
+    private <T> T fromPayload(String payload, Class<T> type) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String toPayload(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            logger.warn("AI match result not cacheable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String readPersisted(String key) {
+        try {
+            return aiMatchCacheRepository.findById(key)
+                    .filter(entry -> entry.getExpiresAt() == null || entry.getExpiresAt().after(new Date()))
+                    .map(AIMatchCacheEntry::getPayload)
+                    .orElse(null);
+        } catch (Exception e) {
+            logger.warn("AI match cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writePersisted(String key, String kind, CandidateDTO candidate, JobDTO job, String payload) {
+        try {
+            long now = System.currentTimeMillis();
+            aiMatchCacheRepository.save(new AIMatchCacheEntry(
+                    key, kind, job.getId(), candidate.getId(), payload,
+                    new Date(now), new Date(now + ttlMillis)));
+        } catch (Exception e) {
+            // The in-memory copy is enough; persistence is best effort
+            logger.warn("AI match cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String keyFor(String kind, CandidateDTO candidate, LocalDateTime profileUpdatedAt,
+                          JobDTO job, LocalDateTime jobUpdatedAt, boolean includeSuggestions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(objectMapper.writeValueAsBytes(candidate));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(job));
+            digest.update((byte) 0);
+            digest.update((profileUpdatedAt + "|" + jobUpdatedAt + "|" + includeSuggestions)
+                    .getBytes(StandardCharsets.UTF_8));
+            return kind + ":" + HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("No se pudo calcular la clave de caché: " + e.getMessage(), e);
+        }
+    }
+}
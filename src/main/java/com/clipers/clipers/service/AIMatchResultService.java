@@ -2,13 +2,22 @@ package com.clipers.clipers.service;
 
 import com.clipers.clipers.dto.matching.BatchMatchResponseDTO;
 import com.clipers.clipers.dto.matching.RankedMatchResultDTO;
+import com.clipers.clipers.entity.AIMatchBatchPointer;
 import com.clipers.clipers.entity.AIMatchResult;
 import com.clipers.clipers.repository.AIMatchResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -16,6 +25,10 @@ import java.util.stream.Collectors;
 /**
  * Service to persist and retrieve AI matching results
  * Allows results to survive page refreshes
+ *
+ * Each ranking is stored under its own batchId and published by atomically swapping the job's
+ * AIMatchBatchPointer; the replaced batch is then removed with a single deleteMany. Results and
+ * pointers carry expiresAt so MongoDB's TTL monitor drops abandoned rankings.
  */
 @Service
 public class AIMatchResultService {
@@ -23,9 +36,15 @@ public class AIMatchResultService {
     private static final Logger logger = LoggerFactory.getLogger(AIMatchResultService.class);
 
     private final AIMatchResultRepository aiMatchResultRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
 
-    public AIMatchResultService(AIMatchResultRepository aiMatchResultRepository) {
+    public AIMatchResultService(AIMatchResultRepository aiMatchResultRepository,
+                                MongoTemplate mongoTemplate,
+                                @Value("${ai.matching.results.ttl-days:30}") long ttlDays) {
         this.aiMatchResultRepository = aiMatchResultRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = Duration.ofDays(Math.max(1, ttlDays));
     }
 
     /**
@@ -35,34 +54,61 @@ public class AIMatchResultService {
     public String saveBatchResults(BatchMatchResponseDTO batchResponse) {
         String batchId = UUID.randomUUID().toString();
         String jobId = batchResponse.getJobId();
+        Date now = new Date();
+        Date expiresAt = Date.from(now.toInstant().plus(ttl));
         
         logger.info("Saving batch results: jobId={}, batchId={}, totalCandidates={}", 
                    jobId, batchId, batchResponse.getTotalCandidates());
 
-        // Delete old results for this job (optional - keep only latest)
-        deleteOldResults(jobId);
-
-        // Convert and save each match result
-        List<AIMatchResult> results = batchResponse.getMatches().stream()
-            .map(match -> convertToEntity(match, jobId, batchId, batchResponse))
-            .collect(Collectors.toList());
+        // 1. Write the new batch; it stays invisible until the pointer moves
+        List<AIMatchResult> results = batchResponse.getMatches() != null
+            ? batchResponse.getMatches().stream()
+                .map(match -> convertToEntity(match, jobId, batchId, batchResponse, expiresAt))
+                .collect(Collectors.toList())
+            : new ArrayList<>();
+        if (!results.isEmpty()) {
+            mongoTemplate.insert(results, AIMatchResult.class);
+        }
 
-        aiMatchResultRepository.saveAll(results);
+        // 2. Publish it: atomic swap of the current batch, returning the replaced pointer
+        Update swap = new Update()
+            .set("batchId", batchId)
+            .set("totalCandidates", batchResponse.getTotalCandidates())
+            .set("averageScore", batchResponse.getAverageScore())
+            .set("createdAt", now)
+            .set("expiresAt", expiresAt);
+        AIMatchBatchPointer previous = mongoTemplate.findAndModify(
+            Query.query(Criteria.where("_id").is(jobId)), swap,
+            FindAndModifyOptions.options().upsert(true).returnNew(false),
+            AIMatchBatchPointer.class);
+
+        // 3. Drop the replaced batch. Only that batch: a concurrent save may already have inserted its own.
+        // Without a previous pointer, clear whatever an older version of this service left for the job.
+        Criteria stale = Criteria.where("jobId").is(jobId);
+        stale = previous != null && previous.getBatchId() != null
+            ? stale.and("batchId").is(previous.getBatchId())
+            : stale.and("batchId").ne(batchId);
+        long removed = mongoTemplate.remove(Query.query(stale), AIMatchResult.class).getDeletedCount();
         
-        logger.info("Saved {} match results for job {}", results.size(), jobId);
+        logger.info("Saved {} match results for job {} (replaced {})", results.size(), jobId, removed);
         
         return batchId;
     }
 
     /**
      * Get saved match results for a job
-     * Returns the latest batch of results
+     * Returns the current batch of results
      */
     public List<AIMatchResult> getMatchResultsForJob(String jobId) {
         logger.info("Retrieving match results for job {}", jobId);
+
+        String batchId = getCurrentBatchId(jobId);
+        if (batchId == null) {
+            return new ArrayList<>();
+        }
         
         List<AIMatchResult> results = aiMatchResultRepository
-            .findByJobIdOrderByRankAsc(jobId);
+            .findByJobIdAndBatchIdOrderByRankAsc(jobId, batchId);
         
         logger.info("Found {} saved match results for job {}", results.size(), jobId);
         
@@ -70,11 +116,15 @@ public class AIMatchResultService {
     }
 
     /**
-     * Get match result for a specific candidate and job
+     * Get match result for a specific candidate and job (current batch)
      */
     public AIMatchResult getMatchResult(String jobId, String candidateId) {
+        String batchId = getCurrentBatchId(jobId);
+        if (batchId == null) {
+            return null;
+        }
         return aiMatchResultRepository
-            .findByJobIdAndCandidateId(jobId, candidateId)
+            .findFirstByJobIdAndBatchIdAndCandidateId(jobId, batchId, candidateId)
             .orElse(null);
     }
 
@@ -82,32 +132,33 @@ public class AIMatchResultService {
      * Check if match results exist for a job
      */
     public boolean hasMatchResults(String jobId) {
-        return aiMatchResultRepository.countByJobId(jobId) > 0;
-    }
-
-    /**
-     * Delete old match results for a job
-     * Keeps only results from last 7 days
-     */
-    public void deleteOldResults(String jobId) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7);
-        aiMatchResultRepository.deleteByJobIdAndCreatedAtBefore(jobId, cutoffDate);
+        String batchId = getCurrentBatchId(jobId);
+        return batchId != null && aiMatchResultRepository.existsByJobIdAndBatchId(jobId, batchId);
     }
 
     /**
      * Delete all match results for a job
      */
     public void deleteAllResultsForJob(String jobId) {
-        List<AIMatchResult> results = aiMatchResultRepository.findByJobIdOrderByRankAsc(jobId);
-        aiMatchResultRepository.deleteAll(results);
-        logger.info("Deleted all match results for job {}", jobId);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(jobId)), AIMatchBatchPointer.class);
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("jobId").is(jobId)), AIMatchResult.class)
+            .getDeletedCount();
+        logger.info("Deleted all match results for job {} ({})", jobId, removed);
+    }
+
+    private String getCurrentBatchId(String jobId) {
+        Query query = Query.query(Criteria.where("_id").is(jobId));
+        query.fields().include("batchId");
+        AIMatchBatchPointer pointer = mongoTemplate.findOne(query, AIMatchBatchPointer.class);
+        return pointer != null ? pointer.getBatchId() : null;
     }
 
     /**
      * Convert DTO to entity
      */
     private AIMatchResult convertToEntity(RankedMatchResultDTO dto, String jobId, 
-                                         String batchId, BatchMatchResponseDTO batchResponse) {
+                                         String batchId, BatchMatchResponseDTO batchResponse,
+                                         Date expiresAt) {
         AIMatchResult entity = new AIMatchResult();
         
         entity.setJobId(jobId);
@@ -118,6 +169,7 @@ public class AIMatchResultService {
         entity.setMatchPercentage(dto.getMatchPercentage());
         entity.setRank(dto.getRank());
         entity.setMatchQuality(dto.getMatchQuality());
+        entity.setScoreSource(dto.getScoreSource());
         entity.setExplanation(dto.getExplanation());
         
         // Breakdown
@@ -137,6 +189,7 @@ public class AIMatchResultService {
         entity.setBatchId(batchId);
         entity.setTotalCandidatesInBatch(batchResponse.getTotalCandidates());
         entity.setAverageScoreInBatch(batchResponse.getAverageScore());
+        entity.setExpiresAt(expiresAt);
         
         return entity;
     }
@@ -154,6 +207,7 @@ public class AIMatchResultService {
         dto.setMatchPercentage(entity.getMatchPercentage());
         dto.setRank(entity.getRank());
         dto.setMatchQuality(entity.getMatchQuality());
+        dto.setScoreSource(entity.getScoreSource());
         dto.setExplanation(entity.getExplanation());
         dto.setMatchedSkills(entity.getMatchedSkills());
         dto.setMissingSkills(entity.getMissingSkills());
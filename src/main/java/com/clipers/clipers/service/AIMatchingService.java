@@ -1,13 +1,15 @@
 package com.clipers.clipers.service;
 
 import com.clipers.clipers.dto.matching.*;
+import com.clipers.clipers.client.DownstreamClient;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,14 +17,22 @@ import java.util.List;
 
 /**
  * Service for AI-powered candidate-job matching
- * Communicates with microSelectIA Python service
+ * Communicates with microSelectIA Python service.
+ * Calls go through a pooled, time-limited client with a circuit breaker;
+ * when the breaker is open or a call fails, the createFallback* results are returned immediately.
+ * Fallbacks are scored by the in-JVM LocalSemanticMatcher, so rankings stay meaningful offline.
  */
 @Service
+@Observed(name = "clipers.service")
 public class AIMatchingService {
 
     private static final Logger logger = LoggerFactory.getLogger(AIMatchingService.class);
 
-    private final RestTemplate restTemplate;
+    public static final String SOURCE_AI_SERVICE = "ai-service";
+    public static final String SOURCE_FALLBACK = "fallback";
+
+    private final DownstreamClient aiMatchingClient;
+    private final LocalSemanticMatcher localSemanticMatcher;
 
     @Value("${ai.matching.service.url}")
     private String aiServiceUrl;
@@ -30,8 +40,10 @@ public class AIMatchingService {
     @Value("${ai.matching.service.enabled}")
     private boolean aiServiceEnabled;
 
-    public AIMatchingService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public AIMatchingService(@Qualifier("aiMatchingClient") DownstreamClient aiMatchingClient,
+                             LocalSemanticMatcher localSemanticMatcher) {
+        this.aiMatchingClient = aiMatchingClient;
+        this.localSemanticMatcher = localSemanticMatcher;
     }
 
     /**
@@ -42,7 +54,7 @@ public class AIMatchingService {
             return createFallbackSingleMatch(candidate, job);
         }
 
-        try {
+        return aiMatchingClient.execute(() -> {
             String url = aiServiceUrl + "/api/match/single";
             
             BatchMatchRequestDTO request = new BatchMatchRequestDTO();
@@ -53,15 +65,16 @@ public class AIMatchingService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<BatchMatchRequestDTO> entity = new HttpEntity<>(request, headers);
 
-            ResponseEntity<SingleMatchResponseDTO> response = restTemplate.postForEntity(
+            ResponseEntity<SingleMatchResponseDTO> response = aiMatchingClient.rest().postForEntity(
                 url, entity, SingleMatchResponseDTO.class
             );
 
-            return response.getBody();
-
-        } catch (Exception e) {
-            return createFallbackSingleMatch(candidate, job);
-        }
+            SingleMatchResponseDTO body = response.getBody();
+            if (body != null) {
+                body.setSource(SOURCE_AI_SERVICE);
+            }
+            return body;
+        }, error -> createFallbackSingleMatch(candidate, job));
     }
 
     /**
@@ -73,7 +86,7 @@ public class AIMatchingService {
             return createFallbackBatchMatch(candidates, job);
         }
 
-        try {
+        return aiMatchingClient.execute(() -> {
             String url = aiServiceUrl + "/api/match/batch";
 
             BatchMatchRequestDTO request = new BatchMatchRequestDTO();
@@ -84,15 +97,16 @@ public class AIMatchingService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<BatchMatchRequestDTO> entity = new HttpEntity<>(request, headers);
 
-            ResponseEntity<BatchMatchResponseDTO> response = restTemplate.postForEntity(
+            ResponseEntity<BatchMatchResponseDTO> response = aiMatchingClient.rest().postForEntity(
                 url, entity, BatchMatchResponseDTO.class
             );
 
-            return response.getBody();
-
-        } catch (Exception e) {
-            return createFallbackBatchMatch(candidates, job);
-        }
+            BatchMatchResponseDTO body = response.getBody();
+            if (body != null) {
+                body.setSource(SOURCE_AI_SERVICE);
+            }
+            return body;
+        }, error -> createFallbackBatchMatch(candidates, job));
     }
 
     /**
@@ -100,10 +114,10 @@ public class AIMatchingService {
      */
     public ExplainMatchResponseDTO explainMatch(CandidateDTO candidate, JobDTO job, boolean includeSuggestions) {
         if (!aiServiceEnabled) {
-            return createFallbackExplanation(candidate, job);
+            return createFallbackExplanation(candidate, job, includeSuggestions);
         }
 
-        try {
+        return aiMatchingClient.execute(() -> {
             String url = aiServiceUrl + "/api/match/explain";
 
             ExplainMatchRequestDTO request = new ExplainMatchRequestDTO();
@@ -115,110 +129,54 @@ public class AIMatchingService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<ExplainMatchRequestDTO> entity = new HttpEntity<>(request, headers);
 
-            ResponseEntity<ExplainMatchResponseDTO> response = restTemplate.postForEntity(
+            ResponseEntity<ExplainMatchResponseDTO> response = aiMatchingClient.rest().postForEntity(
                 url, entity, ExplainMatchResponseDTO.class
             );
 
-            return response.getBody();
-
-        } catch (Exception e) {
-            return createFallbackExplanation(candidate, job);
-        }
+            ExplainMatchResponseDTO body = response.getBody();
+            if (body != null) {
+                body.setSource(SOURCE_AI_SERVICE);
+            }
+            return body;
+        }, error -> createFallbackExplanation(candidate, job, includeSuggestions));
     }
 
     /**
      * Check if AI service is available
      */
     public HealthResponseDTO checkHealth() {
-        try {
+        return aiMatchingClient.execute(() -> {
             String url = aiServiceUrl + "/health";
-            ResponseEntity<HealthResponseDTO> response = restTemplate.getForEntity(
+            ResponseEntity<HealthResponseDTO> response = aiMatchingClient.rest().getForEntity(
                 url, HealthResponseDTO.class
             );
             return response.getBody();
-        } catch (Exception e) {
+        }, error -> {
             HealthResponseDTO health = new HealthResponseDTO();
             health.setStatus("unhealthy");
-            health.setMessage("AI service unavailable: " + e.getMessage());
+            health.setMessage("AI service unavailable: " + error.getMessage());
             return health;
-        }
+        });
     }
 
-    // Fallback methods for when AI service is unavailable
+    // Fallback methods for when AI service is unavailable: scored locally, tagged as fallback
 
     private SingleMatchResponseDTO createFallbackSingleMatch(CandidateDTO candidate, JobDTO job) {
-        SingleMatchResponseDTO response = new SingleMatchResponseDTO();
-        response.setCandidateId(candidate.getId());
-        response.setCandidateName(candidate.getName());
-        response.setJobId(job.getId());
-        response.setCompatibilityScore(0.5);
-        response.setMatchPercentage(50);
-        response.setExplanation("AI service unavailable - using fallback matching");
-        response.setMatchQuality("medium");
-        
-        MatchBreakdownDTO breakdown = new MatchBreakdownDTO();
-        breakdown.setSkillsMatch(0.5);
-        breakdown.setExperienceMatch(0.5);
-        breakdown.setEducationMatch(0.5);
-        breakdown.setSemanticMatch(0.5);
-        response.setBreakdown(breakdown);
-        
+        SingleMatchResponseDTO response = localSemanticMatcher.matchSingle(candidate, job);
+        response.setSource(SOURCE_FALLBACK);
         return response;
     }
 
     private BatchMatchResponseDTO createFallbackBatchMatch(List<CandidateDTO> candidates, JobDTO job) {
-        BatchMatchResponseDTO response = new BatchMatchResponseDTO();
-        response.setJobId(job.getId());
-        response.setJobTitle(job.getTitle());
-        response.setTotalCandidates(candidates.size());
-        response.setAverageScore(0.5);
-        
-        // Create fallback matches for each candidate
-        List<RankedMatchResultDTO> matches = new java.util.ArrayList<>();
-        int rank = 1;
-        for (CandidateDTO candidate : candidates) {
-            RankedMatchResultDTO match = new RankedMatchResultDTO();
-            match.setCandidateId(candidate.getId());
-            match.setCandidateName(candidate.getName());
-            match.setCompatibilityScore(0.5);
-            match.setMatchPercentage(50);
-            match.setRank(rank++);
-            match.setMatchQuality("medium");
-            match.setExplanation("AI service unavailable - using fallback matching");
-            match.setMatchedSkills(new java.util.ArrayList<>());
-            match.setMissingSkills(new java.util.ArrayList<>());
-            match.setRecommendations(new java.util.ArrayList<>());
-            
-            MatchBreakdownDTO breakdown = new MatchBreakdownDTO();
-            breakdown.setSkillsMatch(0.5);
-            breakdown.setExperienceMatch(0.5);
-            breakdown.setEducationMatch(0.5);
-            breakdown.setSemanticMatch(0.5);
-            match.setBreakdown(breakdown);
-            
-            matches.add(match);
-        }
-        
-        response.setMatches(matches);
-        response.setTopSkillsMatched(new java.util.ArrayList<>());
+        BatchMatchResponseDTO response = localSemanticMatcher.matchBatch(candidates, job);
+        response.setSource(SOURCE_FALLBACK);
         return response;
     }
 
-    private ExplainMatchResponseDTO createFallbackExplanation(CandidateDTO candidate, JobDTO job) {
-        ExplainMatchResponseDTO response = new ExplainMatchResponseDTO();
-        response.setCandidateId(candidate.getId());
-        response.setJobId(job.getId());
-        response.setCompatibilityScore(0.5);
-        response.setMatchPercentage(50);
-        response.setDecisionRecommendation("AI service unavailable - manual review recommended");
-        
-        MatchBreakdownDTO breakdown = new MatchBreakdownDTO();
-        breakdown.setSkillsMatch(0.5);
-        breakdown.setExperienceMatch(0.5);
-        breakdown.setEducationMatch(0.5);
-        breakdown.setSemanticMatch(0.5);
-        response.setBreakdown(breakdown);
-        
+    private ExplainMatchResponseDTO createFallbackExplanation(CandidateDTO candidate, JobDTO job,
+                                                              boolean includeSuggestions) {
+        ExplainMatchResponseDTO response = localSemanticMatcher.explain(candidate, job, includeSuggestions);
+        response.setSource(SOURCE_FALLBACK);
         return response;
     }
 }
@@ -0,0 +1,37 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observer Pattern implicitly: keeps CandidateVectorIndex in sync with ATSProfile writes made through
+ * repositories/MongoTemplate save and delete. Updates are queued; the write path never waits for them.
+ */
+@Component
+public class ATSProfileIndexListener extends AbstractMongoEventListener<ATSProfile> {
+
+    private final CandidateVectorIndex candidateVectorIndex;
+
+    @Autowired
+    public ATSProfileIndexListener(CandidateVectorIndex candidateVectorIndex) {
+        this.candidateVectorIndex = candidateVectorIndex;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<ATSProfile> event) {
+        candidateVectorIndex.onProfileSaved(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<ATSProfile> event) {
+        // The source is the delete query: {_id: ...} for a single profile, anything else is a bulk delete
+        Document query = event.getSource();
+        Object id = query != null ? query.get("_id") : null;
+        candidateVectorIndex.onProfileDeleted(id instanceof Document ? null : id != null ? id.toString() : null);
+    }
+}
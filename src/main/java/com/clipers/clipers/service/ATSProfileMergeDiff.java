@@ -0,0 +1,72 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Education;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Skill;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one {@link ATSProfileMerger#merge} call changed: whether the summary changed and which entries were
+ * appended, plus how many extracted entries were dropped as duplicates. Callers use it to decide what
+ * has to happen downstream (write, re-index, cache invalidation) instead of assuming everything changed,
+ * and ATSProfileService turns it into $set/$push operations.
+ */
+public class ATSProfileMergeDiff {
+
+    private boolean summaryChanged;
+    private final List<Education> addedEducation = new ArrayList<>();
+    private final List<Experience> addedExperience = new ArrayList<>();
+    private final List<Skill> addedSkills = new ArrayList<>();
+    private final List<Language> addedLanguages = new ArrayList<>();
+    private int duplicates;
+
+    /**
+     * Nothing to persist: same summary, no new entries
+     */
+    public boolean isEmpty() {
+        return !summaryChanged && !hasNewEntries();
+    }
+
+    public boolean hasNewEntries() {
+        return !addedEducation.isEmpty() || !addedExperience.isEmpty()
+                || !addedSkills.isEmpty() || !addedLanguages.isEmpty();
+    }
+
+    /**
+     * Counts for structured logs and metrics
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summaryChanged", summaryChanged);
+        summary.put("addedEducation", addedEducation.size());
+        summary.put("addedExperience", addedExperience.size());
+        summary.put("addedSkills", addedSkills.size());
+        summary.put("addedLanguages", addedLanguages.size());
+        summary.put("duplicates", duplicates);
+        return summary;
+    }
+
+    void summaryChanged() { this.summaryChanged = true; }
+    void educationAdded(Education education) { addedEducation.add(education); }
+    void experienceAdded(Experience experience) { addedExperience.add(experience); }
+    void skillAdded(Skill skill) { addedSkills.add(skill); }
+    void languageAdded(Language language) { addedLanguages.add(language); }
+    void duplicate() { duplicates++; }
+
+    public boolean isSummaryChanged() { return summaryChanged; }
+    public List<Education> getAddedEducation() { return addedEducation; }
+    public List<Experience> getAddedExperience() { return addedExperience; }
+    public List<Skill> getAddedSkills() { return addedSkills; }
+    public List<Language> getAddedLanguages() { return addedLanguages; }
+    public int getDuplicates() { return duplicates; }
+
+    @Override
+    public String toString() {
+        return "ATSProfileMergeDiff" + toSummary();
+    }
+}
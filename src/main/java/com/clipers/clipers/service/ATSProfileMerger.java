@@ -0,0 +1,307 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.VideoProcessingResponse;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Education;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Skill;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Intelligent merge of the profile extracted from a cliper into an existing ATS profile:
+ * the summary is replaced, everything else is only added when it does not exist yet.
+ * No I/O, so it can be benchmarked and reused outside CliperService.
+ *
+ * Every entry is normalized once (lowercase, accents stripped) into a set of word tokens.
+ * Skills and languages are duplicates when their normalized text is equal; education and experience
+ * when the smaller token set is mostly contained in the other one (overlap / min size >= threshold),
+ * which generalizes the old substring check. Existing entries are indexed by token, so each new entry is
+ * only compared with the entries it shares a word with. Hashes only narrow the candidates: two names
+ * or tokens are the same only when their normalized text is equal.
+ */
+@Component
+public class ATSProfileMerger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ATSProfileMerger.class);
+
+    // Values the merge itself fills in; they say nothing about the entry and never count as overlap
+    private static final String PLACEHOLDER_DEGREE = "Degree";
+    private static final String PLACEHOLDER_FIELD = "Field of study";
+    private static final String PLACEHOLDER_COMPANY = "Company";
+    private static final String PLACEHOLDER_POSITION = "Professional";
+
+    private static final Set<String> STOPWORDS = Set.of("de", "del", "la", "las", "el", "los", "en", "y", "e",
+            "a", "con", "para", "por", "un", "una", "the", "of", "and", "in", "at", "for", "an", "to");
+
+    private final double similarityThreshold;
+
+    public ATSProfileMerger() {
+        this(0.8);
+    }
+
+    @Autowired
+    public ATSProfileMerger(@Value("${ats.merge.similarity-threshold:0.8}") double similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    public ATSProfileMergeDiff merge(ATSProfile atsProfile, VideoProcessingResponse.Profile profile, String transcription) {
+        ATSProfileMergeDiff diff = new ATSProfileMergeDiff();
+
+        // ALWAYS update summary with new cv_profile from microservice
+        if (!Objects.equals(atsProfile.getSummary(), transcription)) {
+            atsProfile.setSummary(transcription);
+            diff.summaryChanged();
+        }
+
+        // Add education only if it DOESN'T exist
+        if (isSpecified(profile.getEducation())) {
+            TokenIndex existing = new TokenIndex();
+            for (Education e : atsProfile.getEducation()) {
+                existing.add(tokens(e.getInstitution()));
+                if (!PLACEHOLDER_DEGREE.equals(e.getDegree())) {
+                    existing.add(tokens(e.getDegree()));
+                }
+            }
+            if (existing.bestOverlap(tokens(profile.getEducation())) >= similarityThreshold) {
+                diff.duplicate();
+            } else {
+                atsProfile.addEducation(profile.getEducation(), PLACEHOLDER_DEGREE, PLACEHOLDER_FIELD);
+                diff.educationAdded(last(atsProfile.getEducation()));
+                logger.debug("New education added: {}", profile.getEducation());
+            }
+        }
+
+        // Add experience only if it DOESN'T exist
+        if (isSpecified(profile.getExperience())) {
+            TokenIndex existing = new TokenIndex();
+            for (Experience e : atsProfile.getExperience()) {
+                existing.add(tokens(e.getDescription()));
+            }
+            if (existing.bestOverlap(tokens(profile.getExperience())) >= similarityThreshold) {
+                diff.duplicate();
+            } else {
+                String position = isSpecified(profile.getProfession()) ? profile.getProfession() : PLACEHOLDER_POSITION;
+                atsProfile.addExperience(PLACEHOLDER_COMPANY, position, profile.getExperience());
+                diff.experienceAdded(last(atsProfile.getExperience()));
+                logger.debug("New experience added: {}", profile.getExperience());
+            }
+        }
+
+        // Technologies as technical skills, soft skills, languages: only if they DON'T exist
+        List<String> technologies = split(profile.getTechnologies());
+        List<String> softSkills = split(profile.getSoftSkills());
+        if (!technologies.isEmpty() || !softSkills.isEmpty()) {
+            List<String> extracted = new ArrayList<>(technologies);
+            extracted.addAll(softSkills);
+            NameSet skills = new NameSet(extracted);
+            for (Skill skill : atsProfile.getSkills()) {
+                skills.markExisting(skill.getName());
+            }
+            addSkills(atsProfile, diff, skills, technologies, Skill.SkillCategory.TECHNICAL);
+            addSkills(atsProfile, diff, skills, softSkills, Skill.SkillCategory.SOFT);
+        }
+        List<String> languages = split(profile.getLanguages());
+        if (!languages.isEmpty()) {
+            NameSet names = new NameSet(languages);
+            for (Language language : atsProfile.getLanguages()) {
+                names.markExisting(language.getName());
+            }
+            for (String languageName : languages) {
+                if (names.addIfNew(languageName)) {
+                    atsProfile.addLanguage(languageName, Language.LanguageLevel.INTERMEDIATE);
+                    diff.languageAdded(last(atsProfile.getLanguages()));
+                    logger.debug("New language added: {}", languageName);
+                } else {
+                    diff.duplicate();
+                }
+            }
+        }
+        return diff;
+    }
+
+    private static void addSkills(ATSProfile atsProfile, ATSProfileMergeDiff diff, NameSet skills,
+                                  List<String> skillNames, Skill.SkillCategory category) {
+        for (String skillName : skillNames) {
+            if (skills.addIfNew(skillName)) {
+                atsProfile.addSkill(skillName, Skill.SkillLevel.INTERMEDIATE, category);
+                diff.skillAdded(last(atsProfile.getSkills()));
+                logger.debug("New {} skill added: {}", category, skillName);
+            } else {
+                diff.duplicate();
+            }
+        }
+    }
+
+    private static <T> T last(List<T> entries) {
+        return entries.get(entries.size() - 1);
+    }
+
+    /**
+     * "Java, , Spring Boot" -> [Java, Spring Boot]; empty when not specified
+     */
+    private static List<String> split(String commaSeparated) {
+        List<String> values = new ArrayList<>();
+        if (isSpecified(commaSeparated)) {
+            for (String value : commaSeparated.split(",")) {
+                if (!value.isBlank()) {
+                    values.add(value.trim());
+                }
+            }
+        }
+        return values;
+    }
+
+    private static boolean isSpecified(String value) {
+        return value != null && !value.equals("No especificado") && !value.equals("Not specified");
+    }
+
+    /**
+     * Distinct normalized words of the text, stopwords left out. Characters are folded as in
+     * SkillTaxonomyService.normalize; letters outside Latin-1 are only lowercased.
+     */
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? SkillTaxonomyService.foldLatin1(text.charAt(i)) : ' ';
+            if (c == 0) {
+                c = Character.toLowerCase(text.charAt(i));
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                String token = word.toString();
+                if (!STOPWORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                word.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Which extracted names (skills, languages) are new. Only the extracted names are normalized up front;
+     * the existing ones are streamed past them once and hashed without building their normalized form,
+     * which is only built to confirm a hash match.
+     */
+    static final class NameSet {
+
+        // Distinct normalized extracted names ordered by hash; equal hashes may hold different names
+        private final long[] hashes;
+        private final String[] names;
+        private final boolean[] present;
+
+        NameSet(List<String> extracted) {
+            names = extracted.stream()
+                    .map(SkillTaxonomyService::normalize)
+                    .distinct()
+                    .sorted(Comparator.comparingLong(SkillTaxonomyService::normalizedHash))
+                    .toArray(String[]::new);
+            hashes = Arrays.stream(names).mapToLong(SkillTaxonomyService::normalizedHash).toArray();
+            present = new boolean[names.length];
+        }
+
+        void markExisting(String name) {
+            int index = indexOf(name);
+            if (index >= 0) {
+                present[index] = true;
+            }
+        }
+
+        /**
+         * True the first time an extracted name that is not already in the profile is seen, so repeats
+         * within the extracted list are dropped too
+         */
+        boolean addIfNew(String name) {
+            int index = indexOf(name);
+            if (index < 0 || present[index]) {
+                return false;
+            }
+            present[index] = true;
+            return true;
+        }
+
+        private int indexOf(String name) {
+            long hash = SkillTaxonomyService.normalizedHash(name);
+            int found = Arrays.binarySearch(hashes, hash);
+            if (found < 0) {
+                return -1;
+            }
+            int first = found;
+            while (first > 0 && hashes[first - 1] == hash) {
+                first--;
+            }
+            String normalized = SkillTaxonomyService.normalize(name);
+            for (int i = first; i < hashes.length && hashes[i] == hash; i++) {
+                if (names[i].equals(normalized)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Inverted index token -> entries; overlap against all entries in one pass over the query's tokens
+     */
+    static final class TokenIndex {
+
+        private final Map<String, List<Integer>> postings = new HashMap<>();
+        private final List<Integer> sizes = new ArrayList<>();
+
+        void add(Set<String> tokens) {
+            if (tokens.isEmpty()) {
+                return;
+            }
+            int entry = sizes.size();
+            sizes.add(tokens.size());
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, k -> new ArrayList<>(2)).add(entry);
+            }
+        }
+
+        /**
+         * Highest |A ∩ B| / min(|A|, |B|) over the indexed entries; 0 when nothing is shared
+         */
+        double bestOverlap(Set<String> tokens) {
+            if (tokens.isEmpty() || sizes.isEmpty()) {
+                return 0.0;
+            }
+            int[] shared = new int[sizes.size()];
+            for (String token : tokens) {
+                List<Integer> entries = postings.get(token);
+                if (entries != null) {
+                    for (int entry : entries) {
+                        shared[entry]++;
+                    }
+                }
+            }
+            double best = 0.0;
+            for (int entry = 0; entry < shared.length; entry++) {
+                if (shared[entry] > 0) {
+                    best = Math.max(best, (double) shared[entry] / Math.min(tokens.size(), sizes.get(entry)));
+                }
+            }
+            return best;
+        }
+    }
+}
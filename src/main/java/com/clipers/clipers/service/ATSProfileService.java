@@ -1,31 +1,71 @@
 package com.clipers.clipers.service;
 
 import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Education;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Skill;
 import com.clipers.clipers.entity.User;
 import com.clipers.clipers.repository.ATSProfileRepository;
 import com.clipers.clipers.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Servicio para gestión de perfiles ATS
+ *
+ * Edits are field-level updates ($set of one entry, $push, $pull) addressed by the entries' stable ids,
+ * applied with optimistic locking: the profile is read, the change is built against that read, and the
+ * update only matches while the stored version is still the one read. On a conflict (another edit or
+ * a cliper merge landed in between) the profile is read again and the change re-applied.
  */
 @Service
 @Transactional
 public class ATSProfileService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ATSProfileService.class);
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int BACKFILL_BATCH = 500;
+
     private final ATSProfileRepository atsProfileRepository;
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final CandidateVectorIndex candidateVectorIndex;
+    private final DateTimeProvider dateTimeProvider;
 
     @Autowired
-    public ATSProfileService(ATSProfileRepository atsProfileRepository, UserRepository userRepository) {
+    public ATSProfileService(ATSProfileRepository atsProfileRepository, UserRepository userRepository,
+                             MongoTemplate mongoTemplate, SkillTaxonomyService skillTaxonomyService,
+                             CandidateVectorIndex candidateVectorIndex, DateTimeProvider dateTimeProvider) {
         this.atsProfileRepository = atsProfileRepository;
         this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.skillTaxonomyService = skillTaxonomyService;
+        this.candidateVectorIndex = candidateVectorIndex;
+        this.dateTimeProvider = dateTimeProvider;
     }
 
     public Optional<ATSProfile> findByUserId(String userId) {
@@ -54,89 +94,78 @@ public class ATSProfileService {
     }
 
     public ATSProfile updateProfile(String userId, String summary) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
-
-        profile.withSummary(summary);
-        return atsProfileRepository.save(profile);
+        return update(userId, profile -> {
+            profile.withSummary(summary);
+            return new Update().set("summary", summary);
+        });
     }
 
     public ATSProfile updateFullProfile(String userId, Map<String, Object> updates) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
+        return update(userId, profile -> {
+            Update update = new Update();
 
-        // Update summary if provided
-        if (updates.containsKey("summary")) {
-            profile.setSummary((String) updates.get("summary"));
-        }
+            // Update summary if provided
+            if (updates.containsKey("summary")) {
+                profile.setSummary((String) updates.get("summary"));
+                update.set("summary", profile.getSummary());
+            }
 
-        // Update education if provided
-        if (updates.containsKey("education")) {
-            // Clear existing education and add new ones
-            profile.getEducation().clear();
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> educationList = (java.util.List<Map<String, Object>>) updates.get("education");
-            if (educationList != null) {
-                for (Map<String, Object> edu : educationList) {
+            // Update education if provided: the list is replaced, entries sent with an id keep it
+            if (updates.containsKey("education")) {
+                profile.getEducation().clear();
+                for (Map<String, Object> edu : entries(updates.get("education"))) {
                     String institution = (String) edu.get("institution");
                     String degree = (String) edu.get("degree");
                     String field = (String) edu.get("field");
                     profile.addEducation(institution, degree, field);
+                    keepId(edu, profile.getEducation(), Education::setId);
                 }
+                update.set("education", profile.getEducation());
             }
-        }
 
-        // Update experience if provided
-        if (updates.containsKey("experience")) {
-            // Clear existing experience and add new ones
-            profile.getExperience().clear();
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> experienceList = (java.util.List<Map<String, Object>>) updates.get("experience");
-            if (experienceList != null) {
-                for (Map<String, Object> exp : experienceList) {
+            // Update experience if provided
+            if (updates.containsKey("experience")) {
+                profile.getExperience().clear();
+                for (Map<String, Object> exp : entries(updates.get("experience"))) {
                     String company = (String) exp.get("company");
                     String position = (String) exp.get("position");
                     String description = (String) exp.get("description");
                     profile.addExperience(company, position, description);
+                    keepId(exp, profile.getExperience(), Experience::setId);
                 }
+                update.set("experience", profile.getExperience());
             }
-        }
 
-        // Update skills if provided
-        if (updates.containsKey("skills")) {
-            // Clear existing skills and add new ones
-            profile.getSkills().clear();
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> skillsList = (java.util.List<Map<String, Object>>) updates.get("skills");
-            if (skillsList != null) {
-                for (Map<String, Object> skill : skillsList) {
+            // Update skills if provided
+            if (updates.containsKey("skills")) {
+                profile.getSkills().clear();
+                for (Map<String, Object> skill : entries(updates.get("skills"))) {
                     String name = (String) skill.get("name");
                     String category = (String) skill.get("category");
                     String level = (String) skill.get("level");
-                    com.clipers.clipers.entity.Skill.SkillLevel skillLevel = com.clipers.clipers.entity.Skill.SkillLevel.valueOf(level.toUpperCase());
-                    com.clipers.clipers.entity.Skill.SkillCategory skillCategory = com.clipers.clipers.entity.Skill.SkillCategory.valueOf(category.toUpperCase());
+                    Skill.SkillLevel skillLevel = Skill.SkillLevel.valueOf(level.toUpperCase());
+                    Skill.SkillCategory skillCategory = Skill.SkillCategory.valueOf(category.toUpperCase());
                     profile.addSkill(name, skillLevel, skillCategory);
+                    keepId(skill, profile.getSkills(), Skill::setId);
                 }
+                update.set("skills", profile.getSkills());
             }
-        }
 
-        // Update languages if provided
-        if (updates.containsKey("languages")) {
-            // Clear existing languages and add new ones
-            profile.getLanguages().clear();
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> languagesList = (java.util.List<Map<String, Object>>) updates.get("languages");
-            if (languagesList != null) {
-                for (Map<String, Object> lang : languagesList) {
+            // Update languages if provided
+            if (updates.containsKey("languages")) {
+                profile.getLanguages().clear();
+                for (Map<String, Object> lang : entries(updates.get("languages"))) {
                     String name = (String) lang.get("name");
                     String level = (String) lang.get("level");
-                    com.clipers.clipers.entity.Language.LanguageLevel languageLevel = com.clipers.clipers.entity.Language.LanguageLevel.valueOf(level.toUpperCase());
+                    Language.LanguageLevel languageLevel = Language.LanguageLevel.valueOf(level.toUpperCase());
                     profile.addLanguage(name, languageLevel);
+                    keepId(lang, profile.getLanguages(), Language::setId);
                 }
+                update.set("languages", profile.getLanguages());
             }
-        }
 
-        return atsProfileRepository.save(profile);
+            return update.getUpdateObject().isEmpty() ? null : update;
+        });
     }
 
     public void deleteProfile(String userId) {
@@ -147,144 +176,307 @@ public class ATSProfileService {
     }
 
     // Education management methods
-    public com.clipers.clipers.entity.Education addEducation(String userId, String institution, String degree, String field, String startDate, String endDate, String description) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
-
-        com.clipers.clipers.entity.Education education = new com.clipers.clipers.entity.Education();
+    public Education addEducation(String userId, String institution, String degree, String field, String startDate, String endDate, String description) {
+        Education education = new Education();
+        education.setId(ATSProfile.newElementId());
         education.setInstitution(institution);
         education.setDegree(degree);
         education.setField(field);
         education.setStartDate(startDate);
         education.setEndDate(endDate);
         education.setDescription(description);
-        
-        profile.getEducation().add(education);
-        atsProfileRepository.save(profile);
-        
-        return education;
-    }
 
-    public com.clipers.clipers.entity.Education updateEducation(String userId, int educationIndex, String institution, String degree, String field, String startDate, String endDate, String description) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
-
-        if (educationIndex < 0 || educationIndex >= profile.getEducation().size()) {
-            throw new RuntimeException("Índice de educación inválido");
-        }
-
-        com.clipers.clipers.entity.Education education = profile.getEducation().get(educationIndex);
-        if (institution != null) education.setInstitution(institution);
-        if (degree != null) education.setDegree(degree);
-        if (field != null) education.setField(field);
-        if (startDate != null) education.setStartDate(startDate);
-        if (endDate != null) education.setEndDate(endDate);
-        if (description != null) education.setDescription(description);
-
-        atsProfileRepository.save(profile);
+        update(userId, profile -> {
+            profile.getEducation().add(education);
+            return new Update().push("education", education);
+        });
         return education;
     }
 
-    public void deleteEducation(String userId, int educationIndex) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
-
-        if (educationIndex < 0 || educationIndex >= profile.getEducation().size()) {
-            throw new RuntimeException("Índice de educación inválido");
-        }
+    /**
+     * {@code educationId} is the entry id; a numeric list index is still accepted from older clients
+     */
+    public Education updateEducation(String userId, String educationId, String institution, String degree, String field, String startDate, String endDate, String description) {
+        Education[] updated = new Education[1];
+        update(userId, profile -> {
+            int index = indexOf(profile.getEducation(), educationId, Education::getId, "Educación no encontrada");
+            Education education = profile.getEducation().get(index);
+            if (institution != null) education.setInstitution(institution);
+            if (degree != null) education.setDegree(degree);
+            if (field != null) education.setField(field);
+            if (startDate != null) education.setStartDate(startDate);
+            if (endDate != null) education.setEndDate(endDate);
+            if (description != null) education.setDescription(description);
+            updated[0] = education;
+            // The version guard pins the list, so the index addresses the same entry that was read
+            return new Update().set("education." + index, education);
+        });
+        return updated[0];
+    }
 
-        profile.getEducation().remove(educationIndex);
-        atsProfileRepository.save(profile);
+    public void deleteEducation(String userId, String educationId) {
+        update(userId, profile -> {
+            int index = indexOf(profile.getEducation(), educationId, Education::getId, "Educación no encontrada");
+            Education education = profile.getEducation().remove(index);
+            return new Update().pull("education", Query.query(Criteria.where("id").is(education.getId())));
+        });
     }
 
     // Experience management methods
-    public com.clipers.clipers.entity.Experience addExperience(String userId, String company, String position, String description, String startDate, String endDate, java.util.List<String> skills) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
-
-        com.clipers.clipers.entity.Experience experience = new com.clipers.clipers.entity.Experience();
+    public Experience addExperience(String userId, String company, String position, String description, String startDate, String endDate, List<String> skills) {
+        Experience experience = new Experience();
+        experience.setId(ATSProfile.newElementId());
         experience.setCompany(company);
         experience.setPosition(position);
         experience.setDescription(description);
         experience.setStartDate(startDate);
         experience.setEndDate(endDate);
         experience.setSkills(skills);
-        
-        profile.getExperience().add(experience);
-        atsProfileRepository.save(profile);
-        
+
+        update(userId, profile -> {
+            profile.getExperience().add(experience);
+            return new Update().push("experience", experience);
+        });
         return experience;
     }
 
-    public com.clipers.clipers.entity.Experience updateExperience(String userId, int experienceIndex, String company, String position, String description, String startDate, String endDate, java.util.List<String> skills) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
+    /**
+     * {@code experienceId} is the entry id; a numeric list index is still accepted from older clients
+     */
+    public Experience updateExperience(String userId, String experienceId, String company, String position, String description, String startDate, String endDate, List<String> skills) {
+        Experience[] updated = new Experience[1];
+        update(userId, profile -> {
+            int index = indexOf(profile.getExperience(), experienceId, Experience::getId, "Experiencia no encontrada");
+            Experience experience = profile.getExperience().get(index);
+            if (company != null) experience.setCompany(company);
+            if (position != null) experience.setPosition(position);
+            if (description != null) experience.setDescription(description);
+            if (startDate != null) experience.setStartDate(startDate);
+            if (endDate != null) experience.setEndDate(endDate);
+            if (skills != null) experience.setSkills(skills);
+            updated[0] = experience;
+            return new Update().set("experience." + index, experience);
+        });
+        return updated[0];
+    }
 
-        if (experienceIndex < 0 || experienceIndex >= profile.getExperience().size()) {
-            throw new RuntimeException("Índice de experiencia inválido");
-        }
+    public void deleteExperience(String userId, String experienceId) {
+        update(userId, profile -> {
+            int index = indexOf(profile.getExperience(), experienceId, Experience::getId, "Experiencia no encontrada");
+            Experience experience = profile.getExperience().remove(index);
+            return new Update().pull("experience", Query.query(Criteria.where("id").is(experience.getId())));
+        });
+    }
 
-        com.clipers.clipers.entity.Experience experience = profile.getExperience().get(experienceIndex);
-        if (company != null) experience.setCompany(company);
-        if (position != null) experience.setPosition(position);
-        if (description != null) experience.setDescription(description);
-        if (startDate != null) experience.setStartDate(startDate);
-        if (endDate != null) experience.setEndDate(endDate);
-        if (skills != null) experience.setSkills(skills);
+    // Skills management methods
+    public Skill addSkill(String userId, String name, Skill.SkillLevel level, Skill.SkillCategory category) {
+        Skill skill = new Skill(name, level, category);
+        skill.setId(ATSProfile.newElementId());
+
+        update(userId, profile -> {
+            profile.getSkills().add(skill);
+            return new Update().push("skills", skill);
+        });
+        return skill;
+    }
 
-        atsProfileRepository.save(profile);
-        return experience;
+    /**
+     * {@code skillId} is the entry id; a numeric list index is still accepted from older clients
+     */
+    public Skill updateSkill(String userId, String skillId, String name, Skill.SkillLevel level, Skill.SkillCategory category) {
+        Skill[] updated = new Skill[1];
+        update(userId, profile -> {
+            int index = indexOf(profile.getSkills(), skillId, Skill::getId, "Habilidad no encontrada");
+            Skill skill = profile.getSkills().get(index);
+            skill.setName(name);
+            skill.setLevel(level);
+            skill.setCategory(category);
+            updated[0] = skill;
+            return new Update().set("skills." + index, skill);
+        });
+        return updated[0];
     }
 
-    public void deleteExperience(String userId, int experienceIndex) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
+    public void deleteSkill(String userId, String skillId) {
+        update(userId, profile -> {
+            int index = indexOf(profile.getSkills(), skillId, Skill::getId, "Habilidad no encontrada");
+            Skill skill = profile.getSkills().remove(index);
+            return new Update().pull("skills", Query.query(Criteria.where("id").is(skill.getId())));
+        });
+    }
 
-        if (experienceIndex < 0 || experienceIndex >= profile.getExperience().size()) {
-            throw new RuntimeException("Índice de experiencia inválido");
+    /**
+     * $set of the summary and $push of the entries a cliper merge added to {@code profile}
+     */
+    public static Update mergeUpdate(ATSProfile profile, ATSProfileMergeDiff diff) {
+        Update update = new Update();
+        if (diff.isSummaryChanged()) {
+            update.set("summary", profile.getSummary());
         }
-
-        profile.getExperience().remove(experienceIndex);
-        atsProfileRepository.save(profile);
+        if (!diff.getAddedEducation().isEmpty()) {
+            update.push("education").each(diff.getAddedEducation().toArray());
+        }
+        if (!diff.getAddedExperience().isEmpty()) {
+            update.push("experience").each(diff.getAddedExperience().toArray());
+        }
+        if (!diff.getAddedSkills().isEmpty()) {
+            update.push("skills").each(diff.getAddedSkills().toArray());
+        }
+        if (!diff.getAddedLanguages().isEmpty()) {
+            update.push("languages").each(diff.getAddedLanguages().toArray());
+        }
+        return update;
     }
 
-    // Skills management methods
-    public com.clipers.clipers.entity.Skill addSkill(String userId, String name, com.clipers.clipers.entity.Skill.SkillLevel level, com.clipers.clipers.entity.Skill.SkillCategory category) {
+    public ATSProfile update(String userId, Function<ATSProfile, Update> change) {
         ATSProfile profile = atsProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
-
-        profile.addSkill(name, level, category);
-        atsProfileRepository.save(profile);
-        // Return the last added skill
-        return profile.getSkills().get(profile.getSkills().size() - 1);
+        return update(profile, change);
     }
 
-    public com.clipers.clipers.entity.Skill updateSkill(String userId, int skillIndex, String name, com.clipers.clipers.entity.Skill.SkillLevel level, com.clipers.clipers.entity.Skill.SkillCategory category) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
+    /**
+     * Optimistic read-modify-write starting from an already read profile. {@code change} applies the edit
+     * to the profile it receives (needed to derive skillIds and to return the edited entry) and returns the
+     * equivalent field-level Update, or null when there is nothing to write. The update is applied only
+     * while the stored version equals the one read; otherwise the profile is read again and {@code change}
+     * runs again on the fresh copy. Returns the profile as stored afterwards.
+     *
+     * Template updates bypass the mapping events, so this also does what the save listeners would:
+     * skillIds (when the skills' canonical ids changed), updatedAt, and the candidate index.
+     */
+    public ATSProfile update(ATSProfile profile, Function<ATSProfile, Update> change) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (profile.assignMissingElementIds()) {
+                // Entries stored before they had ids: persist ids first, so edits can address them
+                profile = persistElementIds(profile);
+                continue;
+            }
+
+            Update update = change.apply(profile);
+            if (update == null) {
+                return profile;
+            }
+            List<Integer> skillIds = skillTaxonomyService.idsOf(profile.getSkills().stream().map(Skill::getName).toList());
+            if (!skillIds.equals(profile.getSkillIds())) {
+                update.set("skillIds", skillIds);
+            }
+            update.inc("version", 1).set("updatedAt", now());
+
+            ATSProfile updated = mongoTemplate.findAndModify(versionGuard(profile), update,
+                    FindAndModifyOptions.options().returnNew(true), ATSProfile.class);
+            if (updated != null) {
+                candidateVectorIndex.onProfileSaved(updated);
+                return updated;
+            }
+
+            logger.debug("ATS profile {} changed since version {}, retrying (attempt {})", profile.getId(), profile.getVersion(), attempt);
+            profile = reload(profile);
+        }
+        throw new OptimisticLockingFailureException("El perfil ATS fue modificado por otra operación, intenta nuevamente");
+    }
 
-        if (skillIndex < 0 || skillIndex >= profile.getSkills().size()) {
-            throw new RuntimeException("Índice de habilidad inválido");
+    /**
+     * Gives ids to entries and a version to profiles stored before either existed; a no-op once all have them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillElementIds() {
+        try {
+            Query missing = new Query(new Criteria().orOperator(
+                    Criteria.where("version").exists(false),
+                    Criteria.where("education").elemMatch(Criteria.where("_id").exists(false)),
+                    Criteria.where("experience").elemMatch(Criteria.where("_id").exists(false)),
+                    Criteria.where("skills").elemMatch(Criteria.where("_id").exists(false)),
+                    Criteria.where("languages").elemMatch(Criteria.where("_id").exists(false))));
+            missing.limit(BACKFILL_BATCH);
+
+            long updated = 0;
+            List<ATSProfile> batch;
+            while (!(batch = mongoTemplate.find(missing, ATSProfile.class)).isEmpty()) {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ATSProfile.class);
+                for (ATSProfile profile : batch) {
+                    profile.assignMissingElementIds();
+                    // Guarded like any edit: a profile written since it was read is left for the next pass
+                    bulk.updateOne(versionGuard(profile), elementIdsUpdate(profile, profile.getVersion() != null ? profile.getVersion() + 1 : 0));
+                }
+                long modified = bulk.execute().getModifiedCount();
+                if (modified == 0) {
+                    break;
+                }
+                updated += modified;
+            }
+            if (updated > 0) {
+                logger.info("Backfilled entry ids and versions on {} ATS profiles", updated);
+            }
+        } catch (Exception e) {
+            // Profiles are also fixed one by one the first time they are edited
+            logger.error("ATS profile entry id backfill failed: {}", e.getMessage(), e);
         }
+    }
 
-        com.clipers.clipers.entity.Skill skill = profile.getSkills().get(skillIndex);
-        skill.setName(name);
-        skill.setLevel(level);
-        skill.setCategory(category);
+    private ATSProfile persistElementIds(ATSProfile profile) {
+        long version = profile.getVersion() != null ? profile.getVersion() + 1 : 0;
+        ATSProfile updated = mongoTemplate.findAndModify(versionGuard(profile), elementIdsUpdate(profile, version),
+                FindAndModifyOptions.options().returnNew(true), ATSProfile.class);
+        return updated != null ? updated : reload(profile);
+    }
 
-        atsProfileRepository.save(profile);
-        return skill;
+    private static Update elementIdsUpdate(ATSProfile profile, long version) {
+        return new Update()
+                .set("education", profile.getEducation())
+                .set("experience", profile.getExperience())
+                .set("skills", profile.getSkills())
+                .set("languages", profile.getLanguages())
+                .set("version", version);
     }
 
-    public void deleteSkill(String userId, int skillIndex) {
-        ATSProfile profile = atsProfileRepository.findByUserId(userId)
+    /**
+     * Matches the profile only while it still has the version that was read (no version: never written since)
+     */
+    private static Query versionGuard(ATSProfile profile) {
+        return new Query(Criteria.where("_id").is(profile.getId()).and("version").is(profile.getVersion()));
+    }
+
+    private ATSProfile reload(ATSProfile profile) {
+        return atsProfileRepository.findById(profile.getId())
                 .orElseThrow(() -> new RuntimeException("Perfil ATS no encontrado"));
+    }
+
+    private LocalDateTime now() {
+        // Same clock as the @LastModifiedDate auditing that full saves use
+        return dateTimeProvider.getNow().map(LocalDateTime::from).orElseGet(LocalDateTime::now);
+    }
 
-        if (skillIndex < 0 || skillIndex >= profile.getSkills().size()) {
-            throw new RuntimeException("Índice de habilidad inválido");
+    /**
+     * Position of the entry with the given id, or of a numeric list index (older clients)
+     */
+    private static <T> int indexOf(List<T> entries, String id, Function<T, String> idOf, String notFound) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (idOf.apply(entries.get(i)).equals(id)) {
+                return i;
+            }
+        }
+        try {
+            int index = Integer.parseInt(id);
+            if (index >= 0 && index < entries.size()) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // not an index either
         }
+        throw new RuntimeException(notFound);
+    }
 
-        profile.getSkills().remove(skillIndex);
-        atsProfileRepository.save(profile);
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> entries(Object value) {
+        return value != null ? (List<Map<String, Object>>) value : new ArrayList<>();
+    }
+
+    /**
+     * Entries sent back with their id keep it instead of the fresh one addX assigned
+     */
+    private static <T> void keepId(Map<String, Object> source, List<T> entries, BiConsumer<T, String> setId) {
+        if (source.get("id") instanceof String id && !id.isBlank()) {
+            setId.accept(entries.get(entries.size() - 1), id);
+        }
     }
 }
@@ -0,0 +1,292 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.matching.BatchMatchResponseDTO;
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.dto.matching.JobDTO;
+import com.clipers.clipers.dto.matching.RankedMatchResultDTO;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks any number of candidates against a job by splitting them into AI-service sized chunks,
+ * scoring the chunks concurrently (bounded by a dedicated pool) and k-way merging the partial
+ * rankings into one global ranking.
+ *
+ * Chunks the AI service could not score come back from LocalSemanticMatcher, whose scores are on a
+ * different scale. Those are never interleaved with AI scores: each source is ranked on its own,
+ * AI-scored candidates first, and every match carries its scoreSource.
+ */
+@Service
+public class BatchMatchingOrchestrator implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchMatchingOrchestrator.class);
+
+    private static final int TOP_SKILLS = 10;
+
+    /**
+     * Observer for chunk completion; called from worker threads.
+     */
+    public interface ProgressListener {
+        void onProgress(int completedChunks, int totalChunks, int scoredCandidates, int totalCandidates);
+    }
+
+    private final AIMatchingService aiMatchingService;
+    private final ExecutorService chunkPool;
+    private final ExecutorService coordinatorPool;
+    // Same pools, but tasks run with the submitter's observation (trace) in scope
+    private final ExecutorService chunkExecutor;
+    private final ExecutorService coordinatorExecutor;
+
+    private final int chunkSize;
+    private final int maxCandidates;
+
+    @Autowired
+    public BatchMatchingOrchestrator(AIMatchingService aiMatchingService,
+                                     @Value("${ai.matching.batch.chunk-size:100}") int chunkSize,
+                                     @Value("${ai.matching.batch.parallelism:4}") int parallelism,
+                                     @Value("${ai.matching.batch.max-candidates:10000}") int maxCandidates,
+                                     @Value("${ai.matching.batch.max-concurrent-jobs:4}") int maxConcurrentJobs) {
+        this.aiMatchingService = aiMatchingService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxCandidates = Math.max(this.chunkSize, maxCandidates);
+        this.chunkPool = Executors.newFixedThreadPool(Math.max(1, parallelism), namedDaemon("ai-batch-chunk"));
+        // Background rankings (streaming endpoint); rejects instead of queueing without bound
+        int jobs = Math.max(1, maxConcurrentJobs);
+        ThreadPoolExecutor coordinator = new ThreadPoolExecutor(jobs, jobs, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(jobs * 4), namedDaemon("ai-batch-job"));
+        coordinator.allowCoreThreadTimeOut(true);
+        this.coordinatorPool = coordinator;
+
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        this.chunkExecutor = ContextExecutorService.wrap(chunkPool, snapshots::captureAll);
+        this.coordinatorExecutor = ContextExecutorService.wrap(coordinatorPool, snapshots::captureAll);
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * executor.* gauges (active, queued, pool size, completed) for both pools
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(chunkPool, "ai-batch-chunk", Tags.empty()).bindTo(registry);
+        new ExecutorServiceMetrics(coordinatorPool, "ai-batch-job", Tags.empty()).bindTo(registry);
+    }
+
+    public BatchMatchResponseDTO rankAll(List<CandidateDTO> candidates, JobDTO job) {
+        return rankAll(candidates, job, null);
+    }
+
+    /**
+     * Runs the ranking on a background thread; progress is reported through the listener.
+     */
+    public CompletableFuture<BatchMatchResponseDTO> rankAllAsync(List<CandidateDTO> candidates, JobDTO job,
+                                                                 ProgressListener listener) {
+        return CompletableFuture.supplyAsync(() -> rankAll(candidates, job, listener), coordinatorExecutor);
+    }
+
+    public BatchMatchResponseDTO rankAll(List<CandidateDTO> candidates, JobDTO job, ProgressListener listener) {
+        if (candidates.size() > maxCandidates) {
+            throw new RuntimeException("Demasiados candidatos para un ranking: " + candidates.size() + " (máximo " + maxCandidates + ")");
+        }
+
+        long start = System.currentTimeMillis();
+        List<List<CandidateDTO>> chunks = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            chunks.add(candidates.subList(from, Math.min(from + chunkSize, candidates.size())));
+        }
+
+        List<BatchMatchResponseDTO> partials;
+        if (chunks.size() <= 1) {
+            // Nothing to parallelize: call the AI service on the caller's thread
+            partials = new ArrayList<>();
+            for (List<CandidateDTO> chunk : chunks) {
+                partials.add(aiMatchingService.matchBatchCandidates(chunk, job));
+            }
+            notify(listener, chunks.size(), chunks.size(), candidates.size(), candidates.size());
+        } else {
+            partials = scoreChunksConcurrently(chunks, job, candidates.size(), listener);
+        }
+
+        BatchMatchResponseDTO merged = merge(partials, job, candidates.size());
+        logger.info("Ranked {} candidates for job {} in {} chunks ({} ms)",
+                candidates.size(), job.getId(), chunks.size(), System.currentTimeMillis() - start);
+        return merged;
+    }
+
+    private List<BatchMatchResponseDTO> scoreChunksConcurrently(List<List<CandidateDTO>> chunks, JobDTO job,
+                                                                int totalCandidates, ProgressListener listener) {
+        ExecutorCompletionService<BatchMatchResponseDTO> completion = new ExecutorCompletionService<>(chunkExecutor);
+        List<Future<BatchMatchResponseDTO>> futures = new ArrayList<>(chunks.size());
+        for (List<CandidateDTO> chunk : chunks) {
+            futures.add(completion.submit(() -> aiMatchingService.matchBatchCandidates(chunk, job)));
+        }
+
+        List<BatchMatchResponseDTO> partials = new ArrayList<>(chunks.size());
+        int scored = 0;
+        try {
+            for (int done = 1; done <= chunks.size(); done++) {
+                BatchMatchResponseDTO partial = completion.take().get();
+                partials.add(partial);
+                scored += partial != null && partial.getMatches() != null ? partial.getMatches().size() : 0;
+                notify(listener, done, chunks.size(), scored, totalCandidates);
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Ranking interrumpido", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new RuntimeException("Error al procesar un bloque de candidatos: " + e.getCause().getMessage(), e.getCause());
+        }
+        return partials;
+    }
+
+    /**
+     * K-way merge of the per-chunk rankings (each sorted by score) into one global ranking,
+     * one source at a time so AI and fallback scores are never compared with each other.
+     */
+    static BatchMatchResponseDTO merge(List<BatchMatchResponseDTO> partials, JobDTO job, int totalCandidates) {
+        Comparator<RankedMatchResultDTO> byScore = Comparator
+                .comparingDouble((RankedMatchResultDTO m) -> m.getCompatibilityScore() != null ? m.getCompatibilityScore() : 0.0)
+                .reversed()
+                .thenComparing(m -> m.getCandidateId() != null ? m.getCandidateId() : "");
+
+        // AI-scored runs first, then any other source in the order it was seen
+        Map<String, List<List<RankedMatchResultDTO>>> runsBySource = new LinkedHashMap<>();
+        runsBySource.put(AIMatchingService.SOURCE_AI_SERVICE, new ArrayList<>());
+        for (BatchMatchResponseDTO partial : partials) {
+            if (partial != null && partial.getMatches() != null && !partial.getMatches().isEmpty()) {
+                String source = partial.getSource() != null ? partial.getSource() : AIMatchingService.SOURCE_AI_SERVICE;
+                List<RankedMatchResultDTO> run = new ArrayList<>(partial.getMatches());
+                run.sort(byScore); // the service ranks already; this only guarantees the merge precondition
+                run.forEach(match -> match.setScoreSource(source));
+                runsBySource.computeIfAbsent(source, s -> new ArrayList<>()).add(run);
+            }
+        }
+
+        List<RankedMatchResultDTO> ranked = new ArrayList<>(totalCandidates);
+        for (List<List<RankedMatchResultDTO>> runs : runsBySource.values()) {
+            mergeRuns(runs, byScore, ranked);
+        }
+
+        double scoreSum = 0.0;
+        Map<String, Integer> skillFrequency = new HashMap<>();
+        for (RankedMatchResultDTO match : ranked) {
+            scoreSum += match.getCompatibilityScore() != null ? match.getCompatibilityScore() : 0.0;
+            if (match.getMatchedSkills() != null) {
+                match.getMatchedSkills().forEach(skill -> skillFrequency.merge(skill, 1, Integer::sum));
+            }
+        }
+
+        BatchMatchResponseDTO response = new BatchMatchResponseDTO();
+        response.setJobId(job.getId());
+        response.setJobTitle(job.getTitle());
+        response.setTotalCandidates(ranked.size());
+        response.setMatches(ranked);
+        response.setAverageScore(ranked.isEmpty() ? 0.0 : scoreSum / ranked.size());
+        response.setTopSkillsMatched(skillFrequency.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_SKILLS)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()));
+        response.setSource(mergedSource(partials));
+        return response;
+    }
+
+    /**
+     * Appends the runs' matches to {@code ranked} in score order, continuing its rank numbering.
+     */
+    private static void mergeRuns(List<List<RankedMatchResultDTO>> runs, Comparator<RankedMatchResultDTO> byScore,
+                                  List<RankedMatchResultDTO> ranked) {
+        // Heap holds one cursor per run: {runIndex, position}
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                (a, b) -> byScore.compare(runs.get(a[0]).get(a[1]), runs.get(b[0]).get(b[1])));
+        for (int i = 0; i < runs.size(); i++) {
+            heap.add(new int[]{i, 0});
+        }
+
+        while (!heap.isEmpty()) {
+            int[] cursor = heap.poll();
+            RankedMatchResultDTO match = runs.get(cursor[0]).get(cursor[1]);
+            match.setRank(ranked.size() + 1);
+            ranked.add(match);
+            if (cursor[1] + 1 < runs.get(cursor[0]).size()) {
+                heap.add(new int[]{cursor[0], cursor[1] + 1});
+            }
+        }
+    }
+
+    private static String mergedSource(List<BatchMatchResponseDTO> partials) {
+        String source = null;
+        for (BatchMatchResponseDTO partial : partials) {
+            String partialSource = partial != null ? partial.getSource() : null;
+            if (source == null) {
+                source = partialSource;
+            } else if (partialSource != null && !source.equals(partialSource)) {
+                return "mixed";
+            }
+        }
+        return source;
+    }
+
+    private static void notify(ProgressListener listener, int done, int total, int scored, int totalCandidates) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onProgress(done, total, scored, totalCandidates);
+        } catch (RuntimeException e) {
+            // A disconnected client must not abort the ranking
+            logger.debug("Progress listener failed: {}", e.getMessage());
+        }
+    }
+
+    private static ThreadFactory namedDaemon(String prefix) {
+        AtomicInteger ids = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinatorExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,207 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.cache.BoundedCache;
+import com.clipers.clipers.cache.BoundedCacheMetrics;
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.dto.matching.EducationDTO;
+import com.clipers.clipers.dto.matching.ExperienceDTO;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Education;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.entity.User;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import com.clipers.clipers.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Builder Pattern implicitly: assembles CandidateDTO payloads for the AI matching service.
+ *
+ * Users and ATS profiles are loaded with one $in query each, converted in parallel for large sets,
+ * and converted DTOs are reused while neither the user nor the profile has changed
+ * (the cache key carries both updatedAt stamps). The cached DTO is never handed out: callers get
+ * a copy (lists and nested DTOs included), so editing one cannot change what later callers see.
+ */
+@Service
+public class CandidateAssembler implements MeterBinder {
+
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final UserRepository userRepository;
+    private final ATSProfileRepository atsProfileRepository;
+    private final BoundedCache<String, CandidateDTO> cache;
+
+    @Autowired
+    public CandidateAssembler(UserRepository userRepository,
+                              ATSProfileRepository atsProfileRepository,
+                              @Value("${ai.matching.candidate-cache.max-entries:20000}") int maxEntries,
+                              @Value("${ai.matching.candidate-cache.ttl-ms:3600000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.atsProfileRepository = atsProfileRepository;
+        this.cache = new BoundedCache<>("candidate-dtos", maxEntries, ttlMillis);
+    }
+
+    /**
+     * CandidateDTOs for the given users, in input order. Unknown user ids are skipped;
+     * users without an ATS profile get an empty candidate (lower AI score).
+     */
+    public List<CandidateDTO> assemble(Collection<String> userIds) {
+        List<String> ids = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .stream()
+                .toList();
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, User> users = new HashMap<>(ids.size() * 2);
+        userRepository.findAllById(ids).forEach(user -> users.put(user.getId(), user));
+
+        Map<String, ATSProfile> profiles = new HashMap<>(ids.size() * 2);
+        for (ATSProfile profile : atsProfileRepository.findByUserIdIn(ids)) {
+            profiles.putIfAbsent(profile.getUserId(), profile);
+        }
+
+        return convertAll(ids, users, profiles);
+    }
+
+    /**
+     * CandidateDTOs for already loaded profiles (one $in query for their users), in input order.
+     */
+    public List<CandidateDTO> assembleProfiles(List<ATSProfile> profileList) {
+        Map<String, ATSProfile> profiles = new HashMap<>(profileList.size() * 2);
+        for (ATSProfile profile : profileList) {
+            if (profile.getUserId() != null) {
+                profiles.putIfAbsent(profile.getUserId(), profile);
+            }
+        }
+        if (profiles.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> ids = new ArrayList<>(profiles.keySet());
+
+        Map<String, User> users = new HashMap<>(ids.size() * 2);
+        userRepository.findAllById(ids).forEach(user -> users.put(user.getId(), user));
+
+        return convertAll(ids, users, profiles);
+    }
+
+    /**
+     * Single conversion, served from the cache while user and profile are unchanged
+     */
+    public CandidateDTO toCandidateDTO(User user, ATSProfile profile) {
+        String key = user.getId() + '|' + user.getUpdatedAt()
+                + '|' + (profile != null ? profile.getId() + '|' + profile.getUpdatedAt() : "-");
+        return copyOf(cache.computeIfAbsent(key, k -> convert(user, profile)));
+    }
+
+    public Map<String, Object> getStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new BoundedCacheMetrics(cache).bindTo(registry);
+    }
+
+    private List<CandidateDTO> convertAll(List<String> ids, Map<String, User> users, Map<String, ATSProfile> profiles) {
+        var stream = ids.size() >= PARALLEL_THRESHOLD ? ids.parallelStream() : ids.stream();
+        return stream
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(user -> toCandidateDTO(user, profiles.get(user.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private static CandidateDTO copyOf(CandidateDTO cached) {
+        List<ExperienceDTO> experience = new ArrayList<>(cached.getExperience().size());
+        for (ExperienceDTO exp : cached.getExperience()) {
+            experience.add(new ExperienceDTO(exp.getCompany(), exp.getPosition(), exp.getDescription(),
+                    exp.getStartDate(), exp.getEndDate(), exp.getYears()));
+        }
+        List<EducationDTO> education = new ArrayList<>(cached.getEducation().size());
+        for (EducationDTO edu : cached.getEducation()) {
+            education.add(new EducationDTO(edu.getDegree(), edu.getInstitution(), edu.getField(),
+                    edu.getStartYear(), edu.getEndYear()));
+        }
+        return new CandidateDTO(cached.getId(), cached.getName(), new ArrayList<>(cached.getSkills()),
+                cached.getExperienceYears(), experience, education, new ArrayList<>(cached.getLanguages()),
+                cached.getSummary(), cached.getLocation());
+    }
+
+    private static CandidateDTO convert(User user, ATSProfile profile) {
+        CandidateDTO dto = new CandidateDTO();
+        dto.setId(user.getId());
+        dto.setName(user.getFirstName() + " " + user.getLastName());
+        dto.setLocation(user.getAddress());
+
+        if (profile == null) {
+            dto.setSkills(new ArrayList<>());
+            dto.setExperienceYears(0.0);
+            dto.setExperience(new ArrayList<>());
+            dto.setEducation(new ArrayList<>());
+            dto.setLanguages(new ArrayList<>());
+            return dto;
+        }
+
+        // Skills
+        List<Skill> skills = profile.getSkills();
+        List<String> skillNames = new ArrayList<>(skills != null ? skills.size() : 0);
+        if (skills != null) {
+            for (Skill skill : skills) {
+                skillNames.add(skill.getName());
+            }
+        }
+        dto.setSkills(skillNames);
+
+        // Experience: dates are YYYY-MM strings, so years are estimated (2 per entry on average)
+        List<Experience> experience = profile.getExperience();
+        List<ExperienceDTO> experienceDTOs = new ArrayList<>(experience != null ? experience.size() : 0);
+        if (experience != null) {
+            for (Experience exp : experience) {
+                experienceDTOs.add(new ExperienceDTO(exp.getCompany(), exp.getPosition(), exp.getDescription(),
+                        null, null, null));
+            }
+        }
+        dto.setExperienceYears(experienceDTOs.size() * 2.0);
+        dto.setExperience(experienceDTOs);
+
+        // Education
+        List<Education> education = profile.getEducation();
+        List<EducationDTO> educationDTOs = new ArrayList<>(education != null ? education.size() : 0);
+        if (education != null) {
+            for (Education edu : education) {
+                educationDTOs.add(new EducationDTO(edu.getDegree(), edu.getInstitution(), edu.getField(), null, null));
+            }
+        }
+        dto.setEducation(educationDTOs);
+
+        // Languages
+        List<Language> languages = profile.getLanguages();
+        List<String> languageNames = new ArrayList<>(languages != null ? languages.size() : 0);
+        if (languages != null) {
+            for (Language language : languages) {
+                languageNames.add(language.getName());
+            }
+        }
+        dto.setLanguages(languageNames);
+
+        dto.setSummary(profile.getSummary());
+        return dto;
+    }
+}
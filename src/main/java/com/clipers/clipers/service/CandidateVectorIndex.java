@@ -0,0 +1,805 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate nearest-neighbour index (IVF) over candidate profile embeddings, for
+ * "find candidates like this job" across the whole talent pool.
+ *
+ * Vectors come from LocalSemanticMatcher. A spherical k-means splits them into ~sqrt(n) inverted
+ * lists; a query only scans the nprobe lists whose centroids are closest. The index lives on the heap,
+ * is persisted to a binary snapshot that is memory-mapped on startup (then only profiles changed since
+ * the snapshot are re-read, and those deleted since are dropped), and is updated incrementally when an
+ * ATSProfile is saved or deleted.
+ */
+@Service
+public class CandidateVectorIndex implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandidateVectorIndex.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x43564958; // "CVIX"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int LOAD_PAGE_SIZE = 500;
+    private static final int MAX_LISTS = 4096;
+    private static final ZoneId APP_ZONE = ZoneId.of("America/Lima"); // same zone as auditingDateTimeProvider (updatedAt)
+
+    private final ATSProfileRepository atsProfileRepository;
+    private final CandidateAssembler candidateAssembler;
+    private final LocalSemanticMatcher localSemanticMatcher;
+
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final int defaultNprobe;
+    private final int kmeansIterations;
+    private final int trainingSample;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // All fields below are guarded by lock
+    private float[][] centroids = new float[0][];
+    private InvertedList[] lists = new InvertedList[0];
+    private final Map<String, Posting> postings = new HashMap<>(); // userId -> position in its list
+    private final Map<String, String> userByProfile = new HashMap<>(); // profileId -> userId (deletes)
+    private int trainedSize;
+
+    // Incremental updates are applied in order, off the request thread
+    private final ExecutorService updater;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile boolean ready;
+    private volatile Instant builtAt;
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong searches = new AtomicLong();
+
+    @Autowired
+    public CandidateVectorIndex(ATSProfileRepository atsProfileRepository,
+                                CandidateAssembler candidateAssembler,
+                                LocalSemanticMatcher localSemanticMatcher,
+                                @Value("${ai.matching.index.enabled:true}") boolean enabled,
+                                @Value("${ai.matching.index.snapshot-path:data/candidate-index.bin}") String snapshotPath,
+                                @Value("${ai.matching.index.nprobe:8}") int nprobe,
+                                @Value("${ai.matching.index.kmeans-iterations:10}") int kmeansIterations,
+                                @Value("${ai.matching.index.training-sample:20000}") int trainingSample) {
+        this.atsProfileRepository = atsProfileRepository;
+        this.candidateAssembler = candidateAssembler;
+        this.localSemanticMatcher = localSemanticMatcher;
+        this.enabled = enabled;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.defaultNprobe = Math.max(1, nprobe);
+        this.kmeansIterations = Math.max(1, kmeansIterations);
+        this.trainingSample = Math.max(100, trainingSample);
+        // Single-thread pool as a plain ThreadPoolExecutor so the pending-update queue is observable
+        this.updater = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "candidate-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One search hit: candidate user and cosine similarity to the query
+     */
+    public record Hit(String userId, float similarity) {}
+
+    // ---------------------------------------------------------------- lifecycle
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            updater.execute(this::loadOrBuild);
+        }
+    }
+
+    /**
+     * Full rebuild from MongoDB (retrains the centroids). Runs in the background.
+     */
+    public boolean rebuildAsync() {
+        if (!enabled || building.get()) {
+            return false;
+        }
+        updater.execute(this::rebuild);
+        return true;
+    }
+
+    @Scheduled(initialDelayString = "${ai.matching.index.snapshot-interval-ms:300000}",
+               fixedDelayString = "${ai.matching.index.snapshot-interval-ms:300000}")
+    public void snapshotIfDirty() {
+        if (ready && dirty.compareAndSet(true, false)) {
+            updater.execute(this::writeSnapshot);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdown();
+    }
+
+    // ---------------------------------------------------------------- incremental updates
+
+    /**
+     * Re-embed the profile and move it to its nearest list (called after an ATSProfile save)
+     */
+    public void onProfileSaved(ATSProfile profile) {
+        if (!enabled || profile.getUserId() == null) {
+            return;
+        }
+        updater.execute(() -> {
+            List<CandidateDTO> candidates = candidateAssembler.assembleProfiles(List.of(profile));
+            lock.writeLock().lock();
+            try {
+                if (profile.getId() != null) {
+                    userByProfile.put(profile.getId(), profile.getUserId());
+                }
+                for (CandidateDTO candidate : candidates) {
+                    upsertLocked(candidate.getId(), localSemanticMatcher.candidateVector(candidate));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            updates.incrementAndGet();
+            dirty.set(true);
+            retrainIfGrown();
+        });
+    }
+
+    /**
+     * Drop a deleted profile; a null id means a bulk delete, which triggers a rebuild
+     */
+    public void onProfileDeleted(String profileId) {
+        if (!enabled) {
+            return;
+        }
+        if (profileId == null) {
+            rebuildAsync();
+            return;
+        }
+        updater.execute(() -> {
+            lock.writeLock().lock();
+            try {
+                String userId = userByProfile.remove(profileId);
+                if (userId != null) {
+                    removeLocked(userId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            updates.incrementAndGet();
+            dirty.set(true);
+        });
+    }
+
+    // ---------------------------------------------------------------- search
+
+    public List<Hit> search(float[] query, int k) {
+        return search(query, k, defaultNprobe);
+    }
+
+    /**
+     * Top-k by cosine, scanning only the nprobe lists closest to the query
+     */
+    public List<Hit> search(float[] query, int k, int nprobe) {
+        searches.incrementAndGet();
+        lock.readLock().lock();
+        try {
+            if (centroids.length == 0) {
+                return new ArrayList<>();
+            }
+            int probes = Math.min(Math.max(1, nprobe), centroids.length);
+            // Closest centroids first (min-heap of size probes)
+            PriorityQueue<int[]> nearest = new PriorityQueue<>(probes + 1,
+                    (a, b) -> Float.compare(Float.intBitsToFloat(a[1]), Float.intBitsToFloat(b[1])));
+            for (int c = 0; c < centroids.length; c++) {
+                nearest.add(new int[]{c, Float.floatToIntBits(LocalSemanticMatcher.dot(query, centroids[c]))});
+                if (nearest.size() > probes) {
+                    nearest.poll();
+                }
+            }
+            TopK top = new TopK(k);
+            for (int[] probe : nearest) {
+                lists[probe[0]].scan(query, top);
+            }
+            return top.sorted();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact top-k over every indexed vector (reference for recall measurements)
+     */
+    public List<Hit> searchExact(float[] query, int k) {
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(k);
+            for (InvertedList list : lists) {
+                list.scan(query, top);
+            }
+            return top.sorted();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recall@k and latency of the IVF search against brute force, using indexed vectors as queries
+     */
+    public Map<String, Object> benchmark(int queries, int k, int nprobe) {
+        List<float[]> sample = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Random random = new Random(42);
+            List<String> userIds = new ArrayList<>(postings.keySet());
+            for (int i = 0; i < Math.min(queries, userIds.size()); i++) {
+                Posting posting = postings.get(userIds.get(random.nextInt(userIds.size())));
+                sample.add(lists[posting.list].vectors[posting.position]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long[] annNanos = new long[sample.size()];
+        long[] exactNanos = new long[sample.size()];
+        double recallSum = 0.0;
+        for (int i = 0; i < sample.size(); i++) {
+            float[] query = sample.get(i);
+
+            long start = System.nanoTime();
+            List<Hit> exact = searchExact(query, k);
+            exactNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Hit> approximate = search(query, k, nprobe);
+            annNanos[i] = System.nanoTime() - start;
+
+            Set<String> truth = new HashSet<>();
+            exact.forEach(hit -> truth.add(hit.userId()));
+            long found = approximate.stream().filter(hit -> truth.contains(hit.userId())).count();
+            recallSum += truth.isEmpty() ? 1.0 : (double) found / truth.size();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("queries", sample.size());
+        result.put("k", k);
+        result.put("nprobe", nprobe);
+        result.put("indexedCandidates", size());
+        result.put("lists", centroidCount());
+        result.put("recallAtK", sample.isEmpty() ? null : recallSum / sample.size());
+        result.put("annLatencyMs", latencySummary(annNanos));
+        result.put("bruteForceLatencyMs", latencySummary(exactNanos));
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("building", building.get());
+        stats.put("indexedCandidates", size());
+        stats.put("lists", centroidCount());
+        stats.put("trainedSize", trainedSize);
+        stats.put("dimensions", localSemanticMatcher.getDimensions());
+        stats.put("nprobe", defaultNprobe);
+        stats.put("builtAt", builtAt != null ? builtAt.toString() : null);
+        stats.put("updates", updates.get());
+        stats.put("searches", searches.get());
+        stats.put("snapshot", snapshotPath.toString());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("clipers.vector.index.size", this, CandidateVectorIndex::size)
+                .description("Indexed candidates").register(registry);
+        FunctionCounter.builder("clipers.vector.index.updates", updates, AtomicLong::get).register(registry);
+        FunctionCounter.builder("clipers.vector.index.searches", searches, AtomicLong::get).register(registry);
+        new ExecutorServiceMetrics(updater, "candidate-index", Tags.empty()).bindTo(registry);
+    }
+
+    // ---------------------------------------------------------------- build
+
+    private void loadOrBuild() {
+        try {
+            if (Files.exists(snapshotPath) && readSnapshot()) {
+                catchUp();
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Candidate index snapshot {} unusable, rebuilding: {}", snapshotPath, e.getMessage());
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            List<String> userIds = new ArrayList<>();
+            List<float[]> vectors = new ArrayList<>();
+            Map<String, String> profiles = new HashMap<>();
+
+            int page = 0;
+            Page<ATSProfile> batch;
+            do {
+                batch = atsProfileRepository.findAll(PageRequest.of(page++, LOAD_PAGE_SIZE, Sort.by("_id")));
+                for (ATSProfile profile : batch.getContent()) {
+                    if (profile.getUserId() != null) {
+                        profiles.put(profile.getId(), profile.getUserId());
+                    }
+                }
+                for (CandidateDTO candidate : candidateAssembler.assembleProfiles(batch.getContent())) {
+                    userIds.add(candidate.getId());
+                    vectors.add(localSemanticMatcher.candidateVector(candidate));
+                }
+            } while (batch.hasNext());
+
+            float[][] trained = train(vectors);
+
+            lock.writeLock().lock();
+            try {
+                centroids = trained;
+                lists = new InvertedList[trained.length];
+                for (int c = 0; c < trained.length; c++) {
+                    lists[c] = new InvertedList();
+                }
+                postings.clear();
+                userByProfile.clear();
+                userByProfile.putAll(profiles);
+                for (int i = 0; i < userIds.size(); i++) {
+                    upsertLocked(userIds.get(i), vectors.get(i));
+                }
+                trainedSize = userIds.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            builtAt = Instant.now();
+            ready = true;
+            writeSnapshot();
+            logger.info("Candidate index built: {} candidates in {} lists ({} ms)",
+                    userIds.size(), trained.length, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("Candidate index build failed: {}", e.getMessage(), e);
+        } finally {
+            building.set(false);
+        }
+    }
+
+    /**
+     * Retrain once the pool has doubled since the centroids were computed
+     */
+    private void retrainIfGrown() {
+        int current = size();
+        if (current > 1000 && current > 2 * Math.max(1, trainedSize)) {
+            logger.info("Candidate index grew from {} to {} since training, rebuilding", trainedSize, current);
+            rebuild();
+        }
+    }
+
+    /**
+     * Spherical k-means: centroids are re-normalized so dot product stays cosine
+     */
+    private float[][] train(List<float[]> vectors) {
+        int dimensions = localSemanticMatcher.getDimensions();
+        int listCount = (int) Math.max(1, Math.min(MAX_LISTS, Math.round(Math.sqrt(vectors.size()))));
+        if (vectors.isEmpty()) {
+            return new float[][]{new float[dimensions]};
+        }
+
+        Random random = new Random(42);
+        List<float[]> sample = vectors;
+        if (vectors.size() > trainingSample) {
+            sample = new ArrayList<>(trainingSample);
+            for (int i = 0; i < trainingSample; i++) {
+                sample.add(vectors.get(random.nextInt(vectors.size())));
+            }
+        }
+        listCount = Math.min(listCount, sample.size());
+
+        float[][] centers = new float[listCount][];
+        for (int c = 0; c < listCount; c++) {
+            centers[c] = sample.get(random.nextInt(sample.size())).clone();
+        }
+
+        int[] assignment = new int[sample.size()];
+        for (int iteration = 0; iteration < kmeansIterations; iteration++) {
+            for (int i = 0; i < sample.size(); i++) {
+                assignment[i] = nearest(centers, sample.get(i));
+            }
+            float[][] sums = new float[listCount][dimensions];
+            int[] counts = new int[listCount];
+            for (int i = 0; i < sample.size(); i++) {
+                float[] vector = sample.get(i);
+                float[] sum = sums[assignment[i]];
+                for (int d = 0; d < dimensions; d++) {
+                    sum[d] += vector[d];
+                }
+                counts[assignment[i]]++;
+            }
+            for (int c = 0; c < listCount; c++) {
+                // Empty list: re-seed with a random vector
+                centers[c] = counts[c] == 0 ? sample.get(random.nextInt(sample.size())).clone() : normalize(sums[c]);
+            }
+        }
+        return centers;
+    }
+
+    // ---------------------------------------------------------------- snapshot
+
+    private void writeSnapshot() {
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        long start = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            int dimensions = localSemanticMatcher.getDimensions();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(dimensions);
+                out.writeInt(centroids.length);
+                out.writeInt(postings.size());
+                out.writeInt(trainedSize);
+                out.writeLong(System.currentTimeMillis());
+                for (float[] centroid : centroids) {
+                    writeVector(out, centroid);
+                }
+                Map<String, String> profileByUser = new HashMap<>(userByProfile.size() * 2);
+                userByProfile.forEach((profileId, userId) -> profileByUser.put(userId, profileId));
+                for (int c = 0; c < lists.length; c++) {
+                    InvertedList list = lists[c];
+                    for (int i = 0; i < list.size; i++) {
+                        writeString(out, list.userIds[i]);
+                        writeString(out, profileByUser.getOrDefault(list.userIds[i], ""));
+                        out.writeInt(c);
+                        writeVector(out, list.vectors[i]);
+                    }
+                }
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Candidate index snapshot written ({} candidates, {} ms)",
+                    postings.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.warn("Could not write candidate index snapshot {}: {}", snapshotPath, e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Load the snapshot through a read-only memory mapping; false if it does not match this configuration
+     */
+    private boolean readSnapshot() throws IOException {
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                return false;
+            }
+            int dimensions = buffer.getInt();
+            if (dimensions != localSemanticMatcher.getDimensions()) {
+                logger.info("Candidate index snapshot has {} dimensions, expected {}",
+                        dimensions, localSemanticMatcher.getDimensions());
+                return false;
+            }
+            int listCount = buffer.getInt();
+            int count = buffer.getInt();
+            int trained = buffer.getInt();
+            long writtenAt = buffer.getLong();
+
+            float[][] loadedCentroids = new float[listCount][];
+            for (int c = 0; c < listCount; c++) {
+                loadedCentroids[c] = readVector(buffer, dimensions);
+            }
+
+            lock.writeLock().lock();
+            try {
+                centroids = loadedCentroids;
+                lists = new InvertedList[listCount];
+                for (int c = 0; c < listCount; c++) {
+                    lists[c] = new InvertedList();
+                }
+                postings.clear();
+                userByProfile.clear();
+                for (int i = 0; i < count; i++) {
+                    String userId = readString(buffer);
+                    String profileId = readString(buffer);
+                    int list = buffer.getInt();
+                    float[] vector = readVector(buffer, dimensions);
+                    add(userId, vector, list);
+                    if (!profileId.isEmpty()) {
+                        userByProfile.put(profileId, userId);
+                    }
+                }
+                trainedSize = trained;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            builtAt = Instant.ofEpochMilli(writtenAt);
+            ready = true;
+            logger.info("Candidate index loaded from snapshot: {} candidates in {} lists ({} ms)",
+                    count, listCount, System.currentTimeMillis() - start);
+            return true;
+        }
+    }
+
+    /**
+     * Re-index profiles modified while the application was down and drop those deleted meanwhile. Deletes
+     * leave nothing to query by date, so the snapshot is reconciled against the ids still in the collection.
+     */
+    private void catchUp() {
+        LocalDateTime since = LocalDateTime.ofInstant(builtAt, APP_ZONE);
+        List<ATSProfile> changed = atsProfileRepository.findByUpdatedAtAfter(since);
+        List<CandidateDTO> candidates = candidateAssembler.assembleProfiles(changed);
+        Set<String> liveProfiles = new HashSet<>();
+        Set<String> liveUsers = new HashSet<>();
+        for (ATSProfile profile : atsProfileRepository.findAllIds()) {
+            liveProfiles.add(profile.getId());
+            if (profile.getUserId() != null) {
+                liveUsers.add(profile.getUserId());
+            }
+        }
+
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            userByProfile.keySet().retainAll(liveProfiles);
+            for (String userId : new ArrayList<>(postings.keySet())) {
+                if (!liveUsers.contains(userId)) {
+                    removeLocked(userId);
+                    removed++;
+                }
+            }
+            changed.forEach(profile -> userByProfile.put(profile.getId(), profile.getUserId()));
+            for (CandidateDTO candidate : candidates) {
+                upsertLocked(candidate.getId(), localSemanticMatcher.candidateVector(candidate));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (changed.isEmpty() && removed == 0) {
+            return;
+        }
+        dirty.set(true);
+        logger.info("Candidate index caught up with {} profiles changed and {} deleted since the snapshot",
+                changed.size(), removed);
+    }
+
+    // ---------------------------------------------------------------- internals (write lock held)
+
+    private void upsertLocked(String userId, float[] vector) {
+        if (centroids.length == 0) {
+            return; // not built yet; the build will read the profile
+        }
+        removeLocked(userId);
+        add(userId, vector, nearest(centroids, vector));
+    }
+
+    private void add(String userId, float[] vector, int list) {
+        int position = lists[list].add(userId, vector);
+        postings.put(userId, new Posting(list, position));
+    }
+
+    private void removeLocked(String userId) {
+        Posting posting = postings.remove(userId);
+        if (posting == null) {
+            return;
+        }
+        String moved = lists[posting.list].removeAt(posting.position);
+        if (moved != null) {
+            postings.put(moved, new Posting(posting.list, posting.position));
+        }
+    }
+
+    private int centroidCount() {
+        lock.readLock().lock();
+        try {
+            return centroids.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int nearest(float[][] centers, float[] vector) {
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int c = 0; c < centers.length; c++) {
+            float score = LocalSemanticMatcher.dot(vector, centers[c]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(LocalSemanticMatcher.dot(vector, vector));
+        if (norm > 0f) {
+            for (int d = 0; d < vector.length; d++) {
+                vector[d] /= norm;
+            }
+        }
+        return vector;
+    }
+
+    private static Map<String, Object> latencySummary(long[] nanos) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (nanos.length == 0) {
+            return summary;
+        }
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        summary.put("mean", Arrays.stream(sorted).average().orElse(0) / 1_000_000.0);
+        summary.put("p50", sorted[sorted.length / 2] / 1_000_000.0);
+        summary.put("p95", sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)] / 1_000_000.0);
+        summary.put("max", sorted[sorted.length - 1] / 1_000_000.0);
+        return summary;
+    }
+
+    private static void writeVector(DataOutputStream out, float[] vector) throws IOException {
+        for (float value : vector) {
+            out.writeFloat(value);
+        }
+    }
+
+    private static float[] readVector(MappedByteBuffer buffer, int dimensions) {
+        float[] vector = new float[dimensions];
+        buffer.asFloatBuffer().get(vector);
+        buffer.position(buffer.position() + dimensions * Float.BYTES);
+        return vector;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Posting(int list, int position) {}
+
+    /**
+     * Members of one IVF cell as parallel arrays; removal swaps the last member into the hole.
+     */
+    private static final class InvertedList {
+        private String[] userIds = new String[8];
+        private float[][] vectors = new float[8][];
+        private int size;
+
+        int add(String userId, float[] vector) {
+            if (size == userIds.length) {
+                userIds = Arrays.copyOf(userIds, size * 2);
+                vectors = Arrays.copyOf(vectors, size * 2);
+            }
+            userIds[size] = userId;
+            vectors[size] = vector;
+            return size++;
+        }
+
+        /**
+         * Returns the userId moved into the freed position, if any
+         */
+        String removeAt(int position) {
+            int last = --size;
+            String moved = null;
+            if (position != last) {
+                userIds[position] = userIds[last];
+                vectors[position] = vectors[last];
+                moved = userIds[position];
+            }
+            userIds[last] = null;
+            vectors[last] = null;
+            return moved;
+        }
+
+        void scan(float[] query, TopK top) {
+            for (int i = 0; i < size; i++) {
+                top.offer(userIds[i], LocalSemanticMatcher.dot(query, vectors[i]));
+            }
+        }
+    }
+
+    /**
+     * Bounded min-heap keeping the k most similar hits
+     */
+    private static final class TopK {
+        private final int k;
+        private final PriorityQueue<Hit> heap;
+
+        TopK(int k) {
+            this.k = Math.max(1, k);
+            this.heap = new PriorityQueue<>(this.k + 1, (a, b) -> Float.compare(a.similarity(), b.similarity()));
+        }
+
+        void offer(String userId, float similarity) {
+            if (heap.size() < k) {
+                heap.add(new Hit(userId, similarity));
+            } else if (similarity > heap.peek().similarity()) {
+                heap.poll();
+                heap.add(new Hit(userId, similarity));
+            }
+        }
+
+        List<Hit> sorted() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort((a, b) -> Float.compare(b.similarity(), a.similarity()));
+            return hits;
+        }
+    }
+}
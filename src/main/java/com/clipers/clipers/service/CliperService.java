@@ -1,15 +1,18 @@
 package com.clipers.clipers.service;
 
+import com.clipers.clipers.client.DownstreamClient;
 import com.clipers.clipers.dto.VideoProcessingResponse;
 import com.clipers.clipers.entity.ATSProfile;
 import com.clipers.clipers.entity.Cliper;
-import com.clipers.clipers.entity.Skill;
-import com.clipers.clipers.entity.Language;
 import com.clipers.clipers.entity.User;
 import com.clipers.clipers.repository.ATSProfileRepository;
 import com.clipers.clipers.repository.CliperRepository;
 import com.clipers.clipers.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +24,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.List;
@@ -34,13 +36,18 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Observed(name = "clipers.service")
 public class CliperService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CliperService.class);
+
     private final CliperRepository cliperRepository;
     private final UserRepository userRepository;
     private final ATSProfileRepository atsProfileRepository;
     private final NotificationService notificationService;
-    private final RestTemplate restTemplate;
+    private final DownstreamClient videoProcessingClient;
+    private final ATSProfileMerger atsProfileMerger;
+    private final ATSProfileService atsProfileService;
 
     @Value("${video.processing.service.url}")
     private String videoProcessingServiceUrl;
@@ -56,12 +63,16 @@ public class CliperService {
                          UserRepository userRepository,
                          ATSProfileRepository atsProfileRepository,
                          NotificationService notificationService,
-                         RestTemplate restTemplate) {
+                         @Qualifier("videoProcessingClient") DownstreamClient videoProcessingClient,
+                         ATSProfileMerger atsProfileMerger,
+                         ATSProfileService atsProfileService) {
         this.cliperRepository = cliperRepository;
         this.userRepository = userRepository;
         this.atsProfileRepository = atsProfileRepository;
         this.notificationService = notificationService;
-        this.restTemplate = restTemplate;
+        this.videoProcessingClient = videoProcessingClient;
+        this.atsProfileMerger = atsProfileMerger;
+        this.atsProfileService = atsProfileService;
     }
 
     /**
@@ -71,13 +82,15 @@ public class CliperService {
      * IMPROVEMENT: Doesn't create simulated data if microservice fails
      */
     public Cliper createCliper(String userId, String title, String description, String videoUrl, Integer duration, org.springframework.web.multipart.MultipartFile videoFile) {
+        long start = System.nanoTime();
+
         // Step 1: Validate user
         User user = validateAndGetUser(userId);
 
         // Step 2: Check if user already has a cliper and delete it
         List<Cliper> existingClipers = cliperRepository.findByUserId(userId);
         if (!existingClipers.isEmpty()) {
-            System.out.println("User already has " + existingClipers.size() + " cliper(s). Deleting...");
+            logger.debug("User {} already has {} cliper(s), replacing", userId, existingClipers.size());
             for (Cliper existingCliper : existingClipers) {
                 deleteCliperAndVideo(existingCliper);
             }
@@ -116,7 +129,7 @@ public class CliperService {
                     try {
                         java.nio.file.Files.deleteIfExists(videoFilePath);
                     } catch (Exception e) {
-                        System.err.println("Error deleting video after failure: " + e.getMessage());
+                        logger.warn("Error deleting video after failure: {}", e.getMessage());
                     }
                 }
                 
@@ -126,7 +139,7 @@ public class CliperService {
                 );
             } else {
                 // Use simulated data for local development
-                System.out.println("⚠️ Video processing service disabled - using simulated data");
+                logger.warn("Video processing service disabled - using simulated data");
                 response = createSimulatedResponse(user);
             }
         }
@@ -158,6 +171,11 @@ public class CliperService {
         // Step 9: Send notification
         notificationService.notifyCliperProcessed(user.getId(), cliper.getId());
 
+        logger.atInfo()
+                .addKeyValue("userId", userId)
+                .addKeyValue("cliperId", cliper.getId())
+                .addKeyValue("durationMs", java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .log("Cliper created");
         return cliper;
     }
 
@@ -254,7 +272,7 @@ public class CliperService {
 
         // Delete cliper from database
         cliperRepository.deleteById(id);
-        System.out.println("✅ Cliper deleted from database: " + id);
+        logger.atInfo().addKeyValue("userId", userId).addKeyValue("cliperId", id).log("Cliper deleted");
     }
 
     public List<Cliper> findByStatus(Cliper.Status status) {
@@ -288,12 +306,12 @@ public class CliperService {
      * Calls external microservice to process video
      */
     private VideoProcessingResponse callVideoProcessingService(java.nio.file.Path filePath) {
-        try {
-            System.out.println("=== CALLING MICROSERVICE ===");
-            System.out.println("URL: " + videoProcessingServiceUrl);
-            System.out.println("File: " + filePath.toString());
-            System.out.println("File exists: " + java.nio.file.Files.exists(filePath));
-            System.out.println("File size: " + (java.nio.file.Files.exists(filePath) ? java.nio.file.Files.size(filePath) : "N/A"));
+        return videoProcessingClient.execute(() -> {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Calling video processing service {} with {} ({} bytes)", videoProcessingServiceUrl,
+                        filePath, java.nio.file.Files.exists(filePath) ? filePath.toFile().length() : -1);
+            }
+            long start = System.nanoTime();
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.MULTIPART_FORM_DATA);
@@ -303,48 +321,36 @@ public class CliperService {
 
             HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
 
-            System.out.println("Sending request to microservice...");
             String uploadUrl = videoProcessingServiceUrl + "/upload-video";
-            ResponseEntity<VideoProcessingResponse> response = restTemplate.postForEntity(
+            ResponseEntity<VideoProcessingResponse> response = videoProcessingClient.rest().postForEntity(
                 uploadUrl,
                 entity,
                 VideoProcessingResponse.class
             );
 
-            System.out.println("=== MICROSERVICE RESPONSE ===");
-            System.out.println("Status: " + response.getStatusCode());
             VideoProcessingResponse responseBody = response.getBody();
-            System.out.println("Body: " + responseBody);
-
-            if (responseBody != null) {
-                System.out.println("📝 Transcription: " + responseBody.getTranscription());
-                if (responseBody.getProfile() != null) {
-                    System.out.println("👤 Name: " + responseBody.getProfile().getName());
-                    System.out.println("💼 Profession: " + responseBody.getProfile().getProfession());
-                    System.out.println("📚 Experience: " + responseBody.getProfile().getExperience());
-                    System.out.println("🎓 Education: " + responseBody.getProfile().getEducation());
-                    System.out.println("🛠️ Technologies: " + responseBody.getProfile().getTechnologies());
-                    System.out.println("🌐 Languages: " + responseBody.getProfile().getLanguages());
-                    System.out.println("🏆 Achievements: " + responseBody.getProfile().getAchievements());
-                    System.out.println("🤝 Soft Skills: " + responseBody.getProfile().getSoftSkills());
-                } else {
-                    System.out.println("⚠️ Profile is null");
-                }
+            logger.atInfo()
+                    .addKeyValue("status", response.getStatusCode().value())
+                    .addKeyValue("durationMs", java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .log("Video processing service responded");
+
+            // Full payload dump (transcription + extracted profile) only when explicitly asked for
+            if (responseBody != null && logger.isDebugEnabled()) {
+                logger.debug("Transcription: {}", responseBody.getTranscription());
+                logProfile("Extracted profile", responseBody.getProfile());
             }
 
             if (response.getStatusCode().is2xxSuccessful()) {
-                System.out.println("✅ Microservice responded successfully");
-                return response.getBody();
+                return responseBody;
             } else {
-                System.err.println("❌ Microservice error: " + response.getStatusCode());
+                logger.error("Video processing service error: {}", response.getStatusCode());
                 return null;
             }
 
-        } catch (Exception e) {
-            System.err.println("❌ Error calling processing microservice: " + e.getMessage());
-            e.printStackTrace();
+        }, error -> {
+            logger.error("Error calling video processing service: {}", error.getMessage());
             return null;
-        }
+        });
     }
 
     /**
@@ -408,7 +414,7 @@ public class CliperService {
             // Save file
             java.nio.file.Files.copy(videoFile.getInputStream(), filePath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
 
-            System.out.println("✅ Video saved to: " + filePath.toAbsolutePath());
+            logger.debug("Video saved to {}", filePath);
 
             // Return full URL for frontend access
             return fileUploadBaseUrl + "/uploads/videos/" + fileName;
@@ -426,145 +432,67 @@ public class CliperService {
                 // Don't create ATS profile if there's no real data from microservice
                 return;
             }
-            System.out.println("🔄 GENERATING ATS PROFILE FROM MICROSERVICE");
-            System.out.println("👤 User: " + user.getId());
-            System.out.println("📋 Profile data:");
-            System.out.println("  - Name: " + profile.getName());
-            System.out.println("  - Profession: " + profile.getProfession());
-            System.out.println("  - Experience: " + profile.getExperience());
-            System.out.println("  - Education: " + profile.getEducation());
-            System.out.println("  - Technologies: " + profile.getTechnologies());
-            System.out.println("  - Soft Skills: " + profile.getSoftSkills());
-            System.out.println("  - Languages: " + profile.getLanguages());
-            System.out.println("  - Achievements: " + profile.getAchievements());
+            if (logger.isDebugEnabled()) {
+                logProfile("Generating ATS profile for user " + user.getId() + " from", profile);
+            }
 
             Optional<ATSProfile> existingProfile = atsProfileRepository.findByUserId(user.getId());
 
-            ATSProfile atsProfile;
+            // INTELLIGENT MERGE: summary replaced, the rest only added if it DOESN'T exist
+            ATSProfileMergeDiff[] diff = new ATSProfileMergeDiff[1];
+            ATSProfile savedProfile;
             if (existingProfile.isPresent()) {
-                atsProfile = existingProfile.get();
-                System.out.println("📝 Updating existing profile with INTELLIGENT MERGE");
-                // DON'T clear lists - do intelligent merge
+                // DON'T clear lists - merge into the stored profile and write only what it added ($set/$push).
+                // Re-run on a fresh read if the candidate edited the profile meanwhile.
+                savedProfile = atsProfileService.update(existingProfile.get(), current -> {
+                    diff[0] = atsProfileMerger.merge(current, profile, transcription);
+                    return diff[0].isEmpty() ? null : ATSProfileService.mergeUpdate(current, diff[0]);
+                });
             } else {
-                atsProfile = new ATSProfile(user.getId());
-                System.out.println("🆕 Creating new ATS profile");
-            }
-
-            // ALWAYS update summary with new cv_profile from microservice
-            atsProfile.setSummary(transcription);
-            System.out.println("📝 Summary updated with cv_profile from microservice");
-
-            // INTELLIGENT MERGE: Add education only if it DOESN'T exist
-            if (profile.getEducation() != null && !profile.getEducation().equals("No especificado") && !profile.getEducation().equals("Not specified")) {
-                // Check if similar education already exists
-                boolean educationAlreadyExists = atsProfile.getEducation().stream()
-                    .anyMatch(e -> 
-                        e.getInstitution().toLowerCase().contains(profile.getEducation().toLowerCase()) ||
-                        e.getDegree().toLowerCase().contains(profile.getEducation().toLowerCase()) ||
-                        profile.getEducation().toLowerCase().contains(e.getInstitution().toLowerCase()) ||
-                        profile.getEducation().toLowerCase().contains(e.getDegree().toLowerCase())
-                    );
-                
-                if (!educationAlreadyExists) {
-                    atsProfile.addEducation(profile.getEducation(), "Degree", "Field of study");
-                    System.out.println("🎓 NEW education added: " + profile.getEducation());
-                } else {
-                    System.out.println("🎓 Education already exists, NOT duplicating");
-                }
-            }
-
-            // INTELLIGENT MERGE: Add experience only if it DOESN'T exist
-            if (profile.getExperience() != null && !profile.getExperience().equals("No especificado") && !profile.getExperience().equals("Not specified")) {
-                // Check if similar experience already exists
-                boolean experienceAlreadyExists = atsProfile.getExperience().stream()
-                    .anyMatch(e -> 
-                        e.getDescription().toLowerCase().contains(profile.getExperience().toLowerCase()) ||
-                        profile.getExperience().toLowerCase().contains(e.getDescription().toLowerCase())
-                    );
-                
-                if (!experienceAlreadyExists) {
-                    String position = profile.getProfession() != null && !profile.getProfession().equals("Not specified") 
-                        ? profile.getProfession() 
-                        : "Professional";
-                    atsProfile.addExperience("Company", position, profile.getExperience());
-                    System.out.println("💼 NEW experience added: " + profile.getExperience());
-                } else {
-                    System.out.println("💼 Experience already exists, NOT duplicating");
-                }
-            }
-
-            // INTELLIGENT MERGE: Add technologies as technical skills only if they DON'T exist
-            if (profile.getTechnologies() != null && !profile.getTechnologies().equals("No especificado") && !profile.getTechnologies().equals("Not specified")) {
-                String[] technologies = profile.getTechnologies().split(",\\s*");
-                for (String technology : technologies) {
-                    String techName = technology.trim();
-                    if (!techName.isEmpty() && !skillExists(atsProfile, techName)) {
-                        atsProfile.addSkill(techName, Skill.SkillLevel.INTERMEDIATE, Skill.SkillCategory.TECHNICAL);
-                        System.out.println("🛠️ NEW technical skill added: " + techName);
-                    } else if (skillExists(atsProfile, techName)) {
-                        System.out.println("🛠️ Technical skill already exists, NOT duplicating: " + techName);
-                    }
-                }
-            }
-
-            // INTELLIGENT MERGE: Add soft skills only if they DON'T exist
-            if (profile.getSoftSkills() != null && !profile.getSoftSkills().equals("No especificado") && !profile.getSoftSkills().equals("Not specified")) {
-                String[] softSkills = profile.getSoftSkills().split(",\\s*");
-                for (String softSkill : softSkills) {
-                    String skillName = softSkill.trim();
-                    if (!skillName.isEmpty() && !skillExists(atsProfile, skillName)) {
-                        atsProfile.addSkill(skillName, Skill.SkillLevel.INTERMEDIATE, Skill.SkillCategory.SOFT);
-                        System.out.println("🤝 NEW soft skill added: " + skillName);
-                    } else if (skillExists(atsProfile, skillName)) {
-                        System.out.println("🤝 Soft skill already exists, NOT duplicating: " + skillName);
-                    }
-                }
+                ATSProfile atsProfile = new ATSProfile(user.getId());
+                diff[0] = atsProfileMerger.merge(atsProfile, profile, transcription);
+                savedProfile = atsProfileRepository.save(atsProfile);
             }
 
-            // INTELLIGENT MERGE: Add languages only if they DON'T exist
-            if (profile.getLanguages() != null && !profile.getLanguages().equals("No especificado") && !profile.getLanguages().equals("Not specified")) {
-                String[] languages = profile.getLanguages().split(",\\s*");
-                for (String language : languages) {
-                    String languageName = language.trim();
-                    if (!languageName.isEmpty() && !languageExists(atsProfile, languageName)) {
-                        atsProfile.addLanguage(languageName, Language.LanguageLevel.INTERMEDIATE);
-                        System.out.println("🌐 NEW language added: " + languageName);
-                    } else if (languageExists(atsProfile, languageName)) {
-                        System.out.println("🌐 Language already exists, NOT duplicating: " + languageName);
-                    }
-                }
+            if (diff[0].isEmpty()) {
+                // Nothing new: nothing written, so updatedAt (and the AI match caches keyed on it) and the
+                // candidate index entry stay as they are
+                logger.atInfo()
+                        .addKeyValue("userId", user.getId())
+                        .addKeyValue("cliperId", cliperId)
+                        .addKeyValue("atsProfileId", savedProfile.getId())
+                        .addKeyValue("duplicates", diff[0].getDuplicates())
+                        .log("ATS profile unchanged by merge");
+                return;
             }
 
-            ATSProfile savedProfile = atsProfileRepository.save(atsProfile);
-            System.out.println("✅ ATS profile saved successfully with ID: " + savedProfile.getId());
-            System.out.println("📊 Profile statistics:");
-            System.out.println("  - Education: " + savedProfile.getEducation().size());
-            System.out.println("  - Experience: " + savedProfile.getExperience().size());
-            System.out.println("  - Skills: " + savedProfile.getSkills().size());
-            System.out.println("  - Languages: " + savedProfile.getLanguages().size());
+            logger.atInfo()
+                    .addKeyValue("userId", user.getId())
+                    .addKeyValue("cliperId", cliperId)
+                    .addKeyValue("atsProfileId", savedProfile.getId())
+                    .addKeyValue("merged", existingProfile.isPresent())
+                    .addKeyValue("diff", diff[0].toSummary())
+                    .addKeyValue("skills", savedProfile.getSkills().size())
+                    .addKeyValue("experience", savedProfile.getExperience().size())
+                    .addKeyValue("education", savedProfile.getEducation().size())
+                    .addKeyValue("languages", savedProfile.getLanguages().size())
+                    .log("ATS profile saved");
 
         } catch (Exception e) {
-            System.err.println("❌ Error generating ATS profile from microservice for user " + user.getId() + ": " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error generating ATS profile from microservice for user {}", user.getId(), e);
         }
     }
 
 
 
-    /**
-     * Helper method to check if a skill already exists
-     */
-    private boolean skillExists(ATSProfile atsProfile, String skillName) {
-        return atsProfile.getSkills().stream()
-            .anyMatch(skill -> skill.getName().equalsIgnoreCase(skillName.trim()));
-    }
-
-    /**
-     * Helper method to check if a language already exists (case-insensitive)
-     */
-    private boolean languageExists(ATSProfile atsProfile, String languageName) {
-        return atsProfile.getLanguages().stream()
-            .anyMatch(lang -> lang.getName().equalsIgnoreCase(languageName.trim()));
+    private void logProfile(String message, VideoProcessingResponse.Profile profile) {
+        if (profile == null) {
+            logger.debug("{}: no profile", message);
+            return;
+        }
+        logger.debug("{}: name={}, profession={}, experience={}, education={}, technologies={}, languages={}, achievements={}, softSkills={}",
+                message, profile.getName(), profile.getProfession(), profile.getExperience(), profile.getEducation(),
+                profile.getTechnologies(), profile.getLanguages(), profile.getAchievements(), profile.getSoftSkills());
     }
 
     /**
@@ -588,7 +516,6 @@ public class CliperService {
         response.setTranscription("This is a simulated transcription for local development. " +
             "The candidate introduces themselves and talks about their experience.");
         
-        System.out.println("✅ Created simulated response for local development");
         return response;
     }
 
@@ -598,8 +525,6 @@ public class CliperService {
      */
     private void deleteCliperAndVideo(Cliper cliper) {
         try {
-            System.out.println("Deleting cliper: " + cliper.getId());
-            
             // Delete video
             if (cliper.getVideoUrl() != null && !cliper.getVideoUrl().isEmpty()) {
                 deleteVideoFile(cliper.getVideoUrl());
@@ -613,10 +538,10 @@ public class CliperService {
             // Delete from DB
             cliperRepository.delete(cliper);
             
-            System.out.println("Cliper deleted successfully: " + cliper.getId());
+            logger.debug("Replaced cliper {} deleted", cliper.getId());
             
         } catch (Exception e) {
-            System.err.println("Error deleting cliper " + cliper.getId() + ": " + e.getMessage());
+            logger.warn("Error deleting cliper {}: {}", cliper.getId(), e.getMessage());
             // Don't throw exception to avoid interrupting new cliper creation
         }
     }
@@ -633,13 +558,13 @@ public class CliperService {
             // Delete file if exists
             if (java.nio.file.Files.exists(filePath)) {
                 java.nio.file.Files.delete(filePath);
-                System.out.println("File deleted: " + filePath);
+                logger.debug("File deleted: {}", filePath);
             } else {
-                System.out.println("File not found (already deleted): " + filePath);
+                logger.debug("File not found (already deleted): {}", filePath);
             }
             
         } catch (Exception e) {
-            System.err.println("Error deleting video file: " + e.getMessage());
+            logger.warn("Error deleting video file {}: {}", videoUrl, e.getMessage());
             // Don't throw exception, just log error
         }
     }
@@ -651,21 +576,20 @@ public class CliperService {
         Cliper cliper = cliperRepository.findById(cliperId)
                 .orElseThrow(() -> new RuntimeException("Cliper not found"));
         
-        System.out.println("🔄 Toggle like - Cliper: " + cliperId + ", User: " + userId);
-        System.out.println("📊 Before - Likes: " + cliper.getLikesCount() + ", Liked by user: " + cliper.isLikedBy(userId));
-        
-        if (cliper.isLikedBy(userId)) {
-            cliper.removeLike(userId);
-            System.out.println("❌ Removed like");
-        } else {
+        boolean liked = !cliper.isLikedBy(userId);
+        if (liked) {
             cliper.addLike(userId);
-            System.out.println("✅ Added like");
+        } else {
+            cliper.removeLike(userId);
         }
         
-        System.out.println("📊 After - Likes: " + cliper.getLikesCount());
-        
         Cliper saved = cliperRepository.save(cliper);
-        System.out.println("💾 Saved to DB - Likes: " + saved.getLikesCount());
+        logger.atDebug()
+                .addKeyValue("userId", userId)
+                .addKeyValue("cliperId", cliperId)
+                .addKeyValue("liked", liked)
+                .addKeyValue("likes", saved.getLikesCount())
+                .log("Cliper like toggled");
         
         return saved;
     }
@@ -677,16 +601,15 @@ public class CliperService {
         Cliper cliper = cliperRepository.findById(cliperId)
                 .orElseThrow(() -> new RuntimeException("Cliper not found"));
         
-        System.out.println("💬 Adding comment - Cliper: " + cliperId + ", User: " + userName);
-        System.out.println("📊 Before - Comments: " + cliper.getCommentsCount());
-        
         Cliper.Comment comment = new Cliper.Comment(userId, userName, text);
         cliper.addComment(comment);
         
-        System.out.println("📊 After - Comments: " + cliper.getCommentsCount());
-        
         Cliper saved = cliperRepository.save(cliper);
-        System.out.println("💾 Saved to DB - Comments: " + saved.getCommentsCount());
+        logger.atDebug()
+                .addKeyValue("userId", userId)
+                .addKeyValue("cliperId", cliperId)
+                .addKeyValue("comments", saved.getCommentsCount())
+                .log("Cliper comment added");
         
         return saved;
     }
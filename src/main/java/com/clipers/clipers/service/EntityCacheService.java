@@ -0,0 +1,94 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.cache.VersionedCache;
+import com.clipers.clipers.entity.Company;
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.repository.CompanyRepository;
+import com.clipers.clipers.repository.JobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * L1 read-through cache for the Company and Job lookups made while assembling DTOs
+ * (job listings, saved match results, technical tests).
+ *
+ * Writers keep it coherent: every save goes through {@link #putCompany}/{@link #putJob},
+ * every delete through the invalidate methods. Returned entities are shared and must not be mutated;
+ * code that modifies an entity loads it from the repository.
+ */
+@Service
+public class EntityCacheService implements MeterBinder {
+
+    private final CompanyRepository companyRepository;
+    private final JobRepository jobRepository;
+    private final VersionedCache<Company> companies;
+    private final VersionedCache<Job> jobs;
+
+    @Autowired
+    public EntityCacheService(CompanyRepository companyRepository,
+                              JobRepository jobRepository,
+                              @Value("${entity-cache.companies.max-entries:5000}") int maxCompanies,
+                              @Value("${entity-cache.jobs.max-entries:20000}") int maxJobs,
+                              @Value("${entity-cache.ttl-ms:600000}") long ttlMillis) {
+        this.companyRepository = companyRepository;
+        this.jobRepository = jobRepository;
+        this.companies = new VersionedCache<>("companies", maxCompanies, ttlMillis, Company::getId);
+        this.jobs = new VersionedCache<>("jobs", maxJobs, ttlMillis, Job::getId);
+    }
+
+    public Optional<Company> getCompany(String companyId) {
+        return companies.get(companyId, companyRepository::findById);
+    }
+
+    /**
+     * Companies by id, misses loaded with a single $in query
+     */
+    public Map<String, Company> getCompanies(Collection<String> companyIds) {
+        return companies.getAll(companyIds, companyRepository::findAllById);
+    }
+
+    public Optional<Job> getJob(String jobId) {
+        return jobs.get(jobId, jobRepository::findById);
+    }
+
+    /**
+     * Jobs by id, misses loaded with a single $in query
+     */
+    public Map<String, Job> getJobs(Collection<String> jobIds) {
+        return jobs.getAll(jobIds, jobRepository::findAllById);
+    }
+
+    public void putCompany(Company company) {
+        companies.put(company);
+    }
+
+    public void invalidateCompany(String companyId) {
+        companies.invalidate(companyId);
+    }
+
+    public void putJob(Job job) {
+        jobs.put(job);
+    }
+
+    public void invalidateJob(String jobId) {
+        jobs.invalidate(jobId);
+    }
+
+    public List<Map<String, Object>> getStats() {
+        return List.of(companies.getStats(), jobs.getStats());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        companies.bindTo(registry);
+        jobs.bindTo(registry);
+    }
+}
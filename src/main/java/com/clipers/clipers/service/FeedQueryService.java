@@ -0,0 +1,147 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.CliperSummaryDTO;
+import com.clipers.clipers.dto.PostSummaryDTO;
+import com.clipers.clipers.dto.UserSummaryDTO;
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.Post;
+import com.clipers.clipers.entity.User;
+import io.micrometer.observation.annotation.Observed;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Read side of the cliper and post feeds. Pages are read with a $project so Mongo only ships the
+ * card fields (arrays such as likedBy, comments, commentIds come back as their $size), and the
+ * authors of a page are loaded in one $in query restricted to the summary fields. The viewer's
+ * like state is one more $in query per page (LikeStateService).
+ */
+@Service
+@Observed(name = "clipers.service")
+public class FeedQueryService {
+
+    private final MongoTemplate mongoTemplate;
+    private final LikeStateService likeStateService;
+
+    @Autowired
+    public FeedQueryService(MongoTemplate mongoTemplate, LikeStateService likeStateService) {
+        this.mongoTemplate = mongoTemplate;
+        this.likeStateService = likeStateService;
+    }
+
+    /**
+     * Processed clipers, newest first (status_created_at_idx); viewerId may be null (anonymous)
+     */
+    public Page<CliperSummaryDTO> findProcessedCliperSummaries(Pageable pageable, String viewerId) {
+        Criteria criteria = Criteria.where("status").is(Cliper.Status.DONE.name());
+        AggregationOperation project = context -> new Document("$project", new Document()
+                .append("title", 1)
+                .append("videoUrl", 1)
+                .append("thumbnailUrl", 1)
+                .append("duration", 1)
+                .append("status", 1)
+                .append("userId", 1)
+                .append("createdAt", 1)
+                .append("likesCount", sizeOf("$likedBy"))
+                .append("commentsCount", sizeOf("$comments")));
+
+        List<CliperSummaryDTO> clipers = page(criteria, project, pageable, Cliper.class, CliperSummaryDTO.class);
+        attachAuthors(clipers, CliperSummaryDTO::getUserId, CliperSummaryDTO::setUser);
+        Set<String> liked = likeStateService.likedCliperIds(viewerId, clipers.stream().map(CliperSummaryDTO::getId).toList());
+        clipers.forEach(cliper -> cliper.setLikedByMe(liked.contains(cliper.getId())));
+
+        long total = mongoTemplate.count(new Query(criteria), Cliper.class);
+        return new PageImpl<>(clipers, pageable, total);
+    }
+
+    /**
+     * Every post, newest first (created_at_idx); viewerId may be null (anonymous)
+     */
+    public Page<PostSummaryDTO> findFeedPostSummaries(Pageable pageable, String viewerId) {
+        AggregationOperation project = context -> new Document("$project", new Document()
+                .append("content", 1)
+                .append("imageUrl", 1)
+                .append("videoUrl", 1)
+                .append("type", 1)
+                .append("userId", 1)
+                .append("createdAt", 1)
+                .append("updatedAt", 1)
+                .append("likes", new Document("$ifNull", List.of("$likes", 0)))
+                .append("commentsCount", sizeOf("$commentIds")));
+
+        List<PostSummaryDTO> posts = page(new Criteria(), project, pageable, Post.class, PostSummaryDTO.class);
+        attachAuthors(posts, PostSummaryDTO::getUserId, PostSummaryDTO::setUser);
+        Set<String> liked = likeStateService.likedPostIds(viewerId, posts.stream().map(PostSummaryDTO::getId).toList());
+        posts.forEach(post -> post.setLikedByMe(liked.contains(post.getId())));
+
+        // No filter: the collection metadata count avoids scanning the index
+        long total = mongoTemplate.estimatedCount(Post.class);
+        return new PageImpl<>(posts, pageable, total);
+    }
+
+    /**
+     * id -> author summary for the given user ids, in a single query
+     */
+    public Map<String, UserSummaryDTO> findUserSummaries(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include("firstName", "lastName", "role", "profileImage");
+
+        Map<String, UserSummaryDTO> summaries = new HashMap<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            summaries.put(user.getId(), new UserSummaryDTO(user));
+        }
+        return summaries;
+    }
+
+    private <T> List<T> page(Criteria criteria, AggregationOperation project, Pageable pageable,
+                             Class<?> collectionType, Class<T> outputType) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.Direction.DESC, "createdAt"),
+                Aggregation.skip(pageable.getOffset()),
+                Aggregation.limit(pageable.getPageSize()),
+                project);
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(collectionType), outputType)
+                .getMappedResults();
+    }
+
+    private <T> void attachAuthors(List<T> cards, Function<T, String> userId, BiConsumer<T, UserSummaryDTO> setUser) {
+        Set<String> userIds = new HashSet<>();
+        for (T card : cards) {
+            if (userId.apply(card) != null) {
+                userIds.add(userId.apply(card));
+            }
+        }
+        Map<String, UserSummaryDTO> authors = findUserSummaries(userIds);
+        for (T card : cards) {
+            setUser.accept(card, authors.get(userId.apply(card)));
+        }
+    }
+
+    private static Document sizeOf(String field) {
+        return new Document("$size", new Document("$ifNull", List.of(field, Collections.emptyList())));
+    }
+}
@@ -0,0 +1,219 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.JobFacetsDTO;
+import com.clipers.clipers.entity.Job;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Distinct values and counts for the job filters (location, type, salary band, skill), computed over
+ * the active jobs with a single $facet aggregation and served from an immutable in-memory snapshot.
+ *
+ * Job writes only mark the snapshot stale; a short scheduled tick recomputes it, so a burst of writes
+ * costs one aggregation. A slower periodic refresh picks up writes made by other instances.
+ */
+@Service
+public class JobFacetService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobFacetService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final List<Integer> salaryBoundaries;
+    private final int maxSkills;
+
+    private final AtomicReference<JobFacetsDTO> snapshot = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    @Autowired
+    public JobFacetService(MongoTemplate mongoTemplate,
+                           SkillTaxonomyService skillTaxonomyService,
+                           @Value("${jobs.facets.salary-bands:1000,2000,3000,5000,8000}") int[] salaryBands,
+                           @Value("${jobs.facets.max-skills:50}") int maxSkills) {
+        this.mongoTemplate = mongoTemplate;
+        this.skillTaxonomyService = skillTaxonomyService;
+        this.salaryBoundaries = boundaries(salaryBands);
+        this.maxSkills = maxSkills;
+    }
+
+    /**
+     * Current facets; only the very first call after startup waits for the aggregation
+     */
+    public JobFacetsDTO getFacets() {
+        JobFacetsDTO current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    public List<String> getLocations() {
+        return getFacets().getLocations().stream()
+                .map(JobFacetsDTO.FacetCount::getValue)
+                .toList();
+    }
+
+    /**
+     * Called after any job create, update, deactivate or delete
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    @Scheduled(initialDelayString = "${jobs.facets.debounce-ms:5000}", fixedDelayString = "${jobs.facets.debounce-ms:5000}")
+    public void refreshIfStale() {
+        if (stale.get()) {
+            refreshQuietly();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${jobs.facets.refresh-interval-ms:300000}", fixedDelayString = "${jobs.facets.refresh-interval-ms:300000}")
+    public void refreshScheduled() {
+        refreshQuietly();
+    }
+
+    public synchronized JobFacetsDTO refresh() {
+        long start = System.currentTimeMillis();
+        // Cleared before reading so a write landing mid-aggregation triggers another pass
+        stale.set(false);
+
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("isActive", true)),
+                new Document("$facet", new Document()
+                        .append("total", List.of(new Document("$count", "count")))
+                        .append("locations", locationsFacet())
+                        .append("types", countBy("type", "$type"))
+                        .append("skills", skillsFacet())
+                        .append("salaryBands", List.of(new Document("$bucket", new Document()
+                                .append("groupBy", "$salaryMin")
+                                .append("boundaries", salaryBoundaries)
+                                .append("default", "none")
+                                .append("output", new Document("count", new Document("$sum", 1))))))));
+
+        Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Job.class))
+                .aggregate(pipeline)
+                .first();
+        JobFacetsDTO facets = toFacets(result != null ? result : new Document());
+        snapshot.set(facets);
+
+        logger.debug("Job facets refreshed: {} active jobs in {} ms",
+                facets.getTotalActiveJobs(), System.currentTimeMillis() - start);
+        return facets;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("clipers.jobs.facets.active", snapshot,
+                        ref -> ref.get() != null ? ref.get().getTotalActiveJobs() : 0)
+                .description("Active jobs counted by the last facet refresh")
+                .register(registry);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; the next tick retries
+            stale.set(true);
+            logger.error("Job facet refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static List<Document> locationsFacet() {
+        // Grouped on the normalized key so "Lima" and "lima " share a bucket; labelled with one stored spelling
+        return List.of(
+                new Document("$match", new Document("locationKey", new Document("$nin", Arrays.asList(null, "")))),
+                new Document("$group", new Document("_id", "$locationKey")
+                        .append("label", new Document("$first", "$location"))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$sort", new Document("count", -1).append("_id", 1)));
+    }
+
+    private List<Document> skillsFacet() {
+        List<Document> stages = new ArrayList<>();
+        // Canonical ids, so every alias of a skill lands in the same bucket; labelled in toFacets()
+        stages.add(new Document("$unwind", "$skillIds"));
+        stages.addAll(countBy("skillIds", "$skillIds"));
+        stages.add(new Document("$limit", maxSkills));
+        return stages;
+    }
+
+    private static List<Document> countBy(String field, String key) {
+        return List.of(
+                new Document("$match", new Document(field, new Document("$nin", Arrays.asList(null, "")))),
+                new Document("$group", new Document("_id", key).append("count", new Document("$sum", 1))),
+                new Document("$sort", new Document("count", -1).append("_id", 1)));
+    }
+
+    private JobFacetsDTO toFacets(Document result) {
+        JobFacetsDTO facets = new JobFacetsDTO();
+        List<Document> total = result.getList("total", Document.class, Collections.emptyList());
+        facets.setTotalActiveJobs(total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue());
+        facets.setLocations(counts(result.getList("locations", Document.class, Collections.emptyList())));
+        facets.setTypes(counts(result.getList("types", Document.class, Collections.emptyList())));
+        facets.setSkills(skillCounts(result.getList("skills", Document.class, Collections.emptyList())));
+        facets.setSalaryBands(bands(result.getList("salaryBands", Document.class, Collections.emptyList())));
+        facets.setComputedAt(LocalDateTime.now());
+        return facets;
+    }
+
+    private static List<JobFacetsDTO.FacetCount> counts(List<Document> docs) {
+        List<JobFacetsDTO.FacetCount> counts = new ArrayList<>(docs.size());
+        for (Document doc : docs) {
+            Object value = doc.get("label") != null ? doc.get("label") : doc.get("_id");
+            counts.add(new JobFacetsDTO.FacetCount(String.valueOf(value).trim(), ((Number) doc.get("count")).longValue()));
+        }
+        return List.copyOf(counts);
+    }
+
+    private List<JobFacetsDTO.FacetCount> skillCounts(List<Document> docs) {
+        List<JobFacetsDTO.FacetCount> counts = new ArrayList<>(docs.size());
+        for (Document doc : docs) {
+            String name = skillTaxonomyService.nameOf(((Number) doc.get("_id")).intValue());
+            if (name != null) {
+                counts.add(new JobFacetsDTO.FacetCount(name, ((Number) doc.get("count")).longValue()));
+            }
+        }
+        return List.copyOf(counts);
+    }
+
+    private List<JobFacetsDTO.SalaryBand> bands(List<Document> docs) {
+        List<JobFacetsDTO.SalaryBand> bands = new ArrayList<>(docs.size());
+        for (Document doc : docs) {
+            long count = ((Number) doc.get("count")).longValue();
+            if (!(doc.get("_id") instanceof Number lower)) {
+                bands.add(new JobFacetsDTO.SalaryBand(null, null, count));
+                continue;
+            }
+            int index = salaryBoundaries.indexOf(lower.intValue());
+            Integer upper = salaryBoundaries.get(index + 1);
+            bands.add(new JobFacetsDTO.SalaryBand(lower.intValue(), upper == Integer.MAX_VALUE ? null : upper, count));
+        }
+        return List.copyOf(bands);
+    }
+
+    /**
+     * $bucket boundaries: 0, the configured cut points, and an open-ended top band
+     */
+    private static List<Integer> boundaries(int[] cuts) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        Arrays.stream(cuts).filter(cut -> cut > 0).sorted().distinct().forEach(boundaries::add);
+        boundaries.add(Integer.MAX_VALUE);
+        return List.copyOf(boundaries);
+    }
+}
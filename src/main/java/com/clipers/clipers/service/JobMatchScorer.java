@@ -0,0 +1,166 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Job;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strategy Pattern implicitly: skill, experience and location strategies combined into one score.
+ * Pure function of (ATSProfile, Job) so JobService can score any number of candidates
+ * without a database round trip per strategy. Skills are compared as canonical-id bitsets
+ * (SkillTaxonomyService), so aliases such as "JS" and "JavaScript" match.
+ */
+@Component
+public class JobMatchScorer {
+
+    // Weights for each strategy
+    private static final double SKILL_WEIGHT = 0.5;
+    private static final double EXPERIENCE_WEIGHT = 0.3;
+    private static final double LOCATION_WEIGHT = 0.2;
+
+    private final SkillTaxonomyService skillTaxonomyService;
+
+    @Autowired
+    public JobMatchScorer(SkillTaxonomyService skillTaxonomyService) {
+        this.skillTaxonomyService = skillTaxonomyService;
+    }
+
+    /**
+     * Skill set of a job, computed once when scoring many candidates against it
+     */
+    public SkillSet jobSkills(Job job) {
+        return skillTaxonomyService.skillSetOf(job);
+    }
+
+    /**
+     * Scores of one candidate profile (null if the candidate has none) against a job
+     */
+    public MatchScore score(ATSProfile profile, Job job) {
+        return score(profile, job, jobSkills(job));
+    }
+
+    public MatchScore score(ATSProfile profile, Job job, SkillSet jobSkills) {
+        double skillScore = calculateSkillMatchScore(profile, jobSkills);
+        double experienceScore = calculateExperienceMatchScore(profile, job);
+        double locationScore = calculateLocationMatchScore(job);
+
+        double overall = (skillScore * SKILL_WEIGHT) +
+                         (experienceScore * EXPERIENCE_WEIGHT) +
+                         (locationScore * LOCATION_WEIGHT);
+        return new MatchScore(overall, skillScore, experienceScore, locationScore);
+    }
+
+    public String generateMatchExplanation(MatchScore score) {
+        StringBuilder explanation = new StringBuilder();
+        explanation.append("Análisis de compatibilidad:\n");
+
+        // Skills explanation
+        if (score.skillScore() >= 0.8) {
+            explanation.append("- Excelente coincidencia de habilidades\n");
+        } else if (score.skillScore() >= 0.6) {
+            explanation.append("- Buena coincidencia de habilidades\n");
+        } else if (score.skillScore() >= 0.3) {
+            explanation.append("- Coincidencia parcial de habilidades\n");
+        } else {
+            explanation.append("- Pocas habilidades coincidentes\n");
+        }
+
+        // Experience explanation
+        if (score.experienceScore() >= 0.8) {
+            explanation.append("- Experiencia muy adecuada para el puesto\n");
+        } else if (score.experienceScore() >= 0.6) {
+            explanation.append("- Experiencia adecuada para el puesto\n");
+        } else {
+            explanation.append("- Experiencia limitada para el puesto\n");
+        }
+
+        explanation.append(String.format("Score general: %.2f", score.overall()));
+        return explanation.toString();
+    }
+
+    public List<String> findMatchedSkills(ATSProfile profile, Job job) {
+        List<String> matched = new ArrayList<>();
+        if (profile == null || job.getSkills() == null) {
+            return matched;
+        }
+        SkillSet candidateSkills = skillTaxonomyService.skillSetOf(profile);
+        for (String jobSkill : job.getSkills()) {
+            if (candidateSkills.contains(skillTaxonomyService.lookup(jobSkill))) {
+                matched.add(jobSkill);
+            }
+        }
+        return matched;
+    }
+
+    public record MatchScore(double overall, double skillScore, double experienceScore, double locationScore) {}
+
+    // Skill-based strategy
+    private double calculateSkillMatchScore(ATSProfile profile, SkillSet jobSkills) {
+        if (profile == null || profile.getSkills().isEmpty()) {
+            return 0.0;
+        }
+        if (jobSkills.isEmpty()) {
+            return 0.5; // Neutral score if job doesn't specify skills
+        }
+
+        // Share of the job's skills the candidate has: AND + popcount over the two bitsets
+        return jobSkills.coveredBy(skillTaxonomyService.skillSetOf(profile));
+    }
+
+    // Experience-based strategy
+    private double calculateExperienceMatchScore(ATSProfile profile, Job job) {
+        if (profile == null || profile.getExperience().isEmpty()) {
+            return 0.2; // Low score if no experience registered
+        }
+
+        // Calculate total years of experience
+        int totalYearsOfExperience = 0;
+        for (Experience exp : profile.getExperience()) {
+            totalYearsOfExperience += yearsOf(exp);
+        }
+
+        // Evaluate experience based on job type
+        return switch (job.getType()) {
+            case INTERNSHIP -> totalYearsOfExperience >= 0 ? 0.9 : 0.5;
+            case FULL_TIME -> {
+                if (totalYearsOfExperience >= 5) yield 0.9;
+                else if (totalYearsOfExperience >= 2) yield 0.7;
+                else if (totalYearsOfExperience >= 1) yield 0.5;
+                else yield 0.3;
+            }
+            case PART_TIME, CONTRACT -> totalYearsOfExperience >= 1 ? 0.8 : 0.6;
+        };
+    }
+
+    // Location-based strategy
+    private double calculateLocationMatchScore(Job job) {
+        // Simple strategy - in production would be more sophisticated
+        if (job.getLocation() == null || job.getLocation().toLowerCase().contains("remoto")) {
+            return 1.0; // Remote work always matches
+        }
+
+        // For simplicity, we assume perfect or no match
+        // In production would use geolocation
+        return 0.7; // Default score for location
+    }
+
+    private static int yearsOf(Experience exp) {
+        try {
+            if (exp.getStartDate() == null) return 0;
+            // Parse YYYY-MM format to LocalDate (use first day of month)
+            LocalDate startDate = LocalDate.parse(exp.getStartDate() + "-01");
+            LocalDate endDate = exp.getEndDate() != null ?
+                LocalDate.parse(exp.getEndDate() + "-01") : LocalDate.now();
+            return Period.between(startDate, endDate).getYears();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
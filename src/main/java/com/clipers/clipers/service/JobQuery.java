@@ -0,0 +1,225 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Job;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builder Pattern: composable job search. Every setter ignores null/blank input, so callers can pass
+ * request parameters straight through and only the supplied predicates end up in the query.
+ *
+ * The predicates are shaped for the compound indexes declared on {@link Job}: isActive and type are
+ * equality matches, location is an exact or anchored prefix match on the normalized locationKey,
+ * and the default sort is createdAt descending. Free-text search and location "contains" stay
+ * unanchored regexes and rely on the other predicates to narrow the scan.
+ */
+public class JobQuery {
+
+    public enum SortOrder {
+        NEWEST(Sort.by(Sort.Direction.DESC, "createdAt")),
+        OLDEST(Sort.by(Sort.Direction.ASC, "createdAt")),
+        SALARY_HIGH(Sort.by(Sort.Direction.DESC, "salaryMax")),
+        SALARY_LOW(Sort.by(Sort.Direction.ASC, "salaryMin"));
+
+        private final Sort sort;
+
+        SortOrder(Sort sort) {
+            // _id as tie-breaker keeps skip/limit pagination stable
+            this.sort = sort.and(Sort.by(Sort.Direction.DESC, "_id"));
+        }
+
+        public Sort getSort() { return sort; }
+
+        /**
+         * "salary_high", "SALARY-HIGH", ... -> SALARY_HIGH; null/blank -> NEWEST
+         */
+        public static SortOrder parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NEWEST;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Orden no válido: " + value);
+            }
+        }
+    }
+
+    // Fields a client-supplied Sort may use
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "salaryMin", "salaryMax", "title");
+
+    private final List<Criteria> predicates = new ArrayList<>();
+    private final List<String> shape = new ArrayList<>();
+    private SortOrder sortOrder = SortOrder.NEWEST;
+    private Sort requestedSort;
+
+    private JobQuery() {}
+
+    public static JobQuery activeJobs() {
+        JobQuery query = new JobQuery();
+        query.predicates.add(Criteria.where("isActive").is(true));
+        return query;
+    }
+
+    public JobQuery company(String companyId) {
+        if (companyId != null && !companyId.isBlank()) {
+            add("company", Criteria.where("companyId").is(companyId));
+        }
+        return this;
+    }
+
+    public JobQuery type(Job.JobType type) {
+        if (type != null) {
+            // Stored as the enum name; the raw string keeps explain() working without the query mapper
+            add("type", Criteria.where("type").is(type.name()));
+        }
+        return this;
+    }
+
+    /**
+     * Prefix match on the normalized location: "lima" finds "Lima, Perú"
+     */
+    public JobQuery locationPrefix(String location) {
+        String key = Job.locationKeyOf(location);
+        if (key != null) {
+            // Case-sensitive anchored regex on the lowercased key: Mongo turns it into an index range
+            add("locationPrefix", Criteria.where("locationKey").regex("^" + escapeRegex(key)));
+        }
+        return this;
+    }
+
+    /**
+     * Substring match on the normalized location: "peru" finds "Lima, Perú" (case and accents are
+     * folded into locationKey, so no case-insensitive flag is needed)
+     */
+    public JobQuery locationContains(String location) {
+        String key = Job.locationKeyOf(location);
+        if (key != null) {
+            add("locationContains", Criteria.where("locationKey").regex(escapeRegex(key)));
+        }
+        return this;
+    }
+
+    /**
+     * Location predicate by the locationMatch request parameter: "exact", "contains", otherwise prefix
+     */
+    public JobQuery location(String location, String match) {
+        if ("exact".equalsIgnoreCase(match)) {
+            return locationExact(location);
+        }
+        if ("contains".equalsIgnoreCase(match)) {
+            return locationContains(location);
+        }
+        return locationPrefix(location);
+    }
+
+    /**
+     * Exact match on the normalized location (e.g. a value picked from the location facet)
+     */
+    public JobQuery locationExact(String location) {
+        String key = Job.locationKeyOf(location);
+        if (key != null) {
+            add("location", Criteria.where("locationKey").is(key));
+        }
+        return this;
+    }
+
+    /**
+     * Jobs whose range lies inside [minSalary, maxSalary]; either bound may be omitted
+     */
+    public JobQuery salary(Integer minSalary, Integer maxSalary) {
+        if (minSalary != null) {
+            add("salaryMin", Criteria.where("salaryMin").gte(minSalary));
+        }
+        if (maxSalary != null) {
+            add("salaryMax", Criteria.where("salaryMax").lte(maxSalary));
+        }
+        return this;
+    }
+
+    /**
+     * Jobs listing every one of the given canonical skills (SkillTaxonomyService ids, so any alias matches);
+     * an unknown skill (-1) matches no job
+     */
+    public JobQuery skillIds(List<Integer> skillIds) {
+        if (skillIds != null && !skillIds.isEmpty()) {
+            add("skills", Criteria.where("skillIds").all(skillIds));
+        }
+        return this;
+    }
+
+    public JobQuery search(String text) {
+        if (text != null && !text.isBlank()) {
+            String pattern = escapeRegex(text.trim());
+            add("search", new Criteria().orOperator(
+                    Criteria.where("title").regex(pattern, "i"),
+                    Criteria.where("description").regex(pattern, "i")));
+        }
+        return this;
+    }
+
+    public JobQuery sort(SortOrder sortOrder) {
+        if (sortOrder != null) {
+            this.sortOrder = sortOrder;
+        }
+        return this;
+    }
+
+    /**
+     * Client-supplied sort, e.g. a Pageable's sort=salaryMax,desc; replaces the SortOrder when sorted.
+     * Only {@link #SORTABLE_FIELDS} are accepted.
+     */
+    public JobQuery sort(Sort sort) {
+        if (sort != null && sort.isSorted()) {
+            for (Sort.Order order : sort) {
+                if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                    throw new IllegalArgumentException("Orden no válido: " + order.getProperty());
+                }
+            }
+            this.requestedSort = sort.and(Sort.by(Sort.Direction.DESC, "_id"));
+        }
+        return this;
+    }
+
+    /**
+     * The filter alone (no sort or paging), as used for counting
+     */
+    public Query toQuery() {
+        return new Query(new Criteria().andOperator(predicates.toArray(new Criteria[0])));
+    }
+
+    public Sort getSort() {
+        return requestedSort != null ? requestedSort : sortOrder.getSort();
+    }
+
+    /**
+     * Which predicates are present, e.g. "type+locationPrefix/NEWEST" ("/CUSTOM" for a client sort);
+     * the label metrics and explain output use
+     */
+    public String getShape() {
+        return (shape.isEmpty() ? "all" : String.join("+", shape)) + "/" + (requestedSort != null ? "CUSTOM" : sortOrder);
+    }
+
+    private void add(String name, Criteria criteria) {
+        predicates.add(criteria);
+        shape.add(name);
+    }
+
+    private static String escapeRegex(String literal) {
+        // Backslash-escaped punctuation (rather than \Q..\E) keeps the regex a "simple prefix" for the planner
+        StringBuilder escaped = new StringBuilder(literal.length() + 8);
+        for (char c : literal.toCharArray()) {
+            if (!Character.isLetterOrDigit(c) && c != ' ') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,215 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.JobFacetsDTO;
+import com.clipers.clipers.entity.Job;
+import com.mongodb.ExplainVerbosity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@link JobQuery} searches on MongoTemplate, timed per query shape (clipers.jobs.search{shape}),
+ * and explains/benchmarks them for the admin endpoints.
+ */
+@Service
+public class JobQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobQueryService.class);
+
+    private static final int BACKFILL_BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final JobFacetService jobFacetService;
+    private final SkillTaxonomyService skillTaxonomyService;
+
+    @Autowired
+    public JobQueryService(MongoTemplate mongoTemplate, MeterRegistry meterRegistry, JobFacetService jobFacetService,
+                           SkillTaxonomyService skillTaxonomyService) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.jobFacetService = jobFacetService;
+        this.skillTaxonomyService = skillTaxonomyService;
+    }
+
+    public Page<Job> find(JobQuery jobQuery, Pageable pageable) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Query query = jobQuery.toQuery()
+                    .with(jobQuery.getSort())
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize());
+            List<Job> jobs = mongoTemplate.find(query, Job.class);
+            // The count is skipped when the page itself tells the total (first page short, or last page)
+            return PageableExecutionUtils.getPage(jobs, pageable, () -> mongoTemplate.count(jobQuery.toQuery(), Job.class));
+        } finally {
+            sample.stop(Timer.builder("clipers.jobs.search")
+                    .description("Job searches by query shape")
+                    .tag("shape", jobQuery.getShape())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Winning plan of the first page of the query: indexes used, keys and documents examined
+     */
+    public Map<String, Object> explain(JobQuery jobQuery, int pageSize) {
+        Document sort = new Query().with(jobQuery.getSort()).getSortObject();
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Job.class))
+                .find(jobQuery.toQuery().getQueryObject())
+                .sort(sort)
+                .limit(pageSize)
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        Document stats = explain.get("executionStats", Document.class);
+
+        List<String> stages = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        collectStages(winningPlan, stages, indexes);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("shape", jobQuery.getShape());
+        result.put("filter", jobQuery.toQuery().getQueryObject().toJson());
+        result.put("sort", sort.toJson());
+        result.put("stages", stages);
+        result.put("indexes", indexes);
+        result.put("inMemorySort", stages.contains("SORT"));
+        result.put("nReturned", stats.get("nReturned"));
+        result.put("totalKeysExamined", stats.get("totalKeysExamined"));
+        result.put("totalDocsExamined", stats.get("totalDocsExamined"));
+        result.put("executionTimeMillis", stats.get("executionTimeMillis"));
+        return result;
+    }
+
+    /**
+     * Query-shape benchmark: the filter combinations the job search UI produces, with values taken from
+     * the current facets, each explained once and then run {@code runs} times (first page of 10, count included)
+     */
+    public List<Map<String, Object>> benchmark(int runs) {
+        JobFacetsDTO facets = jobFacetService.getFacets();
+        String location = first(facets.getLocations());
+        String skill = first(facets.getSkills());
+        Job.JobType type = facets.getTypes().isEmpty() ? Job.JobType.FULL_TIME
+                : Job.JobType.valueOf(facets.getTypes().get(0).getValue());
+        Integer salary = facets.getSalaryBands().stream()
+                .map(JobFacetsDTO.SalaryBand::getMin)
+                .filter(min -> min != null && min > 0)
+                .findFirst()
+                .orElse(null);
+        String locationPrefix = location != null ? location.substring(0, Math.min(3, location.length())) : null;
+
+        List<JobQuery> shapes = List.of(
+                JobQuery.activeJobs(),
+                JobQuery.activeJobs().type(type),
+                JobQuery.activeJobs().locationExact(location),
+                JobQuery.activeJobs().locationPrefix(locationPrefix),
+                JobQuery.activeJobs().type(type).locationPrefix(locationPrefix),
+                JobQuery.activeJobs().salary(salary, null),
+                JobQuery.activeJobs().type(type).salary(salary, null).sort(JobQuery.SortOrder.SALARY_HIGH),
+                JobQuery.activeJobs().skillIds(skill != null ? List.of(skillTaxonomyService.lookup(skill)) : null),
+                JobQuery.activeJobs().search(skill));
+
+        Pageable firstPage = PageRequest.of(0, 10);
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (JobQuery shape : shapes) {
+            Map<String, Object> result = explain(shape, firstPage.getPageSize());
+            long[] nanos = new long[Math.max(1, runs)];
+            for (int i = 0; i < nanos.length; i++) {
+                long start = System.nanoTime();
+                find(shape, firstPage);
+                nanos[i] = System.nanoTime() - start;
+            }
+            result.put("latencyMs", latencySummary(nanos));
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Fills locationKey on jobs stored before it existed; a no-op once every job has one
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLocationKeys() {
+        try {
+            Query missing = new Query(Criteria.where("locationKey").exists(false).and("location").ne(null));
+            missing.fields().include("location");
+            missing.limit(BACKFILL_BATCH);
+
+            long updated = 0;
+            List<Job> batch;
+            while (!(batch = mongoTemplate.find(missing, Job.class)).isEmpty()) {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+                for (Job job : batch) {
+                    // Blank locations get an explicit null so they leave the "missing" set
+                    bulk.updateOne(new Query(Criteria.where("_id").is(job.getId())),
+                            new Update().set("locationKey", Job.locationKeyOf(job.getLocation())));
+                }
+                updated += bulk.execute().getModifiedCount();
+            }
+            if (updated > 0) {
+                logger.info("Backfilled locationKey on {} jobs", updated);
+            }
+        } catch (Exception e) {
+            // Location filters miss the affected jobs until the next start; nothing else depends on it
+            logger.error("locationKey backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static String first(List<JobFacetsDTO.FacetCount> counts) {
+        return counts.isEmpty() ? null : counts.get(0).getValue();
+    }
+
+    private static Map<String, Object> latencySummary(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mean", Arrays.stream(sorted).average().orElse(0) / 1_000_000.0);
+        summary.put("p50", sorted[sorted.length / 2] / 1_000_000.0);
+        summary.put("p95", sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)] / 1_000_000.0);
+        summary.put("max", sorted[sorted.length - 1] / 1_000_000.0);
+        return summary;
+    }
+
+    private static void collectStages(Document plan, List<String> stages, List<String> indexes) {
+        if (plan == null) {
+            return;
+        }
+        // SBE plans wrap the classic tree in queryPlan
+        if (plan.containsKey("queryPlan")) {
+            collectStages(plan.get("queryPlan", Document.class), stages, indexes);
+            return;
+        }
+        if (plan.getString("stage") != null) {
+            stages.add(plan.getString("stage"));
+        }
+        if (plan.getString("indexName") != null) {
+            indexes.add(plan.getString("indexName"));
+        }
+        collectStages(plan.get("inputStage", Document.class), stages, indexes);
+        for (Document input : plan.getList("inputStages", Document.class, List.of())) {
+            collectStages(input, stages, indexes);
+        }
+    }
+}
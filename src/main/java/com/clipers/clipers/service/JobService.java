@@ -2,14 +2,15 @@ package com.clipers.clipers.service;
 
 import com.clipers.clipers.entity.*;
 import com.clipers.clipers.repository.*;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.time.Period;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,14 +20,22 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Observed(name = "clipers.service")
 public class JobService {
 
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
     private final JobRepository jobRepository;
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
     private final JobMatchRepository jobMatchRepository;
     private final ATSProfileRepository atsProfileRepository;
     private final NotificationService notificationService;
+    private final JobMatchScorer jobMatchScorer;
+    private final EntityCacheService entityCache;
+    private final JobFacetService jobFacetService;
+    private final JobQueryService jobQueryService;
+    private final TechnicalTestTemplateService technicalTestTemplateService;
 
     @Autowired
     public JobService(JobRepository jobRepository,
@@ -34,13 +43,23 @@ public class JobService {
                      UserRepository userRepository,
                      JobMatchRepository jobMatchRepository,
                      ATSProfileRepository atsProfileRepository,
-                     NotificationService notificationService) {
+                     NotificationService notificationService,
+                     JobMatchScorer jobMatchScorer,
+                     EntityCacheService entityCache,
+                     JobFacetService jobFacetService,
+                     JobQueryService jobQueryService,
+                     TechnicalTestTemplateService technicalTestTemplateService) {
         this.atsProfileRepository = atsProfileRepository;
         this.jobRepository = jobRepository;
         this.companyRepository = companyRepository;
         this.userRepository = userRepository;
         this.jobMatchRepository = jobMatchRepository;
         this.notificationService = notificationService;
+        this.jobMatchScorer = jobMatchScorer;
+        this.entityCache = entityCache;
+        this.jobFacetService = jobFacetService;
+        this.jobQueryService = jobQueryService;
+        this.technicalTestTemplateService = technicalTestTemplateService;
     }
 
     public Job createJob(String companyUserId, String title, String description, 
@@ -57,6 +76,9 @@ public class JobService {
         job.setSalaryMax(salaryMax);
 
         job = jobRepository.save(job);
+        jobFacetService.markStale();
+        // Technical test ready before the first candidate is shortlisted
+        technicalTestTemplateService.prewarm(job);
 
         // Execute automatic matching with candidates
         performAutomaticMatching(job);
@@ -73,15 +95,26 @@ public class JobService {
         new Thread(() -> {
             try {
                 List<User> candidates = userRepository.findCandidatesWithATSProfile();
+
+                // One query for every candidate's profile instead of one per strategy and candidate
+                Map<String, ATSProfile> profiles = new HashMap<>();
+                for (ATSProfile profile : atsProfileRepository.findByUserIdIn(
+                        candidates.stream().map(User::getId).collect(Collectors.toList()))) {
+                    profiles.putIfAbsent(profile.getUserId(), profile);
+                }
+                SkillSet jobSkills = jobMatchScorer.jobSkills(job);
                 
                 for (User candidate : candidates) {
+                    ATSProfile profile = profiles.get(candidate.getId());
+
                     // Apply multiple matching strategies
-                    double overallScore = calculateOverallMatchScore(candidate, job);
+                    JobMatchScorer.MatchScore score = jobMatchScorer.score(profile, job, jobSkills);
+                    double overallScore = score.overall();
                     
                     // Only create match if score is significant
                     if (overallScore >= 0.3) {
-                        String explanation = generateMatchExplanation(candidate, job, overallScore);
-                        List<String> matchedSkills = findMatchedSkills(candidate, job);
+                        String explanation = jobMatchScorer.generateMatchExplanation(score);
+                        List<String> matchedSkills = jobMatchScorer.findMatchedSkills(profile, job);
                         
                         JobMatch jobMatch = new JobMatch(job.getId(), candidate.getId(), overallScore, explanation);
                         jobMatch.setMatchedSkills(matchedSkills);
@@ -94,155 +127,11 @@ public class JobService {
                     }
                 }
             } catch (Exception e) {
-                System.err.println("Error en matching automático para job " + job.getId() + ": " + e.getMessage());
+                logger.warn("Error en matching automático para job {}: {}", job.getId(), e.getMessage());
             }
         }).start();
     }
 
-    // Strategy Pattern - combines multiple strategies
-    private double calculateOverallMatchScore(User candidate, Job job) {
-        double skillScore = calculateSkillMatchScore(candidate, job);
-        double experienceScore = calculateExperienceMatchScore(candidate, job);
-        double locationScore = calculateLocationMatchScore(candidate, job);
-        
-        // Weights for each strategy
-        double skillWeight = 0.5;
-        double experienceWeight = 0.3;
-        double locationWeight = 0.2;
-        
-        return (skillScore * skillWeight) + 
-               (experienceScore * experienceWeight) + 
-               (locationScore * locationWeight);
-    }
-
-    // Skill-based strategy
-    private double calculateSkillMatchScore(User candidate, Job job) {
-        Optional<ATSProfile> atsProfileOpt = atsProfileRepository.findByUserId(candidate.getId());
-        if (atsProfileOpt.isEmpty() || atsProfileOpt.get().getSkills().isEmpty()) {
-            return 0.0;
-        }
-
-        ATSProfile atsProfile = atsProfileOpt.get();
-        Set<String> candidateSkills = atsProfile.getSkills()
-                .stream()
-                .map(skill -> skill.getName().toLowerCase())
-                .collect(Collectors.toSet());
-
-        Set<String> jobSkills = job.getSkills()
-                .stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-
-        if (jobSkills.isEmpty()) {
-            return 0.5; // Neutral score if job doesn't specify skills
-        }
-
-        // Calculate intersection
-        Set<String> commonSkills = new HashSet<>(candidateSkills);
-        commonSkills.retainAll(jobSkills);
-
-        return (double) commonSkills.size() / jobSkills.size();
-    }
-
-    // Experience-based strategy
-    private double calculateExperienceMatchScore(User candidate, Job job) {
-        Optional<ATSProfile> atsProfileOpt = atsProfileRepository.findByUserId(candidate.getId());
-        if (atsProfileOpt.isEmpty() || atsProfileOpt.get().getExperience().isEmpty()) {
-            return 0.2; // Low score if no experience registered
-        }
-
-        ATSProfile atsProfile = atsProfileOpt.get();
-        // Calculate total years of experience
-        int totalYearsOfExperience = atsProfile.getExperience()
-                .stream()
-                .mapToInt(exp -> {
-                    try {
-                        if (exp.getStartDate() == null) return 0;
-                        // Parse YYYY-MM format to LocalDate (use first day of month)
-                        LocalDate startDate = LocalDate.parse(exp.getStartDate() + "-01");
-                        LocalDate endDate = exp.getEndDate() != null ? 
-                            LocalDate.parse(exp.getEndDate() + "-01") : LocalDate.now();
-                        return Period.between(startDate, endDate).getYears();
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                })
-                .sum();
-
-        // Evaluate experience based on job type
-        return switch (job.getType()) {
-            case INTERNSHIP -> totalYearsOfExperience >= 0 ? 0.9 : 0.5;
-            case FULL_TIME -> {
-                if (totalYearsOfExperience >= 5) yield 0.9;
-                else if (totalYearsOfExperience >= 2) yield 0.7;
-                else if (totalYearsOfExperience >= 1) yield 0.5;
-                else yield 0.3;
-            }
-            case PART_TIME, CONTRACT -> totalYearsOfExperience >= 1 ? 0.8 : 0.6;
-        };
-    }
-
-    // Location-based strategy
-    private double calculateLocationMatchScore(User candidate, Job job) {
-        // Simple strategy - in production would be more sophisticated
-        if (job.getLocation() == null || job.getLocation().toLowerCase().contains("remoto")) {
-            return 1.0; // Remote work always matches
-        }
-        
-        // For simplicity, we assume perfect or no match
-        // In production would use geolocation
-        return 0.7; // Default score for location
-    }
-
-    private String generateMatchExplanation(User candidate, Job job, double overallScore) {
-        StringBuilder explanation = new StringBuilder();
-        explanation.append("Análisis de compatibilidad:\n");
-        
-        double skillScore = calculateSkillMatchScore(candidate, job);
-        double experienceScore = calculateExperienceMatchScore(candidate, job);
-        
-        // Skills explanation
-        if (skillScore >= 0.8) {
-            explanation.append("- Excelente coincidencia de habilidades\n");
-        } else if (skillScore >= 0.6) {
-            explanation.append("- Buena coincidencia de habilidades\n");
-        } else if (skillScore >= 0.3) {
-            explanation.append("- Coincidencia parcial de habilidades\n");
-        } else {
-            explanation.append("- Pocas habilidades coincidentes\n");
-        }
-        
-        // Experience explanation
-        if (experienceScore >= 0.8) {
-            explanation.append("- Experiencia muy adecuada para el puesto\n");
-        } else if (experienceScore >= 0.6) {
-            explanation.append("- Experiencia adecuada para el puesto\n");
-        } else {
-            explanation.append("- Experiencia limitada para el puesto\n");
-        }
-        
-        explanation.append(String.format("Score general: %.2f", overallScore));
-        return explanation.toString();
-    }
-
-    private List<String> findMatchedSkills(User candidate, Job job) {
-        Optional<ATSProfile> atsProfileOpt = atsProfileRepository.findByUserId(candidate.getId());
-        if (atsProfileOpt.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        ATSProfile atsProfile = atsProfileOpt.get();
-        Set<String> candidateSkills = atsProfile.getSkills()
-                .stream()
-                .map(skill -> skill.getName().toLowerCase())
-                .collect(Collectors.toSet());
-
-        return job.getSkills()
-                .stream()
-                .filter(jobSkill -> candidateSkills.contains(jobSkill.toLowerCase()))
-                .collect(Collectors.toList());
-    }
-
     // Standard CRUD methods
     public Optional<Job> findById(String id) {
         return jobRepository.findById(id);
@@ -257,12 +146,20 @@ public class JobService {
     }
 
     public Page<Job> searchActiveJobs(String query, Pageable pageable) {
-        return jobRepository.searchActiveJobs(query, pageable);
+        return findJobs(JobQuery.activeJobs().search(query).sort(pageable.getSort()), pageable);
     }
 
     public Page<Job> findJobsWithFilters(Job.JobType type, String location, 
                                         Integer minSalary, Integer maxSalary, Pageable pageable) {
-        return jobRepository.findJobsWithFilters(type, location, minSalary, maxSalary, pageable);
+        return findJobs(JobQuery.activeJobs()
+                .type(type)
+                .locationPrefix(location)
+                .salary(minSalary, maxSalary)
+                .sort(pageable.getSort()), pageable);
+    }
+
+    public Page<Job> findJobs(JobQuery query, Pageable pageable) {
+        return jobQueryService.find(query, pageable);
     }
 
     public List<Job> findBySkill(String skill) {
@@ -285,7 +182,12 @@ public class JobService {
         job.setSalaryMin(salaryMin);
         job.setSalaryMax(salaryMax);
 
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        entityCache.putJob(saved);
+        jobFacetService.markStale();
+        // No-op unless the edit touched what the test is generated from
+        technicalTestTemplateService.prewarm(saved);
+        return saved;
     }
 
     public void deactivateJob(String jobId) {
@@ -293,7 +195,8 @@ public class JobService {
                 .orElseThrow(() -> new RuntimeException("Empleo no encontrado"));
         
         job.setIsActive(false);
-        jobRepository.save(job);
+        entityCache.putJob(jobRepository.save(job));
+        jobFacetService.markStale();
     }
 
     public void deleteJob(String jobId) {
@@ -301,6 +204,9 @@ public class JobService {
             throw new RuntimeException("Empleo no encontrado");
         }
         jobRepository.deleteById(jobId);
+        entityCache.invalidateJob(jobId);
+        jobFacetService.markStale();
+        technicalTestTemplateService.deleteForJob(jobId);
     }
 
     public List<JobMatch> getMatchesForUser(String userId) {
@@ -312,11 +218,11 @@ public class JobService {
     }
 
     public List<String> getAllJobLocations() {
-        return jobRepository.findAllActiveJobLocations()
-                .stream()
-                .map(Job::getLocation)
-                .distinct()
-                .collect(Collectors.toList());
+        return jobFacetService.getLocations();
+    }
+
+    public com.clipers.clipers.dto.JobFacetsDTO getJobFacets() {
+        return jobFacetService.getFacets();
     }
 
     public int populateSampleJobs(String companyUserId) {
@@ -439,6 +345,7 @@ public class JobService {
 
         // Save all jobs
         jobRepository.saveAll(sampleJobs);
+        jobFacetService.markStale();
 
         // Execute automatic matching for each job
         sampleJobs.forEach(this::performAutomaticMatching);
@@ -523,11 +430,10 @@ public class JobService {
 
     // Helper methods for DTOs
     public List<com.clipers.clipers.dto.JobDTO> convertJobsToDTO(List<Job> jobs) {
+        // One batch lookup per page; listings share a handful of companies, mostly served from the cache
+        Map<String, Company> companies = entityCache.getCompanies(jobs.stream().map(Job::getCompanyId).toList());
         return jobs.stream()
-                .map(job -> {
-                    Company company = companyRepository.findById(job.getCompanyId()).orElse(null);
-                    return new com.clipers.clipers.dto.JobDTO(job, company);
-                })
+                .map(job -> new com.clipers.clipers.dto.JobDTO(job, companies.get(job.getCompanyId())))
                 .collect(Collectors.toList());
     }
 
@@ -537,8 +443,8 @@ public class JobService {
                     com.clipers.clipers.dto.JobApplicationDTO dto = new com.clipers.clipers.dto.JobApplicationDTO(app);
                     
                     // Populate job info
-                    jobRepository.findById(app.getJobId()).ifPresent(job -> {
-                        Company company = companyRepository.findById(job.getCompanyId()).orElse(null);
+                    entityCache.getJob(app.getJobId()).ifPresent(job -> {
+                        Company company = entityCache.getCompany(job.getCompanyId()).orElse(null);
                         dto.setJob(new com.clipers.clipers.dto.JobDTO(job, company));
                     });
                     
@@ -0,0 +1,65 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.PostLike;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * "Did this viewer like it?" for a whole page of cards in one query, evaluated inside Mongo
+ * so the like arrays / like documents themselves never leave the database.
+ */
+@Service
+public class LikeStateService {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public LikeStateService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Subset of postIds liked by the viewer: {userId, postId: {$in}} on post_likes, answered from
+     * user_post_idx alone (only postId is returned)
+     */
+    public Set<String> likedPostIds(String viewerId, Collection<String> postIds) {
+        if (viewerId == null || postIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Query query = new Query(Criteria.where("userId").is(viewerId).and("postId").in(postIds));
+        query.fields().include("postId").exclude("_id");
+
+        Set<String> liked = new HashSet<>();
+        for (Document like : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(PostLike.class))) {
+            liked.add(like.getString("postId"));
+        }
+        return liked;
+    }
+
+    /**
+     * Subset of cliperIds whose embedded likedBy contains the viewer; only _id comes back
+     */
+    public Set<String> likedCliperIds(String viewerId, Collection<String> cliperIds) {
+        if (viewerId == null || cliperIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Query query = new Query(Criteria.where("_id").in(cliperIds).and("likedBy").is(viewerId));
+        query.fields().include("_id");
+
+        Set<String> liked = new HashSet<>();
+        for (Cliper cliper : mongoTemplate.find(query, Cliper.class)) {
+            liked.add(cliper.getId());
+        }
+        return liked;
+    }
+}
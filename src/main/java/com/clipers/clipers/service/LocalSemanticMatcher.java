@@ -0,0 +1,503 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.matching.BatchMatchResponseDTO;
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.dto.matching.EducationDTO;
+import com.clipers.clipers.dto.matching.ExperienceDTO;
+import com.clipers.clipers.dto.matching.ExplainMatchResponseDTO;
+import com.clipers.clipers.dto.matching.JobDTO;
+import com.clipers.clipers.dto.matching.MatchBreakdownDTO;
+import com.clipers.clipers.dto.matching.RankedMatchResultDTO;
+import com.clipers.clipers.dto.matching.SingleMatchResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-JVM matcher used when the Python AI service is disabled or unavailable.
+ *
+ * Texts are embedded with the hashing trick (word unigrams, bigrams and character trigrams folded
+ * into a fixed-size signed float[] and L2-normalized), so there is no vocabulary to train or store.
+ * Semantic similarity is a plain dot product over primitive arrays; skills, experience, education
+ * and location are scored separately and combined with fixed weights into the same MatchBreakdownDTO
+ * shape. The scores are not on the AI service's scale, which is why fallback results are tagged.
+ */
+@Component
+public class LocalSemanticMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSemanticMatcher.class);
+
+    private static final int MIN_DIMENSIONS = 64;
+    private static final int MAX_DIMENSIONS = 1 << 20;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_TOKEN = Pattern.compile("[^a-z0-9+#]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "with", "we", "you", "our", "your",
+            "el", "la", "los", "las", "un", "una", "y", "o", "de", "del", "en", "con", "para", "por", "que",
+            "se", "su", "sus", "al", "lo", "como", "es", "son", "mas", "muy");
+
+    private static final float BIGRAM_WEIGHT = 0.7f;
+    private static final float TRIGRAM_WEIGHT = 0.3f;
+
+    // Weights of the overall local score
+    private static final double SKILLS_WEIGHT = 0.40;
+    private static final double SEMANTIC_WEIGHT = 0.25;
+    private static final double EXPERIENCE_WEIGHT = 0.20;
+    private static final double EDUCATION_WEIGHT = 0.10;
+    private static final double LOCATION_WEIGHT = 0.05;
+
+    private static final int MAX_RECOMMENDATIONS = 3;
+    private static final int TOP_SKILLS = 10;
+
+    private static final String EXPLANATION_PREFIX = "AI service unavailable - local semantic matching: ";
+
+    private final int dimensions;
+    private final int mask;
+
+    public LocalSemanticMatcher(@Value("${ai.matching.local.dimensions:1024}") int dimensions) {
+        if (dimensions < MIN_DIMENSIONS || dimensions > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("ai.matching.local.dimensions debe estar entre "
+                    + MIN_DIMENSIONS + " y " + MAX_DIMENSIONS + ": " + dimensions);
+        }
+        // Power of two so the bucket is a mask instead of a modulo; rounded up, never down
+        this.dimensions = Integer.bitCount(dimensions) == 1 ? dimensions : Integer.highestOneBit(dimensions) << 1;
+        this.mask = this.dimensions - 1;
+        if (this.dimensions != dimensions) {
+            logger.warn("ai.matching.local.dimensions={} is not a power of two; using {}", dimensions, this.dimensions);
+        } else {
+            logger.info("Local semantic matcher using {} dimensions", this.dimensions);
+        }
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    // ---------------------------------------------------------------- vectors
+
+    public float[] jobVector(JobDTO job) {
+        float[] vector = new float[dimensions];
+        // The title says more about the role than any other sentence of the description
+        addText(vector, job.getTitle(), 2.0f);
+        addText(vector, job.getDescription(), 1.0f);
+        addAll(vector, job.getSkills(), 1.5f);
+        addAll(vector, job.getRequirements(), 1.0f);
+        return normalize(vector);
+    }
+
+    public float[] candidateVector(CandidateDTO candidate) {
+        float[] vector = new float[dimensions];
+        addText(vector, candidate.getSummary(), 1.0f);
+        addAll(vector, candidate.getSkills(), 1.5f);
+        if (candidate.getExperience() != null) {
+            for (ExperienceDTO experience : candidate.getExperience()) {
+                addText(vector, experience.getPosition(), 1.5f);
+                addText(vector, experience.getDescription(), 1.0f);
+            }
+        }
+        if (candidate.getEducation() != null) {
+            for (EducationDTO education : candidate.getEducation()) {
+                addText(vector, education.getDegree(), 0.5f);
+                addText(vector, education.getField(), 0.5f);
+            }
+        }
+        return normalize(vector);
+    }
+
+    /**
+     * Embedding of arbitrary text (already L2-normalized)
+     */
+    public float[] vectorize(String text) {
+        float[] vector = new float[dimensions];
+        addText(vector, text, 1.0f);
+        return normalize(vector);
+    }
+
+    /**
+     * Dot product; on normalized vectors this is the cosine similarity.
+     * Four independent accumulators keep the loop free of a serial dependency so the JIT can vectorize it.
+     */
+    public static float dot(float[] a, float[] b) {
+        int length = Math.min(a.length, b.length);
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // ---------------------------------------------------------------- scoring
+
+    /**
+     * Scores of one candidate against a job whose vector was computed once by the caller
+     */
+    public Score score(CandidateDTO candidate, JobDTO job, float[] jobVector) {
+        Score score = new Score();
+
+        // Skills: required skills found among the candidate's skills (or, failing that, anywhere in the profile)
+        Set<String> candidateSkills = new HashSet<>();
+        if (candidate.getSkills() != null) {
+            for (String skill : candidate.getSkills()) {
+                candidateSkills.add(normalizeTerm(skill));
+            }
+        }
+        Set<String> profileTokens = null;
+        List<String> jobSkills = job.getSkills() != null ? job.getSkills() : List.of();
+        for (String skill : jobSkills) {
+            String term = normalizeTerm(skill);
+            if (term.isEmpty()) {
+                continue;
+            }
+            boolean found = candidateSkills.contains(term);
+            if (!found) {
+                if (profileTokens == null) {
+                    profileTokens = profileTokens(candidate);
+                }
+                found = profileTokens.containsAll(tokens(term));
+            }
+            (found ? score.matchedSkills : score.missingSkills).add(skill);
+        }
+
+        float semantic = Math.max(0f, dot(candidateVector(candidate), jobVector));
+        // Hashed-feature cosines of related texts sit well below 1; the square root spreads them over [0, 1]
+        score.semantic = Math.sqrt(semantic);
+
+        int required = score.matchedSkills.size() + score.missingSkills.size();
+        score.skills = required > 0 ? (double) score.matchedSkills.size() / required : score.semantic;
+
+        double years = candidate.getExperienceYears() != null ? candidate.getExperienceYears() : 0.0;
+        Double minYears = job.getMinExperienceYears();
+        score.experience = minYears != null && minYears > 0
+                ? Math.min(1.0, years / minYears)
+                : Math.min(1.0, 0.5 + years / 10.0);
+
+        score.education = educationScore(candidate, jobVector);
+        score.location = locationScore(candidate.getLocation(), job.getLocation());
+
+        score.total = clamp(SKILLS_WEIGHT * score.skills
+                + SEMANTIC_WEIGHT * score.semantic
+                + EXPERIENCE_WEIGHT * score.experience
+                + EDUCATION_WEIGHT * score.education
+                + LOCATION_WEIGHT * score.location);
+        return score;
+    }
+
+    public SingleMatchResponseDTO matchSingle(CandidateDTO candidate, JobDTO job) {
+        Score score = score(candidate, job, jobVector(job));
+
+        SingleMatchResponseDTO response = new SingleMatchResponseDTO();
+        response.setCandidateId(candidate.getId());
+        response.setCandidateName(candidate.getName());
+        response.setJobId(job.getId());
+        response.setCompatibilityScore(round(score.total));
+        response.setMatchPercentage(percentage(score.total));
+        response.setBreakdown(score.breakdown());
+        response.setMatchedSkills(score.matchedSkills);
+        response.setMissingSkills(score.missingSkills);
+        response.setExplanation(explanation(score));
+        response.setRecommendations(recommendations(score));
+        response.setMatchQuality(quality(score.total));
+        return response;
+    }
+
+    public BatchMatchResponseDTO matchBatch(List<CandidateDTO> candidates, JobDTO job) {
+        float[] jobVector = jobVector(job);
+
+        List<RankedMatchResultDTO> matches = new ArrayList<>(candidates.size());
+        double scoreSum = 0.0;
+        Map<String, Integer> skillFrequency = new HashMap<>();
+        for (CandidateDTO candidate : candidates) {
+            Score score = score(candidate, job, jobVector);
+
+            RankedMatchResultDTO match = new RankedMatchResultDTO();
+            match.setCandidateId(candidate.getId());
+            match.setCandidateName(candidate.getName());
+            match.setCompatibilityScore(round(score.total));
+            match.setMatchPercentage(percentage(score.total));
+            match.setBreakdown(score.breakdown());
+            match.setMatchedSkills(score.matchedSkills);
+            match.setMissingSkills(score.missingSkills);
+            match.setExplanation(explanation(score));
+            match.setRecommendations(recommendations(score));
+            match.setMatchQuality(quality(score.total));
+            matches.add(match);
+
+            scoreSum += score.total;
+            score.matchedSkills.forEach(skill -> skillFrequency.merge(skill, 1, Integer::sum));
+        }
+
+        matches.sort(Comparator.comparingDouble(RankedMatchResultDTO::getCompatibilityScore).reversed()
+                .thenComparing(m -> m.getCandidateId() != null ? m.getCandidateId() : ""));
+        for (int i = 0; i < matches.size(); i++) {
+            matches.get(i).setRank(i + 1);
+        }
+
+        BatchMatchResponseDTO response = new BatchMatchResponseDTO();
+        response.setJobId(job.getId());
+        response.setJobTitle(job.getTitle());
+        response.setTotalCandidates(candidates.size());
+        response.setAverageScore(matches.isEmpty() ? 0.0 : round(scoreSum / matches.size()));
+        response.setMatches(matches);
+        response.setTopSkillsMatched(skillFrequency.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_SKILLS)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    public ExplainMatchResponseDTO explain(CandidateDTO candidate, JobDTO job, boolean includeSuggestions) {
+        Score score = score(candidate, job, jobVector(job));
+
+        Map<String, String> analysis = new LinkedHashMap<>();
+        analysis.put("skills", score.matchedSkills.size() + " of " + (score.matchedSkills.size() + score.missingSkills.size())
+                + " required skills found");
+        analysis.put("experience", String.format(Locale.ROOT, "%.1f years (required: %s)",
+                candidate.getExperienceYears() != null ? candidate.getExperienceYears() : 0.0,
+                job.getMinExperienceYears() != null ? job.getMinExperienceYears() : "not specified"));
+        analysis.put("education", candidate.getEducation() != null && !candidate.getEducation().isEmpty()
+                ? candidate.getEducation().size() + " education entries" : "No education listed");
+        analysis.put("semantic", String.format(Locale.ROOT, "Profile/job text similarity %.0f%%", score.semantic * 100));
+
+        List<String> strengths = new ArrayList<>();
+        List<String> weaknesses = new ArrayList<>();
+        classify(strengths, weaknesses, score.skills, "Required skills coverage");
+        classify(strengths, weaknesses, score.experience, "Experience level");
+        classify(strengths, weaknesses, score.education, "Education background");
+        classify(strengths, weaknesses, score.semantic, "Profile relevance to the role");
+
+        ExplainMatchResponseDTO response = new ExplainMatchResponseDTO();
+        response.setCandidateId(candidate.getId());
+        response.setJobId(job.getId());
+        response.setCompatibilityScore(round(score.total));
+        response.setMatchPercentage(percentage(score.total));
+        response.setBreakdown(score.breakdown());
+        response.setDetailedAnalysis(analysis);
+        response.setStrengths(strengths);
+        response.setWeaknesses(weaknesses);
+        response.setSuggestions(includeSuggestions ? recommendations(score) : new ArrayList<>());
+        response.setDecisionRecommendation(decision(score.total));
+        return response;
+    }
+
+    /**
+     * Per-dimension scores of one candidate/job pair
+     */
+    public static final class Score {
+        private double skills;
+        private double experience;
+        private double education;
+        private double semantic;
+        private double location;
+        private double total;
+        private final List<String> matchedSkills = new ArrayList<>();
+        private final List<String> missingSkills = new ArrayList<>();
+
+        public double getTotal() { return total; }
+        public double getSemantic() { return semantic; }
+        public List<String> getMatchedSkills() { return matchedSkills; }
+        public List<String> getMissingSkills() { return missingSkills; }
+
+        MatchBreakdownDTO breakdown() {
+            return new MatchBreakdownDTO(round(skills), round(experience), round(education), round(semantic), round(location));
+        }
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    private double educationScore(CandidateDTO candidate, float[] jobVector) {
+        if (candidate.getEducation() == null || candidate.getEducation().isEmpty()) {
+            return 0.3;
+        }
+        float[] vector = new float[dimensions];
+        for (EducationDTO education : candidate.getEducation()) {
+            addText(vector, education.getDegree(), 1.0f);
+            addText(vector, education.getField(), 1.0f);
+        }
+        normalize(vector);
+        return clamp(0.6 + 0.4 * Math.sqrt(Math.max(0f, dot(vector, jobVector))));
+    }
+
+    private static double locationScore(String candidateLocation, String jobLocation) {
+        String candidate = normalizeTerm(candidateLocation);
+        String job = normalizeTerm(jobLocation);
+        if (candidate.isEmpty() || job.isEmpty()) {
+            return 0.5;
+        }
+        if (job.contains("remot")) {
+            return 1.0;
+        }
+        return candidate.contains(job) || job.contains(candidate) ? 1.0 : 0.3;
+    }
+
+    private Set<String> profileTokens(CandidateDTO candidate) {
+        Set<String> tokens = new HashSet<>(tokens(normalizeTerm(candidate.getSummary())));
+        if (candidate.getSkills() != null) {
+            candidate.getSkills().forEach(skill -> tokens.addAll(tokens(normalizeTerm(skill))));
+        }
+        if (candidate.getExperience() != null) {
+            for (ExperienceDTO experience : candidate.getExperience()) {
+                tokens.addAll(tokens(normalizeTerm(experience.getPosition())));
+                tokens.addAll(tokens(normalizeTerm(experience.getDescription())));
+            }
+        }
+        return tokens;
+    }
+
+    private void addAll(float[] vector, List<String> texts, float weight) {
+        if (texts != null) {
+            for (String text : texts) {
+                addText(vector, text, weight);
+            }
+        }
+    }
+
+    private void addText(float[] vector, String text, float weight) {
+        List<String> tokens = tokens(normalizeTerm(text));
+        String previous = null;
+        for (String token : tokens) {
+            if (STOPWORDS.contains(token)) {
+                previous = null;
+                continue;
+            }
+            addFeature(vector, token, weight);
+            if (previous != null) {
+                addFeature(vector, previous + ' ' + token, weight * BIGRAM_WEIGHT);
+            }
+            // Character trigrams make "developer"/"desarrollador"-style variants and typos overlap partially
+            if (token.length() > 3) {
+                String padded = '<' + token + '>';
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    addFeature(vector, padded.substring(i, i + 3), weight * TRIGRAM_WEIGHT);
+                }
+            }
+            previous = token;
+        }
+    }
+
+    private void addFeature(float[] vector, String feature, float weight) {
+        int hash = mix(feature.hashCode());
+        // Sign from the top bit, which the mask never covers, so collisions cancel out on average
+        vector[hash & mask] += hash >= 0 ? weight : -weight;
+    }
+
+    private static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, vector));
+        if (norm > 0f) {
+            float inverse = 1f / norm;
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inverse;
+            }
+        }
+        return vector;
+    }
+
+    private static int mix(int h) {
+        // murmur3 finalizer: spreads String.hashCode over all bits
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static String normalizeTerm(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("").trim();
+    }
+
+    private static List<String> tokens(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return tokens;
+        }
+        for (String token : NON_TOKEN.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String explanation(Score score) {
+        int required = score.matchedSkills.size() + score.missingSkills.size();
+        return EXPLANATION_PREFIX
+                + (required > 0 ? score.matchedSkills.size() + "/" + required + " required skills, " : "")
+                + String.format(Locale.ROOT, "%.0f%% profile relevance", score.semantic * 100);
+    }
+
+    private static List<String> recommendations(Score score) {
+        List<String> recommendations = new ArrayList<>();
+        for (String skill : score.missingSkills) {
+            if (recommendations.size() >= MAX_RECOMMENDATIONS) {
+                break;
+            }
+            recommendations.add("Develop or highlight experience with " + skill);
+        }
+        if (score.semantic < 0.4) {
+            recommendations.add("Align the profile summary and experience descriptions with the role");
+        }
+        return recommendations;
+    }
+
+    private static void classify(List<String> strengths, List<String> weaknesses, double value, String label) {
+        if (value >= 0.7) {
+            strengths.add(label);
+        } else if (value < 0.4) {
+            weaknesses.add(label);
+        }
+    }
+
+    private static String quality(double score) {
+        if (score >= 0.8) return "excellent";
+        if (score >= 0.65) return "good";
+        if (score >= 0.45) return "medium";
+        return "poor";
+    }
+
+    private static String decision(double score) {
+        if (score >= 0.75) return "Strong match (local estimate) - recommend interview";
+        if (score >= 0.5) return "Possible match (local estimate) - manual review recommended";
+        return "Weak match (local estimate) - not recommended";
+    }
+
+    private static int percentage(double score) {
+        return (int) Math.round(score * 100);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+}
@@ -1,29 +1,92 @@
 package com.clipers.clipers.service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 
+import com.clipers.clipers.entity.Notification;
 import com.clipers.clipers.entity.User;
+import com.clipers.clipers.repository.NotificationRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 /**
  * Servicio que implementa Observer Pattern implícitamente
- * para el sistema de notificaciones
+ * para el sistema de notificaciones.
+ *
+ * Los productores solo publican: cada canal (email, in-app, push, stream) tiene su propio
+ * buffer acotado y un hilo consumidor que drena por lotes, agrupa eventos similares
+ * ("12 personas...") y entrega el lote completo al handler. Si un buffer está lleno
+ * el evento se descarta y se contabiliza; nunca se bloquea al llamador.
  */
 @Service
-public class NotificationService {
+public class NotificationService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
-    // List of observers (different notification types)
-    private final List<NotificationHandler> handlers;
+    private final MongoTemplate mongoTemplate;
+    private final NotificationRepository notificationRepository;
+    private final SseConnectionRegistry sseConnectionRegistry;
 
-    public NotificationService() {
-        this.handlers = new ArrayList<>();
+    // List of observers (different notification types), one dispatcher per channel
+    private final List<ChannelDispatcher> dispatchers;
+
+    @Autowired
+    public NotificationService(MongoTemplate mongoTemplate,
+                               NotificationRepository notificationRepository,
+                               SseConnectionRegistry sseConnectionRegistry,
+                               @Value("${notifications.queue-capacity:4096}") int queueCapacity,
+                               @Value("${notifications.batch-size:200}") int batchSize,
+                               @Value("${notifications.linger-ms:200}") long lingerMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.notificationRepository = notificationRepository;
+        this.sseConnectionRegistry = sseConnectionRegistry;
+        this.dispatchers = new ArrayList<>();
         // Registrar diferentes tipos de manejadores
-        this.handlers.add(new EmailNotificationHandler());
-        this.handlers.add(new InAppNotificationHandler());
-        this.handlers.add(new PushNotificationHandler());
+        this.dispatchers.add(new ChannelDispatcher(new EmailNotificationHandler(), queueCapacity, batchSize, lingerMs));
+        this.dispatchers.add(new ChannelDispatcher(new InAppNotificationHandler(), queueCapacity, batchSize, lingerMs));
+        this.dispatchers.add(new ChannelDispatcher(new PushNotificationHandler(), queueCapacity, batchSize, lingerMs));
+        this.dispatchers.add(new ChannelDispatcher(new StreamNotificationHandler(), queueCapacity, batchSize, lingerMs));
+    }
+
+    @PostConstruct
+    public void startDispatchers() {
+        dispatchers.forEach(ChannelDispatcher::start);
+    }
+
+    @PreDestroy
+    public void stopDispatchers() {
+        // Deja que cada consumidor vacíe su buffer antes de apagar
+        dispatchers.forEach(ChannelDispatcher::stop);
     }
 
     // Observer pattern - notificar a todos los observadores
@@ -111,57 +174,418 @@ public class NotificationService {
     }
 
     private void notifyAllHandlers(NotificationEvent event) {
-        for (NotificationHandler handler : handlers) {
+        for (ChannelDispatcher dispatcher : dispatchers) {
+            dispatcher.publish(event);
+        }
+    }
+
+    // ===== Inbox (lectura) =====
+
+    /**
+     * Página de la bandeja, más recientes primero.
+     * Se pagina por createdAt, que no cambia: una notificación agrupada que sigue recibiendo eventos
+     * actualiza updatedAt sin moverse entre páginas (ni repetirse ni saltarse).
+     * El cursor es opaco para el cliente: "<createdAtEpochMillis>_<id>" del último elemento recibido.
+     * Devuelve hasta size + 1 elementos para que el llamador sepa si hay más.
+     */
+    public List<Notification> getInbox(String userId, String cursor, int size, boolean unreadOnly) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (unreadOnly) {
+            criteria = criteria.and("read").is(false);
+        }
+
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.indexOf('_');
+            if (separator <= 0) {
+                throw new RuntimeException("Cursor inválido");
+            }
+            LocalDateTime createdAt;
             try {
-                handler.handle(event);
-            } catch (Exception e) {
-                System.err.println("Error en handler de notificaciones: " + e.getMessage());
+                createdAt = fromEpochMillis(Long.parseLong(cursor.substring(0, separator)));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Cursor inválido", e);
             }
+            String lastId = cursor.substring(separator + 1);
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(createdAt),
+                    Criteria.where("createdAt").is(createdAt).and("_id").lt(lastId)
+            ));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .limit(size + 1);
+
+        List<Notification> notifications = mongoTemplate.find(query, Notification.class);
+        notifications.forEach(n -> n.setMessage(render(n.getType(), n.getCount(), n.getMessage())));
+        return notifications;
+    }
+
+    public String cursorOf(Notification notification) {
+        return toEpochMillis(notification.getCreatedAt()) + "_" + notification.getId();
+    }
+
+    public long countUnread(String userId) {
+        return notificationRepository.countByUserIdAndReadFalse(userId);
+    }
+
+    public boolean markAsRead(String userId, String notificationId) {
+        Query query = new Query(Criteria.where("_id").is(notificationId).and("userId").is(userId));
+        return mongoTemplate.updateFirst(query, new Update().set("read", true), Notification.class).getMatchedCount() > 0;
+    }
+
+    public long markAllAsRead(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("read").is(false));
+        return mongoTemplate.updateMulti(query, new Update().set("read", true), Notification.class).getModifiedCount();
+    }
+
+    /**
+     * Estadísticas por canal: publicados, descartados por buffer lleno, entregados y lotes fallidos
+     */
+    public Map<String, Map<String, Long>> getChannelStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        for (ChannelDispatcher dispatcher : dispatchers) {
+            stats.put(dispatcher.handler.channel(), dispatcher.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Profundidad de cada buffer y contadores por canal (tag channel)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        dispatchers.forEach(dispatcher -> dispatcher.bindTo(registry));
+    }
+
+    // Texto final; los eventos agrupados se describen por cantidad
+    private static String render(String type, int count, String message) {
+        if (count <= 1) {
+            return message;
+        }
+        if (NotificationEvent.EventType.POST_LIKED.name().equals(type)) {
+            return "A " + count + " personas les gustó tu publicación";
         }
+        if (NotificationEvent.EventType.POST_COMMENTED.name().equals(type)) {
+            return count + " nuevos comentarios en tu publicación";
+        }
+        return message;
+    }
+
+    private static boolean isCoalescable(NotificationEvent event) {
+        return event.getUserId() != null && event.getEntityId() != null
+                && (event.getType() == NotificationEvent.EventType.POST_LIKED
+                    || event.getType() == NotificationEvent.EventType.POST_COMMENTED);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
     }
 
-    // Interfaz para los manejadores de notificaciones
+    // Interfaz para los manejadores de notificaciones (reciben lotes ya agrupados)
     private interface NotificationHandler {
-        void handle(NotificationEvent event);
+        String channel();
+        void handleBatch(List<CoalescedNotification> batch);
     }
 
     // Implementaciones concretas de los manejadores (Observer pattern)
     private static class EmailNotificationHandler implements NotificationHandler {
         @Override
-        public void handle(NotificationEvent event) {
+        public String channel() { return "email"; }
+
+        @Override
+        public void handleBatch(List<CoalescedNotification> batch) {
             // Simulate email sending
-            System.out.println(String.format(
-                "📧 EMAIL para usuario %s: %s [%s]", 
-                event.getUserId(), 
-                event.getMessage(),
-                event.getType()
-            ));
+            for (CoalescedNotification notification : batch) {
+                logger.debug("EMAIL para usuario {}: {} [{}] x{}", notification.getUserId(),
+                        notification.getMessage(), notification.getType(), notification.getCount());
+            }
         }
     }
 
-    private static class InAppNotificationHandler implements NotificationHandler {
+    private class InAppNotificationHandler implements NotificationHandler {
         @Override
-        public void handle(NotificationEvent event) {
-            // Simulate in-app notification
-            System.out.println(String.format(
-                "🔔 IN-APP NOTIFICATION para usuario %s: %s [%s]", 
-                event.getUserId(), 
-                event.getMessage(),
-                event.getType()
-            ));
+        public String channel() { return "in-app"; }
+
+        @Override
+        public void handleBatch(List<CoalescedNotification> batch) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class);
+            // Upserts por índice de operación del bulk (null para los inserts), para reintentar los que choquen
+            List<Pair<Query, Update>> operations = new ArrayList<>(batch.size());
+
+            for (CoalescedNotification notification : batch) {
+                if (notification.getUserId() == null) {
+                    continue; // Sin destinatario no hay bandeja donde guardarlo
+                }
+
+                if (isCoalescable(notification.first)) {
+                    // Acumula sobre la notificación no leída existente o crea una nueva (índice único coalesce_key_idx)
+                    Query query = new Query(Criteria.where("userId").is(notification.getUserId())
+                            .and("type").is(notification.getType().name())
+                            .and("entityId").is(notification.first.getEntityId())
+                            .and("read").is(false)
+                            .and("coalesced").is(true));
+                    Update update = new Update()
+                            .inc("count", notification.getCount())
+                            .set("message", notification.first.getMessage())
+                            .set("updatedAt", notification.lastTimestamp)
+                            .setOnInsert("createdAt", notification.first.getTimestamp());
+                    update.push("actorIds").slice(-Notification.MAX_ACTORS).each(notification.actorIds.toArray());
+                    bulk.upsert(query, update);
+                    operations.add(Pair.of(query, update));
+                } else {
+                    Notification entity = new Notification();
+                    entity.setUserId(notification.getUserId());
+                    entity.setType(notification.getType().name());
+                    entity.setEntityId(notification.first.getEntityId());
+                    entity.setActorIds(new ArrayList<>(notification.actorIds));
+                    entity.setCount(notification.getCount());
+                    entity.setMessage(notification.getMessage());
+                    entity.setCreatedAt(notification.first.getTimestamp());
+                    entity.setUpdatedAt(notification.lastTimestamp);
+                    bulk.insert(entity);
+                    operations.add(null);
+                }
+            }
+
+            if (operations.isEmpty()) {
+                return;
+            }
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                retryLostUpserts(e, operations);
+            }
+        }
+
+        /**
+         * Dos upserts simultáneos de la misma clave (p. ej. desde otra instancia) chocan con el índice único;
+         * el que pierde se repite y entonces acumula sobre el documento que creó el otro.
+         */
+        private void retryLostUpserts(BulkOperationException e, List<Pair<Query, Update>> operations) {
+            List<Pair<Query, Update>> retries = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                Pair<Query, Update> upsert = operations.get(error.getIndex());
+                if (upsert == null || ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                retries.add(upsert);
+            }
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class).upsert(retries).execute();
         }
     }
 
     private static class PushNotificationHandler implements NotificationHandler {
         @Override
-        public void handle(NotificationEvent event) {
+        public String channel() { return "push"; }
+
+        @Override
+        public void handleBatch(List<CoalescedNotification> batch) {
             // Simular push notification
-            System.out.println(String.format(
-                "📱 PUSH NOTIFICATION para usuario %s: %s [%s]", 
-                event.getUserId(), 
-                event.getMessage(),
-                event.getType()
-            ));
+            for (CoalescedNotification notification : batch) {
+                logger.debug("PUSH NOTIFICATION para usuario {}: {} [{}] x{}", notification.getUserId(),
+                        notification.getMessage(), notification.getType(), notification.getCount());
+            }
+        }
+    }
+
+    // Envío en tiempo real a los clientes conectados por SSE (/api/stream/notifications)
+    private class StreamNotificationHandler implements NotificationHandler {
+        @Override
+        public String channel() { return "stream"; }
+
+        @Override
+        public void handleBatch(List<CoalescedNotification> batch) {
+            for (CoalescedNotification notification : batch) {
+                if (notification.getUserId() == null || !sseConnectionRegistry.isConnected(notification.getUserId())) {
+                    continue;
+                }
+                Map<String, Object> payload = new LinkedHashMap<>();
+                payload.put("type", notification.getType().name());
+                payload.put("entityId", notification.first.getEntityId());
+                payload.put("message", notification.getMessage());
+                payload.put("count", notification.getCount());
+                payload.put("actorIds", notification.actorIds);
+                payload.put("timestamp", notification.lastTimestamp);
+                sseConnectionRegistry.push(notification.getUserId(), notification.getType().name(), payload);
+            }
+        }
+    }
+
+    /**
+     * Uno o más eventos equivalentes (mismo destinatario, tipo y entidad) agrupados dentro de un lote
+     */
+    private static final class CoalescedNotification {
+        private final NotificationEvent first;
+        private final List<String> actorIds = new ArrayList<>();
+        private int count;
+        private LocalDateTime lastTimestamp;
+
+        CoalescedNotification(NotificationEvent event) {
+            this.first = event;
+            add(event);
+        }
+
+        void add(NotificationEvent event) {
+            count++;
+            lastTimestamp = event.getTimestamp();
+            if (event.getActorId() != null && !actorIds.contains(event.getActorId())) {
+                actorIds.add(event.getActorId());
+            }
+        }
+
+        String getUserId() { return first.getUserId(); }
+        NotificationEvent.EventType getType() { return first.getType(); }
+        int getCount() { return count; }
+
+        String getMessage() {
+            return render(first.getType().name(), count, first.getMessage());
+        }
+    }
+
+    /**
+     * Buffer circular acotado + hilo consumidor de un canal.
+     * publish() usa offer(): si el buffer está lleno el evento se descarta y se cuenta.
+     */
+    private static final class ChannelDispatcher implements Runnable {
+        private final NotificationHandler handler;
+        private final BlockingQueue<NotificationEvent> buffer;
+        private final int batchSize;
+        private final long lingerMs;
+
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failedBatches = new AtomicLong();
+
+        private volatile boolean running;
+        private Thread worker;
+
+        ChannelDispatcher(NotificationHandler handler, int capacity, int batchSize, long lingerMs) {
+            this.handler = handler;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+            this.batchSize = Math.max(1, batchSize);
+            this.lingerMs = Math.max(0, lingerMs);
+        }
+
+        void start() {
+            running = true;
+            worker = new Thread(this, "notifications-" + handler.channel());
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        void stop() {
+            running = false;
+            if (worker != null) {
+                try {
+                    worker.join(5000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void publish(NotificationEvent event) {
+            if (buffer.offer(event)) {
+                published.incrementAndGet();
+            } else if (dropped.incrementAndGet() % 1000 == 1) {
+                logger.warn("Buffer de notificaciones '{}' lleno, eventos descartados: {}", handler.channel(), dropped.get());
+            }
+        }
+
+        @Override
+        public void run() {
+            List<NotificationEvent> batch = new ArrayList<>(batchSize);
+            while (running || !buffer.isEmpty()) {
+                try {
+                    NotificationEvent first = buffer.poll(500, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() < batchSize && lingerMs > 0 && running) {
+                        // Espera breve para agrupar ráfagas (likes seguidos, etc.)
+                        Thread.sleep(lingerMs);
+                        buffer.drainTo(batch, batchSize - batch.size());
+                    }
+                    dispatch(batch);
+                } catch (InterruptedException e) {
+                    // Apagado forzado: lo ya drenado y lo que quede en el buffer se entrega sin volver a esperar
+                    running = false;
+                    buffer.drainTo(batch);
+                    for (int from = 0; from < batch.size(); from += batchSize) {
+                        dispatch(batch.subList(from, Math.min(from + batchSize, batch.size())));
+                    }
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void dispatch(List<NotificationEvent> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                handler.handleBatch(coalesce(batch));
+                delivered.addAndGet(batch.size());
+            } catch (Exception e) {
+                failedBatches.incrementAndGet();
+                logger.error("Error en handler de notificaciones '{}' ({} eventos): {}",
+                        handler.channel(), batch.size(), e.getMessage(), e);
+            }
+        }
+
+        private static List<CoalescedNotification> coalesce(List<NotificationEvent> batch) {
+            Map<String, CoalescedNotification> grouped = new LinkedHashMap<>();
+            int sequence = 0;
+            for (NotificationEvent event : batch) {
+                String key = isCoalescable(event)
+                        ? event.getUserId() + '|' + event.getType() + '|' + event.getEntityId()
+                        : "#" + (sequence++);
+                CoalescedNotification existing = grouped.get(key);
+                if (existing == null) {
+                    grouped.put(key, new CoalescedNotification(event));
+                } else {
+                    existing.add(event);
+                }
+            }
+            return new ArrayList<>(grouped.values());
+        }
+
+        Map<String, Long> stats() {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("published", published.get());
+            stats.put("dropped", dropped.get());
+            stats.put("delivered", delivered.get());
+            stats.put("failedBatches", failedBatches.get());
+            stats.put("queued", (long) buffer.size());
+            stats.put("capacity", (long) (buffer.size() + buffer.remainingCapacity()));
+            return stats;
+        }
+
+        void bindTo(MeterRegistry registry) {
+            String channel = handler.channel();
+            Gauge.builder("clipers.notifications.queue.size", buffer, BlockingQueue::size)
+                    .tag("channel", channel).description("Eventos en el buffer").register(registry);
+            Gauge.builder("clipers.notifications.queue.remaining", buffer, BlockingQueue::remainingCapacity)
+                    .tag("channel", channel).register(registry);
+            FunctionCounter.builder("clipers.notifications.events", published, AtomicLong::get)
+                    .tag("channel", channel).tag("outcome", "published").register(registry);
+            FunctionCounter.builder("clipers.notifications.events", dropped, AtomicLong::get)
+                    .tag("channel", channel).tag("outcome", "dropped").register(registry);
+            FunctionCounter.builder("clipers.notifications.events", delivered, AtomicLong::get)
+                    .tag("channel", channel).tag("outcome", "delivered").register(registry);
+            FunctionCounter.builder("clipers.notifications.failed.batches", failedBatches, AtomicLong::get)
+                    .tag("channel", channel).register(registry);
         }
     }
 
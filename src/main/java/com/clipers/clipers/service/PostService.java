@@ -8,6 +8,7 @@ import com.clipers.clipers.repository.CommentRepository;
 import com.clipers.clipers.repository.PostLikeRepository;
 import com.clipers.clipers.repository.PostRepository;
 import com.clipers.clipers.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +23,7 @@ import java.util.Optional;
  * Coordinates interactions between posts, comments and likes
  */
 @Service
+@Observed(name = "clipers.service")
 public class PostService {
 
     private final PostRepository postRepository;
@@ -153,17 +155,6 @@ public class PostService {
         return postRepository.findById(id);
     }
 
-    public Page<Post> getFeed(Pageable pageable) {
-        Page<Post> posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
-        // Populate user information for each post
-        posts.forEach(post -> {
-            userRepository.findById(post.getUserId()).ifPresent(user -> {
-                post.setUser(user);
-            });
-        });
-        return posts;
-    }
-
     public List<Post> findByUserId(String userId) {
         return postRepository.findByUserId(userId);
     }
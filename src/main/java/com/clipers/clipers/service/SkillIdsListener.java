@@ -0,0 +1,27 @@
+package com.clipers.clipers.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observer Pattern implicitly: stores canonical skill ids next to the skill strings of jobs, ATS profiles
+ * and clipers on every repository/MongoTemplate save or insert, so readers never re-derive them.
+ * Field-level updates ($set/$push on skills) bypass this and must set skillIds themselves.
+ */
+@Component
+public class SkillIdsListener extends AbstractMongoEventListener<Object> {
+
+    private final SkillTaxonomyService skillTaxonomyService;
+
+    @Autowired
+    public SkillIdsListener(SkillTaxonomyService skillTaxonomyService) {
+        this.skillTaxonomyService = skillTaxonomyService;
+    }
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Object> event) {
+        skillTaxonomyService.assignIds(event.getSource());
+    }
+}
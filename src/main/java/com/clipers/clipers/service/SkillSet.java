@@ -0,0 +1,135 @@
+package com.clipers.clipers.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of canonical skill ids (see {@link SkillTaxonomyService}) packed into a bitset:
+ * bit i of word i / 64 is set when skill i is present. Intersections and Jaccard similarity are
+ * word-wise ANDs/ORs and popcounts; no hashing, no allocation.
+ */
+public final class SkillSet {
+
+    public static final SkillSet EMPTY = new SkillSet(new long[0], 0);
+
+    private final long[] words;
+    private final int size;
+
+    private SkillSet(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Negative ids (unknown skills) are ignored
+     */
+    public static SkillSet of(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return EMPTY;
+        }
+        int max = -1;
+        for (Integer id : ids) {
+            if (id != null && id > max) {
+                max = id;
+            }
+        }
+        if (max < 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (Integer id : ids) {
+            if (id != null && id >= 0) {
+                words[id >>> 6] |= 1L << id;
+            }
+        }
+        return new SkillSet(words, popcount(words, words.length));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    public int intersectionSize(SkillSet other) {
+        int common = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < common; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * |A ∩ B| / |A ∪ B|; 0 when both sets are empty
+     */
+    public double jaccard(SkillSet other) {
+        int intersection = intersectionSize(other);
+        int union = size + other.size - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+
+    /**
+     * Share of this set also present in {@code other} (|A ∩ B| / |A|); 0 when this set is empty
+     */
+    public double coveredBy(SkillSet other) {
+        return size == 0 ? 0.0 : (double) intersectionSize(other) / size;
+    }
+
+    public int[] toArray() {
+        int[] ids = new int[size];
+        int n = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                ids[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SkillSet other)) return false;
+        int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            if (words[i] != other.words[i]) return false;
+        }
+        long[] longer = words.length > other.words.length ? words : other.words;
+        for (int i = common; i < longer.length; i++) {
+            if (longer[i] != 0) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int last = words.length;
+        while (last > 0 && words[last - 1] == 0) {
+            last--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, last));
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private static int popcount(long[] words, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+}
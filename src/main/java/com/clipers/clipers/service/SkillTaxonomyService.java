@@ -0,0 +1,485 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.entity.SkillDictionaryEntry;
+import com.clipers.clipers.repository.SkillDictionaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Skill dictionary: maps every spelling of a skill ("JS", "Javascript", "JavaScript") to one canonical
+ * dense integer id, persisted in skill_dictionary so ids are shared by every instance and never change.
+ *
+ * Seeded from skill-taxonomy.txt; skills not in the seed get a fresh id the first time they are written
+ * (job, profile and cliper saves). Reads and scoring only look ids up in memory and never register;
+ * the dictionary is reloaded periodically to pick up skills other instances registered. Jobs, ATS profiles and clipers store the
+ * ids next to the strings (SkillIdsListener) so scoring works on {@link SkillSet} bitsets.
+ */
+@Service
+public class SkillTaxonomyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillTaxonomyService.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int REGISTER_ATTEMPTS = 5;
+    private static final int BACKFILL_BATCH = 500;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // What the Unicode path turns each Latin-1 letter U+00C0..U+00FF into ('Í' -> 'i', 'ñ' -> 'n')
+    private static final char[] LATIN1_LETTERS = latin1Letters();
+
+    private final SkillDictionaryRepository skillDictionaryRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Resource seed;
+
+    private final Map<String, Integer> idsByAlias = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private int nextId;
+
+    @Autowired
+    public SkillTaxonomyService(SkillDictionaryRepository skillDictionaryRepository,
+                                MongoTemplate mongoTemplate,
+                                @Value("${skills.taxonomy.seed:classpath:skill-taxonomy.txt}") Resource seed) {
+        this.skillDictionaryRepository = skillDictionaryRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.seed = seed;
+    }
+
+    /**
+     * "  Java Script " -> "java script", "Comunicación" -> "comunicacion"; empty for blank input
+     */
+    public static String normalize(String skill) {
+        if (skill == null) {
+            return "";
+        }
+        String latin1 = normalizeLatin1(skill);
+        return latin1 != null ? latin1 : normalizeUnicode(skill);
+    }
+
+    /**
+     * 64-bit hash of {@link #normalize}(skill) computed without building the normalized string, for
+     * de-duplicating names in bulk. Control characters are ignored.
+     */
+    public static long normalizedHash(String skill) {
+        if (skill == null) {
+            return FNV_OFFSET;
+        }
+        long hash = FNV_OFFSET;
+        boolean pendingSpace = false;
+        boolean empty = true;
+        for (int i = 0; i < skill.length(); i++) {
+            char c = skill.charAt(i);
+            if (isSpace(c)) {
+                pendingSpace = !empty;
+                continue;
+            }
+            if (c < ' ') {
+                continue;
+            }
+            char folded = foldLatin1(c);
+            if (folded == 0) {
+                return hashOf(normalizeUnicode(skill));
+            }
+            if (pendingSpace) {
+                hash = (hash ^ ' ') * FNV_PRIME;
+                pendingSpace = false;
+            }
+            hash = (hash ^ folded) * FNV_PRIME;
+            empty = false;
+        }
+        return hash;
+    }
+
+    private static long hashOf(String normalized) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= ' ') {
+                hash = (hash ^ c) * FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+    private static String normalizeUnicode(String skill) {
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(skill, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Single-pass {@link #normalize} for ASCII plus Latin-1 letters (the common case on the scoring and
+     * merge paths); null when the input needs the full Unicode decomposition
+     */
+    private static String normalizeLatin1(String skill) {
+        char[] normalized = new char[skill.length()];
+        int length = 0;
+        boolean pendingSpace = false;
+        boolean changed = false;
+        for (int i = 0; i < skill.length(); i++) {
+            char c = skill.charAt(i);
+            if (isSpace(c)) {
+                changed |= c != ' ' || pendingSpace || length == 0;
+                pendingSpace = length > 0;
+                continue;
+            }
+            char folded = foldLatin1(c);
+            if (folded == 0) {
+                return null;
+            }
+            if (pendingSpace) {
+                normalized[length++] = ' ';
+                pendingSpace = false;
+            }
+            changed |= folded != c;
+            normalized[length++] = folded;
+        }
+        changed |= pendingSpace;
+        // trim() as in the Unicode path, which also drops control characters at the ends
+        return changed ? new String(normalized, 0, length).trim() : skill.trim();
+    }
+
+    /**
+     * {@link #normalize} of a single character: lowercase ASCII, Latin-1 letters without their accent;
+     * 0 for characters outside Latin-1 letters and ASCII, which need the full Unicode path
+     */
+    static char foldLatin1(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return c >= 0xC0 && c <= 0xFF ? LATIN1_LETTERS[c - 0xC0] : 0;
+    }
+
+    /**
+     * The characters {@code \s} matches in the Unicode path
+     */
+    static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static char[] latin1Letters() {
+        char[] letters = new char[0x100 - 0xC0];
+        for (char c = 0xC0; c <= 0xFF; c++) {
+            // Every letter in the range folds to a single character (× and ÷ are kept as they are)
+            letters[c - 0xC0] = normalizeUnicode(String.valueOf(c)).charAt(0);
+        }
+        return letters;
+    }
+
+    /**
+     * Canonical id of the skill, registering it if it has never been seen; -1 for blank input
+     */
+    public int idOf(String skill) {
+        String alias = normalize(skill);
+        if (alias.isEmpty()) {
+            return -1;
+        }
+        ensureLoaded();
+        Integer id = idsByAlias.get(alias);
+        return id != null ? id : register(skill.trim(), alias);
+    }
+
+    /**
+     * Canonical id without registering; -1 if unknown (e.g. for search filters and scoring)
+     */
+    public int lookup(String skill) {
+        ensureLoaded();
+        return idsByAlias.getOrDefault(normalize(skill), -1);
+    }
+
+    /**
+     * {@link #lookup} for each non-blank skill, keeping -1 for unknown ones
+     */
+    public List<Integer> lookupAll(Collection<String> skills) {
+        List<Integer> ids = new ArrayList<>();
+        if (skills != null) {
+            for (String skill : skills) {
+                if (!normalize(skill).isEmpty()) {
+                    ids.add(lookup(skill));
+                }
+            }
+        }
+        return ids;
+    }
+
+    public String nameOf(int id) {
+        ensureLoaded();
+        return namesById.get(id);
+    }
+
+    /**
+     * Distinct canonical ids of the given skills, in first-seen order, registering unknown ones
+     */
+    public List<Integer> idsOf(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        for (String skill : skills) {
+            int id = idOf(skill);
+            if (id >= 0) {
+                ids.add(id);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * {@link #lookup} of each skill, without registering; unknown skills are left out since no stored
+     * document can have their id
+     */
+    public List<Integer> knownIdsOf(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        for (String skill : skills) {
+            int id = lookup(skill);
+            if (id >= 0) {
+                ids.add(id);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    // Documents not backfilled yet (or read without skillIds) are encoded from their strings, lookup only
+
+    public SkillSet skillSetOf(Job job) {
+        return job.getSkillIds() != null ? SkillSet.of(job.getSkillIds()) : SkillSet.of(knownIdsOf(job.getSkills()));
+    }
+
+    public SkillSet skillSetOf(ATSProfile profile) {
+        return profile.getSkillIds() != null ? SkillSet.of(profile.getSkillIds()) : SkillSet.of(knownIdsOf(namesOf(profile)));
+    }
+
+    public SkillSet skillSetOf(Cliper cliper) {
+        return cliper.getSkillIds() != null ? SkillSet.of(cliper.getSkillIds()) : SkillSet.of(knownIdsOf(cliper.getSkills()));
+    }
+
+    /**
+     * Fills the canonical ids next to the skill strings; called before every save
+     */
+    public void assignIds(Object entity) {
+        if (entity instanceof Job job) {
+            job.setSkillIds(idsOf(job.getSkills()));
+        } else if (entity instanceof ATSProfile profile) {
+            profile.setSkillIds(idsOf(namesOf(profile)));
+        } else if (entity instanceof Cliper cliper) {
+            cliper.setSkillIds(idsOf(cliper.getSkills()));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        ensureLoaded();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("skills", namesById.size());
+        stats.put("aliases", idsByAlias.size());
+        return stats;
+    }
+
+    /**
+     * Stores skill ids on documents written before the taxonomy existed; a no-op once all have them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSkillIds() {
+        try {
+            long updated = backfill(Job.class, "skills", Job::getId, job -> idsOf(job.getSkills()))
+                    + backfill(ATSProfile.class, "skills.name", ATSProfile::getId, profile -> idsOf(namesOf(profile)))
+                    + backfill(Cliper.class, "skills", Cliper::getId, cliper -> idsOf(cliper.getSkills()));
+            if (updated > 0) {
+                logger.info("Backfilled skillIds on {} documents ({} skills in the dictionary)", updated, namesById.size());
+            }
+        } catch (Exception e) {
+            // Scoring falls back to encoding the strings on the fly; only the job skill filter misses them
+            logger.error("skillIds backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private <T> long backfill(Class<T> type, String skillsField, Function<T, String> idOf, Function<T, List<Integer>> ids) {
+        Query missing = new Query(Criteria.where("skillIds").exists(false));
+        missing.fields().include(skillsField);
+        missing.limit(BACKFILL_BATCH);
+
+        long updated = 0;
+        List<T> batch;
+        while (!(batch = mongoTemplate.find(missing, type)).isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            for (T document : batch) {
+                // The exists(false) guard leaves alone documents saved (with fresh ids) since they were read
+                bulk.updateOne(new Query(Criteria.where("_id").is(idOf.apply(document)).and("skillIds").exists(false)),
+                        new Update().set("skillIds", ids.apply(document)));
+            }
+            long modified = bulk.execute().getModifiedCount();
+            if (modified == 0) {
+                break;
+            }
+            updated += modified;
+        }
+        return updated;
+    }
+
+    private static List<String> namesOf(ATSProfile profile) {
+        List<String> names = new ArrayList<>();
+        if (profile.getSkills() != null) {
+            for (Skill skill : profile.getSkills()) {
+                names.add(skill.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Picks up skills and aliases registered by other instances since the last load
+     */
+    @Scheduled(initialDelayString = "${skills.taxonomy.reload-interval-ms:300000}",
+               fixedDelayString = "${skills.taxonomy.reload-interval-ms:300000}")
+    public void refresh() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.warn("Skill taxonomy reload failed: {}", e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                    seed();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    private synchronized void reload() {
+        for (SkillDictionaryEntry entry : skillDictionaryRepository.findAll()) {
+            namesById.put(entry.getId(), entry.getName());
+            for (String alias : entry.getAliases()) {
+                idsByAlias.put(alias, entry.getId());
+            }
+            nextId = Math.max(nextId, entry.getId() + 1);
+        }
+    }
+
+    /**
+     * New id for an unseen skill. Another instance may take the same id or alias concurrently:
+     * the unique indexes reject the loser, which reloads and either finds the alias or tries the next id.
+     */
+    private synchronized int register(String name, String alias) {
+        for (int attempt = 0; attempt < REGISTER_ATTEMPTS; attempt++) {
+            Integer existing = idsByAlias.get(alias);
+            if (existing != null) {
+                return existing;
+            }
+            int id = nextId;
+            try {
+                skillDictionaryRepository.insert(new SkillDictionaryEntry(id, name, new ArrayList<>(List.of(alias))));
+                nextId = id + 1;
+                namesById.put(id, name);
+                idsByAlias.put(alias, id);
+                return id;
+            } catch (DuplicateKeyException e) {
+                reload();
+            }
+        }
+        throw new IllegalStateException("No se pudo registrar la habilidad: " + name);
+    }
+
+    /**
+     * Applies skill-taxonomy.txt: unknown groups become new entries, aliases missing from an existing
+     * entry are added to it, aliases already owned by another entry are left where they are
+     */
+    private void seed() {
+        if (!seed.exists()) {
+            return;
+        }
+        int added = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(seed.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                int separator = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                String name = line.substring(0, separator).trim();
+                LinkedHashSet<String> aliases = new LinkedHashSet<>();
+                aliases.add(normalize(name));
+                for (String alias : line.substring(separator + 1).split(",")) {
+                    if (!normalize(alias).isEmpty()) {
+                        aliases.add(normalize(alias));
+                    }
+                }
+                added += seedGroup(name, aliases);
+            }
+        } catch (IOException e) {
+            logger.warn("Skill taxonomy seed not read: {}", e.getMessage());
+        }
+        if (added > 0) {
+            logger.info("Skill taxonomy seeded: {} aliases added, {} skills in the dictionary", added, namesById.size());
+        }
+    }
+
+    private int seedGroup(String name, Collection<String> aliases) {
+        Integer id = aliases.stream().map(idsByAlias::get).filter(Objects::nonNull).findFirst().orElse(null);
+        if (id == null) {
+            id = register(name, aliases.iterator().next());
+        }
+        int added = 0;
+        for (String alias : aliases) {
+            if (idsByAlias.containsKey(alias)) {
+                continue;
+            }
+            try {
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(id)),
+                        new Update().addToSet("aliases", alias), SkillDictionaryEntry.class);
+                idsByAlias.put(alias, id);
+                added++;
+            } catch (DuplicateKeyException e) {
+                // Taken by another entry in the meantime; that mapping wins
+                reload();
+            }
+        }
+        return added;
+    }
+}
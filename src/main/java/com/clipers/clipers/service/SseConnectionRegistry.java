@@ -0,0 +1,265 @@
+package com.clipers.clipers.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Registry of open Server-Sent Events connections, keyed by user.
+ *
+ * Idle connections cost no thread: they are parked servlet async requests on Tomcat's NIO connector.
+ * Writes go through a small shared sender pool, and each connection has a bounded buffer that drops
+ * the oldest event when a client reads too slowly. Producers (NotificationService) never wait on a socket.
+ */
+@Component
+public class SseConnectionRegistry implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseConnectionRegistry.class);
+
+    private final Map<String, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicLong sentEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong eventSequence = new AtomicLong();
+
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    private final long emitterTimeoutMs;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+
+    public SseConnectionRegistry(@Value("${stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                 @Value("${stream.buffer-size:64}") int bufferSize,
+                                 @Value("${stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                 @Value("${stream.heartbeat-interval-ms:25000}") long heartbeatIntervalMs,
+                                 @Value("${stream.sender-threads:4}") int senderThreads) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+
+        AtomicInteger senderIds = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + senderIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats.scheduleAtFixedRate(this::sendHeartbeats,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a new stream for the user. Oldest connections are closed beyond the per-user limit.
+     */
+    public SseEmitter register(String userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Connection connection = new Connection(userId, emitter);
+
+        // Added inside compute so a concurrent remove() of the user's last connection cannot drop the set
+        // between lookup and add, which would leave this connection outside the map
+        Set<Connection> userConnections = connectionsByUser.compute(userId, (id, connections) -> {
+            Set<Connection> updated = connections != null ? connections : new CopyOnWriteArraySet<>();
+            updated.add(connection);
+            return updated;
+        });
+        openConnections.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        while (userConnections.size() > maxConnectionsPerUser) {
+            Connection oldest = userConnections.iterator().next();
+            oldest.emitter.complete();
+            remove(oldest);
+        }
+
+        // First event so the client knows the stream is live
+        connection.enqueue(SseEmitter.event().name("connected").data(Map.of("userId", userId)));
+        return emitter;
+    }
+
+    /**
+     * Queue an event for every open connection of the user. Returns immediately.
+     */
+    public void push(String userId, String eventName, Object payload) {
+        Set<Connection> userConnections = connectionsByUser.get(userId);
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        String eventId = Long.toString(eventSequence.incrementAndGet());
+        for (Connection connection : userConnections) {
+            connection.enqueue(SseEmitter.event()
+                    .id(eventId)
+                    .name(eventName)
+                    .data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    public boolean isConnected(String userId) {
+        Set<Connection> userConnections = connectionsByUser.get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("openConnections", (long) openConnections.get());
+        stats.put("connectedUsers", (long) connectionsByUser.size());
+        stats.put("sentEvents", sentEvents.get());
+        stats.put("droppedEvents", droppedEvents.get());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("clipers.sse.connections", openConnections, AtomicInteger::get)
+                .description("Open Server-Sent Events connections").register(registry);
+        Gauge.builder("clipers.sse.users", connectionsByUser, Map::size)
+                .description("Users with at least one open stream").register(registry);
+        FunctionCounter.builder("clipers.sse.events", sentEvents, AtomicLong::get)
+                .tag("outcome", "sent").register(registry);
+        FunctionCounter.builder("clipers.sse.events", droppedEvents, AtomicLong::get)
+                .tag("outcome", "dropped").register(registry);
+        new ExecutorServiceMetrics(senders, "sse-sender", Tags.empty()).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        connectionsByUser.values().forEach(connections -> connections.forEach(c -> c.emitter.complete()));
+        connectionsByUser.clear();
+        senders.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                // Only idle connections need a keep-alive; busy ones already have traffic
+                if (connection.isIdle()) {
+                    connection.enqueue(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        openConnections.decrementAndGet();
+        connectionsByUser.computeIfPresent(connection.userId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    /**
+     * One open stream: bounded drop-oldest buffer drained by the shared sender pool,
+     * with at most one drain task in flight so events keep their order.
+     */
+    private final class Connection {
+        private final String userId;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    droppedEvents.incrementAndGet();
+                }
+                buffer.addLast(event);
+            }
+            scheduleDrain();
+        }
+
+        boolean isIdle() {
+            synchronized (buffer) {
+                return buffer.isEmpty() && !draining.get();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false); // pool shut down
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    SseEmitter.SseEventBuilder event;
+                    synchronized (buffer) {
+                        event = buffer.pollFirst();
+                    }
+                    if (event == null) {
+                        break;
+                    }
+                    emitter.send(event);
+                    sentEvents.incrementAndGet();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container callbacks may not fire until the next write
+                logger.debug("SSE connection closed for user {}: {}", userId, e.getMessage());
+                emitter.completeWithError(e);
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived between the last poll and releasing the flag
+            boolean pending;
+            synchronized (buffer) {
+                pending = !buffer.isEmpty();
+            }
+            if (pending && !closed.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
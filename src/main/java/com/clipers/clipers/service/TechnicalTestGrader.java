@@ -0,0 +1,663 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.cache.BoundedCache;
+import com.clipers.clipers.cache.BoundedCacheMetrics;
+import com.clipers.clipers.dto.TechnicalTestStructure;
+import com.clipers.clipers.entity.TechnicalTest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Auto-grading of structured technical tests (testJson + candidateAnswersJson).
+ *
+ * A test structure is compiled once into an {@link AnswerKey} (cached per testJson): multiple-choice
+ * answers resolved to an option index, short answers to hashes of their normalized accepted forms,
+ * so grading a submission is one parse of its answers plus array lookups. Long answers and code are
+ * left for the company's review and only counted as pending.
+ *
+ * Regrading a job streams its submissions from MongoDB and grades them in batches on a dedicated pool,
+ * each batch written back with one bulk update; the same pass without writes yields per-question stats.
+ * A grade is only written while the test still has the structure and answers it was computed from, so
+ * a regrade never overwrites a newer submission or answer key with a stale score.
+ */
+@Service
+public class TechnicalTestGrader implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnicalTestGrader.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoundedCache<String, AnswerKey> keys;
+    private final ExecutorService batchPool;
+    private final ExecutorService regradePool;
+    // Same pools, but tasks run with the submitter's observation (trace) in scope
+    private final ExecutorService batchExecutor;
+    private final ExecutorService regradeExecutor;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+
+    private final AtomicLong gradedTests = new AtomicLong();
+    private final AtomicLong regrades = new AtomicLong();
+
+    @Autowired
+    public TechnicalTestGrader(MongoTemplate mongoTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${technical-tests.grading.batch-size:200}") int batchSize,
+                               @Value("${technical-tests.grading.parallelism:4}") int parallelism,
+                               @Value("${technical-tests.grading.key-cache.max-entries:500}") int maxKeys) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        int threads = Math.max(1, parallelism);
+        // Batches read ahead of the workers are bounded, so a large job is never held in memory at once
+        this.maxBatchesInFlight = threads * 2;
+        this.keys = new BoundedCache<>("technical-test-answer-keys", maxKeys, 0);
+        this.batchPool = Executors.newFixedThreadPool(threads, namedDaemon("technical-test-grade"));
+        // Background regrades after an answer key change; rejects instead of queueing without bound
+        ThreadPoolExecutor regrade = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(16), namedDaemon("technical-test-regrade"));
+        regrade.allowCoreThreadTimeOut(true);
+        this.regradePool = regrade;
+
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        this.batchExecutor = ContextExecutorService.wrap(batchPool, snapshots::captureAll);
+        this.regradeExecutor = ContextExecutorService.wrap(regradePool, snapshots::captureAll);
+    }
+
+    /**
+     * Compiled key for a test structure; throws with the offending question when a multiple-choice
+     * correct answer matches none of its options
+     */
+    public AnswerKey compile(String testJson) {
+        AnswerKey cached = keys.get(testJson);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            AnswerKey key = AnswerKey.compile(idOf(testJson), objectMapper.readValue(testJson, TechnicalTestStructure.class));
+            keys.put(testJson, key);
+            return key;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Estructura de prueba técnica inválida: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * The structure with the correct answers removed, as shown to candidates
+     */
+    public String withoutAnswers(String testJson) {
+        if (testJson == null) {
+            return null;
+        }
+        try {
+            TechnicalTestStructure structure = objectMapper.readValue(testJson, TechnicalTestStructure.class);
+            if (structure.getQuestions() != null) {
+                structure.getQuestions().forEach(question -> question.setCorrectAnswer(null));
+            }
+            return objectMapper.writeValueAsString(structure);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Grades one submission; null when the test has no structure or no structured answers
+     */
+    public Grade grade(TechnicalTest test) {
+        if (test.getTestJson() == null || test.getCandidateAnswersJson() == null) {
+            return null;
+        }
+        return grade(compile(test.getTestJson()), test);
+    }
+
+    private Grade grade(AnswerKey key, TechnicalTest test) {
+        Grade grade = key.grade(parseAnswers(test.getCandidateAnswersJson()));
+        gradedTests.incrementAndGet();
+        return grade;
+    }
+
+    /**
+     * The same fields TechnicalTestService sets when a single submission is graded
+     */
+    private static Update gradeUpdate(Grade grade) {
+        return new Update()
+                .set("autoScore", grade.getScore())
+                .set("autoMaxScore", grade.getMaxScore())
+                .set("pendingReviewQuestions", grade.getPendingReview())
+                .set("answerKeyId", grade.getKeyId())
+                .set("autoGradedAt", LocalDateTime.now());
+    }
+
+    /**
+     * Grades every submission of the job again and stores the results; returns the per-question stats
+     */
+    public Map<String, Object> regradeJob(String jobId) {
+        regrades.incrementAndGet();
+        return gradeJob(jobId, true);
+    }
+
+    public CompletableFuture<Map<String, Object>> regradeJobAsync(String jobId) {
+        return CompletableFuture.supplyAsync(() -> regradeJob(jobId), regradeExecutor);
+    }
+
+    /**
+     * Per-question answered/correct counts over the job's submissions, graded with their current keys
+     * without writing anything
+     */
+    public Map<String, Object> getQuestionStats(String jobId) {
+        return gradeJob(jobId, false);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = keys.getStats();
+        stats.put("gradedTests", gradedTests.get());
+        stats.put("regrades", regrades.get());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new BoundedCacheMetrics(keys).bindTo(registry);
+        FunctionCounter.builder("clipers.technical.tests.graded", gradedTests, AtomicLong::get)
+                .description("Technical test submissions auto-graded").register(registry);
+        new ExecutorServiceMetrics(batchPool, "technical-test-grade", Tags.empty()).bindTo(registry);
+        new ExecutorServiceMetrics(regradePool, "technical-test-regrade", Tags.empty()).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        regradeExecutor.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    private Map<String, Object> gradeJob(String jobId, boolean persist) {
+        long start = System.currentTimeMillis();
+        Query query = new Query(Criteria.where("jobId").is(jobId)
+                .and("testJson").ne(null)
+                .and("candidateAnswersJson").ne(null));
+        query.fields().include("testJson").include("candidateAnswersJson");
+        query.cursorBatchSize(batchSize);
+
+        JobReport report = new JobReport();
+        Semaphore inFlight = new Semaphore(maxBatchesInFlight);
+        List<Future<?>> batches = new ArrayList<>();
+        try (Stream<TechnicalTest> submissions = mongoTemplate.stream(query, TechnicalTest.class)) {
+            Iterator<TechnicalTest> it = submissions.iterator();
+            while (it.hasNext()) {
+                List<TechnicalTest> batch = new ArrayList<>(batchSize);
+                while (it.hasNext() && batch.size() < batchSize) {
+                    batch.add(it.next());
+                }
+                inFlight.acquire();
+                try {
+                    batches.add(batchExecutor.submit(() -> {
+                        try {
+                            report.merge(gradeBatch(batch, persist));
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batches.forEach(batch -> batch.cancel(true));
+            throw new RuntimeException("Recalificación interrumpida", e);
+        } catch (ExecutionException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            throw new RuntimeException("Error calificando pruebas técnicas: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        Map<String, Object> result = report.toMap(jobId, persist);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        logger.atInfo()
+                .addKeyValue("jobId", jobId)
+                .addKeyValue("graded", result.get("graded"))
+                .addKeyValue("skipped", result.get("skipped"))
+                .addKeyValue("persisted", persist)
+                .addKeyValue("durationMs", result.get("durationMs"))
+                .log("Technical test submissions graded");
+        return result;
+    }
+
+    private JobReport gradeBatch(List<TechnicalTest> batch, boolean persist) {
+        JobReport partial = new JobReport();
+        BulkOperations bulk = persist ? mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TechnicalTest.class) : null;
+        int writes = 0;
+        for (TechnicalTest test : batch) {
+            AnswerKey key;
+            Grade grade;
+            try {
+                key = compile(test.getTestJson());
+                grade = grade(key, test);
+            } catch (RuntimeException e) {
+                // A malformed structure or answer sheet only affects its own test
+                logger.debug("Technical test {} not graded: {}", test.getId(), e.getMessage());
+                partial.skipped++;
+                continue;
+            }
+            partial.add(key, grade);
+            if (bulk != null) {
+                bulk.updateOne(gradedVersionOf(test), gradeUpdate(grade));
+                writes++;
+            }
+        }
+        if (writes > 0) {
+            // Tests re-submitted or re-keyed since they were read are left to the grading of that change
+            partial.stale += writes - bulk.execute().getMatchedCount();
+        }
+        return partial;
+    }
+
+    /**
+     * Matches the test only while it has the structure (hence the answer key) and the answers it was read with
+     */
+    static Query gradedVersionOf(TechnicalTest test) {
+        return new Query(Criteria.where("_id").is(test.getId())
+                .and("testJson").is(test.getTestJson())
+                .and("candidateAnswersJson").is(test.getCandidateAnswersJson()));
+    }
+
+    /**
+     * {"q1": "answer", ...} or [{"questionId": "q1", "answer": "..."}, ...]
+     */
+    private JsonNode parseAnswers(String candidateAnswersJson) {
+        try {
+            return objectMapper.readTree(candidateAnswersJson);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Respuestas de la prueba técnica inválidas: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static String idOf(String testJson) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(testJson.getBytes(StandardCharsets.UTF_8)), 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("No se pudo calcular la clave de respuestas: " + e.getMessage(), e);
+        }
+    }
+
+    private static ThreadFactory namedDaemon(String prefix) {
+        AtomicInteger ids = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Immutable, compiled form of a test structure. Multiple-choice options and short-answer alternatives
+     * ("a | b") are kept as hashes of their normalized text (SkillTaxonomyService.normalizedHash), so
+     * case, accents and extra spaces in an answer do not matter.
+     */
+    public static final class AnswerKey {
+
+        private static final byte MULTIPLE_CHOICE = 0;
+        private static final byte SHORT_ANSWER = 1;
+        private static final byte MANUAL = 2;
+
+        private final String id;
+        private final String[] questionIds;
+        private final String[] questions;
+        private final TechnicalTestStructure.Question.QuestionType[] types;
+        private final byte[] modes;
+        private final int[] points;
+        private final long[][] options;     // MULTIPLE_CHOICE: option hashes in option order
+        private final int[] correctOption;  // MULTIPLE_CHOICE
+        private final long[][] accepted;    // SHORT_ANSWER: sorted hashes of the accepted answers
+        private final Map<String, Integer> indexById;
+        private int maxScore;
+
+        private AnswerKey(String id, int size) {
+            this.id = id;
+            this.questionIds = new String[size];
+            this.questions = new String[size];
+            this.types = new TechnicalTestStructure.Question.QuestionType[size];
+            this.modes = new byte[size];
+            this.points = new int[size];
+            this.options = new long[size][];
+            this.correctOption = new int[size];
+            this.accepted = new long[size][];
+            this.indexById = new HashMap<>(size * 2);
+        }
+
+        static AnswerKey compile(String id, TechnicalTestStructure structure) {
+            List<TechnicalTestStructure.Question> questionList =
+                    structure.getQuestions() != null ? structure.getQuestions() : List.of();
+            AnswerKey key = new AnswerKey(id, questionList.size());
+            for (int i = 0; i < questionList.size(); i++) {
+                TechnicalTestStructure.Question question = questionList.get(i);
+                // Questions without an id are answered by position (1-based)
+                String questionId = question.getId() != null && !question.getId().isBlank() ? question.getId() : String.valueOf(i + 1);
+                if (key.indexById.putIfAbsent(questionId, i) != null) {
+                    throw new RuntimeException("Pregunta duplicada en la prueba técnica: " + questionId);
+                }
+                key.questionIds[i] = questionId;
+                key.questions[i] = question.getQuestion();
+                key.types[i] = question.getType();
+                key.points[i] = question.getPoints() != null && question.getPoints() > 0 ? question.getPoints() : 1;
+                key.modes[i] = MANUAL;
+
+                String correct = question.getCorrectAnswer();
+                if (correct == null || correct.isBlank()) {
+                    continue;
+                }
+                if (question.getType() == TechnicalTestStructure.Question.QuestionType.MULTIPLE_CHOICE) {
+                    List<String> optionList = question.getOptions() != null ? question.getOptions() : List.of();
+                    key.options[i] = optionList.stream().mapToLong(SkillTaxonomyService::normalizedHash).toArray();
+                    int option = optionIndex(key.options[i], correct);
+                    if (option < 0) {
+                        option = integerIndex(correct, optionList.size());
+                    }
+                    if (option < 0) {
+                        throw new RuntimeException("La respuesta correcta de la pregunta " + questionId + " no coincide con ninguna opción");
+                    }
+                    key.correctOption[i] = option;
+                    key.modes[i] = MULTIPLE_CHOICE;
+                    key.maxScore += key.points[i];
+                } else if (question.getType() == TechnicalTestStructure.Question.QuestionType.SHORT_ANSWER) {
+                    key.accepted[i] = Arrays.stream(correct.split("\\|"))
+                            .filter(answer -> !answer.isBlank())
+                            .mapToLong(SkillTaxonomyService::normalizedHash)
+                            .sorted()
+                            .distinct()
+                            .toArray();
+                    key.modes[i] = SHORT_ANSWER;
+                    key.maxScore += key.points[i];
+                }
+            }
+            return key;
+        }
+
+        /**
+         * Scores the parsed answer sheet. Multiple-choice answers may be the option text, its letter
+         * ("B") or, as a JSON number, its 0-based index.
+         */
+        Grade grade(JsonNode answers) {
+            JsonNode[] byQuestion = new JsonNode[questionIds.length];
+            if (answers != null && answers.isObject()) {
+                for (int i = 0; i < questionIds.length; i++) {
+                    byQuestion[i] = answers.get(questionIds[i]);
+                }
+            } else if (answers != null && answers.isArray()) {
+                for (JsonNode entry : answers) {
+                    Integer index = indexById.get(entry.path("questionId").asText(null));
+                    if (index != null) {
+                        byQuestion[index] = entry.get("answer");
+                    }
+                }
+            }
+
+            Grade grade = new Grade(id, questionIds.length, maxScore);
+            for (int i = 0; i < questionIds.length; i++) {
+                JsonNode answer = byQuestion[i];
+                if (answer == null || answer.isNull() || (answer.isTextual() && answer.asText().isBlank())) {
+                    continue;
+                }
+                grade.answered[i] = true;
+                boolean correct = switch (modes[i]) {
+                    case MULTIPLE_CHOICE -> chosenOption(i, answer) == correctOption[i];
+                    case SHORT_ANSWER -> Arrays.binarySearch(accepted[i], SkillTaxonomyService.normalizedHash(answer.asText())) >= 0;
+                    default -> {
+                        grade.pendingReview++;
+                        yield false;
+                    }
+                };
+                if (correct) {
+                    grade.correct[i] = true;
+                    grade.score += points[i];
+                }
+            }
+            return grade;
+        }
+
+        private int chosenOption(int question, JsonNode answer) {
+            if (answer.isIntegralNumber()) {
+                return answer.asInt();
+            }
+            return optionIndex(options[question], answer.asText());
+        }
+
+        /**
+         * Option whose text matches, else the option the text names by letter; -1 when neither
+         */
+        private static int optionIndex(long[] optionHashes, String text) {
+            long hash = SkillTaxonomyService.normalizedHash(text);
+            for (int option = 0; option < optionHashes.length; option++) {
+                if (optionHashes[option] == hash) {
+                    return option;
+                }
+            }
+            return letterIndex(text, optionHashes.length);
+        }
+
+        /**
+         * "b", "B)" or "B." -> 1
+         */
+        private static int letterIndex(String text, int optionCount) {
+            String trimmed = text.trim();
+            if (trimmed.isEmpty() || trimmed.length() > 2 || (trimmed.length() == 2 && ").".indexOf(trimmed.charAt(1)) < 0)) {
+                return -1;
+            }
+            int index = Character.toLowerCase(trimmed.charAt(0)) - 'a';
+            return index >= 0 && index < optionCount ? index : -1;
+        }
+
+        private static int integerIndex(String text, int optionCount) {
+            try {
+                int index = Integer.parseInt(text.trim());
+                return index >= 0 && index < optionCount ? index : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        public String getId() { return id; }
+        public int size() { return questionIds.length; }
+        public int getMaxScore() { return maxScore; }
+
+        public int autoGradable() {
+            int count = 0;
+            for (byte mode : modes) {
+                if (mode != MANUAL) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Outcome of one submission: points on the auto-graded questions, and how many answered questions
+     * still need the company's review
+     */
+    public static final class Grade {
+
+        private final String keyId;
+        private final int maxScore;
+        private final boolean[] answered;
+        private final boolean[] correct;
+        private int score;
+        private int pendingReview;
+
+        Grade(String keyId, int questions, int maxScore) {
+            this.keyId = keyId;
+            this.maxScore = maxScore;
+            this.answered = new boolean[questions];
+            this.correct = new boolean[questions];
+        }
+
+        public String getKeyId() { return keyId; }
+        public int getScore() { return score; }
+        public int getMaxScore() { return maxScore; }
+        public int getPendingReview() { return pendingReview; }
+    }
+
+    /**
+     * Counts accumulated per batch and merged into the job's report; questions are matched by id
+     * across answer keys, so a regrade spanning a key change still reports one row per question
+     */
+    private static final class JobReport {
+
+        private final Map<String, QuestionStats> questions = new LinkedHashMap<>();
+        private long graded;
+        private long skipped;
+        private long stale;
+        private long score;
+        private long maxScore;
+        private long pendingReview;
+
+        void add(AnswerKey key, Grade grade) {
+            graded++;
+            score += grade.score;
+            maxScore += grade.maxScore;
+            pendingReview += grade.pendingReview;
+            for (int i = 0; i < key.size(); i++) {
+                QuestionStats stats = questions.computeIfAbsent(key.questionIds[i], id -> new QuestionStats());
+                stats.describe(key, i);
+                stats.submissions++;
+                if (grade.answered[i]) {
+                    stats.answered++;
+                }
+                if (grade.correct[i]) {
+                    stats.correct++;
+                }
+            }
+        }
+
+        synchronized void merge(JobReport partial) {
+            graded += partial.graded;
+            skipped += partial.skipped;
+            stale += partial.stale;
+            score += partial.score;
+            maxScore += partial.maxScore;
+            pendingReview += partial.pendingReview;
+            partial.questions.forEach((id, stats) -> questions.computeIfAbsent(id, k -> new QuestionStats()).merge(stats));
+        }
+
+        synchronized Map<String, Object> toMap(String jobId, boolean persisted) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("jobId", jobId);
+            result.put("graded", graded);
+            result.put("skipped", skipped);
+            result.put("persisted", persisted);
+            if (persisted) {
+                result.put("stale", stale);
+            }
+            result.put("averageScore", graded == 0 ? 0.0 : round((double) score / graded));
+            result.put("averagePercent", maxScore == 0 ? 0.0 : round(100.0 * score / maxScore));
+            result.put("pendingReviewAnswers", pendingReview);
+            List<Map<String, Object>> rows = new ArrayList<>(questions.size());
+            questions.forEach((id, stats) -> rows.add(stats.toMap(id)));
+            result.put("questions", rows);
+            return result;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    private static final class QuestionStats {
+
+        private String question;
+        private TechnicalTestStructure.Question.QuestionType type;
+        private int points;
+        private boolean autoGraded;
+        private long submissions;
+        private long answered;
+        private long correct;
+
+        void describe(AnswerKey key, int index) {
+            if (question == null) {
+                question = key.questions[index];
+                type = key.types[index];
+                points = key.points[index];
+                autoGraded = key.modes[index] != AnswerKey.MANUAL;
+            }
+        }
+
+        void merge(QuestionStats other) {
+            if (question == null) {
+                question = other.question;
+                type = other.type;
+                points = other.points;
+                autoGraded = other.autoGraded;
+            }
+            submissions += other.submissions;
+            answered += other.answered;
+            correct += other.correct;
+        }
+
+        Map<String, Object> toMap(String id) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("questionId", id);
+            row.put("question", question);
+            row.put("type", type);
+            row.put("points", points);
+            row.put("autoGraded", autoGraded);
+            row.put("submissions", submissions);
+            row.put("answered", answered);
+            row.put("answerRate", submissions == 0 ? 0.0 : JobReport.round((double) answered / submissions));
+            if (autoGraded) {
+                row.put("correct", correct);
+                row.put("correctRate", answered == 0 ? 0.0 : JobReport.round((double) correct / answered));
+            }
+            return row;
+        }
+    }
+}
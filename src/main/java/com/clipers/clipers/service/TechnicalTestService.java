@@ -1,58 +1,82 @@
 package com.clipers.clipers.service;
 
-import com.clipers.clipers.dto.TechnicalTestResponse;
+import com.clipers.clipers.dto.TechnicalTestStructure;
 import com.clipers.clipers.entity.Job;
 import com.clipers.clipers.entity.TechnicalTest;
-import com.clipers.clipers.entity.User;
-import com.clipers.clipers.repository.JobRepository;
+import com.clipers.clipers.entity.TechnicalTestTemplate;
 import com.clipers.clipers.repository.TechnicalTestRepository;
 import com.clipers.clipers.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Observed(name = "clipers.service")
 public class TechnicalTestService {
     
+    private static final Logger logger = LoggerFactory.getLogger(TechnicalTestService.class);
+
     private final TechnicalTestRepository technicalTestRepository;
-    private final JobRepository jobRepository;
     private final UserRepository userRepository;
     private final com.clipers.clipers.repository.CompanyRepository companyRepository;
+    private final EntityCacheService entityCache;
     private final NotificationService notificationService;
-    private final RestTemplate restTemplate;
-    
-    @Value("${video.processing.service.url}")
-    private String videoProcessingServiceUrl;
+    private final TechnicalTestTemplateService templateService;
+    private final TechnicalTestGrader grader;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxBulkCandidates;
     
     @Autowired
     public TechnicalTestService(TechnicalTestRepository technicalTestRepository,
-                               JobRepository jobRepository,
                                UserRepository userRepository,
                                com.clipers.clipers.repository.CompanyRepository companyRepository,
+                               EntityCacheService entityCache,
                                NotificationService notificationService,
-                               RestTemplate restTemplate) {
+                               TechnicalTestTemplateService templateService,
+                               TechnicalTestGrader grader,
+                               MongoTemplate mongoTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${technical-tests.bulk.max-candidates:500}") int maxBulkCandidates) {
         this.technicalTestRepository = technicalTestRepository;
-        this.jobRepository = jobRepository;
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
+        this.entityCache = entityCache;
         this.notificationService = notificationService;
-        this.restTemplate = restTemplate;
+        this.templateService = templateService;
+        this.grader = grader;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.maxBulkCandidates = maxBulkCandidates;
     }
     
     public TechnicalTest generateAndSendTest(String jobId, String candidateId, String companyId) {
         // Get job details
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found"));
+        Job job = ownedJob(jobId, companyId);
         
         // Check if test already exists
         Optional<TechnicalTest> existingTest = technicalTestRepository
@@ -65,14 +89,17 @@ public class TechnicalTestService {
         // Get company name
         String companyName = getCompanyName(companyId);
         
-        // Generate test from microservice
-        String testMarkdown = generateTestFromMicroservice(job);
+        // Generated once per job content, shared by every candidate
+        TechnicalTestTemplate template = templateService.getTemplate(job);
         
         // Create and save technical test
-        TechnicalTest test = new TechnicalTest(jobId, candidateId, companyId, testMarkdown);
-        test.setCompanyName(companyName);
-        test.setJobTitle(job.getTitle());
-        test = technicalTestRepository.save(test);
+        TechnicalTest test;
+        try {
+            test = technicalTestRepository.insert(newTest(job, template, candidateId, companyId, companyName));
+        } catch (DuplicateKeyException e) {
+            // Sent concurrently since the check above (unique job/candidate index)
+            throw new RuntimeException("Technical test already sent to this candidate");
+        }
         
         // TODO: Send notification to candidate
         // notificationService.notifyTechnicalTestSent(candidateId, jobId, test.getId());
@@ -80,10 +107,100 @@ public class TechnicalTestService {
         return test;
     }
     
+    /**
+     * Sends the job's test to several candidates: one lookup of who already has it, one generation
+     * (awaited off the request thread) and one unordered bulk insert. Candidates who already have a test,
+     * including those sent one concurrently, are skipped.
+     */
+    public CompletableFuture<Map<String, Object>> sendTestToCandidates(String jobId, List<String> candidateIds, String companyId) {
+        Job job = ownedJob(jobId, companyId);
+        
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String candidateId : candidateIds != null ? candidateIds : List.<String>of()) {
+            if (candidateId != null && !candidateId.isBlank()) {
+                candidates.add(candidateId);
+            }
+        }
+        if (candidates.size() > maxBulkCandidates) {
+            throw new RuntimeException("Demasiados candidatos para un envío: " + candidates.size() + " (máximo " + maxBulkCandidates + ")");
+        }
+        
+        List<String> alreadySent = new ArrayList<>();
+        for (TechnicalTest existing : technicalTestRepository.findCandidateIdsByJobIdAndCandidateIdIn(jobId, candidates)) {
+            if (candidates.remove(existing.getCandidateId())) {
+                alreadySent.add(existing.getCandidateId());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(bulkResult(List.of(), alreadySent));
+        }
+        
+        String companyName = getCompanyName(companyId);
+        return templateService.getTemplateAsync(job).thenApply(template -> {
+            List<TechnicalTest> tests = new ArrayList<>(candidates.size());
+            for (String candidateId : candidates) {
+                tests.add(newTest(job, template, candidateId, companyId, companyName));
+            }
+            List<TechnicalTest> sent = insertNew(jobId, tests, alreadySent);
+            logger.atInfo()
+                    .addKeyValue("jobId", jobId)
+                    .addKeyValue("templateId", template.getId())
+                    .addKeyValue("sent", sent.size())
+                    .addKeyValue("alreadySent", alreadySent.size())
+                    .log("Technical tests sent in bulk");
+            return bulkResult(sent, alreadySent);
+        });
+    }
+    
+    /**
+     * Inserts the tests in one unordered bulk write. A candidate sent the test concurrently hits the unique
+     * job/candidate index; only that insert fails, and the candidate is moved to alreadySent.
+     */
+    private List<TechnicalTest> insertNew(String jobId, List<TechnicalTest> tests, List<String> alreadySent) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TechnicalTest.class);
+        bulk.insert(tests);
+        Set<Integer> duplicates = new HashSet<>();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw new RuntimeException("Error enviando pruebas técnicas: " + error.getMessage(), e);
+                }
+                duplicates.add(error.getIndex());
+            }
+        }
+        List<String> inserted = new ArrayList<>(tests.size());
+        for (int i = 0; i < tests.size(); i++) {
+            (duplicates.contains(i) ? alreadySent : inserted).add(tests.get(i).getCandidateId());
+        }
+        // Bulk inserts do not write the generated ids back, so the stored tests are read once
+        return inserted.isEmpty() ? List.of() : mongoTemplate.find(new Query(Criteria.where("jobId").is(jobId)
+                .and("candidateId").in(inserted)), TechnicalTest.class);
+    }
+    
+    private static TechnicalTest newTest(Job job, TechnicalTestTemplate template, String candidateId,
+                                         String companyId, String companyName) {
+        TechnicalTest test = new TechnicalTest(job.getId(), candidateId, companyId, template.getTestMarkdown());
+        test.setTemplateId(template.getId());
+        test.setTestJson(job.getTechnicalTestJson());
+        test.setCompanyName(companyName);
+        test.setJobTitle(job.getTitle());
+        return test;
+    }
+    
+    private static Map<String, Object> bulkResult(List<TechnicalTest> sent, List<String> alreadySent) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sent", sent.size());
+        result.put("alreadySent", alreadySent);
+        result.put("tests", sent);
+        return result;
+    }
+    
     private String getCompanyName(String companyId) {
         try {
             // Buscar la empresa por ID
-            Optional<com.clipers.clipers.entity.Company> company = companyRepository.findById(companyId);
+            Optional<com.clipers.clipers.entity.Company> company = entityCache.getCompany(companyId);
             if (company.isPresent()) {
                 return company.get().getName();
             }
@@ -100,161 +217,54 @@ public class TechnicalTestService {
         }
     }
     
-    private String generateTestFromMicroservice(Job job) {
-        try {
-            String url = videoProcessingServiceUrl + "/generate-technical-test";
-            System.out.println("🔄 Calling microservice: " + url);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            Map<String, String> request = new HashMap<>();
-            request.put("profession", job.getTitle());
-            request.put("technologies", String.join(", ", job.getSkills()));
-            request.put("experience", extractExperienceFromRequirements(job.getRequirements()));
-            request.put("education", "Relevant degree or equivalent experience");
-            
-            System.out.println("📋 Request data:");
-            System.out.println("  - profession: " + request.get("profession"));
-            System.out.println("  - technologies: " + request.get("technologies"));
-            System.out.println("  - experience: " + request.get("experience"));
-            
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(request, headers);
-            
-            ResponseEntity<TechnicalTestResponse> response = restTemplate.postForEntity(
-                url,
-                entity,
-                TechnicalTestResponse.class
-            );
-            
-            System.out.println("✅ Microservice response status: " + response.getStatusCode());
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                String markdown = response.getBody().getTechnicalTestMarkdown();
-                System.out.println("📝 Received markdown length: " + (markdown != null ? markdown.length() : 0));
-                return markdown;
-            } else {
-                System.err.println("❌ Microservice returned non-success status");
-                throw new RuntimeException("Failed to generate technical test from microservice");
-            }
-            
-        } catch (Exception e) {
-            System.err.println("❌ Error generating technical test: " + e.getMessage());
-            e.printStackTrace();
-            // Return a default test if microservice fails
-            System.out.println("⚠️ Using default test as fallback");
-            return generateDefaultTest(job);
-        }
-    }
-    
-    private String extractExperienceFromRequirements(List<String> requirements) {
-        for (String req : requirements) {
-            if (req.toLowerCase().contains("año") || req.toLowerCase().contains("experiencia")) {
-                return req;
-            }
-        }
-        return "Experience in the field";
-    }
-    
-    private String generateDefaultTest(Job job) {
-        String companyName = getCompanyName(job.getCompanyId());
-        StringBuilder test = new StringBuilder();
-        test.append("# Prueba Técnica - ").append(job.getTitle()).append("\n\n");
-        test.append("## 🏢 Empresa: ").append(companyName).append("\n\n");
-        test.append("## Información General\n");
-        test.append("- **Duración estimada:** 2-3 horas\n");
-        test.append("- **Posición:** ").append(job.getTitle()).append("\n");
-        test.append("- **Ubicación:** ").append(job.getLocation()).append("\n\n");
-        
-        test.append("## Habilidades a Evaluar\n");
-        for (String skill : job.getSkills()) {
-            test.append("- ").append(skill).append("\n");
-        }
-        test.append("\n");
-        
-        test.append("## Requisitos del Puesto\n");
-        for (String req : job.getRequirements()) {
-            test.append("- ").append(req).append("\n");
-        }
-        test.append("\n");
-        
-        test.append("## Instrucciones\n");
-        test.append("Esta prueba técnica está diseñada para evaluar tus habilidades y conocimientos relacionados con el puesto de **")
-            .append(job.getTitle()).append("**. Por favor, lee cuidadosamente cada sección y proporciona respuestas detalladas.\n\n");
-        
-        test.append("## Parte 1: Preguntas Teóricas (30%)\n\n");
-        test.append("### Pregunta 1: Experiencia Profesional\n");
-        test.append("Describe tu experiencia trabajando con las tecnologías y habilidades mencionadas anteriormente. ");
-        test.append("Incluye proyectos específicos donde hayas aplicado estas competencias.\n\n");
-        
-        test.append("### Pregunta 2: Resolución de Problemas\n");
-        test.append("Explica un desafío técnico complejo que hayas enfrentado en tu carrera y cómo lo resolviste. ");
-        test.append("¿Qué aprendiste de esa experiencia?\n\n");
-        
-        test.append("### Pregunta 3: Mejores Prácticas\n");
-        test.append("¿Cuáles consideras que son las mejores prácticas para el desarrollo en este rol? ");
-        test.append("¿Cómo aseguras la calidad del código en tus proyectos?\n\n");
-        
-        test.append("## Parte 2: Ejercicio Práctico (50%)\n\n");
-        test.append("### Ejercicio: Desarrollo de Solución\n");
-        test.append("Desarrolla una solución que demuestre tu dominio de las tecnologías requeridas para este puesto. ");
-        test.append("La solución debe incluir:\n\n");
-        test.append("1. **Arquitectura:** Diseño de la solución propuesta\n");
-        test.append("2. **Implementación:** Código funcional que resuelva el problema\n");
-        test.append("3. **Documentación:** Explicación clara de tu enfoque\n");
-        test.append("4. **Testing:** Casos de prueba relevantes\n\n");
-        
-        test.append("**Problema a resolver:**\n");
-        test.append("Diseña e implementa una funcionalidad que sea relevante para el puesto de ")
-            .append(job.getTitle()).append(". ");
-        test.append("Asegúrate de aplicar las mejores prácticas y demostrar tu conocimiento de las tecnologías requeridas.\n\n");
-        
-        test.append("## Parte 3: Caso de Estudio (20%)\n\n");
-        test.append("### Escenario\n");
-        test.append("Imagina que te unes a nuestro equipo y te asignan un proyecto importante. ");
-        test.append("Describe cómo abordarías las siguientes situaciones:\n\n");
-        test.append("1. **Planificación:** ¿Cómo organizarías tu trabajo y priorizarías tareas?\n");
-        test.append("2. **Colaboración:** ¿Cómo trabajarías con otros miembros del equipo?\n");
-        test.append("3. **Calidad:** ¿Qué medidas tomarías para asegurar la calidad del entregable?\n");
-        test.append("4. **Innovación:** ¿Qué propuestas de mejora sugerirías?\n\n");
-        
-        test.append("## Criterios de Evaluación\n\n");
-        test.append("Tu prueba será evaluada considerando:\n\n");
-        test.append("- **Conocimiento técnico:** Dominio de las tecnologías y conceptos requeridos\n");
-        test.append("- **Calidad del código:** Claridad, organización y mejores prácticas\n");
-        test.append("- **Resolución de problemas:** Capacidad analítica y creatividad\n");
-        test.append("- **Comunicación:** Claridad en las explicaciones y documentación\n");
-        test.append("- **Atención al detalle:** Completitud y precisión en las respuestas\n\n");
-        
-        test.append("## Entrega\n\n");
-        test.append("Por favor, completa todas las secciones de esta prueba y envía tus respuestas a través de la plataforma. ");
-        test.append("Si tienes alguna pregunta, no dudes en contactarnos.\n\n");
-        test.append("**¡Buena suerte!** 🚀\n");
-        
-        return test.toString();
-    }
-    
     public List<TechnicalTest> getTestsByJob(String jobId) {
         return technicalTestRepository.findByJobId(jobId);
     }
     
     public List<TechnicalTest> getTestsByCandidate(String candidateId) {
-        return technicalTestRepository.findByCandidateId(candidateId);
+        List<TechnicalTest> tests = technicalTestRepository.findByCandidateId(candidateId);
+        // Candidates get the questions without the answer key
+        for (TechnicalTest test : tests) {
+            test.setTestJson(grader.withoutAnswers(test.getTestJson()));
+        }
+        return tests;
     }
     
-    public TechnicalTest submitTest(String testId, String candidateResponse) {
+    /**
+     * Stores the candidate's response. Structured answers ({questionId: answer} or a list of
+     * {questionId, answer}) are kept as candidateAnswersJson and auto-graded right away when the
+     * test has an answer key. Only the candidate the test was sent to can submit it, once.
+     */
+    public TechnicalTest submitTest(String testId, String candidateId, String candidateResponse, Object answers) {
         TechnicalTest test = technicalTestRepository.findById(testId)
                 .orElseThrow(() -> new RuntimeException("Test not found"));
         
+        if (!test.getCandidateId().equals(candidateId)) {
+            throw new IllegalStateException("Solo puedes responder tus propias pruebas técnicas");
+        }
+        if (test.getStatus() != TechnicalTest.TestStatus.SENT && test.getStatus() != TechnicalTest.TestStatus.IN_PROGRESS) {
+            throw new IllegalStateException("La prueba técnica ya fue respondida: " + test.getStatus());
+        }
+        
         test.setCandidateResponse(candidateResponse);
         test.setStatus(TechnicalTest.TestStatus.SUBMITTED);
         test.setSubmittedAt(java.time.LocalDateTime.now());
+        if (answers != null) {
+            try {
+                test.setCandidateAnswersJson(answers instanceof String json ? json : objectMapper.writeValueAsString(answers));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Respuestas de la prueba técnica inválidas: " + e.getOriginalMessage(), e);
+            }
+            autoGrade(test);
+        }
         
         test = technicalTestRepository.save(test);
         
         // TODO: Notify company
         // notificationService.notifyTechnicalTestSubmitted(test.getCompanyId(), test.getJobId(), testId);
         
+        // The candidate gets the test back without the answer key
+        test.setTestJson(grader.withoutAnswers(test.getTestJson()));
         return test;
     }
     
@@ -270,6 +280,91 @@ public class TechnicalTestService {
         return technicalTestRepository.save(test);
     }
     
+    /**
+     * Sets the job's test structure and answer key: stored on the job for tests sent from now on, written
+     * to the tests already sent, and every submission of the job is regraded in the background
+     */
+    public Map<String, Object> setAnswerKey(String jobId, String companyId, TechnicalTestStructure structure) {
+        ownedJob(jobId, companyId);
+        if (structure == null || structure.getQuestions() == null || structure.getQuestions().isEmpty()) {
+            throw new RuntimeException("La prueba técnica debe tener al menos una pregunta");
+        }
+        String testJson;
+        try {
+            testJson = objectMapper.writeValueAsString(structure);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Estructura de prueba técnica inválida: " + e.getOriginalMessage(), e);
+        }
+        // Validates the key (multiple-choice answers must match an option) before anything is written
+        TechnicalTestGrader.AnswerKey key = grader.compile(testJson);
+        
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(jobId)),
+                new Update().set("technicalTestJson", testJson), Job.class);
+        entityCache.invalidateJob(jobId);
+        long updatedTests = mongoTemplate.updateMulti(new Query(Criteria.where("jobId").is(jobId)),
+                new Update().set("testJson", testJson), TechnicalTest.class).getModifiedCount();
+        
+        boolean regradeStarted = true;
+        try {
+            grader.regradeJobAsync(jobId).exceptionally(error -> {
+                logger.error("Technical test regrade failed for job {}: {}", jobId, error.getMessage());
+                return null;
+            });
+        } catch (Exception e) {
+            // Regrade queue full; POST .../regrade can be run once it drains
+            regradeStarted = false;
+            logger.warn("Technical test regrade not started for job {}: {}", jobId, e.getMessage());
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jobId", jobId);
+        result.put("answerKeyId", key.getId());
+        result.put("questions", key.size());
+        result.put("autoGradable", key.autoGradable());
+        result.put("maxScore", key.getMaxScore());
+        result.put("updatedTests", updatedTests);
+        result.put("regradeStarted", regradeStarted);
+        return result;
+    }
+    
+    public Map<String, Object> regradeTests(String jobId, String companyId) {
+        ownedJob(jobId, companyId);
+        return grader.regradeJob(jobId);
+    }
+    
+    public Map<String, Object> getQuestionStats(String jobId, String companyId) {
+        ownedJob(jobId, companyId);
+        return grader.getQuestionStats(jobId);
+    }
+    
+    /**
+     * The job, checking it belongs to the company managing its tests
+     */
+    private Job ownedJob(String jobId, String companyId) {
+        Job job = entityCache.getJob(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+        if (!job.getCompanyId().equals(companyId)) {
+            throw new IllegalStateException("No tienes permisos para gestionar las pruebas técnicas de este empleo");
+        }
+        return job;
+    }
+    
+    private void autoGrade(TechnicalTest test) {
+        try {
+            TechnicalTestGrader.Grade grade = grader.grade(test);
+            if (grade != null) {
+                test.setAutoScore(grade.getScore());
+                test.setAutoMaxScore(grade.getMaxScore());
+                test.setPendingReviewQuestions(grade.getPendingReview());
+                test.setAnswerKeyId(grade.getKeyId());
+                test.setAutoGradedAt(java.time.LocalDateTime.now());
+            }
+        } catch (Exception e) {
+            // The submission is stored anyway; a regrade picks it up once the key or answers are fixed
+            logger.warn("Technical test {} not auto-graded: {}", test.getId(), e.getMessage());
+        }
+    }
+    
     public List<TechnicalTest> getTestsByJobAndCandidate(String jobId, String candidateId) {
         return technicalTestRepository.findByJobIdAndCandidateId(jobId, candidateId)
                 .map(List::of)
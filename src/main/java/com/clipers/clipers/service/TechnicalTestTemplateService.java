@@ -0,0 +1,502 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.cache.BoundedCache;
+import com.clipers.clipers.cache.BoundedCacheMetrics;
+import com.clipers.clipers.client.DownstreamClient;
+import com.clipers.clipers.dto.TechnicalTestResponse;
+import com.clipers.clipers.entity.Company;
+import com.clipers.clipers.entity.Job;
+import com.clipers.clipers.entity.TechnicalTestTemplate;
+import com.clipers.clipers.repository.TechnicalTestTemplateRepository;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Technical tests generated once per job content and reused for every candidate the job sends one to.
+ *
+ * Templates are keyed by a SHA-256 over the job fields the generation depends on, kept in memory and
+ * persisted (technical_test_templates), so neither another candidate nor a restart pays for generation
+ * again. Concurrent requests for the same key share one generation (single flight), which runs on a small
+ * dedicated pool. When the microservice fails the default test is used but not persisted: it is kept in
+ * memory only briefly, so generation is retried once the service is back.
+ *
+ * Jobs with identical content share one template; each job using it is added to its jobIds, and deleting
+ * a job only removes the templates no other job uses.
+ */
+@Service
+public class TechnicalTestTemplateService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnicalTestTemplateService.class);
+
+    private final TechnicalTestTemplateRepository templateRepository;
+    private final MongoTemplate mongoTemplate;
+    private final EntityCacheService entityCache;
+    private final DownstreamClient technicalTestClient;
+    private final BoundedCache<String, TechnicalTestTemplate> templates;
+    private final BoundedCache<String, TechnicalTestTemplate> fallbacks;
+    private final Map<String, CompletableFuture<TechnicalTestTemplate>> inFlight = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor generationPool;
+    // Same pool, but tasks run with the submitter's observation (trace) in scope
+    private final ExecutorService generationExecutor;
+    private final boolean prewarmEnabled;
+
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong defaults = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+    private final AtomicLong persistedHits = new AtomicLong();
+
+    @Value("${video.processing.service.url}")
+    private String videoProcessingServiceUrl;
+
+    @Autowired
+    public TechnicalTestTemplateService(TechnicalTestTemplateRepository templateRepository,
+                                        MongoTemplate mongoTemplate,
+                                        EntityCacheService entityCache,
+                                        @Qualifier("technicalTestClient") DownstreamClient technicalTestClient,
+                                        @Value("${technical-tests.templates.max-entries:1000}") int maxEntries,
+                                        @Value("${technical-tests.templates.ttl-ms:86400000}") long ttlMillis,
+                                        @Value("${technical-tests.templates.fallback-ttl-ms:300000}") long fallbackTtlMillis,
+                                        @Value("${technical-tests.templates.parallelism:2}") int parallelism,
+                                        @Value("${technical-tests.templates.prewarm:true}") boolean prewarmEnabled) {
+        this.templateRepository = templateRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.entityCache = entityCache;
+        this.technicalTestClient = technicalTestClient;
+        this.templates = new BoundedCache<>("technical-test-templates", maxEntries, ttlMillis);
+        this.fallbacks = new BoundedCache<>("technical-test-fallbacks", maxEntries, fallbackTtlMillis);
+        this.prewarmEnabled = prewarmEnabled;
+
+        // Bounded like the downstream bulkhead; rejects instead of queueing without bound
+        int threads = Math.max(1, parallelism);
+        this.generationPool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 25), namedDaemon("technical-test-gen"));
+        generationPool.allowCoreThreadTimeOut(true);
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        this.generationExecutor = ContextExecutorService.wrap(generationPool, snapshots::captureAll);
+    }
+
+    /**
+     * Template for the job's current content, generating it (or waiting for the generation already
+     * running for it) when it is not cached
+     */
+    public TechnicalTestTemplate getTemplate(Job job) {
+        try {
+            return start(job, true).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("No se pudo generar la prueba técnica: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    public CompletableFuture<TechnicalTestTemplate> getTemplateAsync(Job job) {
+        return start(job, false);
+    }
+
+    /**
+     * Starts generation in the background so the first test sent for the job is served from cache;
+     * a no-op when the template exists, is already being generated, or the pool is saturated
+     */
+    public void prewarm(Job job) {
+        if (!prewarmEnabled || job == null) {
+            return;
+        }
+        try {
+            start(job, false).exceptionally(error -> {
+                logger.warn("Technical test prewarm failed for job {}: {}", job.getId(), error.getMessage());
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("Technical test prewarm skipped for job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Detaches the job from the templates it used and drops those no other job uses; tests already sent
+     * keep their own copy
+     */
+    public void deleteForJob(String jobId) {
+        try {
+            Query usedByJob = new Query(Criteria.where("jobIds").is(jobId));
+            usedByJob.fields().include("_id");
+            List<String> ids = mongoTemplate.find(usedByJob, TechnicalTestTemplate.class).stream()
+                    .map(TechnicalTestTemplate::getId)
+                    .toList();
+            if (ids.isEmpty()) {
+                return;
+            }
+            mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids)),
+                    new Update().pull("jobIds", jobId), TechnicalTestTemplate.class);
+            // A job attached in the meantime leaves jobIds non-empty, so its template is kept
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(ids).and("jobIds").size(0)), TechnicalTestTemplate.class);
+            ids.forEach(templates::invalidate);
+        } catch (Exception e) {
+            logger.warn("Technical test template cleanup failed for job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = templates.getStats();
+        stats.put("generated", generated.get());
+        stats.put("defaults", defaults.get());
+        stats.put("shared", shared.get());
+        stats.put("persistedHits", persistedHits.get());
+        stats.put("inFlight", inFlight.size());
+        stats.put("fallbacks", fallbacks.size());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new BoundedCacheMetrics(templates).bindTo(registry);
+        Gauge.builder("clipers.technical.tests.generation.inflight", inFlight, Map::size)
+                .description("Technical test generations currently running").register(registry);
+        FunctionCounter.builder("clipers.technical.tests.generation", generated, AtomicLong::get)
+                .tag("outcome", "generated").register(registry);
+        FunctionCounter.builder("clipers.technical.tests.generation", defaults, AtomicLong::get)
+                .tag("outcome", "default").register(registry);
+        FunctionCounter.builder("clipers.technical.tests.generation", shared, AtomicLong::get)
+                .tag("outcome", "shared").register(registry);
+        new ExecutorServiceMetrics(generationPool, "technical-test-gen", Tags.empty()).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        generationExecutor.shutdownNow();
+    }
+
+    /**
+     * Cached template, or the single generation for its key. {@code inlineWhenBusy} runs the generation on
+     * the caller's thread when the pool is saturated instead of failing the request.
+     */
+    private CompletableFuture<TechnicalTestTemplate> start(Job job, boolean inlineWhenBusy) {
+        String key = contentHash(job);
+        TechnicalTestTemplate cached = templates.get(key);
+        if (cached == null) {
+            cached = fallbacks.get(key);
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(attached(cached, job));
+        }
+
+        CompletableFuture<TechnicalTestTemplate> created = new CompletableFuture<>();
+        CompletableFuture<TechnicalTestTemplate> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            // Possibly another job with the same content
+            shared.incrementAndGet();
+            return running.thenApply(template -> attached(template, job));
+        }
+
+        Runnable generation = () -> {
+            try {
+                created.complete(load(key, job));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        };
+        try {
+            generationExecutor.execute(generation);
+        } catch (RejectedExecutionException e) {
+            if (!inlineWhenBusy) {
+                inFlight.remove(key, created);
+                throw new RuntimeException("Demasiadas pruebas técnicas en generación, intenta nuevamente", e);
+            }
+            generation.run();
+        }
+        return created;
+    }
+
+    private TechnicalTestTemplate load(String key, Job job) {
+        TechnicalTestTemplate stored = readPersisted(key);
+        if (stored != null) {
+            persistedHits.incrementAndGet();
+            templates.put(key, stored);
+            return attached(stored, job);
+        }
+
+        String markdown = generateTestFromMicroservice(job);
+        if (markdown == null || markdown.isBlank()) {
+            defaults.incrementAndGet();
+            TechnicalTestTemplate fallback = new TechnicalTestTemplate(key, job.getId(), generateDefaultTest(job), LocalDateTime.now());
+            fallbacks.put(key, fallback);
+            return fallback;
+        }
+
+        generated.incrementAndGet();
+        TechnicalTestTemplate template = new TechnicalTestTemplate(key, job.getId(), markdown, LocalDateTime.now());
+        templates.put(key, template);
+        writePersisted(template);
+        return template;
+    }
+
+    private TechnicalTestTemplate readPersisted(String key) {
+        try {
+            return templateRepository.findById(key).orElse(null);
+        } catch (Exception e) {
+            logger.warn("Technical test template read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Records that the job uses the template, once per job. A template that is not persisted (a default
+     * test, or one deleted meanwhile) matches nothing and is left as it is.
+     */
+    private TechnicalTestTemplate attached(TechnicalTestTemplate template, Job job) {
+        synchronized (template) {
+            if (template.getJobIds().contains(job.getId())) {
+                return template;
+            }
+        }
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(template.getId())),
+                    new Update().addToSet("jobIds", job.getId()), TechnicalTestTemplate.class);
+            synchronized (template) {
+                template.getJobIds().add(job.getId());
+            }
+        } catch (Exception e) {
+            logger.warn("Technical test template {} not attached to job {}: {}", template.getId(), job.getId(), e.getMessage());
+        }
+        return template;
+    }
+
+    private void writePersisted(TechnicalTestTemplate template) {
+        Object[] jobIds;
+        synchronized (template) {
+            jobIds = template.getJobIds().toArray();
+        }
+        try {
+            // Upsert, so jobs another instance attached to the same content are kept
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(template.getId())),
+                    new Update()
+                            .setOnInsert("testMarkdown", template.getTestMarkdown())
+                            .setOnInsert("createdAt", template.getCreatedAt())
+                            .addToSet("jobIds").each(jobIds),
+                    TechnicalTestTemplate.class);
+        } catch (Exception e) {
+            // The in-memory copy is enough; persistence is best effort
+            logger.warn("Technical test template write failed for {}: {}", template.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Microservice markdown, or null when it failed (the default test is built by the caller)
+     */
+    private String generateTestFromMicroservice(Job job) {
+        String url = videoProcessingServiceUrl + "/generate-technical-test";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, String> request = new HashMap<>();
+        request.put("profession", job.getTitle());
+        request.put("technologies", String.join(", ", orEmpty(job.getSkills())));
+        request.put("experience", extractExperienceFromRequirements(orEmpty(job.getRequirements())));
+        request.put("education", "Relevant degree or equivalent experience");
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Requesting technical test from {} for job {}: {}", url, job.getId(), request);
+        }
+
+        HttpEntity<Map<String, String>> entity = new HttpEntity<>(request, headers);
+
+        // Only the HTTP exchange runs inside the breaker
+        return technicalTestClient.execute(() -> {
+            ResponseEntity<TechnicalTestResponse> response = technicalTestClient.rest().postForEntity(
+                url,
+                entity,
+                TechnicalTestResponse.class
+            );
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                String markdown = response.getBody().getTechnicalTestMarkdown();
+                logger.atInfo()
+                        .addKeyValue("jobId", job.getId())
+                        .addKeyValue("status", response.getStatusCode().value())
+                        .addKeyValue("markdownLength", markdown != null ? markdown.length() : 0)
+                        .log("Technical test generated by microservice");
+                return markdown;
+            } else {
+                logger.error("Technical test microservice returned {}", response.getStatusCode());
+                throw new RuntimeException("Failed to generate technical test from microservice");
+            }
+        }, error -> {
+            logger.warn("Error generating technical test for job {}, using default test: {}", job.getId(), error.getMessage());
+            return null;
+        });
+    }
+
+    private String extractExperienceFromRequirements(List<String> requirements) {
+        for (String req : requirements) {
+            if (req.toLowerCase().contains("año") || req.toLowerCase().contains("experiencia")) {
+                return req;
+            }
+        }
+        return "Experience in the field";
+    }
+
+    private String generateDefaultTest(Job job) {
+        String companyName = entityCache.getCompany(job.getCompanyId()).map(Company::getName).orElse("Empresa");
+        StringBuilder test = new StringBuilder(4096);
+        test.append("# Prueba Técnica - ").append(job.getTitle()).append("\n\n");
+        test.append("## 🏢 Empresa: ").append(companyName).append("\n\n");
+        test.append("## Información General\n");
+        test.append("- **Duración estimada:** 2-3 horas\n");
+        test.append("- **Posición:** ").append(job.getTitle()).append("\n");
+        test.append("- **Ubicación:** ").append(job.getLocation()).append("\n\n");
+
+        test.append("## Habilidades a Evaluar\n");
+        for (String skill : orEmpty(job.getSkills())) {
+            test.append("- ").append(skill).append("\n");
+        }
+        test.append("\n");
+
+        test.append("## Requisitos del Puesto\n");
+        for (String req : orEmpty(job.getRequirements())) {
+            test.append("- ").append(req).append("\n");
+        }
+        test.append("\n");
+
+        test.append("## Instrucciones\n");
+        test.append("Esta prueba técnica está diseñada para evaluar tus habilidades y conocimientos relacionados con el puesto de **")
+            .append(job.getTitle()).append("**. Por favor, lee cuidadosamente cada sección y proporciona respuestas detalladas.\n\n");
+
+        test.append("## Parte 1: Preguntas Teóricas (30%)\n\n");
+        test.append("### Pregunta 1: Experiencia Profesional\n");
+        test.append("Describe tu experiencia trabajando con las tecnologías y habilidades mencionadas anteriormente. ");
+        test.append("Incluye proyectos específicos donde hayas aplicado estas competencias.\n\n");
+
+        test.append("### Pregunta 2: Resolución de Problemas\n");
+        test.append("Explica un desafío técnico complejo que hayas enfrentado en tu carrera y cómo lo resolviste. ");
+        test.append("¿Qué aprendiste de esa experiencia?\n\n");
+
+        test.append("### Pregunta 3: Mejores Prácticas\n");
+        test.append("¿Cuáles consideras que son las mejores prácticas para el desarrollo en este rol? ");
+        test.append("¿Cómo aseguras la calidad del código en tus proyectos?\n\n");
+
+        test.append("## Parte 2: Ejercicio Práctico (50%)\n\n");
+        test.append("### Ejercicio: Desarrollo de Solución\n");
+        test.append("Desarrolla una solución que demuestre tu dominio de las tecnologías requeridas para este puesto. ");
+        test.append("La solución debe incluir:\n\n");
+        test.append("1. **Arquitectura:** Diseño de la solución propuesta\n");
+        test.append("2. **Implementación:** Código funcional que resuelva el problema\n");
+        test.append("3. **Documentación:** Explicación clara de tu enfoque\n");
+        test.append("4. **Testing:** Casos de prueba relevantes\n\n");
+
+        test.append("**Problema a resolver:**\n");
+        test.append("Diseña e implementa una funcionalidad que sea relevante para el puesto de ")
+            .append(job.getTitle()).append(". ");
+        test.append("Asegúrate de aplicar las mejores prácticas y demostrar tu conocimiento de las tecnologías requeridas.\n\n");
+
+        test.append("## Parte 3: Caso de Estudio (20%)\n\n");
+        test.append("### Escenario\n");
+        test.append("Imagina que te unes a nuestro equipo y te asignan un proyecto importante. ");
+        test.append("Describe cómo abordarías las siguientes situaciones:\n\n");
+        test.append("1. **Planificación:** ¿Cómo organizarías tu trabajo y priorizarías tareas?\n");
+        test.append("2. **Colaboración:** ¿Cómo trabajarías con otros miembros del equipo?\n");
+        test.append("3. **Calidad:** ¿Qué medidas tomarías para asegurar la calidad del entregable?\n");
+        test.append("4. **Innovación:** ¿Qué propuestas de mejora sugerirías?\n\n");
+
+        test.append("## Criterios de Evaluación\n\n");
+        test.append("Tu prueba será evaluada considerando:\n\n");
+        test.append("- **Conocimiento técnico:** Dominio de las tecnologías y conceptos requeridos\n");
+        test.append("- **Calidad del código:** Claridad, organización y mejores prácticas\n");
+        test.append("- **Resolución de problemas:** Capacidad analítica y creatividad\n");
+        test.append("- **Comunicación:** Claridad en las explicaciones y documentación\n");
+        test.append("- **Atención al detalle:** Completitud y precisión en las respuestas\n\n");
+
+        test.append("## Entrega\n\n");
+        test.append("Por favor, completa todas las secciones de esta prueba y envía tus respuestas a través de la plataforma. ");
+        test.append("Si tienes alguna pregunta, no dudes en contactarnos.\n\n");
+        test.append("**¡Buena suerte!** 🚀\n");
+
+        return test.toString();
+    }
+
+    /**
+     * SHA-256 over every job field the generated or default test reads; any edit to them is a new template
+     */
+    static String contentHash(Job job) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, job.getCompanyId());
+            update(digest, job.getTitle());
+            update(digest, job.getLocation());
+            for (String skill : orEmpty(job.getSkills())) {
+                update(digest, skill);
+            }
+            digest.update((byte) 1);
+            for (String requirement : orEmpty(job.getRequirements())) {
+                update(digest, requirement);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("No se pudo calcular la clave de la prueba técnica: " + e.getMessage(), e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // Separator, so ("ab", "c") and ("a", "bc") differ
+        digest.update((byte) 0);
+    }
+
+    private static List<String> orEmpty(List<String> values) {
+        return values != null ? values : List.of();
+    }
+
+    private static ThreadFactory namedDaemon(String prefix) {
+        AtomicInteger ids = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,333 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Cliper;
+import com.clipers.clipers.entity.Post;
+import com.clipers.clipers.entity.TrendingSnapshot;
+import com.clipers.clipers.entity.User;
+import com.clipers.clipers.repository.TrendingSnapshotRepository;
+import com.clipers.clipers.repository.UserRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Periodically ranks posts and clipers by a time-decayed popularity score
+ * and materializes the top-N per category into trending_snapshots.
+ * Template Method Pattern implicitly: both sources share the same scan/rank/persist steps.
+ *
+ * score = (likes * likeWeight + comments * commentWeight + 1) / (ageHours + 2) ^ gravity
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    public static final String SOURCE_POSTS = "posts";
+    public static final String SOURCE_CLIPERS = "clipers";
+
+    private static final int EXCERPT_LENGTH = 140;
+    private static final ZoneId APP_ZONE = ZoneId.of("America/Lima"); // same zone as auditingDateTimeProvider
+
+    private final MongoTemplate mongoTemplate;
+    private final TrendingSnapshotRepository trendingSnapshotRepository;
+    private final UserRepository userRepository;
+
+    @Value("${trending.enabled:true}")
+    private boolean enabled;
+
+    @Value("${trending.top-n:50}")
+    private int topN;
+
+    @Value("${trending.window-days:14}")
+    private int windowDays;
+
+    @Value("${trending.gravity:1.5}")
+    private double gravity;
+
+    @Value("${trending.like-weight:1.0}")
+    private double likeWeight;
+
+    @Value("${trending.comment-weight:2.0}")
+    private double commentWeight;
+
+    @Autowired
+    public TrendingService(MongoTemplate mongoTemplate,
+                           TrendingSnapshotRepository trendingSnapshotRepository,
+                           UserRepository userRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.trendingSnapshotRepository = trendingSnapshotRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Scheduled(initialDelayString = "${trending.initial-delay-ms:30000}",
+               fixedDelayString = "${trending.refresh-interval-ms:300000}")
+    public void refreshScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep the previous snapshot; the next run will retry
+            logger.error("Trending refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recompute every snapshot. Safe to call manually (e.g. from an admin endpoint).
+     */
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now(APP_ZONE);
+        LocalDateTime since = now.minusDays(windowDays);
+
+        List<TrendingSnapshot> snapshots = new ArrayList<>();
+        snapshots.addAll(rankPosts(since, now));
+        snapshots.addAll(rankClipers(since, now));
+
+        attachAuthors(snapshots);
+        snapshots.forEach(s -> s.setComputedAt(now));
+        trendingSnapshotRepository.saveAll(snapshots);
+
+        logger.info("Trending snapshots refreshed: {} categories in {} ms",
+                snapshots.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Read path used by the controllers: a single document lookup, no ranking work.
+     */
+    public Optional<TrendingSnapshot> getSnapshot(String source, String category, int limit) {
+        String normalizedCategory = category == null || category.isBlank()
+                ? TrendingSnapshot.CATEGORY_ALL
+                : category.trim().toUpperCase();
+
+        return trendingSnapshotRepository.findById(TrendingSnapshot.idFor(source, normalizedCategory))
+                .map(snapshot -> {
+                    List<TrendingSnapshot.Entry> entries = snapshot.getEntries();
+                    if (entries != null && limit > 0 && entries.size() > limit) {
+                        snapshot.setEntries(new ArrayList<>(entries.subList(0, limit)));
+                    }
+                    return snapshot;
+                });
+    }
+
+    private List<TrendingSnapshot> rankPosts(LocalDateTime since, LocalDateTime now) {
+        Map<String, TopN> heaps = new LinkedHashMap<>();
+        heaps.put(TrendingSnapshot.CATEGORY_ALL, new TopN(topN));
+        for (Post.PostType type : Post.PostType.values()) {
+            heaps.put(type.name(), new TopN(topN));
+        }
+
+        AggregationOperation project = context -> new Document("$project", new Document()
+                .append("userId", 1)
+                .append("type", 1)
+                .append("imageUrl", 1)
+                .append("createdAt", 1)
+                .append("likes", 1)
+                .append("excerpt", new Document("$substrCP", List.of(
+                        new Document("$ifNull", List.of("$content", "")), 0, EXCERPT_LENGTH)))
+                .append("commentsCount", sizeOf("$commentIds")));
+
+        long scanned = stream(SOURCE_POSTS, since, null, project, doc -> {
+            TrendingSnapshot.Entry entry = new TrendingSnapshot.Entry();
+            entry.setEntityId(idOf(doc));
+            entry.setUserId(doc.getString("userId"));
+            entry.setType(doc.getString("type") != null ? doc.getString("type") : Post.PostType.TEXT.name());
+            entry.setTitle(doc.getString("excerpt"));
+            entry.setMediaUrl(doc.getString("imageUrl"));
+            entry.setLikesCount(intValue(doc.get("likes")));
+            entry.setCommentsCount(intValue(doc.get("commentsCount")));
+            entry.setCreatedAt(toLocalDateTime(doc.getDate("createdAt")));
+            entry.setScore(score(entry, now));
+
+            heaps.get(TrendingSnapshot.CATEGORY_ALL).offer(entry);
+            TopN typeHeap = heaps.get(entry.getType());
+            if (typeHeap != null) {
+                typeHeap.offer(entry);
+            }
+        });
+
+        return toSnapshots(SOURCE_POSTS, heaps, scanned);
+    }
+
+    private List<TrendingSnapshot> rankClipers(LocalDateTime since, LocalDateTime now) {
+        Map<String, TopN> heaps = new LinkedHashMap<>();
+        heaps.put(TrendingSnapshot.CATEGORY_ALL, new TopN(topN));
+
+        AggregationOperation project = context -> new Document("$project", new Document()
+                .append("userId", 1)
+                .append("title", 1)
+                .append("thumbnailUrl", 1)
+                .append("duration", 1)
+                .append("createdAt", 1)
+                .append("likesCount", sizeOf("$likedBy"))
+                .append("commentsCount", sizeOf("$comments")));
+
+        long scanned = stream(SOURCE_CLIPERS, since, Cliper.Status.DONE.name(), project, doc -> {
+            TrendingSnapshot.Entry entry = new TrendingSnapshot.Entry();
+            entry.setEntityId(idOf(doc));
+            entry.setUserId(doc.getString("userId"));
+            entry.setType("CLIPER");
+            entry.setTitle(doc.getString("title"));
+            entry.setMediaUrl(doc.getString("thumbnailUrl"));
+            entry.setDuration(doc.get("duration") != null ? intValue(doc.get("duration")) : null);
+            entry.setLikesCount(intValue(doc.get("likesCount")));
+            entry.setCommentsCount(intValue(doc.get("commentsCount")));
+            entry.setCreatedAt(toLocalDateTime(doc.getDate("createdAt")));
+            entry.setScore(score(entry, now));
+
+            heaps.get(TrendingSnapshot.CATEGORY_ALL).offer(entry);
+        });
+
+        return toSnapshots(SOURCE_CLIPERS, heaps, scanned);
+    }
+
+    /**
+     * Streams the projected documents through a cursor so memory stays O(topN) regardless of collection size.
+     */
+    private long stream(String collection, LocalDateTime since, String status,
+                        AggregationOperation project, Consumer<Document> consumer) {
+        Criteria criteria = Criteria.where("createdAt").gte(since);
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(criteria), project)
+                .withOptions(AggregationOptions.builder().cursorBatchSize(500).build());
+
+        long scanned = 0;
+        try (Stream<Document> docs = mongoTemplate.aggregateStream(aggregation, collection, Document.class)) {
+            for (Document doc : (Iterable<Document>) docs::iterator) {
+                consumer.accept(doc);
+                scanned++;
+            }
+        }
+        return scanned;
+    }
+
+    private void attachAuthors(List<TrendingSnapshot> snapshots) {
+        Set<String> userIds = new HashSet<>();
+        for (TrendingSnapshot snapshot : snapshots) {
+            for (TrendingSnapshot.Entry entry : snapshot.getEntries()) {
+                if (entry.getUserId() != null) {
+                    userIds.add(entry.getUserId());
+                }
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, User> users = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+
+        for (TrendingSnapshot snapshot : snapshots) {
+            for (TrendingSnapshot.Entry entry : snapshot.getEntries()) {
+                User user = users.get(entry.getUserId());
+                if (user != null) {
+                    String first = user.getFirstName() != null ? user.getFirstName() : "";
+                    String last = user.getLastName() != null ? user.getLastName() : "";
+                    entry.setAuthorName((first + " " + last).trim());
+                    entry.setAuthorImage(user.getProfileImage());
+                }
+            }
+        }
+    }
+
+    private List<TrendingSnapshot> toSnapshots(String source, Map<String, TopN> heaps, long scanned) {
+        return heaps.entrySet().stream()
+                .map(e -> {
+                    TrendingSnapshot snapshot = new TrendingSnapshot(source, e.getKey());
+                    snapshot.setEntries(e.getValue().sortedDescending());
+                    snapshot.setScannedDocuments(scanned);
+                    return snapshot;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private double score(TrendingSnapshot.Entry entry, LocalDateTime now) {
+        double ageHours = 0;
+        if (entry.getCreatedAt() != null) {
+            ageHours = Math.max(0, Duration.between(entry.getCreatedAt(), now).toMinutes() / 60.0);
+        }
+        double engagement = entry.getLikesCount() * likeWeight + entry.getCommentsCount() * commentWeight + 1;
+        return engagement / Math.pow(ageHours + 2, gravity);
+    }
+
+    private static Document sizeOf(String field) {
+        return new Document("$size", new Document("$ifNull", List.of(field, Collections.emptyList())));
+    }
+
+    private static String idOf(Document doc) {
+        Object id = doc.get("_id");
+        return id != null ? id.toString() : null; // ObjectId.toString() is the hex form
+    }
+
+    private static int intValue(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        // Spring Data stores LocalDateTime using the JVM default zone, so read it back the same way
+        return date != null ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    /**
+     * Bounded min-heap keeping the N highest scores seen so far
+     */
+    private static final class TopN {
+        private static final Comparator<TrendingSnapshot.Entry> BY_SCORE =
+                Comparator.comparingDouble(TrendingSnapshot.Entry::getScore);
+
+        private final int capacity;
+        private final PriorityQueue<TrendingSnapshot.Entry> heap;
+
+        TopN(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.heap = new PriorityQueue<>(this.capacity + 1, BY_SCORE);
+        }
+
+        void offer(TrendingSnapshot.Entry entry) {
+            if (heap.size() < capacity) {
+                heap.offer(entry);
+            } else if (entry.getScore() > heap.peek().getScore()) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+
+        List<TrendingSnapshot.Entry> sortedDescending() {
+            List<TrendingSnapshot.Entry> entries = new ArrayList<>(heap);
+            entries.sort(BY_SCORE.reversed());
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.clipers.clipers.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends finished spans to a local file as OTLP/JSON: one ExportTraceServiceRequest
+ * ({"resourceSpans": [...]}) per line, the layout read by the OpenTelemetry Collector's
+ * otlpjsonfile receiver. Called from the BatchSpanProcessor worker, never from request threads.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtlpJsonFileSpanExporter.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path path;
+    private final Writer writer;
+    private boolean shutdown;
+
+    public OtlpJsonFileSpanExporter(Path path) throws IOException {
+        this.path = path.toAbsolutePath();
+        if (this.path.getParent() != null) {
+            Files.createDirectories(this.path.getParent());
+        }
+        this.writer = Files.newBufferedWriter(this.path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        logger.info("Exporting spans as OTLP/JSON to {}", this.path);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            writer.write(mapper.writeValueAsString(toRequest(spans)));
+            writer.write('\n');
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            logger.warn("Could not write {} spans to {}: {}", spans.size(), path, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (shutdown) {
+            return CompletableResultCode.ofSuccess();
+        }
+        shutdown = true;
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    /**
+     * resourceSpans -> scopeSpans -> spans, grouped the way the OTLP protobuf is
+     */
+    private Map<String, Object> toRequest(Collection<SpanData> spans) {
+        Map<Resource, Map<InstrumentationScopeInfo, List<Map<String, Object>>>> grouped = new LinkedHashMap<>();
+        for (SpanData span : spans) {
+            grouped.computeIfAbsent(span.getResource(), r -> new LinkedHashMap<>())
+                    .computeIfAbsent(span.getInstrumentationScopeInfo(), s -> new ArrayList<>())
+                    .add(toSpan(span));
+        }
+
+        List<Map<String, Object>> resourceSpans = new ArrayList<>(grouped.size());
+        grouped.forEach((resource, scopes) -> {
+            List<Map<String, Object>> scopeSpans = new ArrayList<>(scopes.size());
+            scopes.forEach((scope, scopeSpanList) -> {
+                Map<String, Object> scopeJson = new LinkedHashMap<>();
+                scopeJson.put("name", scope.getName());
+                if (scope.getVersion() != null) {
+                    scopeJson.put("version", scope.getVersion());
+                }
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("scope", scopeJson);
+                entry.put("spans", scopeSpanList);
+                scopeSpans.add(entry);
+            });
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("resource", Map.of("attributes", toAttributes(resource.getAttributes())));
+            entry.put("scopeSpans", scopeSpans);
+            resourceSpans.add(entry);
+        });
+        return Map.of("resourceSpans", resourceSpans);
+    }
+
+    private Map<String, Object> toSpan(SpanData span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            json.put("parentSpanId", span.getParentSpanId());
+        }
+        json.put("name", span.getName());
+        // OTLP SpanKind: 0 is UNSPECIFIED, then INTERNAL, SERVER, CLIENT, PRODUCER, CONSUMER
+        json.put("kind", span.getKind().ordinal() + 1);
+        // 64-bit integers are strings in OTLP/JSON
+        json.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        json.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+        json.put("attributes", toAttributes(span.getAttributes()));
+
+        if (!span.getEvents().isEmpty()) {
+            List<Map<String, Object>> events = new ArrayList<>(span.getEvents().size());
+            for (EventData event : span.getEvents()) {
+                Map<String, Object> eventJson = new LinkedHashMap<>();
+                eventJson.put("timeUnixNano", Long.toString(event.getEpochNanos()));
+                eventJson.put("name", event.getName());
+                eventJson.put("attributes", toAttributes(event.getAttributes()));
+                events.add(eventJson);
+            }
+            json.put("events", events);
+        }
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        // OTLP StatusCode: UNSET 0, OK 1, ERROR 2 (StatusCode enum order is OK, ERROR, UNSET)
+        status.put("code", switch (span.getStatus().getStatusCode()) {
+            case OK -> 1;
+            case ERROR -> 2;
+            case UNSET -> 0;
+        });
+        if (!span.getStatus().getDescription().isEmpty()) {
+            status.put("message", span.getStatus().getDescription());
+        }
+        json.put("status", status);
+        return json;
+    }
+
+    private static List<Map<String, Object>> toAttributes(Attributes attributes) {
+        List<Map<String, Object>> list = new ArrayList<>(attributes.size());
+        attributes.forEach((key, value) -> {
+            Map<String, Object> attribute = new LinkedHashMap<>();
+            attribute.put("key", key.getKey());
+            attribute.put("value", toAnyValue(key, value));
+            list.add(attribute);
+        });
+        return list;
+    }
+
+    private static Map<String, Object> toAnyValue(AttributeKey<?> key, Object value) {
+        return switch (key.getType()) {
+            case BOOLEAN -> Map.of("boolValue", value);
+            case LONG -> Map.of("intValue", value.toString());
+            case DOUBLE -> Map.of("doubleValue", value);
+            case STRING -> Map.of("stringValue", value);
+            default -> {
+                // *_ARRAY types arrive as List<?>
+                List<Map<String, Object>> values = new ArrayList<>();
+                for (Object element : (List<?>) value) {
+                    values.add(element instanceof Boolean ? Map.of("boolValue", element)
+                            : element instanceof Long ? Map.of("intValue", element.toString())
+                            : element instanceof Double ? Map.of("doubleValue", element)
+                            : Map.of("stringValue", String.valueOf(element)));
+                }
+                yield Map.of("arrayValue", Map.of("values", values));
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.clipers.clipers.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedCacheTest {
+
+    @Test
+    void overflowEvictsTheLeastRecentlyUsedEntry() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 2, 60_000);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnRead() throws InterruptedException {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10, 1);
+        cache.put("a", 1);
+        Thread.sleep(5);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+}
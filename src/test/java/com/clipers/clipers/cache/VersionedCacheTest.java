@@ -0,0 +1,51 @@
+package com.clipers.clipers.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VersionedCacheTest {
+
+    private final VersionedCache<Item> cache = new VersionedCache<>("items", 100, 60_000, Item::id);
+
+    @Test
+    void loadOverlappingAnInvalidateIsNotCached() {
+        Optional<Item> loaded = cache.get("a", id -> {
+            // The entity is updated while this (now stale) read is in flight
+            cache.invalidate(id);
+            return Optional.of(new Item(id, "stale"));
+        });
+
+        assertEquals("stale", loaded.orElseThrow().value());
+        assertEquals("fresh", cache.get("a", id -> Optional.of(new Item(id, "fresh"))).orElseThrow().value());
+    }
+
+    @Test
+    void loadOverlappingAPutDoesNotReplaceTheSavedCopy() {
+        cache.get("a", id -> {
+            cache.put(new Item(id, "saved"));
+            return Optional.of(new Item(id, "stale"));
+        });
+
+        assertEquals("saved", cache.get("a", id -> Optional.of(new Item(id, "reloaded"))).orElseThrow().value());
+    }
+
+    @Test
+    void batchLoadSkipsOnlyTheKeysInvalidatedMeanwhile() {
+        Map<String, Item> loaded = cache.getAll(List.of("a", "b"), ids -> {
+            cache.invalidate("a");
+            return List.of(new Item("a", "stale"), new Item("b", "current"));
+        });
+
+        assertEquals("stale", loaded.get("a").value());
+        Map<String, Item> again = cache.getAll(List.of("a", "b"), ids -> ids.stream().map(id -> new Item(id, "reloaded")).toList());
+        assertEquals("reloaded", again.get("a").value());
+        assertEquals("current", again.get("b").value());
+    }
+
+    private record Item(String id, String value) {}
+}
@@ -0,0 +1,40 @@
+package com.clipers.clipers.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DownstreamClientTest {
+
+    @Test
+    void errorInHalfOpenTrialReleasesBothPermits() {
+        // Opens on the first failure and admits a single half-open trial right away
+        CircuitBreaker breaker = new CircuitBreaker(1, 1, 50.0, 0, 1);
+        Bulkhead bulkhead = new Bulkhead(1, 0);
+        DownstreamClient client = new DownstreamClient("test", new RestTemplate(), breaker, bulkhead);
+
+        assertEquals("fallback", client.execute(() -> { throw new IllegalStateException("down"); }, e -> "fallback"));
+        assertThrows(AssertionError.class, () -> client.execute(() -> { throw new AssertionError("boom"); }, e -> "fallback"));
+
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals("ok", client.execute(() -> "ok", e -> "fallback")); // the trial permit is available again
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void bulkheadRejectionReleasesTheTrialPermit() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1, 50.0, 0, 2);
+        Bulkhead bulkhead = new Bulkhead(1, 0);
+        DownstreamClient client = new DownstreamClient("test", new RestTemplate(), breaker, bulkhead);
+        client.execute(() -> { throw new IllegalStateException("down"); }, e -> "fallback");
+
+        // Both trial permits are taken; the nested call is then turned away by the full bulkhead
+        String nested = client.execute(() -> client.execute(() -> "inner", Throwable::getMessage), e -> "fallback");
+
+        assertEquals("test: bulkhead full", nested);
+        assertEquals("ok", client.execute(() -> "ok", Throwable::getMessage));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
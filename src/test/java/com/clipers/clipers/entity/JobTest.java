@@ -0,0 +1,33 @@
+package com.clipers.clipers.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JobTest {
+
+    @Test
+    void locationKeyFoldsCaseAccentsAndWhitespace() {
+        assertEquals("lima, peru", Job.locationKeyOf("  Lima,\t PERÚ "));
+        assertEquals("sao paulo", Job.locationKeyOf("São Paulo"));
+        assertEquals("bogota", Job.locationKeyOf("Bogotá")); // combining acute accent
+        assertEquals(Job.locationKeyOf("MEDELLÍN"), Job.locationKeyOf("medellin"));
+    }
+
+    @Test
+    void blankLocationHasNoKey() {
+        assertNull(Job.locationKeyOf(null));
+        assertNull(Job.locationKeyOf(" \n "));
+    }
+
+    @Test
+    void settingTheLocationKeepsTheKeyInSync() {
+        Job job = new Job();
+        job.setLocation("Arequipa ");
+        assertEquals("arequipa", job.getLocationKey());
+
+        job.setLocation(null);
+        assertNull(job.getLocationKey());
+    }
+}
@@ -0,0 +1,73 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.dto.matching.JobDTO;
+import com.clipers.clipers.dto.matching.SingleMatchResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class AIMatchCacheServiceTest {
+
+    // Not persistent, so the repository is never used
+    private final AIMatchCacheService cacheService = new AIMatchCacheService(null, new ObjectMapper(), 100, 60_000);
+
+    private final CandidateDTO candidate = new CandidateDTO();
+    private final JobDTO job = new JobDTO();
+    private final LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void callersCannotChangeTheCachedResult() {
+        candidate.setId("candidate");
+        job.setId("job");
+        AtomicInteger computed = new AtomicInteger();
+
+        SingleMatchResponseDTO first = cacheService.getMatch(candidate, updatedAt, job, updatedAt, () -> {
+            computed.incrementAndGet();
+            return response(0.8, "Java");
+        });
+        first.setCompatibilityScore(0.1);
+        first.getMatchedSkills().add("Cobol");
+
+        SingleMatchResponseDTO second = cacheService.getMatch(candidate, updatedAt, job, updatedAt, () -> {
+            computed.incrementAndGet();
+            return response(0.5, "Go");
+        });
+        second.getMatchedSkills().clear();
+
+        SingleMatchResponseDTO third = cacheService.getMatch(candidate, updatedAt, job, updatedAt, () -> null);
+
+        assertEquals(1, computed.get());
+        assertNotSame(second, third);
+        assertEquals(0.8, third.getCompatibilityScore());
+        assertEquals(List.of("Java"), third.getMatchedSkills());
+    }
+
+    @Test
+    void fallbackResultsAreNotCached() {
+        candidate.setId("candidate");
+        job.setId("job");
+        SingleMatchResponseDTO fallback = response(0.3, "Java");
+        fallback.setSource(AIMatchingService.SOURCE_FALLBACK);
+
+        cacheService.getMatch(candidate, updatedAt, job, updatedAt, () -> fallback);
+
+        assertEquals(0.9, cacheService.getMatch(candidate, updatedAt, job, updatedAt, () -> response(0.9, "Java"))
+                .getCompatibilityScore());
+    }
+
+    private static SingleMatchResponseDTO response(double score, String skill) {
+        SingleMatchResponseDTO response = new SingleMatchResponseDTO();
+        response.setCompatibilityScore(score);
+        response.setMatchedSkills(new ArrayList<>(List.of(skill)));
+        response.setSource(AIMatchingService.SOURCE_AI_SERVICE);
+        return response;
+    }
+}
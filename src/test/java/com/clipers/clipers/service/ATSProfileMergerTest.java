@@ -0,0 +1,112 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.VideoProcessingResponse;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Education;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Language;
+import com.clipers.clipers.entity.Skill;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ATSProfileMergerTest {
+
+    private final ATSProfileMerger merger = new ATSProfileMerger();
+
+    private final VideoProcessingResponse.Profile extracted = new VideoProcessingResponse.Profile("Ana", "Backend Developer",
+            "Cinco años desarrollando microservicios en Java", "Universidad Nacional de Ingeniería",
+            "Java, spring  boot, Docker, docker", "Inglés, Portugués", "Migración a la nube", "Liderazgo");
+
+    @Test
+    void diffReplayedOnTheOriginalReproducesTheMergedProfile() {
+        ATSProfile merged = existingProfile();
+        ATSProfileMergeDiff diff = merger.merge(merged, extracted, "Resumen del cliper");
+
+        ATSProfile replayed = existingProfile();
+        replayed.setSummary("Resumen del cliper");
+        replayed.getEducation().addAll(diff.getAddedEducation());
+        replayed.getExperience().addAll(diff.getAddedExperience());
+        replayed.getSkills().addAll(diff.getAddedSkills());
+        replayed.getLanguages().addAll(diff.getAddedLanguages());
+
+        assertEquals(merged.getSummary(), replayed.getSummary());
+        assertEquals(names(merged.getSkills(), Skill::getName), names(replayed.getSkills(), Skill::getName));
+        assertEquals(names(merged.getLanguages(), Language::getName), names(replayed.getLanguages(), Language::getName));
+        assertEquals(names(merged.getEducation(), Education::getInstitution),
+                names(replayed.getEducation(), Education::getInstitution));
+        assertEquals(names(merged.getExperience(), Experience::getDescription),
+                names(replayed.getExperience(), Experience::getDescription));
+
+        // Existing Java/Spring Boot/Inglés, the repeated Docker and the known university are dropped
+        assertEquals(List.of("Docker", "Liderazgo"), names(diff.getAddedSkills(), Skill::getName));
+        assertEquals(List.of("Portugués"), names(diff.getAddedLanguages(), Language::getName));
+        assertTrue(diff.getAddedEducation().isEmpty());
+        assertEquals(1, diff.getAddedExperience().size());
+        assertEquals(5, diff.getDuplicates());
+    }
+
+    @Test
+    void mergeUpdatePushesExactlyTheDiff() {
+        ATSProfile merged = existingProfile();
+        ATSProfileMergeDiff diff = merger.merge(merged, extracted, "Resumen del cliper");
+
+        Document update = ATSProfileService.mergeUpdate(merged, diff).getUpdateObject();
+
+        assertEquals("Resumen del cliper", update.get("$set", Document.class).get("summary"));
+        assertEquals(List.of("experience", "skills", "languages"), List.copyOf(update.get("$push", Document.class).keySet()));
+    }
+
+    @Test
+    void mergingTheSameExtractionTwiceChangesNothing() {
+        ATSProfile profile = existingProfile();
+        merger.merge(profile, extracted, "Resumen del cliper");
+
+        ATSProfileMergeDiff second = merger.merge(profile, extracted, "Resumen del cliper");
+
+        assertTrue(second.isEmpty());
+        assertEquals(9, second.getDuplicates());
+    }
+
+    @Test
+    void equalHashesWithDifferentTextAreNotDuplicates() {
+        // Control characters are skipped by normalizedHash but kept by normalize
+        assertEquals(SkillTaxonomyService.normalizedHash("Ja\u0001va"), SkillTaxonomyService.normalizedHash("Java"));
+        ATSProfileMerger.NameSet names = new ATSProfileMerger.NameSet(List.of("Ja\u0001va", "Go"));
+        names.markExisting("JAVA");
+
+        assertTrue(names.addIfNew("Ja\u0001va"));
+        assertTrue(names.addIfNew(" go "));
+        assertFalse(names.addIfNew("Go"));
+        assertFalse(names.addIfNew("Java"));
+
+        // "aaw" and "ac9" share a String.hashCode()
+        assertEquals("aaw".hashCode(), "ac9".hashCode());
+        ATSProfileMerger.TokenIndex index = new ATSProfileMerger.TokenIndex();
+        index.add(ATSProfileMerger.tokens("aaw"));
+        assertEquals(0.0, index.bestOverlap(ATSProfileMerger.tokens("ac9")));
+        assertEquals(1.0, index.bestOverlap(ATSProfileMerger.tokens("AAW")));
+    }
+
+    private static ATSProfile existingProfile() {
+        ATSProfile profile = new ATSProfile("user-1");
+        profile.setSummary("Resumen anterior");
+        profile.addEducation("Universidad Nacional de Ingeniería", "Ingeniería de Sistemas", "Software");
+        profile.addExperience("Clipers", "Backend", "Diseño de APIs REST");
+        profile.addSkill("JAVA", Skill.SkillLevel.ADVANCED, Skill.SkillCategory.TECHNICAL);
+        profile.addSkill("Spring Boot", Skill.SkillLevel.INTERMEDIATE, Skill.SkillCategory.TECHNICAL);
+        profile.addLanguage("ingles", Language.LanguageLevel.ADVANCED);
+        return profile;
+    }
+
+    private static <T> List<String> names(List<T> entries, Function<T, String> name) {
+        return entries.stream().map(name).collect(Collectors.toList());
+    }
+}
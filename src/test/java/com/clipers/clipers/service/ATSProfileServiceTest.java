@@ -0,0 +1,138 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ATSProfileServiceTest {
+
+    private final ATSProfileRepository repository = mock(ATSProfileRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final CandidateVectorIndex candidateVectorIndex = mock(CandidateVectorIndex.class);
+
+    // The user repository is only used to create profiles
+    private final ATSProfileService service = new ATSProfileService(repository, null, mongoTemplate,
+            mock(SkillTaxonomyService.class), candidateVectorIndex, () -> Optional.of(LocalDateTime.of(2026, 1, 1, 0, 0)));
+
+    private final ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+    private final ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+
+    @Test
+    void conflictingWriteRereadsAndReappliesTheChange() {
+        ATSProfile read = profile(3L, skill("s1", "Java"));
+        ATSProfile fresh = profile(4L, skill("s0", "Go"), skill("s1", "Java"));
+        ATSProfile stored = profile(5L, skill("s0", "Go"), skill("s1", "Kotlin"));
+        when(repository.findByUserId("user-1")).thenReturn(Optional.of(read));
+        when(repository.findById("profile-1")).thenReturn(Optional.of(fresh));
+        when(findAndModify()).thenReturn(null, stored);
+
+        Skill updated = service.updateSkill("user-1", "s1", "Kotlin", Skill.SkillLevel.ADVANCED, Skill.SkillCategory.TECHNICAL);
+
+        verify(mongoTemplate, times(2)).findAndModify(queries.capture(), updates.capture(), any(FindAndModifyOptions.class), eq(ATSProfile.class));
+        assertEquals(3L, queries.getAllValues().get(0).getQueryObject().get("version"));
+        assertEquals(4L, queries.getAllValues().get(1).getQueryObject().get("version"));
+        // The entry moved to index 1 in the fresh copy, so the retry addresses it there
+        assertNotNull(set(updates.getAllValues().get(0)).get("skills.0"));
+        assertSame(updated, set(updates.getAllValues().get(1)).get("skills.1"));
+        assertEquals("Kotlin", updated.getName());
+        assertEquals("Go", fresh.getSkills().get(0).getName());
+        verify(candidateVectorIndex).onProfileSaved(stored);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        ATSProfile read = profile(3L, skill("s1", "Java"));
+        when(repository.findByUserId("user-1")).thenReturn(Optional.of(read));
+        when(repository.findById("profile-1")).thenReturn(Optional.of(read));
+        when(findAndModify()).thenReturn(null);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.updateProfile("user-1", "Nuevo resumen"));
+        verify(mongoTemplate, times(5)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ATSProfile.class));
+    }
+
+    @Test
+    void legacyEntriesGetTheirIdsPersistedBeforeTheEdit() {
+        ATSProfile legacy = profile(null, skill(null, "Java"));
+        ATSProfile withIds = profile(0L, skill("s1", "Java"));
+        ATSProfile stored = profile(1L, skill("s1", "Java"));
+        when(repository.findByUserId("user-1")).thenReturn(Optional.of(legacy));
+        when(findAndModify()).thenReturn(withIds, stored);
+
+        assertSame(stored, service.updateProfile("user-1", "Nuevo resumen"));
+
+        verify(mongoTemplate, times(2)).findAndModify(queries.capture(), updates.capture(), any(FindAndModifyOptions.class), eq(ATSProfile.class));
+        // Never written by this service: the guard matches the missing version
+        Document guard = queries.getAllValues().get(0).getQueryObject();
+        assertTrue(guard.containsKey("version"));
+        assertNull(guard.get("version"));
+        Document ids = set(updates.getAllValues().get(0));
+        assertEquals(0L, ids.get("version"));
+        assertEquals(legacy.getSkills(), ids.get("skills"));
+        assertNotNull(legacy.getSkills().get(0).getId());
+        assertNull(ids.get("summary"));
+
+        assertEquals(0L, queries.getAllValues().get(1).getQueryObject().get("version"));
+        assertEquals("Nuevo resumen", set(updates.getAllValues().get(1)).get("summary"));
+    }
+
+    @Test
+    void numericIndexIsAcceptedFromOlderClients() {
+        ATSProfile read = profile(3L, skill("s0", "Go"), skill("s1", "Java"));
+        when(repository.findByUserId("user-1")).thenReturn(Optional.of(read));
+        when(findAndModify()).thenReturn(read);
+
+        service.updateSkill("user-1", "1", "Kotlin", Skill.SkillLevel.ADVANCED, Skill.SkillCategory.TECHNICAL);
+
+        verify(mongoTemplate).findAndModify(any(Query.class), updates.capture(), any(FindAndModifyOptions.class), eq(ATSProfile.class));
+        assertEquals("Kotlin", ((Skill) set(updates.getValue()).get("skills.1")).getName());
+        assertThrows(RuntimeException.class, () -> service.deleteSkill("user-1", "2"));
+        assertThrows(RuntimeException.class, () -> service.deleteSkill("user-1", "s9"));
+    }
+
+    private ATSProfile findAndModify() {
+        return mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ATSProfile.class));
+    }
+
+    private static ATSProfile profile(Long version, Skill... skills) {
+        ATSProfile profile = new ATSProfile("user-1");
+        profile.setId("profile-1");
+        profile.setVersion(version);
+        profile.getSkills().addAll(List.of(skills));
+        return profile;
+    }
+
+    private static Skill skill(String id, String name) {
+        Skill skill = new Skill(name, Skill.SkillLevel.INTERMEDIATE, Skill.SkillCategory.TECHNICAL);
+        skill.setId(id);
+        return skill;
+    }
+
+    private static Document set(Update update) {
+        return update.getUpdateObject().get("$set", Document.class);
+    }
+}
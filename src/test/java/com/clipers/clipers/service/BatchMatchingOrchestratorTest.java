@@ -0,0 +1,64 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.matching.BatchMatchResponseDTO;
+import com.clipers.clipers.dto.matching.JobDTO;
+import com.clipers.clipers.dto.matching.RankedMatchResultDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchMatchingOrchestratorTest {
+
+    @Test
+    void mergesChunksOfTheSameSourceByScore() {
+        BatchMatchResponseDTO merged = BatchMatchingOrchestrator.merge(List.of(
+                partial(AIMatchingService.SOURCE_AI_SERVICE, match("a", 0.9), match("b", 0.4)),
+                partial(AIMatchingService.SOURCE_AI_SERVICE, match("c", 0.7), match("d", 0.1))), job(), 4);
+
+        assertEquals(List.of("a", "c", "b", "d"), ids(merged));
+        assertEquals(List.of(1, 2, 3, 4), merged.getMatches().stream().map(RankedMatchResultDTO::getRank).collect(Collectors.toList()));
+        assertEquals(AIMatchingService.SOURCE_AI_SERVICE, merged.getSource());
+    }
+
+    @Test
+    void ranksFallbackScoredCandidatesAfterAiScoredOnes() {
+        BatchMatchResponseDTO merged = BatchMatchingOrchestrator.merge(List.of(
+                partial(AIMatchingService.SOURCE_FALLBACK, match("local-high", 0.95), match("local-low", 0.2)),
+                partial(AIMatchingService.SOURCE_AI_SERVICE, match("ai-high", 0.6), match("ai-low", 0.3))), job(), 4);
+
+        assertEquals(List.of("ai-high", "ai-low", "local-high", "local-low"), ids(merged));
+        assertEquals(List.of(AIMatchingService.SOURCE_AI_SERVICE, AIMatchingService.SOURCE_AI_SERVICE,
+                        AIMatchingService.SOURCE_FALLBACK, AIMatchingService.SOURCE_FALLBACK),
+                merged.getMatches().stream().map(RankedMatchResultDTO::getScoreSource).collect(Collectors.toList()));
+        assertEquals(3, merged.getMatches().get(2).getRank());
+        assertEquals("mixed", merged.getSource());
+    }
+
+    private static List<String> ids(BatchMatchResponseDTO response) {
+        return response.getMatches().stream().map(RankedMatchResultDTO::getCandidateId).collect(Collectors.toList());
+    }
+
+    private static BatchMatchResponseDTO partial(String source, RankedMatchResultDTO... matches) {
+        BatchMatchResponseDTO partial = new BatchMatchResponseDTO();
+        partial.setMatches(List.of(matches));
+        partial.setSource(source);
+        return partial;
+    }
+
+    private static RankedMatchResultDTO match(String candidateId, double score) {
+        RankedMatchResultDTO match = new RankedMatchResultDTO();
+        match.setCandidateId(candidateId);
+        match.setCompatibilityScore(score);
+        return match;
+    }
+
+    private static JobDTO job() {
+        JobDTO job = new JobDTO();
+        job.setId("job");
+        job.setTitle("Backend");
+        return job;
+    }
+}
@@ -0,0 +1,47 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.entity.Experience;
+import com.clipers.clipers.entity.Skill;
+import com.clipers.clipers.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class CandidateAssemblerTest {
+
+    // toCandidateDTO converts already loaded entities; the repositories are never used
+    private final CandidateAssembler assembler = new CandidateAssembler(null, null, 100, 60_000);
+
+    @Test
+    void editingAReturnedCandidateDoesNotChangeTheCachedOne() {
+        User user = new User();
+        user.setId("user-1");
+        user.setFirstName("Ana");
+        user.setLastName("Pérez");
+        user.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        ATSProfile profile = new ATSProfile("user-1");
+        profile.setId("profile-1");
+        profile.setUpdatedAt(LocalDateTime.of(2026, 1, 2, 0, 0));
+        profile.setSkills(List.of(new Skill("Java", null, null)));
+        profile.setExperience(List.of(new Experience("Clipers", "Backend", "2024-01", "APIs")));
+
+        CandidateDTO first = assembler.toCandidateDTO(user, profile);
+        first.setName("Otro");
+        first.getSkills().add("Cobol");
+        first.getExperience().get(0).setCompany("Otra");
+
+        CandidateDTO second = assembler.toCandidateDTO(user, profile);
+
+        assertNotSame(first, second);
+        assertEquals("Ana Pérez", second.getName());
+        assertEquals(List.of("Java"), second.getSkills());
+        assertEquals("Clipers", second.getExperience().get(0).getCompany());
+        assertEquals(1L, assembler.getStats().get("hits"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.matching.CandidateDTO;
+import com.clipers.clipers.entity.ATSProfile;
+import com.clipers.clipers.repository.ATSProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CandidateVectorIndexTest {
+
+    private static final int DIMENSIONS = 16;
+    private static final int CANDIDATES = 60;
+
+    @TempDir
+    Path snapshotDir;
+
+    private final ATSProfileRepository repository = mock(ATSProfileRepository.class);
+    private final CandidateAssembler assembler = mock(CandidateAssembler.class);
+    private final LocalSemanticMatcher matcher = mock(LocalSemanticMatcher.class);
+
+    private final List<ATSProfile> profiles = new ArrayList<>();
+    private final Map<String, float[]> vectors = new HashMap<>();
+    private final List<CandidateVectorIndex> started = new ArrayList<>();
+
+    @BeforeEach
+    void syntheticPool() {
+        Random random = new Random(7);
+        for (int i = 0; i < CANDIDATES; i++) {
+            ATSProfile profile = new ATSProfile("user-" + i);
+            profile.setId("profile-" + i);
+            profiles.add(profile);
+            vectors.put(profile.getUserId(), randomUnitVector(random));
+        }
+        when(matcher.getDimensions()).thenReturn(DIMENSIONS);
+        when(matcher.candidateVector(any(CandidateDTO.class))).thenAnswer(call -> vectors.get(call.<CandidateDTO>getArgument(0).getId()));
+        when(assembler.assembleProfiles(anyList())).thenAnswer(call -> call.<List<ATSProfile>>getArgument(0).stream()
+                .map(profile -> {
+                    CandidateDTO candidate = new CandidateDTO();
+                    candidate.setId(profile.getUserId());
+                    return candidate;
+                })
+                .collect(Collectors.toList()));
+        when(repository.findAll(any(Pageable.class))).thenAnswer(call -> new PageImpl<>(List.copyOf(profiles)));
+        when(repository.findAllIds()).thenAnswer(call -> List.copyOf(profiles));
+        when(repository.findByUpdatedAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void stopUpdaters() {
+        started.forEach(CandidateVectorIndex::shutdown);
+    }
+
+    @Test
+    void probingEveryListReturnsTheExactTopK() {
+        CandidateVectorIndex index = start();
+
+        Random random = new Random(11);
+        for (int q = 0; q < 10; q++) {
+            float[] query = randomUnitVector(random);
+            List<String> expected = bruteForce(query, 5);
+
+            assertEquals(expected, userIds(index.search(query, 5, Integer.MAX_VALUE)));
+            assertEquals(expected, userIds(index.searchExact(query, 5)));
+        }
+    }
+
+    @Test
+    void snapshotRoundTripGivesTheSameResults() {
+        CandidateVectorIndex built = start();
+        await(() -> Files.exists(snapshot()));
+
+        CandidateVectorIndex loaded = start();
+
+        // Loaded from the snapshot rather than rebuilt from the repository
+        verify(repository, times(1)).findAll(any(Pageable.class));
+        assertEquals(CANDIDATES, loaded.size());
+        Random random = new Random(13);
+        for (int q = 0; q < 10; q++) {
+            float[] query = randomUnitVector(random);
+            assertEquals(userIds(built.search(query, 5, 2)), userIds(loaded.search(query, 5, 2)));
+            assertEquals(userIds(built.searchExact(query, 5)), userIds(loaded.searchExact(query, 5)));
+        }
+    }
+
+    @Test
+    void deletedProfilesStopAppearing() {
+        CandidateVectorIndex index = start();
+        await(() -> Files.exists(snapshot()));
+        float[] query = vectors.get("user-3");
+        assertEquals("user-3", index.search(query, 1, Integer.MAX_VALUE).get(0).userId());
+
+        index.onProfileDeleted("profile-3");
+        await(() -> index.size() == CANDIDATES - 1);
+        assertFalse(userIds(index.search(query, CANDIDATES, Integer.MAX_VALUE)).contains("user-3"));
+
+        // Deleted while offline: dropped when the snapshot is reconciled on startup
+        profiles.removeIf(profile -> profile.getId().equals("profile-4"));
+        CandidateVectorIndex restarted = start();
+        assertFalse(userIds(restarted.search(vectors.get("user-4"), CANDIDATES, Integer.MAX_VALUE)).contains("user-4"));
+        assertTrue(userIds(restarted.search(vectors.get("user-5"), 1, Integer.MAX_VALUE)).contains("user-5"));
+    }
+
+    private CandidateVectorIndex start() {
+        CandidateVectorIndex index = new CandidateVectorIndex(repository, assembler, matcher, true,
+                snapshot().toString(), 2, 10, 100);
+        started.add(index);
+        index.onApplicationReady();
+        await(index::isReady);
+        // Catch-up runs on the updater right after the snapshot is read
+        await(() -> index.size() == profiles.size());
+        return index;
+    }
+
+    private Path snapshot() {
+        return snapshotDir.resolve("candidate-index.bin");
+    }
+
+    private List<String> bruteForce(float[] query, int k) {
+        return vectors.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, float[]> e) -> LocalSemanticMatcher.dot(query, e.getValue())).reversed())
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> userIds(List<CandidateVectorIndex.Hit> hits) {
+        return hits.stream().map(CandidateVectorIndex.Hit::userId).collect(Collectors.toList());
+    }
+
+    private static float[] randomUnitVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        IntStream.range(0, DIMENSIONS).forEach(d -> vector[d] = (float) random.nextGaussian());
+        float norm = (float) Math.sqrt(LocalSemanticMatcher.dot(vector, vector));
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] /= norm;
+        }
+        return vector;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not reached within 5 s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}
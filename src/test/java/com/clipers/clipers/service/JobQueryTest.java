@@ -0,0 +1,92 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.entity.Job;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobQueryTest {
+
+    @Test
+    void blankInputAddsNoPredicates() {
+        JobQuery query = JobQuery.activeJobs()
+                .company(" ")
+                .type(null)
+                .location("  ", "contains")
+                .salary(null, null)
+                .skillIds(List.of())
+                .search("");
+
+        assertEquals("all/NEWEST", query.getShape());
+        assertEquals(List.of(new Document("isActive", true)), predicates(query));
+    }
+
+    @Test
+    void suppliedPredicatesAreAndedInOrder() {
+        JobQuery query = JobQuery.activeJobs()
+                .type(Job.JobType.CONTRACT)
+                .locationExact(" Lima,  PERÚ ")
+                .salary(1000, 5000)
+                .skillIds(List.of(3, 7));
+
+        assertEquals("type+location+salaryMin+salaryMax+skills/NEWEST", query.getShape());
+        assertEquals(List.of(
+                new Document("isActive", true),
+                new Document("type", "CONTRACT"),
+                new Document("locationKey", "lima, peru"),
+                new Document("salaryMin", new Document("$gte", 1000)),
+                new Document("salaryMax", new Document("$lte", 5000)),
+                new Document("skillIds", new Document("$all", List.of(3, 7)))), predicates(query));
+    }
+
+    @Test
+    void locationMatchModesShapeTheRegex() {
+        assertEquals("^lima\\,", locationRegex(JobQuery.activeJobs().location("Lima,", "prefix")));
+        assertEquals("^sao paulo", locationRegex(JobQuery.activeJobs().location("São Paulo", null)));
+        assertEquals("peru", locationRegex(JobQuery.activeJobs().location("PERÚ", "CONTAINS")));
+        assertEquals("locationContains/NEWEST", JobQuery.activeJobs().location("Perú", "contains").getShape());
+        assertEquals(new Document("locationKey", "cusco"), predicates(JobQuery.activeJobs().location("Cusco", "exact")).get(1));
+    }
+
+    @Test
+    void searchEscapesRegexMetacharacters() {
+        Document search = predicates(JobQuery.activeJobs().search(" C++ (senior) ")).get(1);
+        Pattern title = (Pattern) search.getList("$or", Document.class).get(0).get("title");
+
+        assertEquals("C\\+\\+ \\(senior\\)", title.pattern());
+        assertTrue(title.matcher("Desarrollador c++ (Senior)").find());
+    }
+
+    @Test
+    void clientSortReplacesTheSortOrderAndKeepsTheTieBreaker() {
+        JobQuery query = JobQuery.activeJobs().sort(JobQuery.SortOrder.SALARY_LOW).sort(Sort.by(Sort.Direction.DESC, "salaryMax"));
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "salaryMax").and(Sort.by(Sort.Direction.DESC, "_id")), query.getSort());
+        assertEquals("all/CUSTOM", query.getShape());
+        assertEquals(JobQuery.SortOrder.OLDEST.getSort(),
+                JobQuery.activeJobs().sort(JobQuery.SortOrder.OLDEST).sort(Sort.unsorted()).getSort());
+        assertThrows(IllegalArgumentException.class, () -> JobQuery.activeJobs().sort(Sort.by("companyId")));
+    }
+
+    @Test
+    void sortOrderParsingIsLenient() {
+        assertEquals(JobQuery.SortOrder.SALARY_HIGH, JobQuery.SortOrder.parse(" salary-high "));
+        assertEquals(JobQuery.SortOrder.NEWEST, JobQuery.SortOrder.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> JobQuery.SortOrder.parse("relevance"));
+    }
+
+    private static List<Document> predicates(JobQuery query) {
+        return query.toQuery().getQueryObject().getList("$and", Document.class);
+    }
+
+    private static String locationRegex(JobQuery query) {
+        return ((Pattern) predicates(query).get(1).get("locationKey")).pattern();
+    }
+}
@@ -0,0 +1,46 @@
+package com.clipers.clipers.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalSemanticMatcherTest {
+
+    @Test
+    void dimensionsAreRoundedUpToAPowerOfTwo() {
+        assertEquals(1024, new LocalSemanticMatcher(1024).getDimensions());
+        assertEquals(1024, new LocalSemanticMatcher(1000).getDimensions());
+        assertEquals(2048, new LocalSemanticMatcher(1025).getDimensions());
+        assertEquals(64, new LocalSemanticMatcher(64).getDimensions());
+    }
+
+    @Test
+    void dimensionsOutOfRangeAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalSemanticMatcher(32));
+        assertThrows(IllegalArgumentException.class, () -> new LocalSemanticMatcher(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void signDoesNotDependOnTheBucketAtLargeDimensions() {
+        LocalSemanticMatcher matcher = new LocalSemanticMatcher(1 << 20);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("termino").append(i).append(' ');
+        }
+
+        // Bit 16 is part of the bucket mask here; both halves must still see both signs
+        float[] vector = matcher.vectorize(text.toString());
+        int[][] signs = new int[2][2];
+        for (int i = 0; i < vector.length; i++) {
+            if (vector[i] != 0f) {
+                signs[(i >>> 16) & 1][vector[i] > 0f ? 1 : 0]++;
+            }
+        }
+
+        for (int[] half : signs) {
+            assertTrue(half[0] > 0 && half[1] > 0);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.clipers.clipers.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkillTaxonomyServiceTest {
+
+    /**
+     * The decomposition + regex normalization the fast paths must reproduce
+     */
+    private static String unicodePath(String skill) {
+        String stripped = Normalizer.normalize(skill, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    @Test
+    void normalizeMatchesUnicodePath() {
+        List<String> skills = List.of(
+                "  Java Script ", "JAVA\tscript\n", "C++", "Node.js", "", "   ",
+                "Comunicación", "ÁRBOL  de  Decisión", "Ñandú", "naïve", "Straße",
+                " java ", "Ｊａｖａ", "Ελληνικά", "a\u001Cb", "\u0001abc", "\u0001  abc", "abc\u001F");
+        for (String skill : skills) {
+            assertEquals(unicodePath(skill), SkillTaxonomyService.normalize(skill), () -> "normalize(\"" + skill + "\")");
+        }
+    }
+
+    @Test
+    void normalizeMatchesUnicodePathForEveryLatinCharacter() {
+        for (char c = 0; c < 0x250; c++) {
+            for (String skill : List.of(String.valueOf(c), "Go" + c + "Lang", " " + c + " X ")) {
+                assertEquals(unicodePath(skill), SkillTaxonomyService.normalize(skill), "U+" + Integer.toHexString(c));
+            }
+        }
+    }
+
+    @Test
+    void normalizeOfNullIsEmpty() {
+        assertEquals("", SkillTaxonomyService.normalize(null));
+    }
+}
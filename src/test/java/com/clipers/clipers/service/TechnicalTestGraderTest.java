@@ -0,0 +1,144 @@
+package com.clipers.clipers.service;
+
+import com.clipers.clipers.dto.TechnicalTestStructure;
+import com.clipers.clipers.dto.TechnicalTestStructure.Question.QuestionType;
+import com.clipers.clipers.entity.TechnicalTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TechnicalTestGraderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TechnicalTestGrader grader;
+    private String testJson;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // compile/grade/withoutAnswers never touch MongoDB
+        grader = new TechnicalTestGrader(null, objectMapper, 10, 1, 10);
+        testJson = objectMapper.writeValueAsString(structure(
+                question("lang", QuestionType.MULTIPLE_CHOICE, 2, "Java", List.of("Python", "Java", "Go")),
+                question("http", QuestionType.SHORT_ANSWER, 3, "GET | Obtener", null),
+                question("design", QuestionType.LONG_ANSWER, 5, null, null),
+                question("code", QuestionType.CODE, 4, null, null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        grader.shutdown();
+    }
+
+    @Test
+    void compileCountsOnlyAutoGradableQuestionsInMaxScore() {
+        TechnicalTestGrader.AnswerKey key = grader.compile(testJson);
+
+        assertEquals(4, key.size());
+        assertEquals(2, key.autoGradable());
+        assertEquals(5, key.getMaxScore());
+        assertEquals(key, grader.compile(testJson)); // cached per structure
+    }
+
+    @Test
+    void gradesMultipleChoiceByTextLetterOrIndex() {
+        assertEquals(2, grade("{\"lang\": \"  JAVA \"}").getScore());
+        assertEquals(2, grade("{\"lang\": \"b)\"}").getScore());
+        assertEquals(2, grade("{\"lang\": 1}").getScore());
+        assertEquals(0, grade("{\"lang\": \"Go\"}").getScore());
+        assertEquals(0, grade("{\"lang\": 7}").getScore());
+    }
+
+    @Test
+    void gradesShortAnswersAgainstEveryAcceptedForm() {
+        assertEquals(3, grade("{\"http\": \"get\"}").getScore());
+        assertEquals(3, grade("{\"http\": \"OBTENER\"}").getScore());
+        assertEquals(0, grade("{\"http\": \"post\"}").getScore());
+    }
+
+    @Test
+    void leavesAnsweredManualQuestionsPendingReview() {
+        TechnicalTestGrader.Grade grade = grade("[{\"questionId\": \"lang\", \"answer\": \"Java\"},"
+                + " {\"questionId\": \"http\", \"answer\": \"GET\"},"
+                + " {\"questionId\": \"design\", \"answer\": \"Microservicios\"},"
+                + " {\"questionId\": \"code\", \"answer\": \"\"}]");
+
+        assertEquals(5, grade.getScore());
+        assertEquals(5, grade.getMaxScore());
+        assertEquals(1, grade.getPendingReview());
+        assertEquals(grader.compile(testJson).getId(), grade.getKeyId());
+    }
+
+    @Test
+    void gradeIsNullWithoutStructuredAnswers() {
+        TechnicalTest test = new TechnicalTest("job", "candidate", "company", "# Prueba");
+        test.setTestJson(testJson);
+
+        assertNull(grader.grade(test));
+    }
+
+    @Test
+    void compileRejectsMultipleChoiceKeyMatchingNoOption() throws Exception {
+        String invalid = objectMapper.writeValueAsString(structure(
+                question("lang", QuestionType.MULTIPLE_CHOICE, 1, "Rust", List.of("Python", "Java"))));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> grader.compile(invalid));
+        assertTrue(error.getMessage().contains("lang"));
+    }
+
+    @Test
+    void withoutAnswersRemovesOnlyTheCorrectAnswers() throws Exception {
+        TechnicalTestStructure masked = objectMapper.readValue(grader.withoutAnswers(testJson), TechnicalTestStructure.class);
+
+        assertEquals(4, masked.getQuestions().size());
+        assertEquals(List.of("Python", "Java", "Go"), masked.getQuestions().get(0).getOptions());
+        assertEquals(2, masked.getQuestions().get(0).getPoints());
+        masked.getQuestions().forEach(question -> assertNull(question.getCorrectAnswer()));
+        assertFalse(grader.withoutAnswers(testJson).contains("Obtener"));
+        assertNull(grader.withoutAnswers(null));
+    }
+
+    @Test
+    void regradeWriteIsGuardedByTheGradedStructureAndAnswers() {
+        TechnicalTest test = new TechnicalTest("job", "candidate", "company", "# Prueba");
+        test.setId("test-1");
+        test.setTestJson(testJson);
+        test.setCandidateAnswersJson("{\"lang\": \"Java\"}");
+
+        Document filter = TechnicalTestGrader.gradedVersionOf(test).getQueryObject();
+
+        assertEquals("test-1", filter.get("_id"));
+        assertEquals(testJson, filter.get("testJson"));
+        assertEquals("{\"lang\": \"Java\"}", filter.get("candidateAnswersJson"));
+    }
+
+    private TechnicalTestGrader.Grade grade(String answersJson) {
+        TechnicalTest test = new TechnicalTest("job", "candidate", "company", "# Prueba");
+        test.setTestJson(testJson);
+        test.setCandidateAnswersJson(answersJson);
+        return grader.grade(test);
+    }
+
+    private static TechnicalTestStructure structure(TechnicalTestStructure.Question... questions) {
+        TechnicalTestStructure structure = new TechnicalTestStructure("Empresa", "Backend", "Prueba técnica");
+        structure.setQuestions(List.of(questions));
+        return structure;
+    }
+
+    private static TechnicalTestStructure.Question question(String id, QuestionType type, int points,
+                                                            String correctAnswer, List<String> options) {
+        TechnicalTestStructure.Question question = new TechnicalTestStructure.Question(id, "¿" + id + "?", type, points);
+        question.setCorrectAnswer(correctAnswer);
+        question.setOptions(options);
+        return question;
+    }
+}